@@ -66,6 +66,25 @@ public class FileCharArrayTests extends BaseTestCase {
 		testFile(false, LazyCharArray.CHUNK_SIZE * 3 + 1);
 	}
 
+	public void testContentsHash() throws IOException {
+		for (int charSize : new int[] { 0, 100, LazyCharArray.CHUNK_SIZE * 3 + 1, 1024 * 1024 + 1 }) {
+			for (boolean aligned : new boolean[] { true, false }) {
+				if (charSize == 0 && !aligned)
+					continue;
+				createFile(aligned, charSize);
+				AbstractCharArray charArray;
+				final FileInputStream inputStream = new FileInputStream(fFile);
+				try {
+					charArray = FileCharArray.create(fFile.getPath(), "utf-8", inputStream);
+				} finally {
+					inputStream.close();
+				}
+				assertEquals(charArray.getContentsHash(), FileCharArray.computeContentsHash(fFile.getPath(), "utf-8"));
+				fFile.delete();
+			}
+		}
+	}
+
 	private void testFile(boolean aligned, int charSize) throws IOException {
 		createFile(aligned, charSize);
 
@@ -17,12 +17,18 @@ package org.eclipse.cdt.internal.index.tests;
 import static org.eclipse.cdt.core.testplugin.util.TestSourceReader.createFile;
 
 import java.io.ByteArrayInputStream;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ILinkage;
+import org.eclipse.cdt.core.dom.IPDOMIndexer;
+import org.eclipse.cdt.core.dom.IPDOMIndexerTask;
 import org.eclipse.cdt.core.dom.IPDOMManager;
 import org.eclipse.cdt.core.dom.ast.IBinding;
 import org.eclipse.cdt.core.dom.ast.IVariable;
@@ -31,14 +37,21 @@ import org.eclipse.cdt.core.index.IIndexBinding;
 import org.eclipse.cdt.core.index.IIndexFile;
 import org.eclipse.cdt.core.index.IIndexFileLocation;
 import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.core.index.IIndexManager;
 import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.index.IndexLocationFactory;
 import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.IPathEntry;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
 import org.eclipse.cdt.core.testplugin.TestScannerProvider;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.CCoreInternals;
+import org.eclipse.cdt.internal.core.pdom.IPreemptableIndexerTask;
+import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
+import org.eclipse.cdt.internal.core.pdom.IndexerQueueStatistics;
+import org.eclipse.cdt.internal.core.pdom.PDOMManager;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -395,6 +408,220 @@ public class IndexIncludeTest extends IndexTestBase {
 		}
 	}
 
+	// #include "graph_b.h"
+
+	// #include "graph_a.h"
+
+	// #include "graph_b.h"
+	public void testIncludeGraph() throws Exception {
+		waitForIndexer();
+		CharSequence[] contents = getContentsForTest(3);
+		IFile b = TestSourceReader.createFile(fProject.getProject(), "graph_b.h", "int graph_b;");
+		IFile a = TestSourceReader.createFile(fProject.getProject(), "graph_a.h", contents[0].toString());
+		IFile s1 = TestSourceReader.createFile(fProject.getProject(), "graph_s1.cpp", contents[1].toString());
+		IFile s2 = TestSourceReader.createFile(fProject.getProject(), "graph_s2.cpp", contents[2].toString());
+		waitForIndexer();
+
+		PDOMManager manager = CCoreInternals.getPDOMManager();
+		List<IIndexFileLocation> changed = Arrays.asList(IndexLocationFactory.getWorkspaceIFL(b));
+		Set<String> affected = getFullPaths(manager.getAffectedTranslationUnits(fProject, changed));
+		assertEquals(2, affected.size());
+		assertTrue(affected.contains(s1.getFullPath().toString()));
+		assertTrue(affected.contains(s2.getFullPath().toString()));
+
+		fIndex.acquireReadLock();
+		try {
+			Set<String> including = getFullPaths(manager.getIncludeGraph(fProject).getIncludingFiles(fIndex, changed));
+			assertEquals(3, including.size());
+			assertTrue(including.contains(a.getFullPath().toString()));
+		} finally {
+			fIndex.releaseReadLock();
+		}
+
+		// Remove the include from s2.cpp, the graph has to follow the change.
+		s2 = TestSourceReader.createFile(fProject.getProject(), "graph_s2.cpp", "int graph_s2;");
+		TestSourceReader.waitUntilFileIsIndexed(fIndex, s2, INDEXER_TIMEOUT_MILLISEC);
+		affected = getFullPaths(manager.getAffectedTranslationUnits(fProject, changed));
+		assertEquals(1, affected.size());
+		assertTrue(affected.contains(s1.getFullPath().toString()));
+	}
+
+	// #define S1_VAR s1_first
+	// #define S2_VAR s2_first
+
+	// #define S1_VAR s1_second
+	// #define S2_VAR s2_second
+
+	// #include "changed_h.h"
+	// int S1_VAR;
+
+	// #include "changed_h.h"
+	// int S2_VAR;
+	public void testChangedHeaderUpdatesIncludingFiles() throws Exception {
+		waitForIndexer();
+		CharSequence[] contents = getContentsForTest(4);
+		IFile h = TestSourceReader.createFile(fProject.getProject(), "changed_h.h", contents[0].toString());
+		TestSourceReader.createFile(fProject.getProject(), "changed_s1.cpp", contents[2].toString());
+		TestSourceReader.createFile(fProject.getProject(), "changed_s2.cpp", contents[3].toString());
+		waitForIndexer();
+
+		fIndex.acquireReadLock();
+		try {
+			assertEquals(1, fIndex.findBindings("s1_first".toCharArray(), IndexFilter.ALL_DECLARED, npm()).length);
+			assertEquals(1, fIndex.findBindings("s2_first".toCharArray(), IndexFilter.ALL_DECLARED, npm()).length);
+		} finally {
+			fIndex.releaseReadLock();
+		}
+
+		// Only the header changes, the sources including it have to be parsed again.
+		h = TestSourceReader.createFile(fProject.getProject(), "changed_h.h", contents[1].toString());
+		TestSourceReader.waitUntilFileIsIndexed(fIndex, h, INDEXER_TIMEOUT_MILLISEC);
+		waitForIndexer();
+
+		fIndex.acquireReadLock();
+		try {
+			assertEquals(0, fIndex.findBindings("s1_first".toCharArray(), IndexFilter.ALL_DECLARED, npm()).length);
+			assertEquals(0, fIndex.findBindings("s2_first".toCharArray(), IndexFilter.ALL_DECLARED, npm()).length);
+			assertEquals(1, fIndex.findBindings("s1_second".toCharArray(), IndexFilter.ALL_DECLARED, npm()).length);
+			assertEquals(1, fIndex.findBindings("s2_second".toCharArray(), IndexFilter.ALL_DECLARED, npm()).length);
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	// #define UNCHANGED_VAR unchanged_var
+
+	// #include "unchanged_h.h"
+	// int UNCHANGED_VAR;
+	public void testUnchangedHeaderDoesNotUpdateIncludingFiles() throws Exception {
+		waitForIndexer();
+		CharSequence[] contents = getContentsForTest(2);
+		TestSourceReader.createFile(fProject.getProject(), "unchanged_h.h", contents[0].toString());
+		IFile s = TestSourceReader.createFile(fProject.getProject(), "unchanged_s.cpp", contents[1].toString());
+		waitForIndexer();
+
+		long readTime;
+		fIndex.acquireReadLock();
+		try {
+			readTime = getIndexFile(s).getSourceReadTime();
+		} finally {
+			fIndex.releaseReadLock();
+		}
+
+		// Saving the header without a change doesn't parse the source including it again.
+		Thread.sleep(10);
+		TestSourceReader.createFile(fProject.getProject(), "unchanged_h.h", contents[0].toString());
+		IFile marker = TestSourceReader.createFile(fProject.getProject(), "unchanged_marker.cpp",
+				"int unchanged_marker;");
+		TestSourceReader.waitUntilFileIsIndexed(fIndex, marker, INDEXER_TIMEOUT_MILLISEC);
+		waitForIndexer();
+
+		fIndex.acquireReadLock();
+		try {
+			assertEquals(readTime, getIndexFile(s).getSourceReadTime());
+			assertEquals(1,
+					fIndex.findBindings("unchanged_var".toCharArray(), IndexFilter.ALL_DECLARED, npm()).length);
+		} finally {
+			fIndex.releaseReadLock();
+		}
+	}
+
+	/**
+	 * A task for another project which runs until it is preempted, and records what was
+	 * started while it was waiting to be resumed.
+	 */
+	private static class BackgroundTask implements IPreemptableIndexerTask {
+		private final IPDOMIndexer fIndexer;
+		private final CountDownLatch fStarted = new CountDownLatch(1);
+		private volatile boolean fPreempted;
+		private volatile int fRuns;
+		private volatile int fEditorStartsWhenResumed = -1;
+
+		BackgroundTask(IPDOMIndexer indexer) {
+			fIndexer = indexer;
+		}
+
+		@Override
+		public void run(IProgressMonitor monitor) throws InterruptedException {
+			PDOMManager manager = CCoreInternals.getPDOMManager();
+			if (fRuns++ == 0) {
+				fStarted.countDown();
+				long timeout = System.currentTimeMillis() + INDEXER_TIMEOUT_MILLISEC;
+				while (!manager.hasPreemptingTask() && System.currentTimeMillis() < timeout) {
+					Thread.sleep(10);
+				}
+				fPreempted = manager.hasPreemptingTask();
+			} else {
+				fPreempted = false;
+				fEditorStartsWhenResumed = manager.getQueueStatistics().getStartedCount(PDOMManager.PRIORITY_EDITOR);
+			}
+		}
+
+		@Override
+		public boolean isPreempted() {
+			return fPreempted;
+		}
+
+		@Override
+		public IPDOMIndexer getIndexer() {
+			return fIndexer;
+		}
+
+		@Override
+		public IndexerProgress getProgressInformation() {
+			return new IndexerProgress();
+		}
+
+		@Override
+		public boolean acceptUrgentTask(IPDOMIndexerTask task) {
+			return false;
+		}
+	}
+
+	public void testEditorUpdatePriority() throws Exception {
+		waitForIndexer();
+		IFile file = TestSourceReader.createFile(fProject.getProject(), "editor_priority.cpp", "int editor_priority;");
+		waitForIndexer();
+
+		ICProject other = CProjectHelper.createCCProject("editorPriorityOther" + System.currentTimeMillis(), "bin",
+				IPDOMManager.ID_NO_INDEXER);
+		PDOMManager manager = CCoreInternals.getPDOMManager();
+		IndexerQueueStatistics statistics = manager.getQueueStatistics();
+		ICElement[] tus = { CoreModel.getDefault().create(file) };
+		IIndexManager indexManager = CCorePlugin.getIndexManager();
+		try {
+			int editorStarts = statistics.getStartedCount(PDOMManager.PRIORITY_EDITOR);
+			int count = editorStarts + statistics.getMergedCount(PDOMManager.PRIORITY_EDITOR);
+
+			FakeIndexer otherIndexer = new FakeIndexer();
+			otherIndexer.setProject(other);
+			BackgroundTask background = new BackgroundTask(otherIndexer);
+			manager.enqueue(background);
+			assertTrue(background.fStarted.await(INDEXER_TIMEOUT_MILLISEC, TimeUnit.MILLISECONDS));
+
+			// The editor update preempts the running task, which is resumed after it.
+			indexManager.update(tus, IIndexManager.FORCE_INDEX_INCLUSION | IIndexManager.UPDATE_CHECK_TIMESTAMPS);
+			waitForIndexer();
+			assertEquals(2, background.fRuns);
+			assertFalse(background.isPreempted());
+			assertEquals(editorStarts + 1, background.fEditorStartsWhenResumed);
+			assertEquals(count + 1, statistics.getStartedCount(PDOMManager.PRIORITY_EDITOR)
+					+ statistics.getMergedCount(PDOMManager.PRIORITY_EDITOR));
+		} finally {
+			indexManager.update(tus, IIndexManager.RESET_INDEX_INCLUSION | IIndexManager.UPDATE_CHECK_TIMESTAMPS);
+			waitForIndexer();
+			CProjectHelper.delete(other);
+		}
+	}
+
+	private Set<String> getFullPaths(Set<IIndexFileLocation> locations) {
+		Set<String> result = new HashSet<>();
+		for (IIndexFileLocation location : locations) {
+			result.add(location.getFullPath());
+		}
+		return result;
+	}
+
 	// #include "resolved20070427.h"
 	// #include "unesolved20070427.h"
 	// #if 0
@@ -31,6 +31,7 @@ import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.testplugin.CProjectHelper;
 import org.eclipse.cdt.core.testplugin.util.ModelJoiner;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
+import org.eclipse.cdt.internal.core.pdom.TeamPDOMExportOperation;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -201,6 +202,44 @@ public class TeamSharedIndexTest extends IndexTestBase {
 		checkVariable(prj, "d", 1);
 	}
 
+	public void testDeltaExport() throws Exception {
+		String prjName = "__testDeltaExport__";
+		ICProject prj = createProject(prjName);
+		String loc = IndexerPreferences.getIndexImportLocation(prj.getProject());
+		String baseLoc = ".settings/cdt-index-base.zip";
+		checkVariable(prj, "a", 1);
+
+		// export the full index as the base.
+		fPDOMManager.export(prj, baseLoc, 0, npm());
+		waitForIndexer(prj);
+
+		// change file and export the difference.
+		changeFile(prj);
+		waitForIndexer(prj);
+		checkVariable(prj, "d", 1);
+		TeamPDOMExportOperation op = new TeamPDOMExportOperation(prj);
+		op.setTargetLocation(loc);
+		op.setBaseLocation(baseLoc);
+		op.setOptions(TeamPDOMExportOperation.EXPORT_OPTION_DELTA);
+		op.run(npm());
+
+		// set indexer to the fake one.
+		fPDOMManager.setIndexerId(prj, FakeIndexer.ID);
+		IndexerPreferences.setScope(prj.getProject(), IndexerPreferences.SCOPE_PROJECT_SHARED);
+		new ProjectScope(prj.getProject()).getNode(CCorePlugin.PLUGIN_ID).flush();
+		waitForIndexer(prj);
+		deleteAndWait(prj);
+		unregisterProject(prj);
+
+		// import project, the delta is applied to the base index.
+		prj = recreateProject(prjName);
+		registerProject(prj);
+		checkVariable(prj, "a", 0);
+		checkVariable(prj, "b", 1);
+		checkVariable(prj, "c", 1);
+		checkVariable(prj, "d", 1);
+	}
+
 	private void changeFile(ICProject prj) throws CoreException {
 		final IFile file = prj.getProject().getFile("a.cpp");
 		final File location = file.getLocation().toFile();
@@ -15,7 +15,9 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.pdom.tests;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -151,6 +153,31 @@ public class DatabaseTest extends BaseTestCase5 {
 		assertEquals(mem2, mem1);
 	}
 
+	@Test
+	public void testPrefetchChunk() throws Exception {
+		for (int i = 0; i < 4; i++) {
+			db.malloc(Database.MAX_MALLOC_SIZE);
+		}
+		db.flush();
+		int chunkCount = db.getChunkCount();
+		assertTrue(chunkCount > 4);
+
+		Database reopened = new Database(db.getLocation(), new ChunkCache(), 0, true);
+		reopened.setLocked(true);
+		try {
+			assertEquals(chunkCount, reopened.getChunkCount());
+			assertArrayEquals(new int[0], reopened.getCachedChunkIndexes());
+			assertTrue(reopened.prefetchChunk(2));
+			assertFalse(reopened.prefetchChunk(2));
+			assertFalse(reopened.prefetchChunk(0));
+			assertFalse(reopened.prefetchChunk(chunkCount));
+			assertArrayEquals(new int[] { 2 }, reopened.getCachedChunkIndexes());
+		} finally {
+			reopened.setExclusiveLock();
+			reopened.close();
+		}
+	}
+
 	private static class FindVisitor implements IBTreeVisitor {
 		private Database db;
 		private String key;
@@ -20,10 +20,13 @@ import java.io.InputStream;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 import java.nio.charset.Charset;
 import java.nio.charset.CharsetDecoder;
 import java.nio.charset.CoderResult;
 import java.nio.charset.CodingErrorAction;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 
 import org.eclipse.cdt.core.CCorePlugin;
 
@@ -32,6 +35,10 @@ import org.eclipse.cdt.core.CCorePlugin;
  */
 public class FileCharArray extends LazyCharArray {
 	private static final String UTF8_CHARSET_NAME = "UTF-8"; //$NON-NLS-1$
+	/**
+	 * Files of at least this size are memory-mapped for computing their contents hash.
+	 */
+	private static final long MAPPED_FILE_SIZE = 1024 * 1024;
 
 	public static AbstractCharArray create(String fileName, String charSet, InputStream in) throws IOException {
 		// No support for non-local files.
@@ -51,6 +58,49 @@ public class FileCharArray extends LazyCharArray {
 		return new FileCharArray(fileName, charSet);
 	}
 
+	/**
+	 * Computes the hash of the contents of a file without keeping the decoded characters.
+	 * The result is equal to {@link AbstractCharArray#getContentsHash()} of the character array
+	 * created for the file. Large files are memory-mapped.
+	 */
+	public static long computeContentsHash(String fileName, String charSet) throws IOException {
+		if (!Charset.isSupported(charSet)) {
+			charSet = System.getProperty("file.encoding"); //$NON-NLS-1$
+		}
+		final CharsetDecoder decoder = Charset.forName(charSet).newDecoder()
+				.onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+		final StreamHasher hasher = new StreamHasher();
+		try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+			final long lsize = channel.size();
+			if (lsize > Integer.MAX_VALUE)
+				throw new IOException("File too large: " + fileName); //$NON-NLS-1$
+
+			ByteBuffer in;
+			if (lsize >= MAPPED_FILE_SIZE) {
+				in = channel.map(MapMode.READ_ONLY, 0, lsize);
+			} else {
+				in = ByteBuffer.allocate((int) lsize);
+				while (in.hasRemaining() && channel.read(in) >= 0) {
+					// Read until the buffer is full or the end of file is reached.
+				}
+				in.flip();
+			}
+			skipUTF8ByteOrderMark(in, charSet);
+
+			final char[] chars = new char[CHUNK_SIZE];
+			final CharBuffer dest = CharBuffer.wrap(chars);
+			CoderResult result;
+			do {
+				result = decoder.decode(in, dest, true);
+				hasher.addChunk(chars, 0, dest.position());
+				dest.clear();
+			} while (result.isOverflow());
+			decoder.flush(dest);
+			hasher.addChunk(chars, 0, dest.position());
+		}
+		return hasher.computeHash();
+	}
+
 	private static AbstractCharArray decodeSmallFile(FileChannel channel, int lsize, String charSet)
 			throws IOException {
 		ByteBuffer byteBuffer = ByteBuffer.allocate(lsize);
@@ -86,7 +86,17 @@ public final class StreamHasher {
 	 * @param chunk Contents of the chunk.
 	 */
 	public void addChunk(char[] chunk) {
-		for (int pos = 0; pos < chunk.length; pos++, hashedOffset++) {
+		addChunk(chunk, 0, chunk.length);
+	}
+
+	/**
+	 * Adds a part of an array of characters to the hasher.
+	 * @param chunk The array containing the characters.
+	 * @param offset The offset of the first character to add.
+	 * @param length The number of characters to add.
+	 */
+	public void addChunk(char[] chunk, int offset, int length) {
+		for (int pos = offset, end = offset + length; pos < end; pos++, hashedOffset++) {
 			char cc = chunk[pos];
 			switch (state++) {
 			case -1:
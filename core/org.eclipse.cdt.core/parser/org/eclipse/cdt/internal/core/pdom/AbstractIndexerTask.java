@@ -33,6 +33,10 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -73,6 +77,7 @@ import org.eclipse.cdt.internal.core.model.DebugLogConstants;
 import org.eclipse.cdt.internal.core.parser.IMacroDictionary;
 import org.eclipse.cdt.internal.core.parser.ParserLogService;
 import org.eclipse.cdt.internal.core.parser.ParserSettings2;
+import org.eclipse.cdt.internal.core.parser.scanner.FileCharArray;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider;
 import org.eclipse.cdt.internal.core.parser.scanner.InternalFileContentProvider.DependsOnOutdatedFileException;
 import org.eclipse.cdt.internal.core.parser.util.LRUCache;
@@ -316,6 +321,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		parsingFileTask, errorWhileParsing, tooManyIndexProblems
 	}
 
+	/** Maximum number of threads computing contents hashes of files. */
+	private static final int MAX_HASHING_THREADS = 8;
+
 	private int fUpdateFlags = IIndexManager.UPDATE_ALL;
 	private UnusedHeaderStrategy fIndexHeadersWithoutContext = UnusedHeaderStrategy.useDefaultLanguage;
 	private boolean fIndexFilesWithoutConfiguration = true;
@@ -326,6 +334,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private Map<IIndexFile, IndexFileContent> fIndexContentCache = new LRUCache<>(500);
 	private Map<IIndexFileLocation, IIndexFragmentFile[]> fIndexFilesCache = new LRUCache<>(5000);
 	private Map<IIndexFileLocation, LocationTask> fOneLinkageTasks = new HashMap<>();
+	/** Contents hashes computed ahead of the check for modified files. */
+	private Map<IIndexFileLocation, Long> fContentsHashes = Collections.emptyMap();
 
 	private Object[] fFilesToUpdate;
 	private List<Object> fFilesToRemove = new ArrayList<>();
@@ -345,6 +355,14 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	 */
 	private final Deque<AbstractIndexerTask> fUrgentTasks;
 	boolean fTaskCompleted;
+	/**
+	 * Set when the task stopped at a file boundary to let a task of higher priority run first.
+	 * The files that were not parsed yet are kept in {@link #fSuspendedFiles} and
+	 * {@link #fSuspendedMoreFiles} until the task is run again.
+	 */
+	private boolean fPreempted;
+	private HashMap<Integer, List<IIndexFileLocation>> fSuspendedFiles;
+	private HashMap<Integer, List<IIndexFileLocation>> fSuspendedMoreFiles;
 	private IndexerProgress fInfo = new IndexerProgress();
 
 	public AbstractIndexerTask(Object[] filesToUpdate, Object[] filesToRemove, IndexerInputAdapter resolver,
@@ -426,6 +444,52 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		return !fUrgentTasks.isEmpty();
 	}
 
+	/**
+	 * Checks whether parsing has to be interrupted at the current file boundary, either because
+	 * there are urgent tasks to process or because the task is preempted by a task of higher
+	 * priority.
+	 */
+	private boolean mustInterrupt() {
+		if (hasUrgentTasks())
+			return true;
+		if (!fPreempted && shouldYield()) {
+			fPreempted = true;
+		}
+		return fPreempted;
+	}
+
+	/**
+	 * Returns whether the task should stop at the next file boundary to let a task of higher
+	 * priority run first. A task that stopped that way continues where it left off when it is
+	 * run again.
+	 */
+	protected boolean shouldYield() {
+		return false;
+	}
+
+	/**
+	 * Returns whether the last run of this task was stopped before all files were indexed
+	 * because of a task of higher priority.
+	 */
+	public synchronized boolean isPreempted() {
+		return fSuspendedFiles != null;
+	}
+
+	/**
+	 * Returns whether this task updates one of the files that are indexed unconditionally,
+	 * typically because they are open in an editor.
+	 */
+	public synchronized boolean updatesFilesIndexedUnconditionally() {
+		if (fFilesToUpdate == null)
+			return false;
+		for (Object tu : fFilesToUpdate) {
+			IIndexFileLocation ifl = fResolver.resolveFile(tu);
+			if (ifl != null && fResolver.isIndexedUnconditionally(ifl))
+				return true;
+		}
+		return false;
+	}
+
 	/**
 	 * Retrieves the first urgent task from the queue of urgent tasks.
 	 * @return An urgent task, or {@code null} if there are no urgent tasks.
@@ -552,17 +616,29 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			try {
 				try {
 					SubMonitor progress = SubMonitor.convert(monitor, 20);
-					// Split into sources and headers, remove excluded sources.
-					HashMap<Integer, List<IIndexFileLocation>> files = new HashMap<>();
+					HashMap<Integer, List<IIndexFileLocation>> files;
+					HashMap<Integer, List<IIndexFileLocation>> moreFiles;
 					final ArrayList<IIndexFragmentFile> indexFilesToRemove = new ArrayList<>();
-					extractFiles(files, indexFilesToRemove, progress.split(1));
+					synchronized (this) {
+						files = fSuspendedFiles;
+						moreFiles = fSuspendedMoreFiles;
+						fSuspendedFiles = fSuspendedMoreFiles = null;
+						fPreempted = false;
+					}
+					if (files == null) {
+						// Split into sources and headers, remove excluded sources.
+						files = new HashMap<>();
+						extractFiles(files, indexFilesToRemove, progress.split(1));
 
-					setResume(true, progress.split(1));
+						setResume(true, progress.split(1));
 
-					// Remove files from index
-					removeFilesInIndex(fFilesToRemove, indexFilesToRemove, progress.split(1));
+						// Remove files from index
+						removeFilesInIndex(fFilesToRemove, indexFilesToRemove, progress.split(1));
+					} else {
+						// Resuming after preemption, the file content provider refers to the previous index.
+						fCodeReaderFactory = null;
+					}
 
-					HashMap<Integer, List<IIndexFileLocation>> moreFiles = null;
 					while (true) {
 						int[] linkageIDs = getLinkagesToParse();
 						progress.setWorkRemaining((linkageIDs.length + 2) * 2);
@@ -578,10 +654,16 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 								fIndexContentCache.clear();
 								fIndexFilesCache.clear();
 							}
-							if (hasUrgentTasks())
+							if (hasUrgentTasks() || fPreempted)
 								break;
 						}
 						synchronized (this) {
+							if (fPreempted) {
+								// Keep the remaining work, including the urgent tasks, for the next run.
+								fSuspendedFiles = files;
+								fSuspendedMoreFiles = moreFiles;
+								break;
+							}
 							if (fUrgentTasks.isEmpty()) {
 								if (moreFiles == null) {
 									// No urgent tasks and no more files to parse. We are done.
@@ -618,18 +700,24 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 							removeFilesInIndex(fFilesToRemove, indexFilesToRemove, progress.split(1));
 						}
 					}
-					setResume(false, progress.split(1));
+					if (!fPreempted) {
+						setResume(false, progress.split(1));
+					}
 				} finally {
 					fIndex.flush();
 				}
 			} catch (CoreException e) {
 				logException(e);
 			} finally {
+				fIndexContentCache.clear();
+				fIndexFilesCache.clear();
 				fIndex.releaseReadLock();
 			}
 		} finally {
 			synchronized (this) {
-				fTaskCompleted = true;
+				if (fSuspendedFiles == null) {
+					fTaskCompleted = true;
+				}
 			}
 		}
 	}
@@ -654,6 +742,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		int forceFirst = fForceNumberFiles;
 		BitSet linkages = new BitSet();
 		SubMonitor progress = SubMonitor.convert(monitor, fFilesToUpdate.length);
+		if (checkTimestamps && checkFileContentsHash && !forceAll) {
+			computeContentsHashes(forceFirst, progress);
+		}
 		for (final Object tu : fFilesToUpdate) {
 			progress.split(1);
 			final boolean force = forceAll || --forceFirst >= 0;
@@ -718,12 +809,71 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				addPerLinkage(lid, ifl, files);
 			}
 		}
+		fContentsHashes = Collections.emptyMap();
 		synchronized (this) {
 			incrementRequestedFilesCount(count - fFilesToUpdate.length);
 			fFilesToUpdate = null;
 		}
 	}
 
+	/**
+	 * Computes the contents hashes of the files to update with a changed timestamp in parallel.
+	 * Every file would otherwise be read sequentially by {@link #isModified}, which dominates the
+	 * update after an operation touching the timestamps of many files without changing most of them.
+	 */
+	private void computeContentsHashes(int forceFirst, IProgressMonitor monitor) throws CoreException {
+		List<IIndexFileLocation> locations = new ArrayList<>();
+		List<String> paths = new ArrayList<>();
+		List<String> encodings = new ArrayList<>();
+		for (int i = Math.max(0, forceFirst); i < fFilesToUpdate.length; i++) {
+			final Object tu = fFilesToUpdate[i];
+			final IIndexFileLocation ifl = fResolver.resolveFile(tu);
+			final String path = ifl == null ? null : fResolver.getContentsFilePath(tu);
+			if (path == null)
+				continue;
+			for (IIndexFragmentFile ifile : fIndex.getWritableFiles(ifl)) {
+				if (ifile.hasContent() && (fResolver.getLastModified(ifl) != ifile.getTimestamp()
+						|| computeFileSizeAndEncodingHashcode(ifl) != ifile.getSizeAndEncodingHashcode())) {
+					locations.add(ifl);
+					paths.add(path);
+					encodings.add(fResolver.getEncoding(ifl));
+					break;
+				}
+			}
+		}
+		if (locations.size() < 2)
+			return;
+
+		int threads = Math.min(Math.min(MAX_HASHING_THREADS, Runtime.getRuntime().availableProcessors()),
+				locations.size());
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "Indexer contents hashing"); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		Map<IIndexFileLocation, Long> hashes = new HashMap<>();
+		try {
+			List<Future<Long>> futures = new ArrayList<>(locations.size());
+			for (int i = 0; i < locations.size(); i++) {
+				final String path = paths.get(i);
+				final String encoding = encodings.get(i);
+				futures.add(executor.submit(() -> FileCharArray.computeContentsHash(path, encoding)));
+			}
+			for (int i = 0; i < futures.size() && !monitor.isCanceled(); i++) {
+				try {
+					hashes.put(locations.get(i), futures.get(i).get());
+				} catch (ExecutionException e) {
+					// The hash is computed from the code reader, which reports the problem.
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+		fContentsHashes = hashes;
+	}
+
 	private void addPerLinkage(int linkageID, IIndexFileLocation ifl,
 			HashMap<Integer, List<IIndexFileLocation>> files) {
 		List<IIndexFileLocation> list = files.get(linkageID);
@@ -756,8 +906,12 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		if (checkTimestamps) {
 			if (fResolver.getLastModified(ifl) != file.getTimestamp()
 					|| computeFileSizeAndEncodingHashcode(ifl) != file.getSizeAndEncodingHashcode()) {
-				if (checkFileContentsHash && computeFileContentsHash(tu) == file.getContentsHash()) {
-					return false;
+				if (checkFileContentsHash) {
+					Long hash = fContentsHashes.get(ifl);
+					if ((hash != null ? hash : computeFileContentsHash(tu)) == file.getContentsHash()) {
+						fStatistics.fUnchangedContentsCount++;
+						return false;
+					}
 				}
 				return true;
 			}
@@ -903,7 +1057,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				if (locTask == null || locTask.isCompleted()) {
 					it.remove();
 				} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
-					if (hasUrgentTasks())
+					if (mustInterrupt())
 						return;
 					final Object tu = locTask.fTu;
 					final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
@@ -920,7 +1074,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				} else {
 					for (FileVersionTask versionTask : locTask.fVersionTasks) {
 						if (versionTask.fOutdated) {
-							if (hasUrgentTasks())
+							if (mustInterrupt())
 								return;
 							parseVersionInContext(linkageID, map, ifl, versionTask, locTask.fTu,
 									new LinkedHashSet<IIndexFile>(), progress.split(1));
@@ -937,7 +1091,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 					it.remove();
 				} else {
 					if (locTask.needsVersion()) {
-						if (hasUrgentTasks())
+						if (mustInterrupt())
 							return;
 						final Object tu = locTask.fTu;
 						final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
@@ -957,7 +1111,7 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 					if (locTask != null && !locTask.isCompleted()) {
 						if (!locTask.needsVersion()) {
 							progress.split(1);
-							if (hasUrgentTasks())
+							if (mustInterrupt())
 								return;
 							Iterator<FileVersionTask> it = locTask.fVersionTasks.iterator();
 							while (it.hasNext()) {
@@ -0,0 +1,24 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import org.eclipse.cdt.core.dom.IPDOMIndexerTask;
+
+/**
+ * An indexer task that can be preempted by tasks of higher priority. A preempted task stops
+ * at the next file boundary and continues where it left off when it is run again.
+ */
+public interface IPreemptableIndexerTask extends IPDOMIndexerTask {
+	/**
+	 * Returns whether the last run of the task stopped before all of its work was done.
+	 */
+	public boolean isPreempted();
+}
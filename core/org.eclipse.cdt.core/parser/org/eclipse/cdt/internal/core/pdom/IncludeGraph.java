@@ -0,0 +1,247 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexFile;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.internal.core.parser.util.LRUCache;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Reverse include graph of an index. For every file the graph records the locations of the files
+ * that directly include it. The edges are read from the index lazily, the transitive closures
+ * are computed on demand and cached.
+ * <p>
+ * The graph is kept up to date by {@link #invalidate(PDOM.ChangeEvent)}. Files written to
+ * the index are marked dirty and their outgoing edges are refreshed with the next query, so that
+ * the bulk of the graph survives incremental index updates.
+ * <p>
+ * All methods reading the index have to be called while holding a read lock on the index.
+ */
+public class IncludeGraph {
+	private static final IIndexFileLocation[] NO_LOCATIONS = {};
+	private static final int CLOSURE_CACHE_SIZE = 1000;
+
+	/** Direct includers of a file. */
+	private final Map<IIndexFileLocation, IIndexFileLocation[]> fIncludedBy = new HashMap<>();
+	/** Direct inclusions of a file, as far as they are known to {@link #fIncludedBy}. */
+	private final Map<IIndexFileLocation, Set<IIndexFileLocation>> fIncludes = new HashMap<>();
+	/** Cached transitive closures of {@link #fIncludedBy}. */
+	private final Map<IIndexFileLocation, IIndexFileLocation[]> fClosures = new LRUCache<>(CLOSURE_CACHE_SIZE);
+	/** Files that were rewritten since their edges were last read. */
+	private final Set<IIndexFileLocation> fDirty = new HashSet<>();
+
+	/**
+	 * Updates the graph for a change of the index.
+	 */
+	public synchronized void invalidate(PDOM.ChangeEvent event) {
+		if (event.isCleared() || event.isReloaded()) {
+			clear();
+			return;
+		}
+		invalidate(event.fClearedFiles);
+		invalidate(event.fFilesWritten);
+	}
+
+	/**
+	 * Marks the given files as changed. Their inclusions are read from the index with
+	 * the next query.
+	 */
+	public synchronized void invalidate(Collection<IIndexFileLocation> files) {
+		if (!files.isEmpty()) {
+			fDirty.addAll(files);
+			fClosures.clear();
+		}
+	}
+
+	/**
+	 * Discards all information about the index.
+	 */
+	public synchronized void clear() {
+		fIncludedBy.clear();
+		fIncludes.clear();
+		fClosures.clear();
+		fDirty.clear();
+	}
+
+	/**
+	 * Returns the locations of all files that directly or indirectly include any of the given files.
+	 * The given files themselves are not part of the result unless they are involved in an
+	 * inclusion cycle.
+	 */
+	public synchronized Set<IIndexFileLocation> getIncludingFiles(IIndex index, Collection<IIndexFileLocation> files)
+			throws CoreException {
+		refreshDirtyFiles(index);
+		Set<IIndexFileLocation> result = new LinkedHashSet<>();
+		for (IIndexFileLocation file : files) {
+			for (IIndexFileLocation includer : getClosure(index, file)) {
+				result.add(includer);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the locations of the translation units affected by a change of the given files, i.e.
+	 * the files at the top of the include hierarchy that directly or indirectly include one of
+	 * the given files. A file that is not included by any other file is affected by its own changes.
+	 */
+	public synchronized Set<IIndexFileLocation> getAffectedTranslationUnits(IIndex index,
+			Collection<IIndexFileLocation> files) throws CoreException {
+		refreshDirtyFiles(index);
+		Set<IIndexFileLocation> result = new LinkedHashSet<>();
+		for (IIndexFileLocation file : files) {
+			if (getIncludedBy(index, file).length == 0) {
+				result.add(file);
+			}
+			for (IIndexFileLocation includer : getClosure(index, file)) {
+				if (getIncludedBy(index, includer).length == 0) {
+					result.add(includer);
+				}
+			}
+		}
+		return result;
+	}
+
+	private IIndexFileLocation[] getClosure(IIndex index, IIndexFileLocation file) throws CoreException {
+		IIndexFileLocation[] closure = fClosures.get(file);
+		if (closure == null) {
+			Set<IIndexFileLocation> visited = new LinkedHashSet<>();
+			ArrayDeque<IIndexFileLocation> queue = new ArrayDeque<>();
+			queue.add(file);
+			while (!queue.isEmpty()) {
+				IIndexFileLocation current = queue.removeFirst();
+				IIndexFileLocation[] cached = current != file ? fClosures.get(current) : null;
+				if (cached != null) {
+					// Reuse the closure of an intermediate file.
+					for (IIndexFileLocation includer : cached) {
+						visited.add(includer);
+					}
+					continue;
+				}
+				for (IIndexFileLocation includer : getIncludedBy(index, current)) {
+					if (visited.add(includer)) {
+						queue.add(includer);
+					}
+				}
+			}
+			closure = visited.toArray(new IIndexFileLocation[visited.size()]);
+			fClosures.put(file, closure);
+		}
+		return closure;
+	}
+
+	private IIndexFileLocation[] getIncludedBy(IIndex index, IIndexFileLocation file) throws CoreException {
+		IIndexFileLocation[] includers = fIncludedBy.get(file);
+		if (includers == null) {
+			Set<IIndexFileLocation> set = new LinkedHashSet<>();
+			for (IIndexFile ifile : index.getFiles(file)) {
+				for (IIndexInclude include : index.findIncludedBy(ifile)) {
+					set.add(include.getIncludedByLocation());
+				}
+			}
+			includers = set.isEmpty() ? NO_LOCATIONS : set.toArray(new IIndexFileLocation[set.size()]);
+			fIncludedBy.put(file, includers);
+			for (IIndexFileLocation includer : includers) {
+				addInclusion(includer, file);
+			}
+		}
+		return includers;
+	}
+
+	/**
+	 * Replaces the outgoing edges of the dirty files with the ones currently stored in the index.
+	 * Only the files with already known includers are affected, all others are read lazily anyway.
+	 */
+	private void refreshDirtyFiles(IIndex index) throws CoreException {
+		if (fDirty.isEmpty())
+			return;
+
+		for (IIndexFileLocation file : fDirty) {
+			Set<IIndexFileLocation> oldIncludes = fIncludes.remove(file);
+			if (oldIncludes != null) {
+				for (IIndexFileLocation included : oldIncludes) {
+					removeIncluder(included, file);
+				}
+			}
+			for (IIndexFile ifile : index.getFiles(file)) {
+				for (IIndexInclude include : index.findIncludes(ifile)) {
+					if (include.isResolved()) {
+						IIndexFileLocation included = include.getIncludesLocation();
+						if (included != null && addIncluder(included, file)) {
+							addInclusion(file, included);
+						}
+					}
+				}
+			}
+		}
+		fDirty.clear();
+		fClosures.clear();
+	}
+
+	private void addInclusion(IIndexFileLocation includer, IIndexFileLocation included) {
+		Set<IIndexFileLocation> includes = fIncludes.get(includer);
+		if (includes == null) {
+			includes = new HashSet<>();
+			fIncludes.put(includer, includes);
+		}
+		includes.add(included);
+	}
+
+	/**
+	 * Adds an includer to a file with known includers. Returns {@code false} if the includers
+	 * of the file have not been read yet.
+	 */
+	private boolean addIncluder(IIndexFileLocation included, IIndexFileLocation includer) {
+		IIndexFileLocation[] includers = fIncludedBy.get(included);
+		if (includers == null)
+			return false;
+		for (IIndexFileLocation existing : includers) {
+			if (existing.equals(includer))
+				return true;
+		}
+		IIndexFileLocation[] newIncluders = new IIndexFileLocation[includers.length + 1];
+		System.arraycopy(includers, 0, newIncluders, 0, includers.length);
+		newIncluders[includers.length] = includer;
+		fIncludedBy.put(included, newIncluders);
+		return true;
+	}
+
+	private void removeIncluder(IIndexFileLocation included, IIndexFileLocation includer) {
+		IIndexFileLocation[] includers = fIncludedBy.get(included);
+		if (includers == null)
+			return;
+		int count = 0;
+		IIndexFileLocation[] newIncluders = new IIndexFileLocation[includers.length];
+		for (IIndexFileLocation existing : includers) {
+			if (!existing.equals(includer)) {
+				newIncluders[count++] = existing;
+			}
+		}
+		if (count == 0) {
+			fIncludedBy.put(included, NO_LOCATIONS);
+		} else if (count < includers.length) {
+			IIndexFileLocation[] trimmed = new IIndexFileLocation[count];
+			System.arraycopy(newIncluders, 0, trimmed, 0, count);
+			fIncludedBy.put(included, trimmed);
+		}
+	}
+}
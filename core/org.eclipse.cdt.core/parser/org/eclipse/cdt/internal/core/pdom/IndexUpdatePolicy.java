@@ -79,6 +79,10 @@ public class IndexUpdatePolicy {
 		return fKind != MANUAL;
 	}
 
+	public boolean isImmediate() {
+		return fKind == POST_CHANGE && !isNullIndexer();
+	}
+
 	public IPDOMIndexerTask handleDelta(ITranslationUnit[] force, ITranslationUnit[] changed,
 			ITranslationUnit[] removed) {
 		if (isNullIndexer()) {
@@ -106,4 +106,13 @@ public abstract class IndexerInputAdapter extends ASTFilePathResolver {
 	 * Returns a code reader for the given input file.
 	 */
 	public abstract FileContent getCodeReader(Object tu);
+
+	/**
+	 * Returns the path of the file to read for computing the contents hash of the given input file,
+	 * or {@code null} if the contents have to be obtained via {@link #getCodeReader(Object)}.
+	 * The file has to be decoded with {@link #getEncoding(IIndexFileLocation)}.
+	 */
+	public String getContentsFilePath(Object tu) {
+		return null;
+	}
 }
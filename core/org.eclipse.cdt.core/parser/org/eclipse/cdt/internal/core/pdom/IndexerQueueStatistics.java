@@ -0,0 +1,86 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+/**
+ * Time spent by indexer tasks in the queue of the indexer job, per priority class.
+ * Tasks merged into an already running task are counted separately, they are picked up
+ * at the next file boundary of the running task.
+ */
+public class IndexerQueueStatistics {
+	private static final String[] PRIORITY_NAMES = { "bulk", "normal", "editor" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+	private final int[] fStartedCount = new int[PRIORITY_NAMES.length];
+	private final int[] fMergedCount = new int[PRIORITY_NAMES.length];
+	private final long[] fTotalWaitTime = new long[PRIORITY_NAMES.length];
+	private final long[] fMaxWaitTime = new long[PRIORITY_NAMES.length];
+
+	synchronized void recordStart(int priority, long waitTime) {
+		fStartedCount[priority]++;
+		fTotalWaitTime[priority] += waitTime;
+		fMaxWaitTime[priority] = Math.max(fMaxWaitTime[priority], waitTime);
+	}
+
+	synchronized void recordMerge(int priority) {
+		fMergedCount[priority]++;
+	}
+
+	/**
+	 * Returns the number of tasks of the given priority taken from the queue. A task that was
+	 * preempted is counted every time it is resumed.
+	 */
+	public synchronized int getStartedCount(int priority) {
+		return fStartedCount[priority];
+	}
+
+	/**
+	 * Returns the number of tasks of the given priority merged into a running task.
+	 */
+	public synchronized int getMergedCount(int priority) {
+		return fMergedCount[priority];
+	}
+
+	/**
+	 * Returns the average time in milliseconds the tasks of the given priority waited in the queue.
+	 */
+	public synchronized long getAverageWaitTime(int priority) {
+		return fStartedCount[priority] == 0 ? 0 : fTotalWaitTime[priority] / fStartedCount[priority];
+	}
+
+	/**
+	 * Returns the longest time in milliseconds a task of the given priority waited in the queue.
+	 */
+	public synchronized long getMaxWaitTime(int priority) {
+		return fMaxWaitTime[priority];
+	}
+
+	public synchronized void reset() {
+		for (int i = 0; i < PRIORITY_NAMES.length; i++) {
+			fStartedCount[i] = fMergedCount[i] = 0;
+			fTotalWaitTime[i] = fMaxWaitTime[i] = 0;
+		}
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder buf = new StringBuilder();
+		for (int i = PRIORITY_NAMES.length; --i >= 0;) {
+			if (buf.length() > 0)
+				buf.append(", "); //$NON-NLS-1$
+			buf.append(PRIORITY_NAMES[i]).append(": ") //$NON-NLS-1$
+					.append(fStartedCount[i]).append(" started, ") //$NON-NLS-1$
+					.append(fMergedCount[i]).append(" merged, ") //$NON-NLS-1$
+					.append(getAverageWaitTime(i)).append("ms average, ") //$NON-NLS-1$
+					.append(fMaxWaitTime[i]).append("ms max"); //$NON-NLS-1$
+		}
+		return buf.toString();
+	}
+}
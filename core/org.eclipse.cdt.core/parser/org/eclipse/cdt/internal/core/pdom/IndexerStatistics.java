@@ -26,4 +26,6 @@ public class IndexerStatistics {
 	public int fPreprocessorProblemCount = 0;
 	public int fSyntaxProblemsCount = 0;
 	public int fTooManyTokensCount = 0;
+	/** Files with a changed timestamp that were not parsed since their contents did not change. */
+	public int fUnchangedContentsCount = 0;
 }
@@ -20,6 +20,8 @@ public class Messages extends NLS {
 	public static String PDOM_waitingForWriteLock;
 	public static String PDOMImportTask_errorInvalidArchive;
 	public static String PDOMImportTask_errorInvalidPDOMVersion;
+	public static String PDOMDelta_errorBaseMismatch;
+	public static String PDOMDelta_errorInvalidDelta;
 	public static String PDOMManager_ClosePDOMJob;
 	public static String PDOMManager_creationOfIndexInterrupted;
 	public static String PDOMManager_ExistingFileCollides;
@@ -27,6 +29,7 @@ public class Messages extends NLS {
 	public static String PDOMManager_notifyJob_label;
 	public static String PDOMManager_notifyTask_message;
 	public static String PDOMManager_StartJob_name;
+	public static String PDOMWarmupJob_name;
 	public static String PDOMWriter_errorResolvingName;
 	public static String PDOMWriter_errorWhileParsing;
 	public static String TeamPDOMExportOperation_errorCreateArchive;
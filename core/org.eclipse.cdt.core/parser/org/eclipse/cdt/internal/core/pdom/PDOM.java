@@ -552,6 +552,26 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return tagIndex;
 	}
 
+	/**
+	 * Reads the upper levels of the file index and of the global scope and macro indexes of all
+	 * linkages into the chunk cache. Must be called while holding a read lock.
+	 *
+	 * @param levels the number of b-tree levels to read
+	 * @param maxChunks the maximum number of chunks to read from the file
+	 * @return the number of chunks read from the file
+	 */
+	public int prefetchIndexes(int levels, int maxChunks) throws CoreException {
+		int count = getFileIndex().prefetch(levels, maxChunks);
+		for (PDOMLinkage linkage : getLinkageImpls()) {
+			if (count >= maxChunks)
+				break;
+			count += linkage.getIndex().prefetch(levels, maxChunks - count);
+			count += linkage.getNestedBindingsIndex().prefetch(levels, maxChunks - count);
+			count += linkage.getMacroIndex().prefetch(levels, maxChunks - count);
+		}
+		return count;
+	}
+
 	/**
 	 * Returns the index of files that were read with I/O errors.
 	 */
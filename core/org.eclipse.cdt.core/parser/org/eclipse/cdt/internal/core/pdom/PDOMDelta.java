@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IIndexLocationConverter;
+import org.eclipse.cdt.core.model.LanguageManager;
+import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Difference between two exported indexes, used to distribute updates of a team shared index
+ * without transferring the entire database.
+ * <p>
+ * A delta consists of a manifest of the files whose content differs between the base and
+ * the target index (keyed by file location and contents hash) and of the database chunks that
+ * differ between the two database files. The contents of an indexed file is spread over chunks
+ * shared with other files, therefore the chunks, not the files, are the unit that is transferred
+ * and applied in place to a copy of the base index. The delta pays off when the target index was
+ * produced by incrementally updating the base index, since the layout of the database is
+ * then mostly preserved.
+ */
+public class PDOMDelta {
+	public static final int ADDED = 1;
+	public static final int REMOVED = 2;
+	public static final int CHANGED = 3;
+
+	private static final int MAGIC = 0x50444c54;
+	private static final int FORMAT_VERSION = 1;
+	private static final String DIGEST_ALGORITHM = "SHA-1"; //$NON-NLS-1$
+
+	/**
+	 * An entry of the manifest of changed files.
+	 */
+	public static final class FileChange {
+		public final int fKind;
+		public final String fLocation;
+		public final long fContentsHash;
+
+		FileChange(int kind, String location, long contentsHash) {
+			fKind = kind;
+			fLocation = location;
+			fContentsHash = contentsHash;
+		}
+	}
+
+	private String fBaseName;
+	private byte[] fBaseDigest;
+	private byte[] fTargetDigest;
+	private int fTargetChunks;
+	private int fChangedChunks;
+	private final List<FileChange> fFileChanges = new ArrayList<>();
+
+	private PDOMDelta() {
+	}
+
+	/**
+	 * Returns the name of the archive containing the base index.
+	 */
+	public String getBaseName() {
+		return fBaseName;
+	}
+
+	/**
+	 * Returns the number of chunks contained in the delta.
+	 */
+	public int getChangedChunkCount() {
+		return fChangedChunks;
+	}
+
+	/**
+	 * Returns the files that were added, removed or changed relative to the base index.
+	 */
+	public List<FileChange> getFileChanges() {
+		return fFileChanges;
+	}
+
+	/**
+	 * Computes the difference between two exported databases and writes it to the given stream.
+	 *
+	 * @param baseName the name of the archive containing the base index, stored in the delta
+	 * @param base the database of the base index
+	 * @param target the database of the updated index
+	 * @param converter the location converter that was used for exporting both databases
+	 * @param out the stream to write the delta to
+	 */
+	public static PDOMDelta write(String baseName, File base, File target, IIndexLocationConverter converter,
+			DataOutputStream out, IProgressMonitor monitor) throws CoreException, IOException {
+		SubMonitor progress = SubMonitor.convert(monitor, 2);
+		PDOMDelta delta = new PDOMDelta();
+		delta.fBaseName = baseName;
+
+		// The chunks are written to a temporary file first, the digests precede them in the header.
+		// They are computed before the databases are opened for building the manifest.
+		File chunks = File.createTempFile("chunks", ".delta"); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			try (DataOutputStream chunkOut = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(chunks)))) {
+				delta.computeChunks(base, target, chunkOut, progress.split(1));
+			}
+			delta.computeFileChanges(base, target, converter, progress.split(1));
+			out.writeInt(MAGIC);
+			out.writeInt(FORMAT_VERSION);
+			out.writeUTF(baseName);
+			writeBytes(out, delta.fBaseDigest);
+			writeBytes(out, delta.fTargetDigest);
+			out.writeInt(delta.fTargetChunks);
+			out.writeInt(delta.fFileChanges.size());
+			for (FileChange change : delta.fFileChanges) {
+				out.writeByte(change.fKind);
+				out.writeUTF(change.fLocation);
+				out.writeLong(change.fContentsHash);
+			}
+			out.writeInt(delta.fChangedChunks);
+			try (InputStream in = new FileInputStream(chunks)) {
+				byte[] buffer = new byte[Database.CHUNK_SIZE * 16];
+				int read;
+				while ((read = in.read(buffer)) >= 0) {
+					out.write(buffer, 0, read);
+				}
+			}
+		} finally {
+			chunks.delete();
+		}
+		return delta;
+	}
+
+	/**
+	 * Reads the header of a delta, up to and excluding the changed chunks.
+	 */
+	public static PDOMDelta readHeader(DataInputStream in) throws CoreException, IOException {
+		if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+			throw new CoreException(CCorePlugin.createStatus(Messages.PDOMDelta_errorInvalidDelta));
+		}
+		PDOMDelta delta = new PDOMDelta();
+		delta.fBaseName = in.readUTF();
+		delta.fBaseDigest = readBytes(in);
+		delta.fTargetDigest = readBytes(in);
+		delta.fTargetChunks = in.readInt();
+		int fileCount = in.readInt();
+		for (int i = 0; i < fileCount; i++) {
+			int kind = in.readByte();
+			String location = in.readUTF();
+			long hash = in.readLong();
+			delta.fFileChanges.add(new FileChange(kind, location, hash));
+		}
+		delta.fChangedChunks = in.readInt();
+		return delta;
+	}
+
+	/**
+	 * Applies the chunks of the delta to a copy of the base database. The header of the delta
+	 * must have been consumed from the stream by {@link #readHeader(DataInputStream)}.
+	 *
+	 * @param database a copy of the base database, modified in place
+	 * @param in the stream positioned at the changed chunks
+	 * @throws CoreException if the database is not the base of the delta or the result does not
+	 *     match the target of the delta
+	 */
+	public void apply(File database, DataInputStream in, IProgressMonitor monitor) throws CoreException, IOException {
+		SubMonitor progress = SubMonitor.convert(monitor, fChangedChunks + 2);
+		if (!Arrays.equals(fBaseDigest, computeDigest(database))) {
+			throw new CoreException(
+					CCorePlugin.createStatus(NLS.bind(Messages.PDOMDelta_errorBaseMismatch, fBaseName)));
+		}
+		progress.worked(1);
+
+		byte[] chunk = new byte[Database.CHUNK_SIZE];
+		try (RandomAccessFile file = new RandomAccessFile(database, "rw")) { //$NON-NLS-1$
+			for (int i = 0; i < fChangedChunks; i++) {
+				checkCanceled(progress);
+				int index = in.readInt();
+				in.readFully(chunk);
+				file.seek((long) index * Database.CHUNK_SIZE);
+				file.write(chunk);
+				progress.worked(1);
+			}
+			file.setLength((long) fTargetChunks * Database.CHUNK_SIZE);
+		}
+
+		if (!Arrays.equals(fTargetDigest, computeDigest(database))) {
+			throw new CoreException(CCorePlugin.createStatus(Messages.PDOMDelta_errorInvalidDelta));
+		}
+		progress.worked(1);
+	}
+
+	private void computeChunks(File base, File target, DataOutputStream out, IProgressMonitor monitor)
+			throws CoreException, IOException {
+		MessageDigest baseDigest = createDigest();
+		MessageDigest targetDigest = createDigest();
+		byte[] baseChunk = new byte[Database.CHUNK_SIZE];
+		byte[] targetChunk = new byte[Database.CHUNK_SIZE];
+		try (RandomAccessFile baseFile = new RandomAccessFile(base, "r"); //$NON-NLS-1$
+				RandomAccessFile targetFile = new RandomAccessFile(target, "r")) { //$NON-NLS-1$
+			int baseChunks = (int) (baseFile.length() / Database.CHUNK_SIZE);
+			fTargetChunks = (int) (targetFile.length() / Database.CHUNK_SIZE);
+			SubMonitor progress = SubMonitor.convert(monitor, Math.max(baseChunks, fTargetChunks));
+			for (int i = 0; i < Math.max(baseChunks, fTargetChunks); i++) {
+				checkCanceled(progress);
+				boolean inBase = i < baseChunks;
+				if (inBase) {
+					baseFile.readFully(baseChunk);
+					baseDigest.update(baseChunk);
+				}
+				if (i < fTargetChunks) {
+					targetFile.readFully(targetChunk);
+					targetDigest.update(targetChunk);
+					if (!inBase || !Arrays.equals(baseChunk, targetChunk)) {
+						out.writeInt(i);
+						out.write(targetChunk);
+						fChangedChunks++;
+					}
+				}
+				progress.worked(1);
+			}
+		}
+		fBaseDigest = baseDigest.digest();
+		fTargetDigest = targetDigest.digest();
+	}
+
+	private void computeFileChanges(File base, File target, IIndexLocationConverter converter,
+			IProgressMonitor monitor) throws CoreException {
+		SubMonitor progress = SubMonitor.convert(monitor, 2);
+		Map<String, Set<Long>> baseFiles = getFileHashes(base, converter);
+		progress.worked(1);
+		Map<String, Set<Long>> targetFiles = getFileHashes(target, converter);
+		progress.worked(1);
+
+		for (Map.Entry<String, Set<Long>> entry : targetFiles.entrySet()) {
+			Set<Long> baseHashes = baseFiles.get(entry.getKey());
+			for (Long hash : entry.getValue()) {
+				if (baseHashes == null) {
+					fFileChanges.add(new FileChange(ADDED, entry.getKey(), hash));
+				} else if (!baseHashes.contains(hash)) {
+					fFileChanges.add(new FileChange(CHANGED, entry.getKey(), hash));
+				}
+			}
+		}
+		for (Map.Entry<String, Set<Long>> entry : baseFiles.entrySet()) {
+			if (!targetFiles.containsKey(entry.getKey())) {
+				for (Long hash : entry.getValue()) {
+					fFileChanges.add(new FileChange(REMOVED, entry.getKey(), hash));
+				}
+			}
+		}
+	}
+
+	private static Map<String, Set<Long>> getFileHashes(File database, IIndexLocationConverter converter)
+			throws CoreException {
+		Map<String, Set<Long>> result = new HashMap<>();
+		PDOM pdom = new PDOM(database, converter, LanguageManager.getInstance().getPDOMLinkageFactoryMappings());
+		try {
+			pdom.acquireReadLock();
+		} catch (InterruptedException e) {
+			throw new OperationCanceledException();
+		}
+		try {
+			for (IIndexFragmentFile file : pdom.getAllFiles()) {
+				IIndexFileLocation ifl = file.getLocation();
+				String key = ifl.getFullPath() != null ? ifl.getFullPath() : ifl.getURI().toString();
+				Set<Long> hashes = result.get(key);
+				if (hashes == null) {
+					hashes = new HashSet<>();
+					result.put(key, hashes);
+				}
+				hashes.add(file.getContentsHash());
+			}
+		} finally {
+			pdom.releaseReadLock();
+			pdom.db.setExclusiveLock(); // The database is all ours.
+			pdom.close();
+		}
+		return result;
+	}
+
+	private static byte[] computeDigest(File file) throws CoreException, IOException {
+		MessageDigest md = createDigest();
+		byte[] buffer = new byte[Database.CHUNK_SIZE * 16];
+		try (InputStream in = new FileInputStream(file)) {
+			int read;
+			while ((read = in.read(buffer)) >= 0) {
+				md.update(buffer, 0, read);
+			}
+		}
+		return md.digest();
+	}
+
+	private static MessageDigest createDigest() throws CoreException {
+		try {
+			return MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new CoreException(CCorePlugin.createStatus(e.getMessage(), e));
+		}
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private static void checkCanceled(IProgressMonitor monitor) {
+		if (monitor.isCanceled()) {
+			throw new OperationCanceledException();
+		}
+	}
+}
@@ -160,13 +160,18 @@ public class PDOMIndexerJob extends Job {
 						currentTask.run(npm);
 						if (fShowActivity) {
 							time += System.currentTimeMillis();
-							System.out.println("Indexer: completed " + name + "[" + time + "ms]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+							String state = currentTask instanceof IPreemptableIndexerTask
+									&& ((IPreemptableIndexerTask) currentTask).isPreempted() ? "preempted " : "completed "; //$NON-NLS-1$ //$NON-NLS-2$
+							System.out.println("Indexer: " + state + name + "[" + time + "ms]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 						}
 					} catch (InterruptedException e) {
 						Thread.currentThread().interrupt();
 					}
 				}
 			} while (currentTask != null);
+			if (fShowActivity) {
+				System.out.println("Indexer: queue latency " + pdomManager.getQueueStatistics()); //$NON-NLS-1$
+			}
 			return Status.OK_STATUS;
 		} catch (OperationCanceledException e) {
 			indexingAborted();
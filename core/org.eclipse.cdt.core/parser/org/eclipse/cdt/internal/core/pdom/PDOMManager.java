@@ -32,11 +32,15 @@ import java.text.SimpleDateFormat;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Map;
 import java.util.Properties;
 import java.util.Set;
@@ -148,14 +152,58 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 	public static final int[] IDS_FOR_LINKAGES_TO_INDEX_C_FIRST = { ILinkage.C_LINKAGE_ID, ILinkage.CPP_LINKAGE_ID,
 			ILinkage.FORTRAN_LINKAGE_ID };
 
+	/**
+	 * Internal update option. In addition to the selected files, updates the translation units
+	 * that directly or indirectly include the selected headers whose contents changed. These are
+	 * parsed again even though they did not change themselves, the selected files are checked as
+	 * the update options request. Can be combined with the options defined in {@link IIndexManager}.
+	 * Used for the headers changed in the workspace, when the index is updated immediately.
+	 */
+	public static final int UPDATE_INCLUDING_FILES = 0x10000;
+
+	/**
+	 * Priority of indexer tasks updating entire projects.
+	 */
+	public static final int PRIORITY_BULK = 0;
+	/**
+	 * Priority of indexer tasks not covered by the other priorities.
+	 */
+	public static final int PRIORITY_NORMAL = 1;
+	/**
+	 * Priority of indexer tasks updating files open in editors.
+	 */
+	public static final int PRIORITY_EDITOR = 2;
+	/**
+	 * Indexer tasks with more files to update are treated as bulk updates.
+	 */
+	private static final int BULK_TASK_FILE_COUNT = 1000;
+
+	/**
+	 * Priority and time of queuing of a task in {@link PDOMManager#fTaskQueue}.
+	 */
+	private static class QueueEntry {
+		final int fPriority;
+		final long fQueueTime;
+
+		QueueEntry(int priority) {
+			fPriority = priority;
+			fQueueTime = System.currentTimeMillis();
+		}
+	}
+
 	private final ArrayDeque<ICProject> fProjectQueue = new ArrayDeque<>();
 	private final PDOMSetupJob fSetupJob;
 	/**
-	 * Protects fIndexerJob, fCurrentTask and fTaskQueue.
+	 * Protects fIndexerJob, fCurrentTask, fCurrentPriority, fQueueEntries and fTaskQueue.
+	 * The tasks in the queue are ordered by priority.
 	 */
-	private final ArrayDeque<IPDOMIndexerTask> fTaskQueue = new ArrayDeque<>();
+	private final LinkedList<IPDOMIndexerTask> fTaskQueue = new LinkedList<>();
+	private final Map<IPDOMIndexerTask, QueueEntry> fQueueEntries = new IdentityHashMap<>();
+	private final IndexerQueueStatistics fQueueStatistics = new IndexerQueueStatistics();
 	private final PDOMIndexerJob fIndexerJob;
+	private final PDOMWarmupJob fWarmupJob;
 	private IPDOMIndexerTask fCurrentTask;
+	private int fCurrentPriority;
 	private int fSourceCount, fHeaderCount, fTickCount;
 
 	private final ArrayDeque<Runnable> fChangeEvents = new ArrayDeque<>();
@@ -168,6 +216,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 	 */
 	private Map<IProject, IPDOM> fProjectToPDOM = new HashMap<>();
 	private Map<File, ICProject> fFileToProject = new HashMap<>();
+	private final Map<ICProject, IncludeGraph> fIncludeGraphs = new HashMap<>();
 	private ListenerList<IIndexChangeListener> fChangeListeners = new ListenerList<>();
 	private ListenerList<IIndexerStateListener> fStateListeners = new ListenerList<>();
 
@@ -209,6 +258,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		fPreferenceChangeListener = event -> onPreferenceChange(event);
 		fSetupJob = new PDOMSetupJob(this);
 		fIndexerJob = new PDOMIndexerJob(this);
+		fWarmupJob = new PDOMWarmupJob();
 		fNotificationJob = createNotifyJob();
 	}
 
@@ -278,6 +328,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		PDOMIndexerJob jobToCancel = null;
 		synchronized (fTaskQueue) {
 			fTaskQueue.clear();
+			fQueueEntries.clear();
 			jobToCancel = fIndexerJob;
 		}
 
@@ -286,6 +337,15 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 			jobToCancel.cancelJobs(null, true);
 		}
 		Job.getJobManager().removeJobChangeListener(fJobChangeListener);
+
+		fWarmupJob.cancel();
+		synchronized (fProjectToPDOM) {
+			for (IPDOM pdom : fProjectToPDOM.values()) {
+				if (pdom instanceof WritablePDOM) {
+					PDOMWarmupJob.saveHotChunks((WritablePDOM) pdom);
+				}
+			}
+		}
 	}
 
 	protected void onPreferenceChange(PreferenceChangeEvent event) {
@@ -399,6 +459,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 				pdom = new WritablePDOM(dbFile, new PDOMProjectIndexLocationConverter(project), getLinkageFactories());
 			}
 
+			final boolean warmUp = !fromScratch && pdom.isSupportedVersion();
 			if (!pdom.isSupportedVersion() || fromScratch) {
 				try {
 					pdom.acquireWriteLock(monitor);
@@ -423,6 +484,9 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 
 			fFileToProject.put(dbFile, cProject);
 			fProjectToPDOM.put(project, pdom);
+			if (warmUp) {
+				fWarmupJob.add(pdom);
+			}
 			if (pdomProxy instanceof PDOMProxy) {
 				((PDOMProxy) pdomProxy).setDelegate(pdom);
 			}
@@ -699,35 +763,129 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 	}
 
 	public void enqueue(IPDOMIndexerTask subjob) {
+		final int priority = getTaskPriority(subjob);
 		synchronized (fTaskQueue) {
 			if (fCurrentTask != null && fCurrentTask.acceptUrgentTask(subjob)) {
+				fQueueStatistics.recordMerge(priority);
 				return;
 			}
 			for (IPDOMIndexerTask task : fTaskQueue) {
 				if (task.acceptUrgentTask(subjob)) {
+					fQueueStatistics.recordMerge(priority);
 					return;
 				}
 			}
-			fTaskQueue.addLast(subjob);
+			insertTask(subjob, priority, false);
 		}
 		fIndexerJob.schedule();
 	}
 
+	/**
+	 * Inserts a task into the queue behind the tasks of higher or equal priority. A task resumed after
+	 * preemption is inserted in front of the tasks of equal priority and in front of the other tasks
+	 * for its project. Other tasks never overtake a preempted task for the same project, the index
+	 * must not change underneath the preempted task.
+	 */
+	private void insertTask(IPDOMIndexerTask task, int priority, boolean resumed) {
+		int start = 0;
+		if (!resumed) {
+			int i = fTaskQueue.size();
+			for (Iterator<IPDOMIndexerTask> it = fTaskQueue.descendingIterator(); it.hasNext(); i--) {
+				IPDOMIndexerTask queued = it.next();
+				if (isPreempted(queued) && isSameProject(queued, task)) {
+					start = i;
+					break;
+				}
+			}
+		}
+		ListIterator<IPDOMIndexerTask> it = fTaskQueue.listIterator(start);
+		while (it.hasNext()) {
+			IPDOMIndexerTask queued = it.next();
+			int queuedPriority = fQueueEntries.get(queued).fPriority;
+			if (resumed ? queuedPriority <= priority || isSameProject(queued, task) : queuedPriority < priority) {
+				it.previous();
+				break;
+			}
+		}
+		it.add(task);
+		fQueueEntries.put(task, new QueueEntry(priority));
+	}
+
+	/**
+	 * Determines the priority of an indexer task, see {@link #PRIORITY_EDITOR}, {@link #PRIORITY_NORMAL}
+	 * and {@link #PRIORITY_BULK}.
+	 */
+	int getTaskPriority(IPDOMIndexerTask task) {
+		if (task instanceof PDOMUpdateTask) {
+			PDOMUpdateTask updateTask = (PDOMUpdateTask) task;
+			if (updateTask.isEditorUpdate())
+				return PRIORITY_EDITOR;
+			if (updateTask.isProjectUpdate())
+				return PRIORITY_BULK;
+		} else if (task instanceof PDOMRebuildTask) {
+			return PRIORITY_BULK;
+		} else if (task instanceof AbstractIndexerTask) {
+			if (task.getProgressInformation().fRequestedFilesCount > BULK_TASK_FILE_COUNT)
+				return PRIORITY_BULK;
+			if (((AbstractIndexerTask) task).updatesFilesIndexedUnconditionally())
+				return PRIORITY_EDITOR;
+		}
+		return PRIORITY_NORMAL;
+	}
+
+	private static boolean isPreempted(IPDOMIndexerTask task) {
+		return task instanceof IPreemptableIndexerTask && ((IPreemptableIndexerTask) task).isPreempted();
+	}
+
+	private static boolean isSameProject(IPDOMIndexerTask task1, IPDOMIndexerTask task2) {
+		IPDOMIndexer indexer1 = task1.getIndexer();
+		IPDOMIndexer indexer2 = task2.getIndexer();
+		return indexer1 != null && indexer2 != null
+				&& indexer1.getProject().getProject().equals(indexer2.getProject().getProject());
+	}
+
+	/**
+	 * Returns whether the running indexer task should stop at the next file boundary, because
+	 * a task of higher priority for a different project is waiting. Tasks for the same project are
+	 * merged into the running task instead, see {@link IPDOMIndexerTask#acceptUrgentTask(IPDOMIndexerTask)}.
+	 */
+	public boolean hasPreemptingTask() {
+		synchronized (fTaskQueue) {
+			if (fCurrentTask == null || fTaskQueue.isEmpty())
+				return false;
+			IPDOMIndexerTask next = fTaskQueue.getFirst();
+			return fQueueEntries.get(next).fPriority > fCurrentPriority && !isSameProject(next, fCurrentTask);
+		}
+	}
+
+	/**
+	 * Returns the statistics about the time the indexer tasks spent in the queue.
+	 */
+	public IndexerQueueStatistics getQueueStatistics() {
+		return fQueueStatistics;
+	}
+
 	IPDOMIndexerTask getNextTask() {
 		IPDOMIndexerTask result = null;
 		synchronized (fTaskQueue) {
+			if (isPreempted(fCurrentTask)) {
+				// The task continues after the tasks of higher priority, its progress is not historic yet.
+				insertTask(fCurrentTask, fCurrentPriority, true);
+			} else if (fCurrentTask != null && !fTaskQueue.isEmpty()) {
+				IndexerProgress info = fCurrentTask.getProgressInformation();
+				fSourceCount += info.fCompletedSources;
+				fHeaderCount += info.fCompletedHeaders;
+				// for the ticks we don't consider additional headers
+				fTickCount += info.fCompletedSources + info.fPrimaryHeaderCount;
+			}
 			if (fTaskQueue.isEmpty()) {
 				fCurrentTask = null;
 				fSourceCount = fHeaderCount = fTickCount = 0;
 			} else {
-				if (fCurrentTask != null) {
-					IndexerProgress info = fCurrentTask.getProgressInformation();
-					fSourceCount += info.fCompletedSources;
-					fHeaderCount += info.fCompletedHeaders;
-					// for the ticks we don't consider additional headers
-					fTickCount += info.fCompletedSources + info.fPrimaryHeaderCount;
-				}
 				result = fCurrentTask = fTaskQueue.removeFirst();
+				QueueEntry entry = fQueueEntries.remove(result);
+				fCurrentPriority = entry.fPriority;
+				fQueueStatistics.recordStart(entry.fPriority, System.currentTimeMillis() - entry.fQueueTime);
 			}
 		}
 		return result;
@@ -739,6 +897,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 			fCurrentTask = null;
 			if (!byManager) {
 				fTaskQueue.clear();
+				fQueueEntries.clear();
 			}
 			scheduleJob = !fTaskQueue.isEmpty();
 		}
@@ -813,8 +972,22 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 
 		synchronized (fUpdatePolicies) {
 			IndexUpdatePolicy policy = createPolicy(project);
-			IPDOMIndexerTask task = policy.handleDelta(added, changed, removed);
-			if (task != null) {
+			ITranslationUnit[] changedHeaders = new ITranslationUnit[0];
+			if (policy.isImmediate() && hasHeaderTU(changed)) {
+				// Changed headers are updated together with the files including them.
+				changedHeaders = filterHeaderTU(changed);
+				changed = Arrays.stream(changed).filter(tu -> !tu.isHeaderUnit()).toArray(ITranslationUnit[]::new);
+			}
+			if (added.length > 0 || changed.length > 0 || removed.length > 0) {
+				IPDOMIndexerTask task = policy.handleDelta(added, changed, removed);
+				if (task != null) {
+					enqueue(task);
+				}
+			}
+			if (changedHeaders.length > 0 && policy.getIndexer() != null) {
+				PDOMUpdateTask task = new PDOMUpdateTask(policy.getIndexer(), IIndexManager.UPDATE_CHECK_TIMESTAMPS
+						| IIndexManager.UPDATE_CHECK_CONTENTS_HASH | UPDATE_INCLUDING_FILES);
+				task.setTranslationUnitSelection(Arrays.asList(changedHeaders));
 				enqueue(task);
 			}
 		}
@@ -914,6 +1087,11 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 					try {
 						finalpdom.acquireWriteLock(monitor);
 						try {
+							if (delete) {
+								PDOMWarmupJob.deleteHotChunks(finalpdom.getDB().getLocation());
+							} else {
+								PDOMWarmupJob.saveHotChunks(finalpdom);
+							}
 							finalpdom.close();
 							if (delete) {
 								finalpdom.getDB().getLocation().delete();
@@ -935,6 +1113,9 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		synchronized (fUpdatePolicies) {
 			fUpdatePolicies.remove(cproject);
 		}
+		synchronized (fIncludeGraphs) {
+			fIncludeGraphs.remove(cproject);
+		}
 	}
 
 	void removeProject(ICProject cproject, ICElementDelta delta) {
@@ -968,6 +1149,7 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 				IPDOMIndexerTask task = iter.next();
 				if (task.getIndexer() == indexer) {
 					iter.remove();
+					fQueueEntries.remove(task);
 				}
 			}
 			jobToCancel = fIndexerJob;
@@ -1109,6 +1291,13 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 
 	@Override
 	public void handleChange(PDOM pdom, final PDOM.ChangeEvent e) {
+		// The index of a project may contain fragments of referenced projects.
+		synchronized (fIncludeGraphs) {
+			for (IncludeGraph graph : fIncludeGraphs.values()) {
+				graph.invalidate(e);
+			}
+		}
+
 		if (fChangeListeners.isEmpty()) {
 			return;
 		}
@@ -1271,6 +1460,42 @@ public class PDOMManager implements IWritableIndexManager, IListener {
 		return fIndexFactory.getIndex(projects, options);
 	}
 
+	/**
+	 * Returns the reverse include graph for the index of the given project. The graph is kept
+	 * up to date with the changes of the index.
+	 */
+	public IncludeGraph getIncludeGraph(ICProject project) {
+		synchronized (fIncludeGraphs) {
+			IncludeGraph graph = fIncludeGraphs.get(project);
+			if (graph == null) {
+				graph = new IncludeGraph();
+				fIncludeGraphs.put(project, graph);
+			}
+			return graph;
+		}
+	}
+
+	/**
+	 * Computes the translation units of the given project that have to be reindexed when any of
+	 * the given files changes, i.e. the files at the top of the include hierarchy above them.
+	 *
+	 * @param project the project to compute the translation units for
+	 * @param files the locations of the changed files
+	 * @return the locations of the affected translation units
+	 * @throws InterruptedException if interrupted while waiting for the read lock on the index
+	 */
+	public Set<IIndexFileLocation> getAffectedTranslationUnits(ICProject project, Collection<IIndexFileLocation> files)
+			throws CoreException, InterruptedException {
+		IncludeGraph graph = getIncludeGraph(project);
+		IIndex index = getIndex(project);
+		index.acquireReadLock();
+		try {
+			return graph.getAffectedTranslationUnits(index, files);
+		} finally {
+			index.releaseReadLock();
+		}
+	}
+
 	/**
 	 * Exports the project PDOM to the specified location, rewriting locations with
 	 * the specified location converter.
@@ -0,0 +1,193 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Job reading the parts of freshly opened indexes into the chunk cache that are needed by
+ * almost every index query: the upper levels of the b-trees of the file index and of the global
+ * scopes, followed by the chunks that were held in memory when the index was used last.
+ * The amount of memory used for the warm-up is limited by {@link #PREF_WARMUP_BUDGET_MB}.
+ */
+public class PDOMWarmupJob extends Job {
+	/**
+	 * Preference for the maximum amount of index data in megabytes read by the warm-up,
+	 * {@code 0} disables the warm-up.
+	 */
+	public static final String PREF_WARMUP_BUDGET_MB = CCorePlugin.PLUGIN_ID + ".indexWarmupBudgetMB"; //$NON-NLS-1$
+	private static final int DEFAULT_WARMUP_BUDGET_MB = 16;
+
+	private static final String HOT_CHUNKS_SUFFIX = ".hot"; //$NON-NLS-1$
+	private static final int HOT_CHUNKS_MAGIC = 0x43484b31;
+	private static final int BTREE_LEVELS = 3;
+	/** Number of chunks read before the read lock is released to let writers in. */
+	private static final int CHUNKS_PER_LOCK = 256;
+
+	private final ArrayDeque<WritablePDOM> fQueue = new ArrayDeque<>();
+
+	PDOMWarmupJob() {
+		super(Messages.PDOMWarmupJob_name);
+		setSystem(true);
+		setPriority(Job.DECORATE);
+	}
+
+	/**
+	 * Schedules the warm-up of the given index.
+	 */
+	void add(WritablePDOM pdom) {
+		synchronized (fQueue) {
+			fQueue.add(pdom);
+		}
+		schedule();
+	}
+
+	@Override
+	protected IStatus run(IProgressMonitor monitor) {
+		// The budget is shared by all the indexes warmed up by this run.
+		int maxChunks = getMaxChunks();
+		while (true) {
+			WritablePDOM pdom;
+			synchronized (fQueue) {
+				pdom = fQueue.poll();
+				if (maxChunks <= 0) {
+					fQueue.clear();
+				}
+			}
+			if (pdom == null || maxChunks <= 0)
+				return Status.OK_STATUS;
+			if (monitor.isCanceled())
+				return Status.CANCEL_STATUS;
+
+			try {
+				maxChunks -= warmUp(pdom, maxChunks, monitor);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return Status.CANCEL_STATUS;
+			} catch (CoreException e) {
+				CCorePlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * Reads the parts of the given index needed by most queries, returns the number of chunks
+	 * read from the file.
+	 */
+	private int warmUp(WritablePDOM pdom, int maxChunks, IProgressMonitor monitor)
+			throws InterruptedException, CoreException {
+		final Database db = pdom.getDB();
+		int[] hotChunks = readHotChunks(db);
+		int count;
+		pdom.acquireReadLock();
+		try {
+			count = pdom.prefetchIndexes(BTREE_LEVELS, maxChunks);
+		} finally {
+			pdom.releaseReadLock();
+		}
+
+		for (int i = 0; i < hotChunks.length && count < maxChunks && !monitor.isCanceled();) {
+			pdom.acquireReadLock();
+			try {
+				for (int end = Math.min(hotChunks.length, i + CHUNKS_PER_LOCK); i < end && count < maxChunks; i++) {
+					if (db.prefetchChunk(hotChunks[i])) {
+						count++;
+					}
+				}
+			} finally {
+				pdom.releaseReadLock();
+			}
+		}
+		return count;
+	}
+
+	private static int getMaxChunks() {
+		int budgetMB = Platform.getPreferencesService().getInt(CCorePlugin.PLUGIN_ID, PREF_WARMUP_BUDGET_MB,
+				DEFAULT_WARMUP_BUDGET_MB, null);
+		// Never use more than half of the cache, the warm-up must not evict what is actually used.
+		long budget = Math.min(budgetMB * 1024L * 1024L, ChunkCache.getSharedInstance().getMaxSize() / 2);
+		return (int) Math.max(0, budget / Database.CHUNK_SIZE);
+	}
+
+	/**
+	 * Records the chunks of the given index currently held in memory, they will be read by
+	 * the next warm-up of the index.
+	 */
+	static void saveHotChunks(WritablePDOM pdom) {
+		final Database db = pdom.getDB();
+		int[] chunks = db.getCachedChunkIndexes();
+		File file = getHotChunksFile(db);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)))) {
+			out.writeInt(HOT_CHUNKS_MAGIC);
+			out.writeInt(db.getVersion());
+			out.writeInt(chunks.length);
+			for (int chunk : chunks) {
+				out.writeInt(chunk);
+			}
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+		}
+	}
+
+	/**
+	 * Removes the record of the hot chunks for the given database file.
+	 */
+	static void deleteHotChunks(File dbFile) {
+		new File(dbFile.getPath() + HOT_CHUNKS_SUFFIX).delete();
+	}
+
+	private static int[] readHotChunks(Database db) {
+		File file = getHotChunksFile(db);
+		if (!file.exists())
+			return new int[0];
+
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			if (in.readInt() != HOT_CHUNKS_MAGIC || in.readInt() != db.getVersion())
+				return new int[0];
+			int length = Math.min(in.readInt(), db.getChunkCount());
+			int[] chunks = new int[Math.max(0, length)];
+			for (int i = 0; i < chunks.length; i++) {
+				chunks[i] = in.readInt();
+			}
+			return chunks;
+		} catch (IOException e) {
+			// A truncated or otherwise unreadable record is not worth reporting.
+			return new int[0];
+		}
+	}
+
+	private static File getHotChunksFile(Database db) {
+		return new File(db.getLocation().getPath() + HOT_CHUNKS_SUFFIX);
+	}
+
+	@Override
+	public boolean belongsTo(Object family) {
+		return family == PDOMWarmupJob.class;
+	}
+}
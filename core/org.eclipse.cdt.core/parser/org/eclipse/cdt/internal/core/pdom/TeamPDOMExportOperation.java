@@ -13,6 +13,8 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom;
 
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -60,6 +62,13 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 	 */
 	public static int EXPORT_OPTION_RESOURCE_SNAPSHOT = 1;
 
+	/**
+	 * Option constant (value:2) to indicate that only the difference to the index exported
+	 * to the base location shall be exported.
+	 * @see #setBaseLocation(String)
+	 */
+	public static int EXPORT_OPTION_DELTA = 2;
+
 	private static final String RESOURCE_PREFIX = "res-"; //$NON-NLS-1$
 	private static final String CDT_PREFIX = "cdt-"; //$NON-NLS-1$
 	private static final String RESOURCE_SNAP_EXTENSION = "snap.zip"; //$NON-NLS-1$
@@ -67,6 +76,7 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 	private ICProject fProject;
 	private String fTargetLocation;
 	private File fTargetLocationFile;
+	private String fBaseLocation;
 	private MessageDigest fMessageDigest;
 	private int fOptions;
 
@@ -78,6 +88,13 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 		fTargetLocation = location;
 	}
 
+	/**
+	 * Sets the location of a previously exported full index, used as the base of a delta export.
+	 */
+	public void setBaseLocation(String location) {
+		fBaseLocation = location;
+	}
+
 	public void setOptions(int options) {
 		fOptions = options;
 	}
@@ -126,7 +143,11 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 			}
 
 			// Create archive.
-			createArchive(tmpPDOM, tmpChecksums);
+			if ((fOptions & EXPORT_OPTION_DELTA) != 0) {
+				createDeltaArchive(tmpPDOM, tmpChecksums, converter, progress.split(10));
+			} else {
+				createArchive(tmpPDOM, tmpChecksums);
+			}
 
 			// Store preferences.
 			progress.setTaskName(Messages.TeamPDOMExportOperation_taskExportIndex);
@@ -236,13 +257,51 @@ public class TeamPDOMExportOperation implements IWorkspaceRunnable {
 	}
 
 	private void createArchive(File tmpPDOM, File tmpChecksums) throws CoreException {
+		createArchive(TeamPDOMImportOperation.INDEX_NAME, tmpPDOM, tmpChecksums);
+	}
+
+	/**
+	 * Creates an archive containing the difference between the index stored in the base archive
+	 * and the index just exported.
+	 */
+	private void createDeltaArchive(File tmpPDOM, File tmpChecksums, IIndexLocationConverter converter,
+			IProgressMonitor monitor) throws CoreException {
+		if (fBaseLocation == null) {
+			throw new IllegalArgumentException("No base location for delta export"); //$NON-NLS-1$
+		}
+		File baseArchive = TeamPDOMImportOperation.expandLocation(fProject.getProject(), fBaseLocation);
+		File tmpBase = null;
+		File tmpDelta = null;
+		try {
+			tmpBase = File.createTempFile("base", ".pdom"); //$NON-NLS-1$//$NON-NLS-2$
+			tmpDelta = File.createTempFile("tmp", ".delta"); //$NON-NLS-1$//$NON-NLS-2$
+			TeamPDOMImportOperation.extractIndex(baseArchive, tmpBase);
+			try (DataOutputStream out = new DataOutputStream(
+					new BufferedOutputStream(new FileOutputStream(tmpDelta)))) {
+				PDOMDelta.write(baseArchive.getName(), tmpBase, tmpPDOM, converter, out, monitor);
+			}
+			createArchive(TeamPDOMImportOperation.DELTA_NAME, tmpDelta, tmpChecksums);
+		} catch (IOException e) {
+			throw new CoreException(
+					CCorePlugin.createStatus(Messages.TeamPDOMExportOperation_errorWriteTempFile, e));
+		} finally {
+			if (tmpBase != null) {
+				tmpBase.delete();
+			}
+			if (tmpDelta != null) {
+				tmpDelta.delete();
+			}
+		}
+	}
+
+	private void createArchive(String indexEntryName, File tmpIndex, File tmpChecksums) throws CoreException {
 		fTargetLocationFile.delete();
 		ZipOutputStream out = null;
 		try {
 			fTargetLocationFile.getParentFile().mkdirs();
 			out = new ZipOutputStream(new FileOutputStream(fTargetLocationFile));
 			out.setLevel(Deflater.BEST_COMPRESSION);
-			writeEntry(out, TeamPDOMImportOperation.INDEX_NAME, tmpPDOM);
+			writeEntry(out, indexEntryName, tmpIndex);
 			writeEntry(out, TeamPDOMImportOperation.CHECKSUMS_NAME, tmpChecksums);
 		} catch (IOException e) {
 			throw new CoreException(CCorePlugin.createStatus(Messages.TeamPDOMExportOperation_errorCreateArchive, e));
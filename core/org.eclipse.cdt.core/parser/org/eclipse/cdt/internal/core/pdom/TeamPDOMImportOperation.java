@@ -13,10 +13,15 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom;
 
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
+import java.io.OutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
@@ -50,6 +55,7 @@ import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.variables.IStringVariableManager;
 import org.eclipse.core.variables.VariablesPlugin;
 import org.eclipse.osgi.util.NLS;
@@ -57,6 +63,7 @@ import org.eclipse.osgi.util.NLS;
 public class TeamPDOMImportOperation implements IWorkspaceRunnable {
 	static final String CHECKSUMS_NAME = "checksums.dat"; //$NON-NLS-1$
 	static final String INDEX_NAME = "cdt-index.pdom"; //$NON-NLS-1$
+	static final String DELTA_NAME = "cdt-index.delta"; //$NON-NLS-1$
 	private static final Pattern PROJECT_VAR_PATTERN = Pattern.compile("\\$\\{(project_[a-zA-Z0-9]*)\\}"); //$NON-NLS-1$
 	private static final String PROJECT_VAR_REPLACEMENT_BEGIN = "\\${$1:"; //$NON-NLS-1$
 	private static final String PROJECT_VAR_REPLACEMENT_END = "}"; //$NON-NLS-1$
@@ -142,7 +149,11 @@ public class TeamPDOMImportOperation implements IWorkspaceRunnable {
 		ZipFile zip = new ZipFile(importFile);
 		Map<?, ?> checksums = null;
 		try {
-			importIndex(zip, monitor);
+			if (zip.getEntry(DELTA_NAME) != null) {
+				importDelta(zip, importFile, monitor);
+			} else {
+				importIndex(zip, monitor);
+			}
 			checksums = getChecksums(zip);
 		} finally {
 			try {
@@ -165,6 +176,54 @@ public class TeamPDOMImportOperation implements IWorkspaceRunnable {
 		CCoreInternals.getPDOMManager().importProjectPDOM(fProject, stream, monitor);
 	}
 
+	/**
+	 * Imports an index by applying a delta to a copy of the base index. The archive containing
+	 * the base index is expected next to the archive containing the delta.
+	 */
+	private void importDelta(ZipFile zip, File importFile, IProgressMonitor monitor)
+			throws CoreException, IOException {
+		File tmpPDOM = File.createTempFile("tmp", ".pdom"); //$NON-NLS-1$//$NON-NLS-2$
+		try {
+			SubMonitor progress = SubMonitor.convert(monitor, 2);
+			try (DataInputStream in = new DataInputStream(
+					new BufferedInputStream(zip.getInputStream(zip.getEntry(DELTA_NAME))))) {
+				PDOMDelta delta = PDOMDelta.readHeader(in);
+				File baseArchive = new File(importFile.getParentFile(), delta.getBaseName());
+				extractIndex(baseArchive, tmpPDOM);
+				delta.apply(tmpPDOM, in, progress.split(1));
+				if (fShowActivity) {
+					System.out.println("Indexer: PDOMImporter applied delta, " + delta.getFileChanges().size() //$NON-NLS-1$
+							+ " changed files, " + delta.getChangedChunkCount() + " changed chunks"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			}
+			try (InputStream stream = new FileInputStream(tmpPDOM)) {
+				CCoreInternals.getPDOMManager().importProjectPDOM(fProject, stream, progress.split(1));
+			}
+		} finally {
+			tmpPDOM.delete();
+		}
+	}
+
+	/**
+	 * Extracts the database of a full index archive into the given file.
+	 */
+	static void extractIndex(File archive, File target) throws CoreException, IOException {
+		try (ZipFile zip = new ZipFile(archive)) {
+			ZipEntry indexEntry = zip.getEntry(INDEX_NAME);
+			if (indexEntry == null) {
+				throw new CoreException(
+						CCorePlugin.createStatus(NLS.bind(Messages.PDOMImportTask_errorInvalidArchive, zip.getName())));
+			}
+			try (InputStream in = zip.getInputStream(indexEntry); OutputStream out = new FileOutputStream(target)) {
+				byte[] buffer = new byte[4096 * 16];
+				int read;
+				while ((read = in.read(buffer)) >= 0) {
+					out.write(buffer, 0, read);
+				}
+			}
+		}
+	}
+
 	private Map<?, ?> getChecksums(ZipFile zip) {
 		ZipEntry indexEntry = zip.getEntry(CHECKSUMS_NAME);
 		if (indexEntry != null) {
@@ -541,6 +541,35 @@ public class BTree {
 		accept(db.getRecPtr(rootPointer), visitor);
 	}
 
+	/**
+	 * Reads the nodes of the upper levels of the b-tree into the chunk cache. The records
+	 * referenced by the nodes are not touched.
+	 *
+	 * @param levels the number of levels to read, starting with the root node
+	 * @param maxChunks the maximum number of chunks to read from the file
+	 * @return the number of chunks read from the file
+	 */
+	public int prefetch(int levels, int maxChunks) throws CoreException {
+		return prefetch(getRoot(), levels, maxChunks);
+	}
+
+	private int prefetch(long node, int levels, int maxChunks) throws CoreException {
+		if (node == 0 || levels <= 0 || maxChunks <= 0)
+			return 0;
+
+		int count = db.prefetchChunk((int) (node / Database.CHUNK_SIZE)) ? 1 : 0;
+		if (levels > 1) {
+			Chunk chunk = db.getChunk(node);
+			for (int i = 0; i < MAX_CHILDREN && count < maxChunks; ++i) {
+				long child = getChild(chunk, node, i);
+				if (child == 0)
+					break;
+				count += prefetch(child, levels - 1, maxChunks - count);
+			}
+		}
+		return count;
+	}
+
 	private boolean accept(long node, IBTreeVisitor visitor) throws CoreException {
 		// If found is false, we are still in search mode.
 		// Once found is true visit everything.
@@ -31,6 +31,7 @@ import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -317,6 +318,47 @@ public class Database {
 		}
 	}
 
+	/**
+	 * Reads the chunk with the given index into the cache unless it is already there.
+	 * Chunk indexes outside of the database are ignored.
+	 *
+	 * @return {@code true} if the chunk had to be read from the file
+	 */
+	public boolean prefetchChunk(int index) throws CoreException {
+		synchronized (fCache) {
+			if (index <= 0 || index >= fChunksUsed || fChunks[index] != null) {
+				return false;
+			}
+		}
+		getChunk((long) index * CHUNK_SIZE);
+		return true;
+	}
+
+	/**
+	 * Returns the indexes of the chunks currently held in memory, in ascending order.
+	 */
+	public int[] getCachedChunkIndexes() {
+		synchronized (fCache) {
+			int count = 0;
+			int[] result = new int[fChunksUsed];
+			for (int i = 1; i < fChunksUsed; i++) {
+				if (fChunks[i] != null) {
+					result[count++] = i;
+				}
+			}
+			return Arrays.copyOf(result, count);
+		}
+	}
+
+	/**
+	 * Returns the number of chunks of the database, including the header chunk.
+	 */
+	public int getChunkCount() {
+		synchronized (fCache) {
+			return fChunksUsed;
+		}
+	}
+
 	private void databaseCorruptionDetected() throws CoreException {
 		String msg = MessageFormat.format(Messages.getString("Database.CorruptedDatabase"), //$NON-NLS-1$
 				new Object[] { fLocation.getName() });
@@ -34,10 +34,12 @@ import org.eclipse.cdt.core.index.IIndexManager;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
+import org.eclipse.cdt.internal.core.CCoreInternals;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
 import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
 import org.eclipse.cdt.internal.core.model.CProject;
 import org.eclipse.cdt.internal.core.pdom.AbstractIndexerTask;
+import org.eclipse.cdt.internal.core.pdom.IPreemptableIndexerTask;
 import org.eclipse.cdt.internal.core.pdom.ITodoTaskUpdater;
 import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
@@ -52,11 +54,12 @@ import org.eclipse.osgi.util.NLS;
 /**
  * Configures the abstract indexer task suitable for indexing projects.
  */
-public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPDOMIndexerTask {
+public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPreemptableIndexerTask {
 	private static final String TRUE = Boolean.TRUE.toString();
 
 	private AbstractPDOMIndexer fIndexer;
 	private boolean fWriteInfoToLog;
+	private long fStartTime;
 
 	protected PDOMIndexerTask(ITranslationUnit[] forceFiles, ITranslationUnit[] updateFiles,
 			ITranslationUnit[] removeFiles, AbstractPDOMIndexer indexer, boolean isFastIndexer) {
@@ -160,9 +163,18 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 
 	@Override
 	public final void run(IProgressMonitor monitor) throws InterruptedException {
-		long start = System.currentTimeMillis();
+		if (fStartTime == 0) {
+			fStartTime = System.currentTimeMillis();
+		}
 		runTask(monitor);
-		traceEnd(start, fIndex, monitor.isCanceled());
+		if (!isPreempted()) {
+			traceEnd(fStartTime, fIndex, monitor.isCanceled());
+		}
+	}
+
+	@Override
+	protected boolean shouldYield() {
+		return CCoreInternals.getPDOMManager().hasPreemptingTask();
 	}
 
 	/**
@@ -300,6 +312,9 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 			if (fStatistics.fTooManyTokensCount > 0)
 				System.out.println(indent + " Tokens: " //$NON-NLS-1$
 						+ fStatistics.fTooManyTokensCount + " TUs with too many tokens."); //$NON-NLS-1$
+			if (fStatistics.fUnchangedContentsCount > 0)
+				System.out.println(indent + " Skipped: " //$NON-NLS-1$
+						+ fStatistics.fUnchangedContentsCount + " files with unchanged contents."); //$NON-NLS-1$
 
 			NumberFormat nfPercent = NumberFormat.getPercentInstance();
 			nfPercent.setMaximumFractionDigits(2);
@@ -384,6 +399,12 @@ public abstract class PDOMIndexerTask extends AbstractIndexerTask implements IPD
 		if (fIndexer == null || ti == null || fIndexer.getProject().getProject() != ti.getProject().getProject()) {
 			return false;
 		}
+		if (urgentTask instanceof PDOMUpdateTask) {
+			// Updates requested for open editors are merged by means of their delegate.
+			urgentTask = ((PDOMUpdateTask) urgentTask).createUrgentDelegate();
+			if (urgentTask == null)
+				return false;
+		}
 		return super.acceptUrgentTask(urgentTask);
 	}
 }
@@ -27,6 +27,7 @@ import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.internal.core.index.IWritableIndex;
 import org.eclipse.cdt.internal.core.index.IWritableIndexFragment;
 import org.eclipse.cdt.internal.core.index.IWritableIndexManager;
+import org.eclipse.cdt.internal.core.pdom.IPreemptableIndexerTask;
 import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
 import org.eclipse.cdt.internal.core.pdom.PDOMManager;
 import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
@@ -38,7 +39,7 @@ import org.eclipse.osgi.util.NLS;
 /**
  * A task for rebuilding an index, works for all indexers.
  */
-public class PDOMRebuildTask implements IPDOMIndexerTask {
+public class PDOMRebuildTask implements IPreemptableIndexerTask {
 	protected static final String TRUE = String.valueOf(true);
 	protected static final ITranslationUnit[] NO_TUS = {};
 
@@ -72,7 +73,8 @@ public class PDOMRebuildTask implements IPDOMIndexerTask {
 
 			ICProject cproject = fIndexer.getProject();
 			IProject project = cproject.getProject();
-			if (project.isOpen() && project.exists()) {
+			// When resuming after preemption the index has already been cleared.
+			if (fDelegate == null && project.isOpen() && project.exists()) {
 				try {
 					IWritableIndex index = ((IWritableIndexManager) CCorePlugin.getIndexManager())
 							.getWritableIndex(cproject);
@@ -142,6 +144,11 @@ public class PDOMRebuildTask implements IPDOMIndexerTask {
 		return fDelegate != null && fDelegate.acceptUrgentTask(task);
 	}
 
+	@Override
+	public synchronized boolean isPreempted() {
+		return fDelegate instanceof IPreemptableIndexerTask && ((IPreemptableIndexerTask) fDelegate).isPreempted();
+	}
+
 	@Override
 	public void cancel() {
 		if (fDelegate != null)
@@ -18,6 +18,7 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.IPDOMIndexer;
@@ -33,13 +34,17 @@ import org.eclipse.cdt.core.model.CoreModel;
 import org.eclipse.cdt.core.model.ICElement;
 import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.core.parser.FileContent;
 import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.cdt.internal.core.CCoreInternals;
 import org.eclipse.cdt.internal.core.model.ExternalTranslationUnit;
 import org.eclipse.cdt.internal.core.parser.scanner.CPreprocessor;
 import org.eclipse.cdt.internal.core.parser.scanner.IncludeSearchPath;
 import org.eclipse.cdt.internal.core.parser.scanner.IncludeSearchPathElement;
 import org.eclipse.cdt.internal.core.parser.scanner.ScannerUtility;
+import org.eclipse.cdt.internal.core.pdom.IPreemptableIndexerTask;
 import org.eclipse.cdt.internal.core.pdom.IndexerProgress;
+import org.eclipse.cdt.internal.core.pdom.PDOMManager;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -51,8 +56,14 @@ import org.eclipse.osgi.util.NLS;
 /**
  * A task for updating an index, suitable for all indexers.
  */
-public class PDOMUpdateTask implements IPDOMIndexerTask {
+public class PDOMUpdateTask implements IPreemptableIndexerTask {
 	private static final ITranslationUnit[] NO_TUS = {};
+	/**
+	 * Options for which the files to update are exactly the selected translation units.
+	 */
+	private static final int SIMPLE_UPDATE_OPTIONS = IIndexManager.UPDATE_ALL | IIndexManager.UPDATE_CHECK_TIMESTAMPS
+			| IIndexManager.UPDATE_CHECK_CONTENTS_HASH | IIndexManager.FORCE_INDEX_INCLUSION
+			| IIndexManager.RESET_INDEX_INCLUSION;
 
 	private final IPDOMIndexer fIndexer;
 	private final int fUpdateOptions;
@@ -82,7 +93,7 @@ public class PDOMUpdateTask implements IPDOMIndexerTask {
 		monitor.subTask(NLS.bind(Messages.PDOMIndexerTask_collectingFilesTask, fIndexer.getProject().getElementName()));
 
 		ICProject project = fIndexer.getProject();
-		if (project.getProject().isOpen()) {
+		if (fDelegate == null && project.getProject().isOpen()) {
 			try {
 				if (!IPDOMManager.ID_NO_INDEXER.equals(fIndexer.getID())) {
 					createDelegate(project, monitor);
@@ -169,8 +180,17 @@ public class PDOMUpdateTask implements IPDOMIndexerTask {
 			}
 		}
 
+		ITranslationUnit[] includingTUs = NO_TUS;
+		if ((fUpdateOptions & PDOMManager.UPDATE_INCLUDING_FILES) != 0 && fFilesAndFolders != null
+				&& !set.isEmpty()) {
+			Set<ITranslationUnit> including = getIncludingTranslationUnits(project, set);
+			including.removeAll(set);
+			includingTUs = including.toArray(new ITranslationUnit[including.size()]);
+		}
+
 		ITranslationUnit[] tus = set.toArray(new ITranslationUnit[set.size()]);
-		IPDOMIndexerTask delegate = fIndexer.createTask(NO_TUS, tus, NO_TUS);
+		// The files including a changed header did not change themselves, they are forced.
+		IPDOMIndexerTask delegate = fIndexer.createTask(includingTUs, tus, NO_TUS);
 		if (delegate instanceof PDOMIndexerTask) {
 			final PDOMIndexerTask task = (PDOMIndexerTask) delegate;
 			task.setUpdateFlags(fUpdateOptions);
@@ -178,6 +198,58 @@ public class PDOMUpdateTask implements IPDOMIndexerTask {
 		setDelegate(delegate);
 	}
 
+	/**
+	 * Returns the translation units that directly or indirectly include the header files of
+	 * the given set whose contents differ from the indexed ones. The headers saved without
+	 * a change don't cause their includers to be parsed again.
+	 */
+	private Set<ITranslationUnit> getIncludingTranslationUnits(ICProject project, Set<ITranslationUnit> set)
+			throws CoreException, InterruptedException {
+		Set<ITranslationUnit> including = new HashSet<>();
+		List<IIndexFileLocation> headers = new ArrayList<>();
+		IIndex index = CCorePlugin.getIndexManager().getIndex(project);
+		index.acquireReadLock();
+		try {
+			for (ITranslationUnit tu : set) {
+				if (tu.isHeaderUnit()) {
+					IIndexFileLocation ifl = IndexLocationFactory.getIFL(tu);
+					if (ifl != null && isContentsChanged(index, ifl, tu)) {
+						headers.add(ifl);
+					}
+				}
+			}
+		} finally {
+			index.releaseReadLock();
+		}
+		if (headers.isEmpty())
+			return including;
+
+		PDOMManager manager = CCoreInternals.getPDOMManager();
+		for (IIndexFileLocation location : manager.getAffectedTranslationUnits(project, headers)) {
+			ITranslationUnit tu = getTranslationUnit(location, project);
+			if (tu != null) {
+				including.add(tu);
+			}
+		}
+		return including;
+	}
+
+	private static boolean isContentsChanged(IIndex index, IIndexFileLocation ifl, ITranslationUnit tu)
+			throws CoreException {
+		IIndexFile[] files = index.getFiles(ifl);
+		if (files.length == 0)
+			return false; // Not included by any indexed file.
+		FileContent content = FileContent.create(tu);
+		if (content == null)
+			return true;
+		long hash = content.getContentsHash();
+		for (IIndexFile file : files) {
+			if (file.getContentsHash() != hash)
+				return true;
+		}
+		return false;
+	}
+
 	private ITranslationUnit getTranslationUnit(IIndexFileLocation location, ICProject project) {
 		IPath path = IndexLocationFactory.getAbsolutePath(location);
 		if (path == null)
@@ -283,10 +355,62 @@ public class PDOMUpdateTask implements IPDOMIndexerTask {
 		return fDelegate != null && fDelegate.acceptUrgentTask(task);
 	}
 
+	@Override
+	public synchronized boolean isPreempted() {
+		return fDelegate instanceof IPreemptableIndexerTask && ((IPreemptableIndexerTask) fDelegate).isPreempted();
+	}
+
 	public void setTranslationUnitSelection(List<? extends ICElement> filesAndFolders) {
 		fFilesAndFolders = new ArrayList<>(filesAndFolders);
 	}
 
+	/**
+	 * Returns whether this task was requested for files opened in an editor.
+	 */
+	public boolean isEditorUpdate() {
+		return (fUpdateOptions & IIndexManager.FORCE_INDEX_INCLUSION) != 0;
+	}
+
+	/**
+	 * Returns whether this task updates entire projects rather than a selection of files and folders.
+	 */
+	public boolean isProjectUpdate() {
+		if (fFilesAndFolders == null)
+			return true;
+		for (ICElement elem : fFilesAndFolders) {
+			if (elem.getElementType() == ICElement.C_PROJECT)
+				return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Creates the task doing the work of this update task, provided that the files to update
+	 * can be determined without accessing the index, i.e. the task updates a selection of
+	 * translation units. Used to merge the update into a running task.
+	 *
+	 * @return the delegate task or {@code null} if the files have to be collected first.
+	 */
+	IPDOMIndexerTask createUrgentDelegate() {
+		if (fFilesAndFolders == null || (fUpdateOptions & ~SIMPLE_UPDATE_OPTIONS) != 0
+				|| (fUpdateOptions & (IIndexManager.UPDATE_ALL | IIndexManager.UPDATE_CHECK_TIMESTAMPS)) == 0
+				|| IPDOMManager.ID_NO_INDEXER.equals(fIndexer.getID())) {
+			return null;
+		}
+		ITranslationUnit[] tus = new ITranslationUnit[fFilesAndFolders.size()];
+		for (int i = 0; i < tus.length; i++) {
+			ICElement elem = fFilesAndFolders.get(i);
+			if (!(elem instanceof ITranslationUnit))
+				return null;
+			tus[i] = (ITranslationUnit) elem;
+		}
+		IPDOMIndexerTask delegate = fIndexer.createTask(NO_TUS, tus, NO_TUS);
+		if (delegate instanceof PDOMIndexerTask) {
+			((PDOMIndexerTask) delegate).setUpdateFlags(fUpdateOptions);
+		}
+		return delegate;
+	}
+
 	@Override
 	public void cancel() {
 		if (fDelegate != null)
@@ -322,6 +322,16 @@ public class ProjectIndexerInputAdapter extends IndexerInputAdapter {
 		return null;
 	}
 
+	@Override
+	public String getContentsFilePath(Object tuo) {
+		ITranslationUnit tu = (ITranslationUnit) tuo;
+		IPath location = tu.getLocation();
+		// The contents of working copies are taken from the editor buffer.
+		if (location == null || tu.isWorkingCopy())
+			return null;
+		return location.toOSString();
+	}
+
 	@Override
 	public FileContent getCodeReader(Object tuo) {
 		ITranslationUnit tu = (ITranslationUnit) tuo;
@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.multicorevisualizer.ui.test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import org.eclipse.cdt.dsf.gdb.multicorevisualizer.internal.ui.model.VisualizerCPU;
+import org.eclipse.cdt.dsf.gdb.multicorevisualizer.internal.ui.model.VisualizerCore;
+import org.eclipse.cdt.dsf.gdb.multicorevisualizer.internal.ui.model.VisualizerExecutionState;
+import org.eclipse.cdt.dsf.gdb.multicorevisualizer.internal.ui.model.VisualizerModel;
+import org.eclipse.cdt.dsf.gdb.multicorevisualizer.internal.ui.model.VisualizerThread;
+import org.junit.Test;
+
+public class VisualizerModelTest {
+
+	@Test
+	public void testThreadLookupAndVersion() {
+		VisualizerModel model = new VisualizerModel("session");
+		VisualizerCPU cpu = model.addCPU(new VisualizerCPU(0));
+		VisualizerCore core = cpu.addCore(new VisualizerCore(cpu, 0));
+
+		int version = model.getThreadsVersion();
+		for (int i = 1; i <= 8000; i++) {
+			model.addThread(new VisualizerThread(core, 100, 1000 + i, i, VisualizerExecutionState.RUNNING));
+		}
+		assertNotEquals(version, model.getThreadsVersion());
+		assertEquals(8000, model.getThreadCount());
+		assertEquals(1042, model.getThread(42).getTID());
+		assertNull(model.getThread(8001));
+
+		// state changes do not change the version
+		version = model.getThreadsVersion();
+		model.getThread(42).setState(VisualizerExecutionState.SUSPENDED);
+		assertEquals(version, model.getThreadsVersion());
+
+		model.markThreadExited(42);
+		assertNull(model.getThread(42));
+		assertEquals(7999, model.getThreadCount());
+		assertNotEquals(version, model.getThreadsVersion());
+
+		version = model.getThreadsVersion();
+		VisualizerThread thread = model.getThread(43);
+		model.removeThread(thread);
+		assertNull(model.getThread(43));
+		assertNotEquals(version, model.getThreadsVersion());
+
+		// removing an unknown thread changes nothing
+		version = model.getThreadsVersion();
+		model.removeThread(43);
+		assertEquals(version, model.getThreadsVersion());
+		assertSame(model.getThreads().get(0), model.getThread(1));
+	}
+}
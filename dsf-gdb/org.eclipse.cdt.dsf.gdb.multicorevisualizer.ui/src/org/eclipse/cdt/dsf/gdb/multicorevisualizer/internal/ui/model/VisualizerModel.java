@@ -20,7 +20,6 @@ package org.eclipse.cdt.dsf.gdb.multicorevisualizer.internal.ui.model;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Hashtable;
-import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -38,6 +37,12 @@ public class VisualizerModel {
 	/** List of threads */
 	protected ArrayList<VisualizerThread> m_threads;
 
+	/** Lookup table for threads, by GDB thread id */
+	protected Hashtable<Integer, VisualizerThread> m_threadMap;
+
+	/** Incremented whenever threads are added, removed or reordered */
+	protected int m_threadsVersion = 0;
+
 	// Setting to remove exited threads, or keep them shown.
 	// If we are to support this, we should have a preference
 	// and a way to for the user to clean up old threads,
@@ -57,6 +62,7 @@ public class VisualizerModel {
 		m_cpus = new ArrayList<>();
 		m_cpuMap = new Hashtable<>();
 		m_threads = new ArrayList<>();
+		m_threadMap = new Hashtable<>();
 	}
 
 	/** Dispose method */
@@ -76,6 +82,8 @@ public class VisualizerModel {
 			}
 			m_threads.clear();
 			m_threads = null;
+			m_threadMap.clear();
+			m_threadMap = null;
 		}
 		m_sessionId = null;
 	}
@@ -103,6 +111,7 @@ public class VisualizerModel {
 		for (VisualizerCPU cpu : m_cpus)
 			cpu.sort();
 		Collections.sort(m_threads);
+		m_threadsVersion++;
 	}
 
 	// --- core/cpu management ---
@@ -202,41 +211,45 @@ public class VisualizerModel {
 	 * we can uniquely find a thread based on its id.
 	 */
 	public VisualizerThread getThread(int threadId) {
-		VisualizerThread result = null;
-		for (VisualizerThread thread : m_threads) {
-			if (thread.getGDBTID() == threadId) {
-				result = thread;
-				break;
-			}
-		}
-		return result;
+		return m_threadMap.get(threadId);
 	}
 
 	/** Adds thread. */
 	public VisualizerThread addThread(VisualizerThread thread) {
 		m_threads.add(thread);
+		m_threadMap.put(thread.getGDBTID(), thread);
+		m_threadsVersion++;
 		return thread;
 	}
 
 	/** Removes thread. */
 	public void removeThread(VisualizerThread thread) {
-		m_threads.remove(thread);
+		if (m_threads.remove(thread)) {
+			m_threadMap.remove(thread.getGDBTID());
+			m_threadsVersion++;
+		}
 	}
 
 	/**
 	 * Removes thread by GDB threadId.
 	 */
 	public void removeThread(int threadId) {
-		Iterator<VisualizerThread> itr = m_threads.iterator();
-		while (itr.hasNext()) {
-			VisualizerThread thread = itr.next();
-			if (thread.getGDBTID() == threadId) {
-				itr.remove();
-				break;
-			}
+		VisualizerThread thread = m_threadMap.remove(threadId);
+		if (thread != null) {
+			m_threads.remove(thread);
+			m_threadsVersion++;
 		}
 	}
 
+	/**
+	 * Returns a number that changes whenever threads are added to or removed
+	 * from the model, so that views can tell when to rebuild what they show
+	 * for the threads.
+	 */
+	public int getThreadsVersion() {
+		return m_threadsVersion;
+	}
+
 	/**
 	 * Mark the specified thread as having exited.
 	 */
@@ -68,6 +68,13 @@ public class MulticoreVisualizerCanvas extends GraphicCanvas implements ISelecti
 
 	protected static final int SELECTION_SLOP = 20;
 
+	/**
+	 * Smallest vertical distance between the threads of a core that still
+	 * lets them be told apart. When they would be closer, the core shows a
+	 * summary of its threads instead.
+	 */
+	protected static final int MIN_THREAD_SPACING = 4;
+
 	// --- members ---
 
 	/** Update timer */
@@ -85,6 +92,12 @@ public class MulticoreVisualizerCanvas extends GraphicCanvas implements ISelecti
 	/** Whether the load information has changed and we need to update the load meters */
 	protected boolean m_recacheLoadMeters = true;
 
+	/** Whether we need to recreate and lay out the thread graphic objects */
+	protected boolean m_recacheThreads = true;
+
+	/** Threads version of the model the thread graphic objects were created from */
+	protected int m_threadsVersion = -1;
+
 	/** Whether we need to repaint the canvas */
 	protected boolean m_update = true;
 
@@ -366,6 +379,8 @@ public class MulticoreVisualizerCanvas extends GraphicCanvas implements ISelecti
 		m_recacheState |= state;
 		m_recacheSizes |= sizes;
 		m_recacheLoadMeters |= load;
+		// whatever changed, the threads need to be laid out again
+		m_recacheThreads = true;
 		// clear status bar message
 		m_statusBar.setMessage(null);
 		// re-compute filter to reflect latest model changes
@@ -587,22 +602,18 @@ public class MulticoreVisualizerCanvas extends GraphicCanvas implements ISelecti
 		m_recache = false;
 	}
 
-	/** Invoked when canvas repaint event is raised.
-	 *  Default implementation clears canvas to background color.
+	/**
+	 * Recreates the thread graphic objects and lays them out, if threads
+	 * were added to or removed from the model, or a recache was requested.
+	 * Otherwise the existing objects are kept, as they get the state of their
+	 * thread from the model when painted.
 	 */
-	@Override
-	public void paintCanvas(GC gc) {
-		// NOTE: We have a little setup to do first,
-		// so we delay clearing/redrawing the canvas until needed,
-		// to minimize any potential visual flickering.
-
-		// recache/resize tiles & shims if needed
-		recache();
-
-		// do any "per frame" updating/replacement of graphic objects
+	// synchronized so we don't change recache flags while doing a recache
+	protected synchronized void recacheThreads() {
+		int threadsVersion = (m_model == null) ? -1 : m_model.getThreadsVersion();
+		if (!m_recacheThreads && threadsVersion == m_threadsVersion)
+			return;
 
-		// recalculate process/thread graphic objects on the fly
-		// TODO: can we cache/pool these and just move them around?
 		for (MulticoreVisualizerCore core : m_cores) {
 			core.removeAllThreads();
 		}
@@ -655,6 +666,12 @@ public class MulticoreVisualizerCanvas extends GraphicCanvas implements ISelecti
 					if (dty > threadheight)
 						dty = threadheight;
 				}
+
+				// too many threads, or too small a core, to tell the threads apart:
+				// let the core summarize them
+				core.setSummarizeThreads(count > 0 && (bounds.width < MulticoreVisualizerThread.MIN_PARENT_WIDTH
+						|| (count > 1 && dty < MIN_THREAD_SPACING)));
+
 				int t = 0;
 				for (MulticoreVisualizerThread threadobj : threads) {
 					int y = ty + dty * (t++);
@@ -663,7 +680,37 @@ public class MulticoreVisualizerCanvas extends GraphicCanvas implements ISelecti
 			}
 		}
 
+		m_threadsVersion = threadsVersion;
+		m_recacheThreads = false;
+	}
+
+	/** Returns true if the thread, including its selection marker and the
+	 *  text to its right, intersects the specified region. */
+	protected boolean isThreadVisible(MulticoreVisualizerThread thread, Rectangle region) {
+		Rectangle bounds = thread.getBounds();
+		return bounds.x - 3 < region.x + region.width && bounds.y - 3 < region.y + region.height
+				&& bounds.y + bounds.height + 3 > region.y;
+	}
+
+	/** Invoked when canvas repaint event is raised.
+	 *  Default implementation clears canvas to background color.
+	 */
+	@Override
+	public void paintCanvas(GC gc) {
+		// NOTE: We have a little setup to do first,
+		// so we delay clearing/redrawing the canvas until needed,
+		// to minimize any potential visual flickering.
+
+		// recache/resize tiles & shims if needed
+		recache();
+
+		// recreate/lay out thread graphic objects if needed
+		recacheThreads();
+
 		// restore canvas object highlighting from model object selection
+		for (MulticoreVisualizerThread mthread : m_threads) {
+			mthread.setSelected(false);
+		}
 		restoreSelection();
 
 		// FIXME: enable secondary highlight for threads that are
@@ -685,27 +732,37 @@ public class MulticoreVisualizerCanvas extends GraphicCanvas implements ISelecti
 		MulticoreVisualizerUIPlugin.getResources();
 
 		// paint cpus
+		// (only what intersects the region being repainted)
 		for (MulticoreVisualizerCPU cpu : m_cpus) {
-			cpu.paintContent(gc);
-			cpu.getLoadMeter().paintContent(gc);
-			cpu.getLoadMeter().paintDecorations(gc);
+			if (isVisible(gc, cpu.getBounds())) {
+				cpu.paintContent(gc);
+				cpu.getLoadMeter().paintContent(gc);
+				cpu.getLoadMeter().paintDecorations(gc);
+			}
 		}
 
 		// paint cores
 		for (MulticoreVisualizerCore core : m_cores) {
-			core.paintContent(gc);
-			core.getLoadMeter().paintContent(gc);
-			core.getLoadMeter().paintDecorations(gc);
+			if (isVisible(gc, core.getBounds())) {
+				core.paintContent(gc);
+				core.getLoadMeter().paintContent(gc);
+				core.getLoadMeter().paintDecorations(gc);
+			}
 		}
 
 		// paint cpus IDs on top of cores
 		for (MulticoreVisualizerCPU cpu : m_cpus) {
-			cpu.paintDecorations(gc);
+			if (isVisible(gc, cpu.getBounds())) {
+				cpu.paintDecorations(gc);
+			}
 		}
 
-		// paint threads on top of cores
+		// paint threads on top of cores, unless their core summarizes them
+		Rectangle clip = gc.getClipping();
 		for (MulticoreVisualizerThread thread : m_threads) {
-			thread.paintContent(gc);
+			if (!thread.getCore().getSummarizeThreads() && isThreadVisible(thread, clip)) {
+				thread.paintContent(gc);
+			}
 		}
 
 		// paint status bar
@@ -730,8 +787,10 @@ public class MulticoreVisualizerCanvas extends GraphicCanvas implements ISelecti
 			update();
 			break;
 		case MouseMonitor.MOUSE_DRAG:
+			// only the area covered by the marquee before and after the move changes
+			Rectangle dirty = region.union(m_marquee.getBounds());
 			m_marquee.setBounds(region);
-			update();
+			redraw(dirty.x - 1, dirty.y - 1, dirty.width + 3, dirty.height + 3, false);
 			break;
 		case MouseMonitor.MOUSE_DRAG_END:
 		default:
@@ -1077,19 +1136,31 @@ public class MulticoreVisualizerCanvas extends GraphicCanvas implements ISelecti
 	@Override
 	public IGraphicObject getGraphicObject(Class<?> type, int x, int y) {
 		// Why m_cpus are not added in super.m_objects ?
-		IGraphicObject result = null;
-		for (IGraphicObject gobj : getSelectableObjects()) {
+		// Called on every mouse move, so go through the selectable objects
+		// in the same order as getSelectableObjects() without copying them.
+		IGraphicObject result = getGraphicObject(m_threads, type, x, y);
+		if (result == null)
+			result = getGraphicObject(m_cores, type, x, y);
+		if (result == null)
+			result = getGraphicObject(m_cpus, type, x, y);
+		return result;
+	}
+
+	/** Returns first object of the list under the specified point, that is assignable to
+	 *  the specified type if it is non-null. */
+	private static IGraphicObject getGraphicObject(List<? extends IGraphicObject> objects, Class<?> type, int x,
+			int y) {
+		for (IGraphicObject gobj : objects) {
 			if (gobj.contains(x, y)) {
 				if (type != null) {
 					Class<?> objType = gobj.getClass();
 					if (!type.isAssignableFrom(objType))
 						continue;
 				}
-				result = gobj;
-				break;
+				return gobj;
 			}
 		}
-		return result;
+		return null;
 	}
 
 }
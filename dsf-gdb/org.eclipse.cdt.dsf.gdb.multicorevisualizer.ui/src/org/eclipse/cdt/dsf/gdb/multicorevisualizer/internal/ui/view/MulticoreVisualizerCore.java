@@ -44,6 +44,10 @@ public class MulticoreVisualizerCore extends MulticoreVisualizerGraphicObject {
 	/** Load meter associated to this core */
 	protected MulticoreVisualizerLoadMeter m_loadMeter;
 
+	/** Whether the threads are too many for the size of the core to be drawn
+	 *  individually, in which case the core shows a summary of them instead. */
+	protected boolean m_summarizeThreads = false;
+
 	// --- constructors/destructors ---
 
 	/** Constructor */
@@ -105,6 +109,17 @@ public class MulticoreVisualizerCore extends MulticoreVisualizerGraphicObject {
 		return m_threads;
 	}
 
+	/** Sets whether the core shows a summary of its threads, rather than
+	 *  letting each thread draw itself. */
+	public void setSummarizeThreads(boolean summarize) {
+		m_summarizeThreads = summarize;
+	}
+
+	/** Gets whether the core shows a summary of its threads. */
+	public boolean getSummarizeThreads() {
+		return m_summarizeThreads;
+	}
+
 	/** Sets the load meter associated to this core */
 	public void setLoadMeter(MulticoreVisualizerLoadMeter meter) {
 		m_loadMeter = meter;
@@ -195,5 +210,55 @@ public class MulticoreVisualizerCore extends MulticoreVisualizerGraphicObject {
 			gc.setForeground(getCoreStateColor(true));
 			GUIUtils.drawTextAligned(gc, Integer.toString(m_id), m_bounds, tx, ty, false, true);
 		}
+
+		if (m_summarizeThreads && !m_threads.isEmpty()) {
+			paintThreadSummary(gc);
+		}
+	}
+
+	/** Paints a single spot for all the threads of the core, in the color of
+	 *  the most noteworthy thread state, with the number of threads. */
+	protected void paintThreadSummary(GC gc) {
+		boolean selected = false;
+		boolean processSelected = false;
+		for (MulticoreVisualizerThread thread : m_threads) {
+			selected |= thread.isSelected();
+			processSelected |= thread.getProcessSelected();
+		}
+
+		int size = Math.min(MulticoreVisualizerThread.THREAD_SPOT_SIZE, Math.min(m_bounds.width, m_bounds.height) - 4);
+		if (size < 2)
+			return;
+		int x = m_bounds.x + 2;
+		int y = m_bounds.y + (m_bounds.height - size) / 2;
+
+		gc.setBackground(getThreadSummaryColor());
+		gc.setAlpha(processSelected ? 255 : 192);
+		gc.fillOval(x, y, size, size);
+		gc.setAlpha(255);
+
+		if (selected) {
+			gc.setForeground(IMulticoreVisualizerConstants.COLOR_SELECTED);
+			gc.drawOval(x - 1, y - 1, size + 1, size + 1);
+		}
+
+		if (m_bounds.height > 16) {
+			gc.setBackground(IMulticoreVisualizerConstants.COLOR_THREAD_TEXT_BG);
+			gc.setForeground(IMulticoreVisualizerConstants.COLOR_THREAD_TEXT_FG);
+			GUIUtils.drawText(gc, Integer.toString(m_threads.size()), m_bounds, x + size + 2, y + size / 2 - 6);
+		}
+	}
+
+	/** Returns the thread color of the most noteworthy state of the threads
+	 *  of this core. */
+	protected Color getThreadSummaryColor() {
+		switch (getCoreState()) {
+		case CRASHED:
+			return IMulticoreVisualizerConstants.COLOR_CRASHED_THREAD;
+		case SUSPENDED:
+			return IMulticoreVisualizerConstants.COLOR_SUSPENDED_THREAD;
+		default:
+			return IMulticoreVisualizerConstants.COLOR_RUNNING_THREAD;
+		}
 	}
 }
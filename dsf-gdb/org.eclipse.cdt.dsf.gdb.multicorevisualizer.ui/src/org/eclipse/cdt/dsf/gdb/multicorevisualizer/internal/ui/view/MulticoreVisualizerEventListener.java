@@ -200,7 +200,13 @@ public class MulticoreVisualizerEventListener {
 		thread.setState(newState);
 		thread.setCore(vCore);
 		thread.setLocationInfo(frameData);
-		fVisualizer.refresh();
+		// Only the threads need to be laid out again (the thread may have
+		// changed core), the CPUs and cores are unchanged.
+		MulticoreVisualizerCanvas canvas = fVisualizer.getMulticoreVisualizerCanvas();
+		if (canvas != null) {
+			canvas.requestRecache(false, false, false);
+			canvas.requestUpdate();
+		}
 	}
 
 	/** Invoked when a thread or process is resumed. */
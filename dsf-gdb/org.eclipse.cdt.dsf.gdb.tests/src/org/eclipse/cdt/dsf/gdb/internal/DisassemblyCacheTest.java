@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+import org.eclipse.cdt.dsf.debug.service.IInstruction;
+import org.eclipse.cdt.dsf.debug.service.IMixedInstruction;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIDataDisassembleInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIInstruction;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOOBRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser;
+import org.eclipse.cdt.utils.elf.Elf;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests {@link DisassemblyCache}, the ranges written to disk and the slicing of
+ * cached results.
+ */
+public class DisassemblyCacheTest {
+
+	private static final String INSTRUCTIONS = "^done,asm_insns=["
+			+ "{address=\"0x1000\",func-name=\"main\",offset=\"0\",opcodes=\"55\",inst=\"push   %rbp\"},"
+			+ "{address=\"0x1001\",func-name=\"main\",offset=\"1\",opcodes=\"48 89 e5\",inst=\"mov\\t%rsp,%rbp\"},"
+			+ "{address=\"0x1004\",func-name=\"main\",offset=\"4\",opcodes=\"48 8d 3d 00 00 00 00\","
+			+ "inst=\"lea    0x0(%rip),%rdi        # \\\"a\\\\b\\\"\"}]";
+
+	private static final String MIXED_INSTRUCTIONS = "^done,asm_insns=["
+			+ "src_and_asm_line={line=\"3\",file=\"a.c\",line_asm_insn=["
+			+ "{address=\"0x1000\",func-name=\"main\",offset=\"0\",inst=\"push   %rbp\"},"
+			+ "{address=\"0x1001\",func-name=\"main\",offset=\"1\",inst=\"mov    %rsp,%rbp\"}]},"
+			+ "src_and_asm_line={line=\"4\",file=\"a.c\",line_asm_insn=["
+			+ "{address=\"0x1004\",func-name=\"main\",offset=\"4\",inst=\"nop\"}]}]";
+
+	@Rule
+	public TemporaryFolder fFolder = new TemporaryFolder();
+
+	private static MIDataDisassembleInfo parse(String result) {
+		return new MIDataDisassembleInfo(
+				new MIOutput(new MIParser().parseMIResultRecord(result), new MIOOBRecord[0]));
+	}
+
+	private static BigInteger address(long address) {
+		return BigInteger.valueOf(address);
+	}
+
+	private static void put(DisassemblyCache cache, String owner, long start) {
+		cache.put(owner, 0, address(start), address(start + 0xb), parse(INSTRUCTIONS));
+	}
+
+	private File getFile(String owner, long start) throws Exception {
+		return new File(new File(fFolder.getRoot(), owner),
+				"0-" + Long.toHexString(start) + "-" + Long.toHexString(start + 0xb) + ".mi");
+	}
+
+	/**
+	 * A range saved to disk is read back by another cache with the same
+	 * instructions, including quotes, backslashes and tabs.
+	 */
+	@Test
+	public void testSaveAndReadBack() throws Exception {
+		DisassemblyCache writer = new DisassemblyCache(fFolder.getRoot(), 10);
+		put(writer, "binary", 0x1000);
+		writer.save("binary");
+
+		DisassemblyCache reader = new DisassemblyCache(fFolder.getRoot(), 10);
+		MIDataDisassembleInfo info = reader.get("binary", 0, address(0x1000), address(0x100b));
+		assertNotNull(info);
+		MIInstruction[] expected = parse(INSTRUCTIONS).getMIAssemblyCode();
+		MIInstruction[] actual = info.getMIAssemblyCode();
+		assertEquals(expected.length, actual.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i].getAdress(), actual[i].getAdress());
+			assertEquals(expected[i].getFuntionName(), actual[i].getFuntionName());
+			assertEquals(expected[i].getOffset(), actual[i].getOffset());
+			assertEquals(expected[i].getOpcode(), actual[i].getOpcode());
+			assertEquals(expected[i].getArgs(), actual[i].getArgs());
+			assertEquals(expected[i].getRawOpcode(), actual[i].getRawOpcode());
+		}
+		assertEquals("# \"a\\b\"", actual[2].getArgs().substring(actual[2].getArgs().indexOf('#')));
+
+		// A range starting at an instruction inside the saved range, but not in
+		// the middle of an instruction
+		assertNotNull(reader.get("binary", 0, address(0x1001), address(0x1004)));
+		assertNull(reader.get("binary", 0, address(0x1002), address(0x1004)));
+		// Nor for another binary or mode
+		assertNull(reader.get("other", 0, address(0x1000), address(0x100b)));
+		assertNull(reader.get("binary", 1, address(0x1000), address(0x100b)));
+	}
+
+	/**
+	 * Once the files of all binaries exceed the maximum size, the least
+	 * recently used ones are deleted, whatever their binary.
+	 */
+	@Test
+	public void testDiskSizeLimitAcrossBinaries() throws Exception {
+		DisassemblyCache writer = new DisassemblyCache(fFolder.getRoot(), 10);
+		put(writer, "a", 0x1000);
+		put(writer, "a", 0x2000);
+		put(writer, "b", 0x1000);
+		writer.save("a");
+		writer.save("b");
+		long now = System.currentTimeMillis();
+		getFile("a", 0x1000).setLastModified(now - 3 * 3600 * 1000);
+		getFile("b", 0x1000).setLastModified(now - 2 * 3600 * 1000);
+		getFile("a", 0x2000).setLastModified(now - 1 * 3600 * 1000);
+		long fileSize = getFile("a", 0x1000).length();
+
+		// Room for three files: the fourth one evicts the two oldest, so that
+		// the next ones don't evict again right away
+		DisassemblyCache cache = new DisassemblyCache(fFolder.getRoot(), 1, 3 * fileSize);
+		put(cache, "c", 0x1000);
+		put(cache, "c", 0x2000);
+
+		assertFalse(getFile("a", 0x1000).exists());
+		assertFalse(getFile("b", 0x1000).exists());
+		assertFalse(new File(fFolder.getRoot(), "b").exists());
+		assertTrue(getFile("a", 0x2000).exists());
+		assertTrue(getFile("c", 0x1000).exists());
+
+		assertNull(cache.get("a", 0, address(0x1000), address(0x100b)));
+		assertNull(cache.get("b", 0, address(0x1000), address(0x100b)));
+		assertNotNull(cache.get("a", 0, address(0x2000), address(0x200b)));
+	}
+
+	/**
+	 * Reading a range from disk makes it the most recently used.
+	 */
+	@Test
+	public void testReadFileIsRecentlyUsed() throws Exception {
+		DisassemblyCache writer = new DisassemblyCache(fFolder.getRoot(), 10);
+		put(writer, "a", 0x1000);
+		put(writer, "b", 0x1000);
+		put(writer, "d", 0x1000);
+		writer.save("a");
+		writer.save("b");
+		writer.save("d");
+		long now = System.currentTimeMillis();
+		getFile("a", 0x1000).setLastModified(now - 3 * 3600 * 1000);
+		getFile("b", 0x1000).setLastModified(now - 2 * 3600 * 1000);
+		getFile("d", 0x1000).setLastModified(now - 1 * 3600 * 1000);
+		long fileSize = getFile("a", 0x1000).length();
+
+		DisassemblyCache cache = new DisassemblyCache(fFolder.getRoot(), 1, 3 * fileSize);
+		assertNotNull(cache.get("a", 0, address(0x1000), address(0x100b)));
+		put(cache, "c", 0x1000);
+		put(cache, "c", 0x2000);
+
+		assertTrue(getFile("a", 0x1000).exists());
+		assertFalse(getFile("b", 0x1000).exists());
+		assertFalse(getFile("d", 0x1000).exists());
+		assertTrue(getFile("c", 0x1000).exists());
+	}
+
+	private static ByteBuffer note(ByteOrder order, int type, String name, byte[] desc) {
+		int nameSize = name.length() + 1;
+		ByteBuffer buffer = ByteBuffer.allocate(12 + ((nameSize + 3) & ~3) + ((desc.length + 3) & ~3));
+		buffer.order(order);
+		buffer.putInt(nameSize).putInt(desc.length).putInt(type);
+		buffer.put(name.getBytes()).put((byte) 0);
+		buffer.position(12 + ((nameSize + 3) & ~3));
+		buffer.put(desc);
+		buffer.rewind();
+		return buffer;
+	}
+
+	private static ByteBuffer concat(ByteBuffer... buffers) {
+		int size = 0;
+		for (ByteBuffer buffer : buffers) {
+			size += buffer.remaining();
+		}
+		ByteBuffer result = ByteBuffer.allocate(size);
+		for (ByteBuffer buffer : buffers) {
+			result.put(buffer);
+		}
+		result.rewind();
+		return result;
+	}
+
+	/**
+	 * The build-id is found after other notes, in both byte orders, and a
+	 * truncated note gives no build-id.
+	 */
+	@Test
+	public void testReadBuildId() {
+		byte[] abiTag = new byte[16];
+		byte[] buildId = new byte[] { (byte) 0xde, (byte) 0xad, (byte) 0xbe, (byte) 0xef, 0x01 };
+		for (ByteOrder order : new ByteOrder[] { ByteOrder.LITTLE_ENDIAN, ByteOrder.BIG_ENDIAN }) {
+			boolean isLE = order == ByteOrder.LITTLE_ENDIAN;
+			ByteBuffer notes = concat(note(order, 1, "GNU", abiTag),
+					note(order, Elf.Section.NT_GNU_BUILD_ID, "GNU", buildId));
+			assertEquals("deadbeef01", DisassemblyCache.Binary.readBuildId(notes, isLE));
+
+			ByteBuffer otherNotes = note(order, Elf.Section.NT_GNU_BUILD_ID, "XYZ", buildId);
+			assertNull(DisassemblyCache.Binary.readBuildId(otherNotes, isLE));
+
+			ByteBuffer truncated = note(order, Elf.Section.NT_GNU_BUILD_ID, "GNU", buildId);
+			truncated.limit(truncated.limit() - 4);
+			assertNull(DisassemblyCache.Binary.readBuildId(truncated, isLE));
+		}
+	}
+
+	/**
+	 * Only the instructions starting in the range are kept, the instructions
+	 * are not copied when all of them are in the range.
+	 */
+	@Test
+	public void testSliceInstructions() {
+		IInstruction[] instructions = parse(INSTRUCTIONS).getMIAssemblyCode();
+
+		IInstruction[] sliced = DisassemblyCache.sliceInstructions(instructions, address(0x1001), address(0x1004));
+		assertEquals(1, sliced.length);
+		assertSame(instructions[1], sliced[0]);
+
+		assertEquals(0, DisassemblyCache.sliceInstructions(instructions, address(0x1005), address(0x1010)).length);
+		assertSame(instructions,
+				DisassemblyCache.sliceInstructions(instructions, address(0x1000), address(0x100b)));
+	}
+
+	/**
+	 * Source lines are cut to their instructions in the range, and dropped if
+	 * none is.
+	 */
+	@Test
+	public void testSliceMixedInstructions() {
+		IMixedInstruction[] mixed = parse(MIXED_INSTRUCTIONS).getMIMixedCode();
+
+		IMixedInstruction[] sliced = DisassemblyCache.sliceMixedInstructions(mixed, address(0x1001),
+				address(0x1005));
+		assertEquals(2, sliced.length);
+		assertEquals(3, sliced[0].getLineNumber());
+		assertEquals("a.c", sliced[0].getFileName());
+		assertEquals(1, sliced[0].getInstructions().length);
+		assertEquals(address(0x1001), sliced[0].getInstructions()[0].getAdress());
+		assertSame(mixed[1], sliced[1]);
+
+		sliced = DisassemblyCache.sliceMixedInstructions(mixed, address(0x1004), address(0x1005));
+		assertEquals(1, sliced.length);
+		assertSame(mixed[1], sliced[0]);
+
+		assertSame(mixed, DisassemblyCache.sliceMixedInstructions(mixed, address(0x1000), address(0x1005)));
+	}
+}
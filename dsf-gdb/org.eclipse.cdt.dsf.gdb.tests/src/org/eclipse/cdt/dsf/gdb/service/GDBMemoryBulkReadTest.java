@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.IAddress;
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.Query;
+import org.eclipse.cdt.dsf.datamodel.AbstractDMContext;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.IMemory.IMemoryDMContext;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.gdb.service.IGDBMemory3.IBulkReadResult;
+import org.eclipse.cdt.utils.Addr64;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.model.MemoryByte;
+import org.junit.Test;
+
+/**
+ * Tests the bulk read of {@link GDBMemory}, against a memory whose content is
+ * the low byte of each address.
+ */
+public class GDBMemoryBulkReadTest extends CommonDsfTest {
+
+	/** The size of the chunks of a bulk read */
+	private static final int CHUNK_SIZE = 64 * 1024;
+
+	private static class TestMemoryDMC extends AbstractDMContext implements IMemoryDMContext {
+		TestMemoryDMC(String sessionId) {
+			super(sessionId, new IDMContext[0]);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return baseEquals(obj);
+		}
+
+		@Override
+		public int hashCode() {
+			return baseHashCode();
+		}
+	}
+
+	private class TestMemory extends GDBMemory {
+		/** The addresses of the chunks requested, in the order they were */
+		final List<Long> fRequests = new ArrayList<>();
+		/** The range of addresses that can't be read */
+		long fUnreadableStart = -1;
+		long fUnreadableEnd = -1;
+		/** The address of a chunk whose read fails */
+		long fFailingChunk = -1;
+
+		TestMemory() {
+			super(fSession);
+		}
+
+		@Override
+		public int getAddressableSize(IMemoryDMContext context) {
+			return 1;
+		}
+
+		@Override
+		protected void readMemoryBlockUncached(IDMContext dmc, IAddress address, long offset, int wordSize,
+				int wordCount, DataRequestMonitor<MemoryByte[]> drm) {
+			long start = address.getValue().longValue() + offset;
+			fRequests.add(start);
+			if (start == fFailingChunk) {
+				drm.done(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, "Read failed")); //$NON-NLS-1$
+				return;
+			}
+			MemoryByte[] block = new MemoryByte[wordCount * wordSize];
+			for (int i = 0; i < block.length; i++) {
+				long a = start + i;
+				if (a >= fUnreadableStart && a < fUnreadableEnd) {
+					block[i] = new MemoryByte((byte) 0, (byte) 0);
+				} else {
+					block[i] = new MemoryByte((byte) a);
+				}
+			}
+			// Answer the chunks requested together in the reverse order
+			long delay = 5 * (4 - fRequests.size() % 4);
+			getExecutor().schedule(() -> drm.done(block), delay, TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/** A block passed to the consumer */
+	private static class Block {
+		final long address;
+		final MemoryByte[] bytes;
+
+		Block(IAddress address, MemoryByte[] bytes) {
+			this.address = address.getValue().longValue();
+			this.bytes = bytes;
+		}
+	}
+
+	private IBulkReadResult read(TestMemory memory, long address, long length, List<Block> blocks)
+			throws Exception {
+		final IMemoryDMContext context = new TestMemoryDMC(fSession.getId());
+		Query<IBulkReadResult> query = new Query<IBulkReadResult>() {
+			@Override
+			protected void execute(DataRequestMonitor<IBulkReadResult> rm) {
+				memory.readMemory(context, new Addr64(BigInteger.valueOf(address)), length,
+						(blockAddress, block) -> blocks.add(new Block(blockAddress, block)), rm);
+			}
+		};
+		fSession.getExecutor().execute(query);
+		return query.get(10, TimeUnit.SECONDS);
+	}
+
+	private static void checkContent(Block block) {
+		for (int i = 0; i < block.bytes.length; i++) {
+			assertTrue(block.bytes[i].isReadable());
+			assertEquals((byte) (block.address + i), block.bytes[i].getValue());
+		}
+	}
+
+	/**
+	 * A range of several chunks is read in as many requests, and passed to
+	 * the consumer in address order even if the chunks arrive in another order.
+	 */
+	@Test
+	public void testSeveralChunksInOrder() throws Exception {
+		TestMemory memory = new TestMemory();
+		long address = 3 * CHUNK_SIZE - 100;
+		long length = 3 * CHUNK_SIZE;
+		List<Block> blocks = new ArrayList<>();
+
+		IBulkReadResult result = read(memory, address, length, blocks);
+
+		// The first chunk ends on a chunk boundary
+		assertEquals(List.of(address, 3L * CHUNK_SIZE, 4L * CHUNK_SIZE, 5L * CHUNK_SIZE), memory.fRequests);
+		long next = address;
+		for (Block block : blocks) {
+			assertEquals(next, block.address);
+			checkContent(block);
+			next += block.bytes.length;
+		}
+		assertEquals(address + length, next);
+		assertEquals(length, result.getOctetsRead());
+		assertEquals(0, result.getOctetsSkipped());
+	}
+
+	/**
+	 * Memory that can't be read is skipped, the memory around it is still
+	 * passed to the consumer.
+	 */
+	@Test
+	public void testUnreadableMemorySkipped() throws Exception {
+		TestMemory memory = new TestMemory();
+		long address = 0;
+		long length = 2 * CHUNK_SIZE;
+		memory.fUnreadableStart = CHUNK_SIZE - 10;
+		memory.fUnreadableEnd = CHUNK_SIZE + 20;
+		List<Block> blocks = new ArrayList<>();
+
+		IBulkReadResult result = read(memory, address, length, blocks);
+
+		for (Block block : blocks) {
+			checkContent(block);
+			assertFalse("Unreadable memory was passed", block.address < memory.fUnreadableEnd
+					&& block.address + block.bytes.length > memory.fUnreadableStart);
+		}
+		assertEquals(0, blocks.get(0).address);
+		assertEquals(memory.fUnreadableStart, blocks.get(0).bytes.length);
+		Block last = blocks.get(blocks.size() - 1);
+		assertEquals(address + length, last.address + last.bytes.length);
+		assertEquals(30, result.getOctetsSkipped());
+		assertEquals(length - 30, result.getOctetsRead());
+	}
+
+	/**
+	 * A chunk whose read fails fails the whole read.
+	 */
+	@Test
+	public void testFailedChunk() throws Exception {
+		TestMemory memory = new TestMemory();
+		memory.fFailingChunk = CHUNK_SIZE;
+		List<Block> blocks = new ArrayList<>();
+
+		try {
+			read(memory, 0, 3 * CHUNK_SIZE, blocks);
+			fail("The read should have failed");
+		} catch (ExecutionException e) {
+		}
+		// Nothing after the failed chunk was passed to the consumer
+		for (Block block : blocks) {
+			assertTrue(block.address + block.bytes.length <= CHUNK_SIZE);
+		}
+	}
+}
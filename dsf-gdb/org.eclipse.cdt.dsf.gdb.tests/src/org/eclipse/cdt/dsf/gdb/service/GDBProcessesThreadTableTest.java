@@ -0,0 +1,357 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.service;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.Query;
+import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandListener;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
+import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.gdb.service.command.GDBControlDMContext;
+import org.eclipse.cdt.dsf.gdb.service.command.IGDBControl;
+import org.eclipse.cdt.dsf.mi.service.IMICommandControl;
+import org.eclipse.cdt.dsf.mi.service.IMIContainerDMContext;
+import org.eclipse.cdt.dsf.mi.service.IMIExecutionDMContext;
+import org.eclipse.cdt.dsf.mi.service.command.AbstractCLIProcess;
+import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MICommand;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MIListThreadGroups;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOOBRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser;
+import org.eclipse.cdt.dsf.service.AbstractDsfService;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Tests how {@link GDBProcesses_7_0} keeps the threads of a process up to date
+ * from the thread notifications of GDB, against a command control which answers
+ * <code>-list-thread-groups</code> with the threads it was told exist.
+ */
+public class GDBProcessesThreadTableTest extends CommonDsfTest {
+
+	private static final String GROUP_ID = "i1"; //$NON-NLS-1$
+
+	/**
+	 * A command control which answers <code>-list-thread-groups</code> for a
+	 * group, and sends the thread notifications to its listeners.
+	 */
+	private static class TestThreadsCommandControl extends AbstractDsfService implements IGDBControl {
+		private final GDBControlDMContext fContext;
+		private final CommandFactory fCommandFactory = new CommandFactory();
+		private final List<IEventListener> fEventListeners = new ArrayList<>();
+		/** The threads of the group in GDB */
+		final List<String> fThreads = new ArrayList<>();
+		/** The number of <code>-list-thread-groups</code> commands answered */
+		int fListThreadGroupsCount;
+		/** The answers held back until {@link #releaseAnswers()}, if not null */
+		List<Runnable> fHeldAnswers;
+
+		TestThreadsCommandControl(DsfSession session) {
+			super(session);
+			fContext = new GDBControlDMContext(session.getId(), "TestThreadsCommandControl"); //$NON-NLS-1$
+		}
+
+		@Override
+		public void initialize(final RequestMonitor rm) {
+			super.initialize(new RequestMonitor(getExecutor(), rm) {
+				@Override
+				protected void handleSuccess() {
+					register(new String[] { ICommandControl.class.getName(), ICommandControlService.class.getName(),
+							IMICommandControl.class.getName(), IGDBControl.class.getName() },
+							new Hashtable<String, String>());
+					rm.done();
+				}
+			});
+		}
+
+		@Override
+		public void shutdown(RequestMonitor rm) {
+			unregister();
+			super.shutdown(rm);
+		}
+
+		@Override
+		protected BundleContext getBundleContext() {
+			return GdbPlugin.getBundleContext();
+		}
+
+		@Override
+		public String getId() {
+			return fContext.getCommandControlId();
+		}
+
+		@Override
+		public GDBControlDMContext getContext() {
+			return fContext;
+		}
+
+		@Override
+		public boolean isActive() {
+			return true;
+		}
+
+		@Override
+		public CommandFactory getCommandFactory() {
+			return fCommandFactory;
+		}
+
+		@Override
+		public <V extends ICommandResult> ICommandToken queueCommand(final ICommand<V> command,
+				final DataRequestMonitor<V> rm) {
+			// GDB answers with the threads existing when it receives the command
+			@SuppressWarnings("unchecked")
+			final V result = (V) ((MICommand<?>) command).getResult(answer(command));
+			Runnable answer = () -> rm.done(result);
+			if (fHeldAnswers != null) {
+				fHeldAnswers.add(answer);
+			} else {
+				getExecutor().execute(answer);
+			}
+			return () -> command;
+		}
+
+		private MIOutput answer(ICommand<?> command) {
+			String result;
+			if (command instanceof MIListThreadGroups) {
+				fListThreadGroupsCount++;
+				List<String> threads = new ArrayList<>();
+				for (String thread : fThreads) {
+					threads.add(String.format("{id=\"%s\",target-id=\"Thread %s\",state=\"stopped\"}", //$NON-NLS-1$
+							thread, thread));
+				}
+				result = "^done,threads=[" + String.join(",", threads) + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			} else {
+				result = "^error,msg=\"Unexpected command\""; //$NON-NLS-1$
+			}
+			return new MIOutput(new MIParser().parseMIResultRecord(result), new MIOOBRecord[0]);
+		}
+
+		/** Answers the commands held back, and stops holding them */
+		void releaseAnswers() {
+			List<Runnable> answers = fHeldAnswers;
+			fHeldAnswers = null;
+			for (Runnable answer : answers) {
+				getExecutor().execute(answer);
+			}
+		}
+
+		/** Creates or exits a thread, and sends the notification GDB would */
+		void notifyThread(String thread, boolean created) {
+			String asyncClass;
+			if (created) {
+				fThreads.add(thread);
+				asyncClass = "thread-created"; //$NON-NLS-1$
+			} else {
+				fThreads.remove(thread);
+				asyncClass = "thread-exited"; //$NON-NLS-1$
+			}
+			MIOOBRecord notification = new MIParser().parseMIOOBRecord(
+					String.format("=%s,id=\"%s\",group-id=\"%s\"", asyncClass, thread, GROUP_ID)); //$NON-NLS-1$
+			MIOutput output = new MIOutput(notification);
+			for (IEventListener listener : new ArrayList<>(fEventListeners)) {
+				listener.eventReceived(output);
+			}
+		}
+
+		@Override
+		public void removeCommand(ICommandToken token) {
+		}
+
+		@Override
+		public void addCommandListener(ICommandListener listener) {
+		}
+
+		@Override
+		public void removeCommandListener(ICommandListener listener) {
+		}
+
+		@Override
+		public void addEventListener(IEventListener listener) {
+			fEventListeners.add(listener);
+		}
+
+		@Override
+		public void removeEventListener(IEventListener listener) {
+			fEventListeners.remove(listener);
+		}
+
+		@Override
+		public AbstractCLIProcess getCLIProcess() {
+			return null;
+		}
+
+		@Override
+		public void terminate(RequestMonitor rm) {
+			rm.done();
+		}
+
+		@Override
+		public void completeInitialization(RequestMonitor rm) {
+			rm.done();
+		}
+
+		@Override
+		public void setTracingStream(OutputStream tracingStream) {
+		}
+
+		@Override
+		public void setEnvironment(Properties props, boolean clear, RequestMonitor requestMonitor) {
+			requestMonitor.done();
+		}
+
+		@Override
+		public List<String> getFeatures() {
+			return new ArrayList<>();
+		}
+
+		@Override
+		public void enablePrettyPrintingForMIVariableObjects(RequestMonitor rm) {
+			rm.done();
+		}
+
+		@Override
+		public void setPrintPythonErrors(boolean enabled, RequestMonitor rm) {
+			rm.done();
+		}
+	}
+
+	private TestThreadsCommandControl fCommandControl;
+	private GDBProcesses_7_0 fProcesses;
+	private IMIContainerDMContext fContainerDmc;
+
+	@Before
+	public void initializeServices() throws Exception {
+		fCommandControl = new TestThreadsCommandControl(fSession);
+		fProcesses = new GDBProcesses_7_0(fSession);
+		runOnExecutor(() -> {
+			fCommandControl.fThreads.add("1"); //$NON-NLS-1$
+			fCommandControl.fThreads.add("2"); //$NON-NLS-1$
+			return null;
+		});
+		runOnExecutor(rm -> fCommandControl.initialize(rm));
+		runOnExecutor(rm -> fProcesses.initialize(rm));
+		fContainerDmc = runOnExecutor(() -> fProcesses.createContainerContext(
+				fProcesses.createProcessContext(fCommandControl.getContext(), "1234"), GROUP_ID)); //$NON-NLS-1$
+	}
+
+	@After
+	public void shutdownServices() throws Exception {
+		runOnExecutor(rm -> fProcesses.shutdown(rm));
+		runOnExecutor(rm -> fCommandControl.shutdown(rm));
+	}
+
+	private interface ServiceOperation {
+		void run(RequestMonitor rm);
+	}
+
+	private void runOnExecutor(ServiceOperation operation) throws Exception {
+		Query<Object> query = new Query<Object>() {
+			@Override
+			protected void execute(DataRequestMonitor<Object> rm) {
+				operation.run(rm);
+			}
+		};
+		fSession.getExecutor().execute(query);
+		query.get(10, TimeUnit.SECONDS);
+	}
+
+	private <T> T runOnExecutor(Callable<T> callable) throws Exception {
+		return fSession.getExecutor().submit(callable).get(10, TimeUnit.SECONDS);
+	}
+
+	private List<String> getThreads() throws Exception {
+		Query<IDMContext[]> query = new Query<IDMContext[]>() {
+			@Override
+			protected void execute(DataRequestMonitor<IDMContext[]> rm) {
+				fProcesses.getProcessesBeingDebugged(fContainerDmc, rm);
+			}
+		};
+		fSession.getExecutor().execute(query);
+		return getThreadIds(query.get(10, TimeUnit.SECONDS));
+	}
+
+	private static List<String> getThreadIds(IDMContext[] threads) {
+		List<String> ids = new ArrayList<>();
+		for (IDMContext thread : threads) {
+			ids.add(((IMIExecutionDMContext) thread).getThreadId());
+		}
+		return ids;
+	}
+
+	/**
+	 * A burst of threads created and exited updates the list of threads
+	 * without asking GDB again.
+	 */
+	@Test
+	public void testBurstOfThreadsNoRefetch() throws Exception {
+		assertEquals(List.of("1", "2"), getThreads()); //$NON-NLS-1$ //$NON-NLS-2$
+
+		runOnExecutor(() -> {
+			for (int i = 3; i <= 7; i++) {
+				fCommandControl.notifyThread(Integer.toString(i), true);
+			}
+			fCommandControl.notifyThread("1", false); //$NON-NLS-1$
+			fCommandControl.notifyThread("5", false); //$NON-NLS-1$
+			return null;
+		});
+
+		assertEquals(List.of("2", "3", "4", "6", "7"), getThreads()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+		assertEquals(1, (int) runOnExecutor(() -> fCommandControl.fListThreadGroupsCount));
+	}
+
+	/**
+	 * A list of threads fetched from GDB while a thread was created is not
+	 * kept, the next request fetches the list again.
+	 */
+	@Test
+	public void testListFetchedDuringNotificationNotKept() throws Exception {
+		Query<IDMContext[]> query = new Query<IDMContext[]>() {
+			@Override
+			protected void execute(DataRequestMonitor<IDMContext[]> rm) {
+				fCommandControl.fHeldAnswers = new ArrayList<>();
+				fProcesses.getProcessesBeingDebugged(fContainerDmc, rm);
+				// The thread is created after GDB answered, but before the answer is read
+				fCommandControl.notifyThread("3", true); //$NON-NLS-1$
+				fCommandControl.releaseAnswers();
+			}
+		};
+		fSession.getExecutor().execute(query);
+		assertEquals(List.of("1", "2"), getThreadIds(query.get(10, TimeUnit.SECONDS))); //$NON-NLS-1$ //$NON-NLS-2$
+
+		assertEquals(List.of("1", "2", "3"), getThreads()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(2, (int) runOnExecutor(() -> fCommandControl.fListThreadGroupsCount));
+
+		// The list fetched after the notification is kept
+		assertEquals(List.of("1", "2", "3"), getThreads()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(2, (int) runOnExecutor(() -> fCommandControl.fListThreadGroupsCount));
+	}
+}
@@ -0,0 +1,352 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.Query;
+import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandListener;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
+import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.gdb.service.IGDBTraceControl.ITraceRecordDMData;
+import org.eclipse.cdt.dsf.gdb.service.command.GDBControlDMContext;
+import org.eclipse.cdt.dsf.mi.service.IMICommandControl;
+import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
+import org.eclipse.cdt.dsf.mi.service.command.commands.CLITraceDump;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MICommand;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MITraceFindFrameNumber;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MITraceFindNone;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MITraceStatus;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOOBRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser;
+import org.eclipse.cdt.dsf.service.AbstractDsfService;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Tests the cache of the trace records of {@link GDBTraceControl_7_2}, against
+ * a command control which answers the trace commands as GDB would for a trace
+ * of {@link #RECORDS} records.
+ */
+public class GDBTraceControlRecordsTest extends CommonDsfTest {
+
+	private static final int RECORDS = 1100;
+
+	/**
+	 * A command control which answers the trace commands, and records the
+	 * trace records selected and dumped.
+	 */
+	private static class TestTraceCommandControl extends AbstractDsfService implements IMICommandControl {
+		private final GDBControlDMContext fContext;
+		private final CommandFactory fCommandFactory = new CommandFactory();
+		/** The trace record selected in GDB, -1 for none */
+		private int fSelectedRecord = -1;
+		/** The number of commands queued and not answered yet */
+		int fPendingCommands;
+		/** The trace records selected, in the order they were, -1 for none */
+		final List<Integer> fSelectedRecords = new ArrayList<>();
+		/** The trace records dumped, in the order they were */
+		final List<Integer> fDumpedRecords = new ArrayList<>();
+
+		TestTraceCommandControl(DsfSession session) {
+			super(session);
+			fContext = new GDBControlDMContext(session.getId(), "TestTraceCommandControl"); //$NON-NLS-1$
+		}
+
+		@Override
+		public void initialize(final RequestMonitor rm) {
+			super.initialize(new RequestMonitor(getExecutor(), rm) {
+				@Override
+				protected void handleSuccess() {
+					register(new String[] { ICommandControl.class.getName(), ICommandControlService.class.getName(),
+							IMICommandControl.class.getName() }, new Hashtable<String, String>());
+					rm.done();
+				}
+			});
+		}
+
+		@Override
+		public void shutdown(RequestMonitor rm) {
+			unregister();
+			super.shutdown(rm);
+		}
+
+		@Override
+		protected BundleContext getBundleContext() {
+			return GdbPlugin.getBundleContext();
+		}
+
+		@Override
+		public String getId() {
+			return fContext.getCommandControlId();
+		}
+
+		@Override
+		public GDBControlDMContext getContext() {
+			return fContext;
+		}
+
+		@Override
+		public boolean isActive() {
+			return true;
+		}
+
+		@Override
+		public CommandFactory getCommandFactory() {
+			return fCommandFactory;
+		}
+
+		@Override
+		public <V extends ICommandResult> ICommandToken queueCommand(final ICommand<V> command,
+				final DataRequestMonitor<V> rm) {
+			fPendingCommands++;
+			// Answer after the other commands queued in the same dispatch, as GDB would
+			getExecutor().execute(() -> {
+				fPendingCommands--;
+				@SuppressWarnings("unchecked")
+				V result = (V) ((MICommand<?>) command).getResult(answer(command));
+				rm.done(result);
+			});
+			return () -> command;
+		}
+
+		private MIOutput answer(ICommand<?> command) {
+			MIParser parser = new MIParser();
+			List<MIOOBRecord> oobs = new ArrayList<>();
+			String result;
+			if (command instanceof MITraceStatus) {
+				result = "^done,supported=\"1\",running=\"0\",frames=\"" + RECORDS + "\""; //$NON-NLS-1$ //$NON-NLS-2$
+			} else if (command instanceof MITraceFindFrameNumber) {
+				String commandLine = ((MICommand<?>) command).constructCommand();
+				fSelectedRecord = Integer.parseInt(commandLine.substring(commandLine.lastIndexOf(' ') + 1));
+				fSelectedRecords.add(fSelectedRecord);
+				result = "^done,found=\"1\",tracepoint=\"1\",traceframe=\"" + fSelectedRecord + "\""; //$NON-NLS-1$ //$NON-NLS-2$
+			} else if (command instanceof MITraceFindNone) {
+				fSelectedRecord = -1;
+				fSelectedRecords.add(fSelectedRecord);
+				result = "^done,found=\"0\""; //$NON-NLS-1$
+			} else if (command instanceof CLITraceDump) {
+				fDumpedRecords.add(fSelectedRecord);
+				oobs.add(parser.parseMIOOBRecord(
+						"~\"Data collected at tracepoint 1, trace frame " + fSelectedRecord + ":\\n\"")); //$NON-NLS-1$ //$NON-NLS-2$
+				oobs.add(parser.parseMIOOBRecord("~\"rax 0x" + Integer.toHexString(fSelectedRecord) + "\\n\"")); //$NON-NLS-1$ //$NON-NLS-2$
+				result = "^done"; //$NON-NLS-1$
+			} else {
+				result = "^error,msg=\"Unexpected command\""; //$NON-NLS-1$
+			}
+			return new MIOutput(parser.parseMIResultRecord(result), oobs.toArray(new MIOOBRecord[oobs.size()]));
+		}
+
+		@Override
+		public void removeCommand(ICommandToken token) {
+		}
+
+		@Override
+		public void addCommandListener(ICommandListener listener) {
+		}
+
+		@Override
+		public void removeCommandListener(ICommandListener listener) {
+		}
+
+		@Override
+		public void addEventListener(IEventListener listener) {
+		}
+
+		@Override
+		public void removeEventListener(IEventListener listener) {
+		}
+	}
+
+	private TestTraceCommandControl fCommandControl;
+	private GDBTraceControl_7_2 fTraceControl;
+
+	@Before
+	public void initializeServices() throws Exception {
+		fCommandControl = new TestTraceCommandControl(fSession);
+		fTraceControl = new GDBTraceControl_7_2(fSession, null);
+		runOnExecutor(rm -> fCommandControl.initialize(rm));
+		runOnExecutor(rm -> fTraceControl.initialize(rm));
+	}
+
+	@After
+	public void shutdownServices() throws Exception {
+		runOnExecutor(rm -> fTraceControl.shutdown(rm));
+		runOnExecutor(rm -> fCommandControl.shutdown(rm));
+	}
+
+	private interface ServiceOperation {
+		void run(RequestMonitor rm);
+	}
+
+	private void runOnExecutor(ServiceOperation operation) throws Exception {
+		Query<Object> query = new Query<Object>() {
+			@Override
+			protected void execute(DataRequestMonitor<Object> rm) {
+				operation.run(rm);
+			}
+		};
+		fSession.getExecutor().execute(query);
+		query.get(10, TimeUnit.SECONDS);
+	}
+
+	private ITraceRecordDMData[] getTraceRecords(int first, int count) throws Exception {
+		Query<ITraceRecordDMData[]> query = new Query<ITraceRecordDMData[]>() {
+			@Override
+			protected void execute(DataRequestMonitor<ITraceRecordDMData[]> rm) {
+				fTraceControl.getTraceRecords(fCommandControl.getContext(), first, count, rm);
+			}
+		};
+		fSession.getExecutor().execute(query);
+		return query.get(10, TimeUnit.SECONDS);
+	}
+
+	private ITraceRecordDMData getTraceRecordData(int record) throws Exception {
+		Query<ITraceRecordDMData> query = new Query<ITraceRecordDMData>() {
+			@Override
+			protected void execute(DataRequestMonitor<ITraceRecordDMData> rm) {
+				fTraceControl.getTraceRecordData(
+						fTraceControl.createTraceRecordContext(fCommandControl.getContext(), Integer.toString(record)),
+						rm);
+			}
+		};
+		fSession.getExecutor().execute(query);
+		return query.get(10, TimeUnit.SECONDS);
+	}
+
+	/**
+	 * Waits until the commands sent in the background are answered, and the
+	 * trace records they fetched are cached.
+	 */
+	private void waitForCommands() throws Exception {
+		while (fSession.getExecutor().submit(() -> fCommandControl.fPendingCommands).get(10, TimeUnit.SECONDS) > 0) {
+			// The commands are answered on the executor
+		}
+		fSession.getExecutor().submit(() -> null).get(10, TimeUnit.SECONDS);
+	}
+
+	/** Returns the dumped records since the last call, and forgets them */
+	private List<Integer> takeDumpedRecords() throws Exception {
+		return fSession.getExecutor().submit(() -> {
+			List<Integer> records = new ArrayList<>(fCommandControl.fDumpedRecords);
+			fCommandControl.fDumpedRecords.clear();
+			return records;
+		}).get(10, TimeUnit.SECONDS);
+	}
+
+	private static List<Integer> range(int first, int end) {
+		List<Integer> records = new ArrayList<>();
+		for (int i = first; i < end; i++) {
+			records.add(i);
+		}
+		return records;
+	}
+
+	private static void checkRecords(ITraceRecordDMData[] records, int first) {
+		for (int i = 0; i < records.length; i++) {
+			assertEquals(Integer.toString(first + i), records[i].getRecordId());
+			assertTrue(records[i].getContent().contains("trace frame " + (first + i))); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * A range of trace records is fetched in one batch of commands, which
+	 * selects back the record GDB had selected; only the records which are
+	 * not cached are fetched again.
+	 */
+	@Test
+	public void testBulkFetch() throws Exception {
+		ITraceRecordDMData[] records = getTraceRecords(10, 5);
+
+		assertEquals(5, records.length);
+		checkRecords(records, 10);
+		assertEquals(range(10, 15), takeDumpedRecords());
+		List<Integer> selected = range(10, 15);
+		selected.add(-1);
+		assertEquals(selected, fCommandControl.fSelectedRecords);
+
+		records = getTraceRecords(8, 10);
+
+		assertEquals(10, records.length);
+		checkRecords(records, 8);
+		List<Integer> dumped = range(8, 10);
+		dumped.addAll(range(15, 18));
+		assertEquals(dumped, takeDumpedRecords());
+
+		// The range is limited to the records collected
+		records = getTraceRecords(RECORDS - 2, 5);
+		assertEquals(2, records.length);
+		checkRecords(records, RECORDS - 2);
+	}
+
+	/**
+	 * Visualizing a cached trace record fetches the records following it in
+	 * the background, so that the next one is already cached.
+	 */
+	@Test
+	public void testPrefetchHit() throws Exception {
+		getTraceRecords(5, 1);
+		assertEquals(range(5, 6), takeDumpedRecords());
+
+		assertEquals("5", getTraceRecordData(5).getRecordId()); //$NON-NLS-1$
+		waitForCommands();
+		int prefetchCount = GDBTraceControl_7_2.TRACE_RECORD_PREFETCH_COUNT;
+		assertEquals(range(6, 6 + prefetchCount), takeDumpedRecords());
+
+		// The next record is a cache hit, which only prefetches one more record
+		assertEquals("6", getTraceRecordData(6).getRecordId()); //$NON-NLS-1$
+		waitForCommands();
+		assertEquals(range(6 + prefetchCount, 7 + prefetchCount), takeDumpedRecords());
+	}
+
+	/**
+	 * The cache keeps the trace records used the most recently, and evicts the
+	 * others once it is full.
+	 */
+	@Test
+	public void testEviction() throws Exception {
+		int cacheSize = GDBTraceControl_7_2.TRACE_RECORD_CACHE_SIZE;
+		assertTrue(RECORDS > cacheSize);
+		checkRecords(getTraceRecords(0, RECORDS), 0);
+		assertEquals(range(0, RECORDS), takeDumpedRecords());
+
+		// The first records fetched were evicted
+		int oldest = RECORDS - cacheSize;
+		checkRecords(getTraceRecords(oldest, 1), oldest);
+		checkRecords(getTraceRecords(RECORDS - 1, 1), RECORDS - 1);
+		assertEquals(List.of(), takeDumpedRecords());
+		checkRecords(getTraceRecords(oldest - 1, 1), oldest - 1);
+		assertEquals(range(oldest - 1, oldest), takeDumpedRecords());
+
+		// The oldest record was used last, the next one is evicted instead
+		checkRecords(getTraceRecords(oldest, 1), oldest);
+		assertEquals(List.of(), takeDumpedRecords());
+		checkRecords(getTraceRecords(oldest + 1, 1), oldest + 1);
+		assertEquals(range(oldest + 1, oldest + 2), takeDumpedRecords());
+	}
+}
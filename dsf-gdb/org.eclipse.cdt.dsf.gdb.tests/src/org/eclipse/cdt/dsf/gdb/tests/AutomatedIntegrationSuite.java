@@ -13,13 +13,23 @@
  *******************************************************************************/
 package org.eclipse.cdt.dsf.gdb.tests;
 
+import org.eclipse.cdt.dsf.gdb.internal.DisassemblyCacheTest;
+import org.eclipse.cdt.dsf.gdb.service.GDBMemoryBulkReadTest;
+import org.eclipse.cdt.dsf.gdb.service.GDBProcessesThreadTableTest;
 import org.eclipse.cdt.dsf.gdb.service.GDBRegisterTest;
 import org.eclipse.cdt.dsf.gdb.service.GDBRegisterTest_NoContainerTest;
 import org.eclipse.cdt.dsf.gdb.service.GDBRegisterTest_WithAlternativeProcessIdTest;
 import org.eclipse.cdt.dsf.gdb.service.GDBRegisterTest_WithContainerDMContextTest;
+import org.eclipse.cdt.dsf.gdb.service.GDBTraceControlRecordsTest;
+import org.eclipse.cdt.dsf.mi.service.CSourceLookupCacheTest;
+import org.eclipse.cdt.dsf.mi.service.MIMemoryCacheTest;
+import org.eclipse.cdt.dsf.mi.service.MIModulesTest;
+import org.eclipse.cdt.dsf.mi.service.command.BoundedPipeTest;
+import org.eclipse.cdt.dsf.mi.service.command.MICommandStatisticsTest;
 import org.eclipse.cdt.dsf.mi.service.command.commands.TestMIBreakInsertCommand;
 import org.eclipse.cdt.dsf.mi.service.command.commands.TestMICommandConstructCommand;
 import org.eclipse.cdt.dsf.mi.service.command.commands.TestMIGDBSetSysroot;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParserTests;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIStringHandlerTests;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIThreadTests;
 import org.junit.runner.RunWith;
@@ -30,9 +40,13 @@ import org.junit.runners.Suite.SuiteClasses;
 
 // Add additional test case classes below
 @SuiteClasses({ MIThreadTests.class, TestMIBreakInsertCommand.class, TestMICommandConstructCommand.class,
-		TestMIGDBSetSysroot.class, LaunchUtilsTest.class, MIStringHandlerTests.class, ProcStatParserTest.class,
-		FilePartsTest.class, GDBRegisterTest.class, GDBRegisterTest_NoContainerTest.class,
-		GDBRegisterTest_WithAlternativeProcessIdTest.class, GDBRegisterTest_WithContainerDMContextTest.class, })
+		TestMIGDBSetSysroot.class, LaunchUtilsTest.class, MIStringHandlerTests.class, MIParserTests.class,
+		ProcStatParserTest.class, FilePartsTest.class, GDBRegisterTest.class, GDBRegisterTest_NoContainerTest.class,
+		GDBRegisterTest_WithAlternativeProcessIdTest.class, GDBRegisterTest_WithContainerDMContextTest.class,
+		MICommandStatisticsTest.class, BoundedPipeTest.class, GDBMemoryBulkReadTest.class,
+		MIMemoryCacheTest.class, CSourceLookupCacheTest.class, DisassemblyCacheTest.class,
+		MIBreakpointsSynchronizerTest.class, GDBTraceControlRecordsTest.class, MIModulesTest.class,
+		GDBProcessesThreadTableTest.class, })
 public class AutomatedIntegrationSuite {
 	// Often overriding BeforeClass method here
 }
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.debug.internal.core.sourcelookup.CSourceLookupDirector;
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.Query;
+import org.eclipse.cdt.dsf.datamodel.AbstractDMContext;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.ISourceLookup.ISourceLookupDMContext;
+import org.eclipse.cdt.dsf.gdb.service.CommonDsfTest;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.sourcelookup.ISourceContainer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the cache of the sources found by {@link CSourceLookup#getSource}.
+ */
+@SuppressWarnings("restriction")
+public class CSourceLookupCacheTest extends CommonDsfTest {
+
+	private static class TestSourceLookupDMC extends AbstractDMContext implements ISourceLookupDMContext {
+		TestSourceLookupDMC(String sessionId) {
+			super(sessionId, new IDMContext[0]);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return baseEquals(obj);
+		}
+
+		@Override
+		public int hashCode() {
+			return baseHashCode();
+		}
+	}
+
+	/** A director finding the sources of a map, and recording the lookups */
+	private static class TestDirector extends CSourceLookupDirector {
+		final Map<String, Object> fSources = new ConcurrentHashMap<>();
+		final List<String> fLookups = Collections.synchronizedList(new ArrayList<>());
+		volatile CoreException fFailure;
+
+		@Override
+		public Object[] findSourceElements(Object object) throws CoreException {
+			fLookups.add((String) object);
+			if (fFailure != null) {
+				throw fFailure;
+			}
+			Object source = fSources.get(object);
+			return source == null ? new Object[0] : new Object[] { source };
+		}
+	}
+
+	private CSourceLookup fSourceLookup;
+	private TestDirector fDirector;
+	private ISourceLookupDMContext fContext;
+
+	@Before
+	public void createSourceLookup() throws Exception {
+		fSourceLookup = new CSourceLookup(fSession);
+		fDirector = new TestDirector();
+		fDirector.initializeParticipants();
+		fDirector.fSources.put("/src/a.c", "a.c source");
+		fDirector.fSources.put("/src/b.c", "b.c source");
+		fContext = new TestSourceLookupDMC(fSession.getId());
+		fSession.getExecutor().submit(() -> fSourceLookup.setSourceLookupDirector(fContext, fDirector)).get();
+	}
+
+	@After
+	public void disposeDirector() {
+		fDirector.dispose();
+	}
+
+	/** Returns the source of the given path, or null if none was found */
+	private Object getSource(String debuggerPath) throws Exception {
+		Query<Object> query = new Query<Object>() {
+			@Override
+			protected void execute(DataRequestMonitor<Object> rm) {
+				fSourceLookup.getSource(fContext, debuggerPath, rm);
+			}
+		};
+		fSession.getExecutor().execute(query);
+		try {
+			return query.get(10, TimeUnit.SECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof CoreException
+					&& "No sources found".equals(((CoreException) e.getCause()).getStatus().getMessage())) {
+				return null;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Each path is looked up once, the sources found are then served from the cache.
+	 */
+	@Test
+	public void testCacheHits() throws Exception {
+		assertEquals("a.c source", getSource("/src/a.c"));
+		assertEquals("b.c source", getSource("/src/b.c"));
+		assertEquals("a.c source", getSource("/src/a.c"));
+		assertEquals(Arrays.asList("/src/a.c", "/src/b.c"), fDirector.fLookups);
+
+		assertEquals("b.c source", getSource("/src/b.c"));
+		assertEquals(2, fDirector.fLookups.size());
+	}
+
+	/**
+	 * A path without a source is not looked up again either.
+	 */
+	@Test
+	public void testNotFoundCached() throws Exception {
+		assertNull(getSource("/src/missing.c"));
+		assertEquals(1, fDirector.fLookups.size());
+
+		assertNull(getSource("/src/missing.c"));
+		assertEquals(1, fDirector.fLookups.size());
+	}
+
+	/**
+	 * A failed lookup is reported with its exception, and is not cached.
+	 */
+	@Test
+	public void testFailureNotCached() throws Exception {
+		fDirector.fFailure = new CoreException(Status.error("Container not available"));
+		try {
+			getSource("/src/a.c");
+			fail("The lookup should have failed");
+		} catch (ExecutionException e) {
+			IStatus status = ((CoreException) e.getCause()).getStatus();
+			assertEquals("Source lookup failed", status.getMessage());
+			assertSame(fDirector.fFailure, status.getException());
+		}
+
+		fDirector.fFailure = null;
+		assertEquals("a.c source", getSource("/src/a.c"));
+		assertEquals(2, fDirector.fLookups.size());
+	}
+
+	/**
+	 * A change of the source containers drops the cache, including the paths
+	 * for which no source was found.
+	 */
+	@Test
+	public void testClearedOnContainerChange() throws Exception {
+		getSource("/src/a.c");
+		getSource("/src/missing.c");
+		fDirector.fSources.put("/src/a.c", "new a.c source");
+		fDirector.fSources.put("/src/missing.c", "missing.c source");
+
+		fDirector.setSourceContainers(new ISourceContainer[0]);
+
+		assertEquals("new a.c source", getSource("/src/a.c"));
+		assertEquals("missing.c source", getSource("/src/missing.c"));
+		assertEquals(4, fDirector.fLookups.size());
+	}
+}
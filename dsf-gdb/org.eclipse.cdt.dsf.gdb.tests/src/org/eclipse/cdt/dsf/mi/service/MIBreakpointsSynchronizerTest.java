@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.debug.core.CDIDebugModel;
+import org.eclipse.cdt.debug.core.model.ICBreakpoint;
+import org.eclipse.cdt.dsf.mi.service.MIBreakpointsSynchronizer.PlatformBreakpointIndex;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIBreakpoint;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser;
+import org.eclipse.cdt.dsf.mi.service.command.output.MITuple;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.model.IBreakpoint;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the index of the platform breakpoints of {@link MIBreakpointsSynchronizer},
+ * and the check of the target breakpoints modified by GDB.
+ */
+public class MIBreakpointsSynchronizerTest {
+
+	private final List<ICBreakpoint> fBreakpoints = new ArrayList<>();
+
+	@After
+	public void deleteBreakpoints() throws CoreException {
+		for (ICBreakpoint b : fBreakpoints) {
+			b.delete();
+		}
+	}
+
+	private static IResource getResource() {
+		return ResourcesPlugin.getWorkspace().getRoot();
+	}
+
+	/** Creates a line breakpoint which is not registered with the breakpoint manager */
+	private ICBreakpoint createLineBreakpoint(String file, int line) throws CoreException {
+		ICBreakpoint b = CDIDebugModel.createLineBreakpoint(file, getResource(), line, true, 0, "", false);
+		fBreakpoints.add(b);
+		return b;
+	}
+
+	/** Creates a function breakpoint which is not registered with the breakpoint manager */
+	private ICBreakpoint createFunctionBreakpoint(String function) throws CoreException {
+		ICBreakpoint b = CDIDebugModel.createFunctionBreakpoint(null, getResource(), function, -1, -1, -1, true, 0,
+				"", false);
+		fBreakpoints.add(b);
+		return b;
+	}
+
+	/** Returns an index which has been initialized, then notified of the given breakpoints */
+	private static PlatformBreakpointIndex createIndex(ICBreakpoint... breakpoints) {
+		PlatformBreakpointIndex index = new PlatformBreakpointIndex();
+		index.getCandidates(null, 0);
+		index.breakpointsAdded(breakpoints);
+		return index;
+	}
+
+	@Test
+	public void testCandidatesByFileAndLine() throws CoreException {
+		ICBreakpoint a10 = createLineBreakpoint("/src/a.c", 10);
+		ICBreakpoint a10b = createLineBreakpoint("/src/a.c", 10);
+		ICBreakpoint a11 = createLineBreakpoint("/src/a.c", 11);
+		ICBreakpoint b10 = createLineBreakpoint("/src/b.c", 10);
+		PlatformBreakpointIndex index = createIndex(a10, a10b, a11, b10);
+
+		assertEquals(Arrays.asList(a10, a10b), index.getCandidates("/src/a.c", 10));
+		assertEquals(Arrays.asList(a11), index.getCandidates("/src/a.c", 11));
+		assertEquals(Arrays.asList(b10), index.getCandidates("/src/b.c", 10));
+		assertEquals(Arrays.asList(), index.getCandidates("/src/b.c", 11));
+		assertEquals(Arrays.asList(), index.getCandidates(null, 10));
+	}
+
+	/**
+	 * The breakpoints which are not matched by file and line are candidates for
+	 * any target breakpoint, in the order the breakpoints were added.
+	 */
+	@Test
+	public void testOtherBreakpointsAlwaysCandidates() throws CoreException {
+		ICBreakpoint main = createFunctionBreakpoint("main");
+		ICBreakpoint a10 = createLineBreakpoint("/src/a.c", 10);
+		ICBreakpoint foo = createFunctionBreakpoint("foo");
+		PlatformBreakpointIndex index = createIndex(main, a10, foo);
+
+		assertEquals(Arrays.asList(main, a10, foo), index.getCandidates("/src/a.c", 10));
+		assertEquals(Arrays.asList(main, foo), index.getCandidates("/src/a.c", 11));
+		assertEquals(Arrays.asList(main, foo), index.getCandidates(null, 0));
+	}
+
+	@Test
+	public void testLineChangeReindexed() throws CoreException {
+		ICBreakpoint a10 = createLineBreakpoint("/src/a.c", 10);
+		ICBreakpoint a10b = createLineBreakpoint("/src/a.c", 10);
+		PlatformBreakpointIndex index = createIndex(a10, a10b);
+
+		a10.getMarker().setAttribute(IMarker.LINE_NUMBER, 12);
+		index.breakpointsChanged(new IBreakpoint[] { a10 }, null);
+
+		assertEquals(Arrays.asList(a10b), index.getCandidates("/src/a.c", 10));
+		// The order of the breakpoints is kept
+		a10b.getMarker().setAttribute(IMarker.LINE_NUMBER, 12);
+		index.breakpointsChanged(new IBreakpoint[] { a10b }, null);
+		assertEquals(Arrays.asList(a10, a10b), index.getCandidates("/src/a.c", 12));
+	}
+
+	@Test
+	public void testRemoved() throws CoreException {
+		ICBreakpoint main = createFunctionBreakpoint("main");
+		ICBreakpoint a10 = createLineBreakpoint("/src/a.c", 10);
+		ICBreakpoint a10b = createLineBreakpoint("/src/a.c", 10);
+		PlatformBreakpointIndex index = createIndex(main, a10, a10b);
+
+		index.breakpointsRemoved(new IBreakpoint[] { main, a10 }, null);
+
+		assertEquals(Arrays.asList(a10b), index.getCandidates("/src/a.c", 10));
+		index.breakpointsRemoved(new IBreakpoint[] { a10b }, null);
+		assertEquals(Arrays.asList(), index.getCandidates("/src/a.c", 10));
+	}
+
+	private static MIBreakpointDMData createBreakpointData(String number, String enabled, String condition,
+			int times) {
+		String result = "^done,bkpt={number=\"" + number + "\",type=\"breakpoint\",disp=\"keep\",enabled=\""
+				+ enabled + "\",addr=\"0x0000000000401136\",func=\"main\",file=\"a.c\",fullname=\"/src/a.c\","
+				+ "line=\"10\",cond=\"" + condition + "\",times=\"" + times + "\",original-location=\"a.c:10\"}";
+		MITuple tuple = (MITuple) new MIParser().parseMIResultRecord(result).getMIResults()[0].getMIValue();
+		return new MIBreakpointDMData(new MIBreakpoint(tuple));
+	}
+
+	/**
+	 * A target breakpoint of which only the hit count changed is updated in
+	 * place, without being reported as changed.
+	 */
+	@Test
+	public void testHitCountChangeNotReported() {
+		Map<String, MIBreakpointDMData> contextBreakpoints = new HashMap<>();
+		contextBreakpoints.put("1", createBreakpointData("1", "y", "i > 2", 0));
+
+		MIBreakpointDMData newData = createBreakpointData("1", "y", "i > 2", 3);
+		assertFalse(MIBreakpointsSynchronizer.isTargetBreakpointChanged(contextBreakpoints, newData));
+		assertSame(newData, contextBreakpoints.get("1"));
+		assertEquals(3, contextBreakpoints.get("1").getHits());
+	}
+
+	@Test
+	public void testAttributeChangeReported() {
+		Map<String, MIBreakpointDMData> contextBreakpoints = new HashMap<>();
+		MIBreakpointDMData oldData = createBreakpointData("1", "y", "i > 2", 0);
+		contextBreakpoints.put("1", oldData);
+
+		assertTrue(MIBreakpointsSynchronizer.isTargetBreakpointChanged(contextBreakpoints,
+				createBreakpointData("1", "y", "i > 3", 1)));
+		assertTrue(MIBreakpointsSynchronizer.isTargetBreakpointChanged(contextBreakpoints,
+				createBreakpointData("1", "n", "i > 2", 0)));
+		assertSame(oldData, contextBreakpoints.get("1"));
+	}
+
+	@Test
+	public void testUnknownBreakpointReported() {
+		Map<String, MIBreakpointDMData> contextBreakpoints = new HashMap<>();
+		contextBreakpoints.put("1", createBreakpointData("1", "y", "", 0));
+
+		assertTrue(MIBreakpointsSynchronizer.isTargetBreakpointChanged(contextBreakpoints,
+				createBreakpointData("2", "y", "", 0)));
+		assertFalse(contextBreakpoints.containsKey("2"));
+	}
+}
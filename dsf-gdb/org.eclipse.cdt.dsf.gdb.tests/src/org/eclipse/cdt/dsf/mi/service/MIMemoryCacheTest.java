@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.IAddress;
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.Query;
+import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.cdt.dsf.datamodel.AbstractDMContext;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.IMemory.IMemoryDMContext;
+import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandListener;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
+import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.gdb.service.CommonDsfTest;
+import org.eclipse.cdt.dsf.mi.service.MIMemory.MIMemoryCache;
+import org.eclipse.cdt.utils.Addr64;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.eclipse.debug.core.model.MemoryByte;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the page cache of {@link MIMemory}, against a memory whose content is
+ * the low byte of each address, unless written.
+ */
+public class MIMemoryCacheTest extends CommonDsfTest {
+
+	/** The number of addressable units of a page of the cache */
+	private static final int PAGE_SIZE = 256;
+
+	private static class TestMemoryDMC extends AbstractDMContext implements IMemoryDMContext {
+		TestMemoryDMC(String sessionId) {
+			super(sessionId, new IDMContext[0]);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return baseEquals(obj);
+		}
+
+		@Override
+		public int hashCode() {
+			return baseHashCode();
+		}
+	}
+
+	/** The cache only resets the command cache, no command is sent */
+	private static class NoCommandControl implements ICommandControl {
+		@Override
+		public <V extends ICommandResult> ICommandToken queueCommand(ICommand<V> command, DataRequestMonitor<V> rm) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void removeCommand(ICommandToken token) {
+		}
+
+		@Override
+		public void addCommandListener(ICommandListener listener) {
+		}
+
+		@Override
+		public void removeCommandListener(ICommandListener listener) {
+		}
+
+		@Override
+		public void addEventListener(IEventListener listener) {
+		}
+
+		@Override
+		public void removeEventListener(IEventListener listener) {
+		}
+	}
+
+	private class TestMemory extends MIMemory {
+		/** The blocks read from the back end, as {start, length} */
+		final List<long[]> fReads = new ArrayList<>();
+		/** The content written so far */
+		final Map<Long, Byte> fWritten = new HashMap<>();
+		/** Whether the reads are answered only when released */
+		boolean fHoldReads;
+		final List<Runnable> fHeldReads = new ArrayList<>();
+
+		TestMemory() throws Exception {
+			super(fSession);
+			Field commandCache = MIMemory.class.getDeclaredField("fCommandCache"); //$NON-NLS-1$
+			commandCache.setAccessible(true);
+			commandCache.set(this, new CommandCache(fSession, new NoCommandControl()));
+		}
+
+		byte valueAt(long address) {
+			Byte value = fWritten.get(address);
+			return value != null ? value : (byte) address;
+		}
+
+		@Override
+		protected void readMemoryBlock(IDMContext dmc, IAddress address, long offset, int wordSize, int wordCount,
+				DataRequestMonitor<MemoryByte[]> drm) {
+			long start = address.getValue().longValue() + offset;
+			fReads.add(new long[] { start, wordCount });
+			// The memory is read when the request is issued, as a target would do
+			MemoryByte[] block = new MemoryByte[wordCount * wordSize];
+			for (int i = 0; i < block.length; i++) {
+				block[i] = new MemoryByte(valueAt(start + i));
+			}
+			if (fHoldReads) {
+				fHeldReads.add(() -> drm.done(block));
+			} else {
+				drm.done(block);
+			}
+		}
+
+		@Override
+		protected void writeMemoryBlock(IDMContext dmc, IAddress address, long offset, int wordSize, int wordCount,
+				byte[] buffer, RequestMonitor rm) {
+			long start = address.getValue().longValue() + offset;
+			for (int i = 0; i < wordCount * wordSize; i++) {
+				fWritten.put(start + i, buffer[i]);
+			}
+			rm.done();
+		}
+	}
+
+	private TestMemory fMemory;
+	private IMemoryDMContext fContext;
+
+	@Before
+	public void createMemory() throws Exception {
+		fMemory = new TestMemory();
+		fContext = new TestMemoryDMC(fSession.getId());
+	}
+
+	private static IAddress address(long address) {
+		return new Addr64(BigInteger.valueOf(address));
+	}
+
+	private Query<MemoryByte[]> startRead(MIMemoryCache cache, long address, int count) {
+		Query<MemoryByte[]> query = new Query<MemoryByte[]>() {
+			@Override
+			protected void execute(DataRequestMonitor<MemoryByte[]> rm) {
+				cache.getMemory(fContext, address(address), 1, count, rm);
+			}
+		};
+		fSession.getExecutor().execute(query);
+		return query;
+	}
+
+	private MemoryByte[] read(MIMemoryCache cache, long address, int count) throws Exception {
+		return startRead(cache, address, count).get(10, TimeUnit.SECONDS);
+	}
+
+	private void write(MIMemoryCache cache, long address, byte[] buffer) throws Exception {
+		Query<Object> query = new Query<Object>() {
+			@Override
+			protected void execute(DataRequestMonitor<Object> rm) {
+				cache.setMemory(fContext, address(address), 0, 1, buffer.length, buffer, rm);
+			}
+		};
+		fSession.getExecutor().execute(query);
+		query.get(10, TimeUnit.SECONDS);
+	}
+
+	private void checkContent(long address, MemoryByte[] bytes) {
+		for (int i = 0; i < bytes.length; i++) {
+			assertTrue(bytes[i].isReadable());
+			assertEquals(fMemory.valueAt(address + i), bytes[i].getValue());
+		}
+	}
+
+	/**
+	 * A read over several pages fetches the whole pages in one back-end read,
+	 * and a later read only fetches the pages it misses.
+	 */
+	@Test
+	public void testReadSpanningPages() throws Exception {
+		MIMemoryCache cache = fMemory.new MIMemoryCache();
+
+		checkContent(PAGE_SIZE - 10, read(cache, PAGE_SIZE - 10, PAGE_SIZE + 20));
+		assertEquals(1, fMemory.fReads.size());
+		assertArrayEquals(new long[] { 0, 3 * PAGE_SIZE }, fMemory.fReads.get(0));
+		assertEquals(3, cache.getPageMisses());
+
+		// Inside the cached pages
+		fMemory.fReads.clear();
+		checkContent(PAGE_SIZE + 5, read(cache, PAGE_SIZE + 5, 10));
+		assertTrue(fMemory.fReads.isEmpty());
+		assertEquals(1, cache.getPageHits());
+
+		// Half in the cached pages
+		checkContent(2 * PAGE_SIZE + 100, read(cache, 2 * PAGE_SIZE + 100, PAGE_SIZE));
+		assertEquals(1, fMemory.fReads.size());
+		assertArrayEquals(new long[] { 3 * PAGE_SIZE, PAGE_SIZE }, fMemory.fReads.get(0));
+		assertEquals(2, cache.getPageHits());
+		assertEquals(4, cache.getPageMisses());
+	}
+
+	/**
+	 * A write over two cached pages updates both, the next read is served from
+	 * the cache with the written values.
+	 */
+	@Test
+	public void testWriteUpdatesOverlappingPages() throws Exception {
+		MIMemoryCache cache = fMemory.new MIMemoryCache();
+		read(cache, 0, 2 * PAGE_SIZE);
+
+		write(cache, PAGE_SIZE - 2, new byte[] { 0x55, 0x55, 0x55, 0x55 });
+
+		fMemory.fReads.clear();
+		MemoryByte[] bytes = read(cache, 0, 2 * PAGE_SIZE);
+		assertTrue(fMemory.fReads.isEmpty());
+		checkContent(0, bytes);
+		for (int i = PAGE_SIZE - 2; i < PAGE_SIZE + 2; i++) {
+			assertEquals(0x55, bytes[i].getValue());
+		}
+	}
+
+	/**
+	 * A read issued before a write and answered after it gives the old memory,
+	 * which must not be kept in the cache.
+	 */
+	@Test
+	public void testReadRacingWrite() throws Exception {
+		MIMemoryCache cache = fMemory.new MIMemoryCache();
+
+		fMemory.fHoldReads = true;
+		Query<MemoryByte[]> oldRead = startRead(cache, 0, 16);
+		fSession.getExecutor().submit(() -> fMemory.fHoldReads = false).get();
+
+		write(cache, 10, new byte[] { 0x55 });
+		fSession.getExecutor().submit(() -> fMemory.fHeldReads.forEach(Runnable::run)).get();
+		assertEquals(10, oldRead.get(10, TimeUnit.SECONDS)[10].getValue());
+
+		fMemory.fReads.clear();
+		MemoryByte[] bytes = read(cache, 0, 16);
+		assertEquals(1, fMemory.fReads.size());
+		assertEquals(0x55, bytes[10].getValue());
+	}
+
+	/**
+	 * Once the cache is full, the least recently used page is discarded first.
+	 */
+	@Test
+	public void testLeastRecentlyUsedPagesEvicted() throws Exception {
+		IEclipsePreferences node = InstanceScope.INSTANCE.getNode(GdbPlugin.PLUGIN_ID);
+		// 1 KB, 4 pages
+		node.putInt(IGdbDebugPreferenceConstants.PREF_MEMORY_CACHE_SIZE, 1);
+		MIMemoryCache cache;
+		try {
+			cache = fMemory.new MIMemoryCache();
+		} finally {
+			node.remove(IGdbDebugPreferenceConstants.PREF_MEMORY_CACHE_SIZE);
+		}
+
+		read(cache, 0, 4 * PAGE_SIZE);
+		// Page 0 becomes the most recently used, page 1 the least
+		read(cache, 0, 10);
+		read(cache, 5 * PAGE_SIZE, 10);
+
+		fMemory.fReads.clear();
+		read(cache, 0, 10);
+		assertTrue(fMemory.fReads.isEmpty());
+		read(cache, PAGE_SIZE, 10);
+		assertEquals(1, fMemory.fReads.size());
+		assertArrayEquals(new long[] { PAGE_SIZE, PAGE_SIZE }, fMemory.fReads.get(0));
+	}
+}
@@ -0,0 +1,402 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.Hashtable;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.Query;
+import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.cdt.dsf.debug.service.IModules.IModuleDMContext;
+import org.eclipse.cdt.dsf.debug.service.IModules2.IModuleListChangedDMEvent;
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandListener;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
+import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.gdb.service.CommonDsfTest;
+import org.eclipse.cdt.dsf.gdb.service.command.GDBControlDMContext;
+import org.eclipse.cdt.dsf.mi.service.MIModules.ModuleDMContext;
+import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
+import org.eclipse.cdt.dsf.mi.service.command.commands.CLIInfoSharedLibrary;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MICommand;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOOBRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser;
+import org.eclipse.cdt.dsf.service.AbstractDsfService;
+import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.osgi.framework.BundleContext;
+
+/**
+ * Tests how {@link MIModules} follows the library notifications of GDB,
+ * against a command control which answers <code>info sharedlibrary</code>
+ * with the libraries it was told are loaded.
+ */
+public class MIModulesTest extends CommonDsfTest {
+
+	/**
+	 * A command control which answers <code>info sharedlibrary</code>, and
+	 * sends the library notifications to its listeners.
+	 */
+	private static class TestModulesCommandControl extends AbstractDsfService implements IMICommandControl {
+		private final GDBControlDMContext fContext;
+		private final CommandFactory fCommandFactory = new CommandFactory();
+		private final List<IEventListener> fEventListeners = new ArrayList<>();
+		/** The libraries loaded in GDB */
+		final List<String> fLibraries = new ArrayList<>();
+		/** The number of <code>info sharedlibrary</code> commands answered */
+		int fInfoSharedLibraryCount;
+		/** The answers held back until {@link #releaseAnswers()}, if not null */
+		List<Runnable> fHeldAnswers;
+
+		TestModulesCommandControl(DsfSession session) {
+			super(session);
+			fContext = new GDBControlDMContext(session.getId(), "TestModulesCommandControl"); //$NON-NLS-1$
+		}
+
+		@Override
+		public void initialize(final RequestMonitor rm) {
+			super.initialize(new RequestMonitor(getExecutor(), rm) {
+				@Override
+				protected void handleSuccess() {
+					register(new String[] { ICommandControl.class.getName(), ICommandControlService.class.getName(),
+							IMICommandControl.class.getName() }, new Hashtable<String, String>());
+					rm.done();
+				}
+			});
+		}
+
+		@Override
+		public void shutdown(RequestMonitor rm) {
+			unregister();
+			super.shutdown(rm);
+		}
+
+		@Override
+		protected BundleContext getBundleContext() {
+			return GdbPlugin.getBundleContext();
+		}
+
+		@Override
+		public String getId() {
+			return fContext.getCommandControlId();
+		}
+
+		@Override
+		public GDBControlDMContext getContext() {
+			return fContext;
+		}
+
+		@Override
+		public boolean isActive() {
+			return true;
+		}
+
+		@Override
+		public CommandFactory getCommandFactory() {
+			return fCommandFactory;
+		}
+
+		@Override
+		public <V extends ICommandResult> ICommandToken queueCommand(final ICommand<V> command,
+				final DataRequestMonitor<V> rm) {
+			// GDB answers with the libraries loaded when it receives the command
+			@SuppressWarnings("unchecked")
+			final V result = (V) ((MICommand<?>) command).getResult(answer(command));
+			Runnable answer = () -> rm.done(result);
+			if (fHeldAnswers != null) {
+				fHeldAnswers.add(answer);
+			} else {
+				getExecutor().execute(answer);
+			}
+			return () -> command;
+		}
+
+		private MIOutput answer(ICommand<?> command) {
+			MIParser parser = new MIParser();
+			List<MIOOBRecord> oobs = new ArrayList<>();
+			String result = "^done"; //$NON-NLS-1$
+			if (command instanceof CLIInfoSharedLibrary) {
+				fInfoSharedLibraryCount++;
+				for (int i = 0; i < fLibraries.size(); i++) {
+					oobs.add(parser.parseMIOOBRecord(String.format("~\"0x%08x  0x%08x  Yes         %s\\n\"", //$NON-NLS-1$
+							0x1000 * (i + 1), 0x1000 * (i + 1) + 0x800, fLibraries.get(i))));
+				}
+			} else {
+				result = "^error,msg=\"Unexpected command\""; //$NON-NLS-1$
+			}
+			return new MIOutput(parser.parseMIResultRecord(result), oobs.toArray(new MIOOBRecord[oobs.size()]));
+		}
+
+		/** Answers the commands held back, and stops holding them */
+		void releaseAnswers() {
+			List<Runnable> answers = fHeldAnswers;
+			fHeldAnswers = null;
+			for (Runnable answer : answers) {
+				getExecutor().execute(answer);
+			}
+		}
+
+		/** Loads or unloads a library, and sends the notification GDB would */
+		void notifyLibrary(String library, boolean loaded) {
+			notifyLibrary(library, library, loaded);
+		}
+
+		/**
+		 * Loads or unloads a library found on the host under another name than on
+		 * the target, and sends the notification GDB would
+		 */
+		void notifyLibrary(String targetName, String hostName, boolean loaded) {
+			String asyncClass;
+			if (loaded) {
+				fLibraries.add(hostName);
+				asyncClass = "library-loaded"; //$NON-NLS-1$
+			} else {
+				fLibraries.remove(hostName);
+				asyncClass = "library-unloaded"; //$NON-NLS-1$
+			}
+			MIOOBRecord notification = new MIParser().parseMIOOBRecord(String.format(
+					"=%s,id=\"%s\",target-name=\"%s\",host-name=\"%s\",thread-group=\"i1\"", //$NON-NLS-1$
+					asyncClass, targetName, targetName, hostName));
+			MIOutput output = new MIOutput(notification);
+			for (IEventListener listener : new ArrayList<>(fEventListeners)) {
+				listener.eventReceived(output);
+			}
+		}
+
+		@Override
+		public void removeCommand(ICommandToken token) {
+		}
+
+		@Override
+		public void addCommandListener(ICommandListener listener) {
+		}
+
+		@Override
+		public void removeCommandListener(ICommandListener listener) {
+		}
+
+		@Override
+		public void addEventListener(IEventListener listener) {
+			fEventListeners.add(listener);
+		}
+
+		@Override
+		public void removeEventListener(IEventListener listener) {
+			fEventListeners.remove(listener);
+		}
+	}
+
+	private TestModulesCommandControl fCommandControl;
+	private MIModules fModules;
+	/** The module list changes received, accessed on the executor */
+	private final List<IModuleListChangedDMEvent> fEvents = new ArrayList<>();
+
+	@Before
+	public void initializeServices() throws Exception {
+		fCommandControl = new TestModulesCommandControl(fSession);
+		fModules = new MIModules(fSession);
+		runOnExecutor(() -> {
+			fCommandControl.fLibraries.add("/lib/ld-linux.so.2"); //$NON-NLS-1$
+			fCommandControl.fLibraries.add("/lib/libc.so.6"); //$NON-NLS-1$
+			fSession.addServiceEventListener(MIModulesTest.this, null);
+			return null;
+		});
+		runOnExecutor(rm -> fCommandControl.initialize(rm));
+		runOnExecutor(rm -> fModules.initialize(rm));
+	}
+
+	@After
+	public void shutdownServices() throws Exception {
+		runOnExecutor(() -> {
+			fSession.removeServiceEventListener(MIModulesTest.this);
+			return null;
+		});
+		runOnExecutor(rm -> fModules.shutdown(rm));
+		runOnExecutor(rm -> fCommandControl.shutdown(rm));
+	}
+
+	@DsfServiceEventHandler
+	public void eventDispatched(IModuleListChangedDMEvent e) {
+		fEvents.add(e);
+	}
+
+	private interface ServiceOperation {
+		void run(RequestMonitor rm);
+	}
+
+	private void runOnExecutor(ServiceOperation operation) throws Exception {
+		Query<Object> query = new Query<Object>() {
+			@Override
+			protected void execute(DataRequestMonitor<Object> rm) {
+				operation.run(rm);
+			}
+		};
+		fSession.getExecutor().execute(query);
+		query.get(10, TimeUnit.SECONDS);
+	}
+
+	private <T> T runOnExecutor(Callable<T> callable) throws Exception {
+		return fSession.getExecutor().submit(callable).get(10, TimeUnit.SECONDS);
+	}
+
+	private List<String> getModules() throws Exception {
+		Query<IModuleDMContext[]> query = new Query<IModuleDMContext[]>() {
+			@Override
+			protected void execute(DataRequestMonitor<IModuleDMContext[]> rm) {
+				fModules.getModules(fCommandControl.getContext(), rm);
+			}
+		};
+		fSession.getExecutor().execute(query);
+		return getFiles(query.get(10, TimeUnit.SECONDS));
+	}
+
+	private static List<String> getFiles(IModuleDMContext[] modules) {
+		List<String> files = new ArrayList<>();
+		for (IModuleDMContext module : modules) {
+			files.add(((ModuleDMContext) module).getFile());
+		}
+		return files;
+	}
+
+	/**
+	 * Waits for the module list changes to be reported, and for long enough
+	 * to receive another report if there was to be one.
+	 */
+	private List<IModuleListChangedDMEvent> waitForEvents() throws Exception {
+		long timeout = System.currentTimeMillis() + 10000;
+		while (runOnExecutor(() -> fEvents.isEmpty()) && System.currentTimeMillis() < timeout) {
+			Thread.sleep(10);
+		}
+		Thread.sleep(3 * MIModules.MODULE_EVENT_DELAY);
+		return runOnExecutor(() -> new ArrayList<>(fEvents));
+	}
+
+	/**
+	 * A burst of libraries loaded is reported with a single event, and the
+	 * list of modules follows it without asking GDB again.
+	 */
+	@Test
+	public void testBurstOfLoadsOneEvent() throws Exception {
+		assertEquals(List.of("/lib/ld-linux.so.2", "/lib/libc.so.6"), getModules()); //$NON-NLS-1$ //$NON-NLS-2$
+
+		List<String> loaded = new ArrayList<>();
+		for (int i = 0; i < 5; i++) {
+			loaded.add("/lib/lib" + i + ".so"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		runOnExecutor(() -> {
+			for (String library : loaded) {
+				fCommandControl.notifyLibrary(library, true);
+			}
+			return null;
+		});
+
+		List<IModuleListChangedDMEvent> events = waitForEvents();
+		assertEquals(1, events.size());
+		assertEquals(loaded, getFiles(events.get(0).getLoadedModules()));
+		assertEquals(0, events.get(0).getUnloadedModules().length);
+
+		List<String> expected = new ArrayList<>(List.of("/lib/ld-linux.so.2", "/lib/libc.so.6")); //$NON-NLS-1$ //$NON-NLS-2$
+		expected.addAll(loaded);
+		assertEquals(expected, getModules());
+		assertEquals(1, (int) runOnExecutor(() -> fCommandControl.fInfoSharedLibraryCount));
+	}
+
+	/**
+	 * A list of modules fetched from GDB while a library was loaded is not
+	 * kept, the next request fetches the list again.
+	 */
+	@Test
+	public void testListFetchedDuringBurstNotKept() throws Exception {
+		Query<IModuleDMContext[]> query = new Query<IModuleDMContext[]>() {
+			@Override
+			protected void execute(DataRequestMonitor<IModuleDMContext[]> rm) {
+				fCommandControl.fHeldAnswers = new ArrayList<>();
+				fModules.getModules(fCommandControl.getContext(), rm);
+				// The library is loaded after GDB answered, but before the answer is read
+				fCommandControl.notifyLibrary("/lib/libm.so.6", true); //$NON-NLS-1$
+				fCommandControl.releaseAnswers();
+			}
+		};
+		fSession.getExecutor().execute(query);
+		assertEquals(List.of("/lib/ld-linux.so.2", "/lib/libc.so.6"), //$NON-NLS-1$ //$NON-NLS-2$
+				getFiles(query.get(10, TimeUnit.SECONDS)));
+
+		assertEquals(List.of("/lib/ld-linux.so.2", "/lib/libc.so.6", "/lib/libm.so.6"), getModules()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(2, (int) runOnExecutor(() -> fCommandControl.fInfoSharedLibraryCount));
+
+		// The list fetched after the burst is kept
+		assertEquals(List.of("/lib/ld-linux.so.2", "/lib/libc.so.6", "/lib/libm.so.6"), getModules()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertEquals(2, (int) runOnExecutor(() -> fCommandControl.fInfoSharedLibraryCount));
+	}
+
+	/**
+	 * A library unloaded is removed from the list of modules, and reported.
+	 */
+	@Test
+	public void testUnloadRemovesModule() throws Exception {
+		assertEquals(List.of("/lib/ld-linux.so.2", "/lib/libc.so.6"), getModules()); //$NON-NLS-1$ //$NON-NLS-2$
+
+		runOnExecutor(() -> {
+			fCommandControl.notifyLibrary("/lib/libc.so.6", false); //$NON-NLS-1$
+			return null;
+		});
+
+		assertEquals(List.of("/lib/ld-linux.so.2"), getModules()); //$NON-NLS-1$
+		assertEquals(1, (int) runOnExecutor(() -> fCommandControl.fInfoSharedLibraryCount));
+		List<IModuleListChangedDMEvent> events = waitForEvents();
+		assertEquals(1, events.size());
+		assertEquals(0, events.get(0).getLoadedModules().length);
+		assertEquals(List.of("/lib/libc.so.6"), getFiles(events.get(0).getUnloadedModules())); //$NON-NLS-1$
+	}
+
+	/**
+	 * A library found through the solib search path is known by its name on the
+	 * host, the name "info sharedlibrary" shows.
+	 */
+	@Test
+	public void testLibraryKeyedOnHostName() throws Exception {
+		assertEquals(List.of("/lib/ld-linux.so.2", "/lib/libc.so.6"), getModules()); //$NON-NLS-1$ //$NON-NLS-2$
+
+		runOnExecutor(() -> {
+			fCommandControl.notifyLibrary("/lib/libm.so.6", "/sysroot/lib/libm.so.6", true); //$NON-NLS-1$ //$NON-NLS-2$
+			return null;
+		});
+		assertEquals(List.of("/lib/ld-linux.so.2", "/lib/libc.so.6", "/sysroot/lib/libm.so.6"), getModules()); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		List<IModuleListChangedDMEvent> events = waitForEvents();
+		assertEquals(1, events.size());
+		assertEquals(List.of("/sysroot/lib/libm.so.6"), getFiles(events.get(0).getLoadedModules())); //$NON-NLS-1$
+
+		runOnExecutor(() -> {
+			fEvents.clear();
+			fCommandControl.notifyLibrary("/lib/libm.so.6", "/sysroot/lib/libm.so.6", false); //$NON-NLS-1$ //$NON-NLS-2$
+			return null;
+		});
+		assertEquals(List.of("/lib/ld-linux.so.2", "/lib/libc.so.6"), getModules()); //$NON-NLS-1$ //$NON-NLS-2$
+		events = waitForEvents();
+		assertEquals(1, events.size());
+		assertEquals(List.of("/sysroot/lib/libm.so.6"), getFiles(events.get(0).getUnloadedModules())); //$NON-NLS-1$
+		assertEquals(1, (int) runOnExecutor(() -> fCommandControl.fInfoSharedLibraryCount));
+	}
+}
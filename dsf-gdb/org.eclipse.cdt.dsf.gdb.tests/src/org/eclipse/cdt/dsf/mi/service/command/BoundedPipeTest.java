@@ -0,0 +1,172 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.debug.core.Launch;
+import org.junit.Test;
+
+public class BoundedPipeTest {
+
+	private static String readAvailable(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] b = new byte[7];
+		do {
+			int n = in.read(b, 0, b.length);
+			out.write(b, 0, n);
+		} while (in.available() > 0);
+		return out.toString();
+	}
+
+	@Test
+	public void testWrapAround() throws IOException {
+		BoundedPipe pipe = new BoundedPipe("test", 16, 0);
+		OutputStream out = pipe.getOutputStream();
+		InputStream in = pipe.getInputStream();
+
+		out.write("0123456789".getBytes());
+		assertEquals("0123456789", readAvailable(in));
+		out.write("abcdefghijklmn".getBytes());
+		assertEquals("abcdefghijklmn", readAvailable(in));
+		assertEquals(0, pipe.getBytesSaved() + pipe.getBytesDropped());
+		assertEquals(24, pipe.getBytesWritten());
+		assertEquals(24, pipe.getBytesRead());
+		assertEquals(14, pipe.getMaxBufferedBytes());
+
+		out.close();
+		assertEquals(-1, in.read());
+	}
+
+	@Test
+	public void testOverflow() throws IOException {
+		BoundedPipe pipe = new BoundedPipe("test", 16, 1024);
+		OutputStream out = pipe.getOutputStream();
+		InputStream in = pipe.getInputStream();
+
+		// Writing must not block even if nobody reads
+		out.write("0123456789".getBytes());
+		out.write("abcdefghij".getBytes());
+		out.write("klm".getBytes());
+		assertEquals(13, pipe.getBytesSaved());
+
+		assertEquals("0123456789", readAvailable(in));
+		String report = readAvailable(in);
+		assertTrue(report, report.contains("13"));
+		assertEquals(13, pipe.getOverflowFile().length());
+
+		// The reader caught up, the buffer is used again
+		out.write("nop".getBytes());
+		assertEquals("nop", readAvailable(in));
+		out.close();
+		in.close();
+		assertEquals(13, pipe.getBytesSaved());
+		// The overflow file goes away with the console
+		assertFalse(pipe.getOverflowFile().exists());
+	}
+
+	@Test
+	public void testOverflowFileKeptWithLaunch() throws IOException {
+		ILaunchManager launchManager = DebugPlugin.getDefault().getLaunchManager();
+		Launch launch = new Launch(null, ILaunchManager.DEBUG_MODE, null);
+		launchManager.addLaunch(launch);
+		try {
+			BoundedPipe pipe = new BoundedPipe("test", 16, 1024, launch);
+			OutputStream out = pipe.getOutputStream();
+			InputStream in = pipe.getInputStream();
+			out.write("0123456789".getBytes());
+			out.write("abcdefghij".getBytes());
+			out.close();
+			in.close();
+
+			// The console said where the output was saved, the file stays
+			// until the launch is removed
+			assertTrue(pipe.getOverflowFile().exists());
+			launchManager.removeLaunch(launch);
+			assertFalse(pipe.getOverflowFile().exists());
+		} finally {
+			launchManager.removeLaunch(launch);
+		}
+	}
+
+	@Test
+	public void testDrop() throws IOException {
+		BoundedPipe pipe = new BoundedPipe("test", 4, 0);
+		OutputStream out = pipe.getOutputStream();
+		InputStream in = pipe.getInputStream();
+
+		out.write("0123".getBytes());
+		out.write("4567".getBytes());
+		assertEquals(0, pipe.getBytesSaved());
+		assertEquals(4, pipe.getBytesDropped());
+
+		byte[] b = new byte[4];
+		assertEquals(4, in.read(b));
+		assertArrayEquals("0123".getBytes(), b);
+		// The report is truncated to the size of the buffer
+		assertEquals(4, in.read(b));
+		out.close();
+		assertEquals(-1, in.read(b));
+	}
+
+	@Test
+	public void testReaderClosed() throws IOException {
+		BoundedPipe pipe = new BoundedPipe("test", 16, 0);
+		pipe.getInputStream().close();
+		try {
+			pipe.getOutputStream().write('a');
+			fail("Writing to a pipe closed by the reader should fail");
+		} catch (IOException e) {
+		}
+	}
+
+	@Test(timeout = 10000)
+	public void testConcurrentReader() throws Exception {
+		BoundedPipe pipe = new BoundedPipe("test", 1024, 0);
+		OutputStream out = pipe.getOutputStream();
+		InputStream in = pipe.getInputStream();
+
+		long[] read = new long[1];
+		Thread reader = new Thread(() -> {
+			byte[] b = new byte[100];
+			try {
+				int n;
+				while ((n = in.read(b)) != -1) {
+					read[0] += n;
+				}
+			} catch (IOException e) {
+			}
+		});
+		reader.start();
+		byte[] line = new byte[80];
+		for (int i = 0; i < 100000; i++) {
+			out.write(line);
+		}
+		out.close();
+		reader.join();
+
+		assertEquals(8000000, pipe.getBytesWritten());
+		assertEquals(read[0], pipe.getBytesRead());
+		// Everything that was not dropped was read, along with the overflow reports
+		assertTrue(read[0] >= pipe.getBytesWritten() - pipe.getBytesDropped());
+	}
+}
@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class MICommandStatisticsTest {
+	@Test
+	public void testRecord() {
+		MICommandStatistics stats = new MICommandStatistics();
+		stats.record("-var-create", 10, 100);
+		stats.record("-var-list-children", 20, 300);
+		stats.record("-var-list-children", 40, 500);
+
+		assertEquals(Arrays.asList("-var-list-children", "-var-create"), stats.getOperations());
+		assertEquals(2, stats.getCount("-var-list-children"));
+		assertEquals(30, stats.getAverageQueueTime("-var-list-children"));
+		assertEquals(400, stats.getAverageResponseTime("-var-list-children"));
+		assertEquals(500, stats.getMaxResponseTime("-var-list-children"));
+		assertEquals(0, stats.getCount("-data-evaluate-expression"));
+
+		stats.reset();
+		assertEquals(0, stats.getOperations().size());
+	}
+}
@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.output;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class MIParserTests {
+	@Test
+	public void testResultRecord() {
+		MIParser parser = new MIParser();
+		MIResultRecord rr = parser
+				.parseMIResultRecord("12^done,a=\"1\",b={c=\"2\",d=[\"x\",\"y\"]},e=[f={g=\"3\"},f={g=\"4\"}],h={}");
+		assertEquals(12, rr.getToken());
+		assertEquals(MIResultRecord.DONE, rr.getResultClass());
+		assertEquals("a=\"1\",b={c=\"2\",d=[x,y]},e=[f={g=\"3\"},f={g=\"4\"}],h={}", rr.getFields().toString("", ""));
+		MITuple b = (MITuple) rr.getField("b");
+		assertEquals("2", ((MIConst) b.getField("c")).getCString());
+		assertEquals(2, ((MIList) b.getField("d")).getMIValues().length);
+		assertEquals(2, ((MIList) rr.getField("e")).getMIResults().length);
+		assertEquals(0, ((MITuple) rr.getField("h")).getMIResults().length);
+
+		rr = parser.parseMIResultRecord("^error,msg=\"No symbol \\\"foo\\\" in current context.\"");
+		assertEquals(-1, rr.getToken());
+		assertEquals(MIResultRecord.ERROR, rr.getResultClass());
+		assertEquals("No symbol \"foo\" in current context.", ((MIConst) rr.getField("msg")).getCString());
+
+		rr = parser.parseMIResultRecord("3^running");
+		assertEquals(MIResultRecord.RUNNING, rr.getResultClass());
+		assertEquals(0, rr.getMIResults().length);
+	}
+
+	@Test
+	public void testOOBRecord() {
+		MIParser parser = new MIParser();
+		MIOOBRecord oob = parser.parseMIOOBRecord(
+				"*stopped,reason=\"breakpoint-hit\",frame={addr=\"0x0804844f\",args=[{name=\"argc\",value=\"1\"}]},thread-id=\"1\"");
+		assertTrue(oob instanceof MIExecAsyncOutput);
+		MIExecAsyncOutput exec = (MIExecAsyncOutput) oob;
+		assertEquals("stopped", exec.getAsyncClass());
+		assertEquals(3, exec.getMIResults().length);
+		assertEquals("reason", exec.getMIResults()[0].getVariable());
+
+		oob = parser.parseMIOOBRecord("=thread-group-started,id=\"i1\",pid=\"42\"");
+		assertTrue(oob instanceof MINotifyAsyncOutput);
+		assertEquals("thread-group-started", ((MIAsyncRecord) oob).getAsyncClass());
+
+		// Backslashes of stream records are not escaped
+		oob = parser.parseMIOOBRecord("~\"C:\\\\dir \\\"x\\\"\\n\"");
+		assertTrue(oob instanceof MIConsoleStreamOutput);
+		assertEquals("C:\\\\dir \"x\"\\n", ((MIStreamRecord) oob).getCString());
+
+		oob = parser.parseMIOOBRecord("garbage");
+		assertTrue(oob instanceof MITargetStreamOutput);
+		assertEquals("garbage\n", ((MIStreamRecord) oob).getCString());
+	}
+
+	/**
+	 * Large records as produced by deep backtraces or big containers. The buffer of the parser
+	 * grows for them and must not affect the records parsed afterwards.
+	 */
+	@Test
+	public void testLargeRecords() {
+		final int frames = 500;
+		StringBuilder stack = new StringBuilder("7^done,stack=[");
+		for (int i = 0; i < frames; i++) {
+			if (i > 0)
+				stack.append(',');
+			stack.append("frame={level=\"").append(i).append("\",addr=\"0x").append(Integer.toHexString(0x400000 + i))
+					.append("\",func=\"recurse\",file=\"rec.c\",fullname=\"/tmp/rec.c\",line=\"").append(i + 10)
+					.append("\",arch=\"i386:x86-64\"}");
+		}
+		stack.append(']');
+
+		final int children = 10000;
+		StringBuilder list = new StringBuilder("8^done,numchild=\"").append(children).append("\",children=[");
+		for (int i = 0; i < children; i++) {
+			if (i > 0)
+				list.append(',');
+			list.append("child={name=\"var1.[").append(i).append("]\",exp=\"").append(i)
+					.append("\",numchild=\"0\",value=\"\\\"s").append(i).append("\\\"\",type=\"char *\"}");
+		}
+		list.append("],has_more=\"0\"");
+
+		MIParser parser = new MIParser();
+		for (int round = 0; round < 2; round++) {
+			MIResultRecord rr = parser.parseMIResultRecord(stack.toString());
+			MIResult[] frameResults = ((MIList) rr.getField("stack")).getMIResults();
+			assertEquals(frames, frameResults.length);
+			MITuple last = (MITuple) frameResults[frames - 1].getMIValue();
+			assertEquals(String.valueOf(frames - 1), ((MIConst) last.getField("level")).getCString());
+
+			rr = parser.parseMIResultRecord(list.toString());
+			assertEquals(8, rr.getToken());
+			MIResult[] childResults = ((MIList) rr.getField("children")).getMIResults();
+			assertEquals(children, childResults.length);
+			MITuple child = (MITuple) childResults[children - 1].getMIValue();
+			assertEquals("var1.[" + (children - 1) + "]", ((MIConst) child.getField("name")).getCString());
+			assertEquals("\"s" + (children - 1) + "\"", ((MIConst) child.getField("value")).getCString());
+			assertEquals("0", ((MIConst) rr.getField("has_more")).getCString());
+
+			rr = parser.parseMIResultRecord("9^done,value=\"1\"");
+			assertEquals(9, rr.getToken());
+			assertEquals(1, rr.getMIResults().length);
+		}
+	}
+
+	private static String getCString(MIResultRecord rr, String variable) {
+		return ((MIConst) rr.getField(variable)).getCString();
+	}
+
+	/**
+	 * C strings without escapes are taken from the buffer as they are, those with
+	 * escapes are translated, wherever the escapes are.
+	 */
+	@Test
+	public void testCStringEscapes() {
+		MIParser parser = new MIParser();
+		MIResultRecord rr = parser.parseMIResultRecord(
+				"^done,a=\"plain\",b=\"\\\"q\",c=\"mid\\\\dle\",d=\"end\\\"\",e=\"\",f=\"\\n\"");
+		assertEquals("plain", getCString(rr, "a"));
+		assertEquals("\"q", getCString(rr, "b"));
+		assertEquals("mid\\dle", getCString(rr, "c"));
+		assertEquals("end\"", getCString(rr, "d"));
+		assertEquals("", getCString(rr, "e"));
+		// Unknown escapes are kept
+		assertEquals("\\n", getCString(rr, "f"));
+
+		// Unterminated strings end with the record, with or without escapes
+		rr = parser.parseMIResultRecord("^done,a=\"open");
+		assertEquals("open", getCString(rr, "a"));
+		rr = parser.parseMIResultRecord("^done,a=\"op\\\"en");
+		assertEquals("op\"en", getCString(rr, "a"));
+	}
+
+	/**
+	 * Short strings are shared between records, the longer ones aren't, and
+	 * distinct strings competing for the cache are never mixed up.
+	 */
+	@Test
+	public void testStringCache() {
+		MIParser parser = new MIParser();
+		String shortValue = "0123456789abcdef0123456789abcdef";
+		String longValue = shortValue + "x";
+		String record = "^done,value=\"" + shortValue + "\",long=\"" + longValue + "\"";
+		MIResultRecord rr1 = parser.parseMIResultRecord(record);
+		MIResultRecord rr2 = parser.parseMIResultRecord(record);
+		assertSame(rr1.getMIResults()[0].getVariable(), rr2.getMIResults()[0].getVariable());
+		assertSame(getCString(rr1, "value"), getCString(rr2, "value"));
+		assertEquals(longValue, getCString(rr2, "long"));
+		assertNotSame(getCString(rr1, "long"), getCString(rr2, "long"));
+
+		// Many more distinct strings than cache entries, of the same length
+		final int count = 5000;
+		StringBuilder sb = new StringBuilder("^done,values=[");
+		for (int i = 0; i < count; i++) {
+			if (i > 0)
+				sb.append(',');
+			sb.append(String.format("\"v%05d\"", i));
+		}
+		sb.append(']');
+		for (int round = 0; round < 2; round++) {
+			MIValue[] values = ((MIList) parser.parseMIResultRecord(sb.toString()).getField("values")).getMIValues();
+			assertEquals(count, values.length);
+			for (int i = 0; i < count; i++) {
+				assertEquals(String.format("v%05d", i), ((MIConst) values[i]).getCString());
+			}
+		}
+	}
+
+	/**
+	 * A record larger than the buffers kept between records, with a large string
+	 * to translate, doesn't affect the records parsed afterwards.
+	 */
+	@Test
+	public void testBuffersReleased() {
+		StringBuilder value = new StringBuilder();
+		StringBuilder escaped = new StringBuilder();
+		while (value.length() < 2 * 1024 * 1024) {
+			value.append("\"line\"\n");
+			escaped.append("\\\"line\\\"\\n");
+		}
+
+		MIParser parser = new MIParser();
+		for (int round = 0; round < 2; round++) {
+			MIResultRecord rr = parser.parseMIResultRecord("4^done,value=\"" + escaped + "\",next=\"1\"");
+			assertEquals(4, rr.getToken());
+			// The unknown escape \n is kept
+			assertEquals(value.toString().replace("\n", "\\n"), getCString(rr, "value"));
+			assertEquals("1", getCString(rr, "next"));
+
+			rr = parser.parseMIResultRecord("5^done,a=\"x\\\"y\",b=[{c=\"2\"}]");
+			assertEquals(5, rr.getToken());
+			assertEquals("x\"y", getCString(rr, "a"));
+			assertEquals(1, ((MIList) rr.getField("b")).getMIValues().length);
+		}
+	}
+}
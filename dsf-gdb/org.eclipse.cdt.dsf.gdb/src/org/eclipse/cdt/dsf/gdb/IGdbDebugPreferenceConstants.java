@@ -261,4 +261,120 @@ public interface IGdbDebugPreferenceConstants {
 	 * @since 6.5
 	 */
 	public static final int SUSPEND_TIMEOUT_VALUE_DEFAULT = 10;
+
+	/**
+	 * Maximum number of MI commands sent to GDB without waiting for their results.
+	 * Only used with GDB versions that can process concurrent commands reliably.
+	 * Default is {@value #MI_COMMAND_WINDOW_DEFAULT}.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_MI_COMMAND_WINDOW = "miCommandWindow"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_MI_COMMAND_WINDOW}
+	 *
+	 * @since 7.2
+	 */
+	public static final int MI_COMMAND_WINDOW_DEFAULT = 3;
+
+	/**
+	 * Number of worker threads of the DSF executor of a debug session. The workers
+	 * produce the labels of the debug views, the session thread is left for the
+	 * services. Default is {@value #DSF_WORKER_THREADS_DEFAULT}, i.e. all work is
+	 * done on the session thread.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_DSF_WORKER_THREADS = "dsfWorkerThreads"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_DSF_WORKER_THREADS}
+	 *
+	 * @since 7.2
+	 */
+	public static final int DSF_WORKER_THREADS_DEFAULT = 0;
+
+	/**
+	 * Maximum size, in kilobytes, of the memory cache of a memory context. The least
+	 * recently used memory is discarded beyond that size.
+	 * Default is {@value #MEMORY_CACHE_SIZE_DEFAULT}.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_MEMORY_CACHE_SIZE = "memoryCacheSize"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_MEMORY_CACHE_SIZE}
+	 *
+	 * @since 7.2
+	 */
+	public static final int MEMORY_CACHE_SIZE_DEFAULT = 1024;
+
+	/**
+	 * Number of stack frames fetched when a thread stops, before its stack is known to
+	 * the debug views. The remaining frames are fetched in the background, in pages of
+	 * {@link #PREF_STACK_FRAMES_PAGE_SIZE} frames, and the stack depth is deduced from
+	 * them instead of being asked to GDB. Default is {@value #STACK_INITIAL_FRAMES_DEFAULT},
+	 * i.e. frames are only fetched when requested.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_STACK_INITIAL_FRAMES = "stackInitialFrames"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_STACK_INITIAL_FRAMES}
+	 *
+	 * @since 7.2
+	 */
+	public static final int STACK_INITIAL_FRAMES_DEFAULT = 0;
+
+	/**
+	 * Number of stack frames fetched by each background request, once the frames of
+	 * {@link #PREF_STACK_INITIAL_FRAMES} are known.
+	 * Default is {@value #STACK_FRAMES_PAGE_SIZE_DEFAULT}.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_STACK_FRAMES_PAGE_SIZE = "stackFramesPageSize"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_STACK_FRAMES_PAGE_SIZE}
+	 *
+	 * @since 7.2
+	 */
+	public static final int STACK_FRAMES_PAGE_SIZE_DEFAULT = 100;
+
+	/**
+	 * Boolean preference whether register values of the top frame are kept across
+	 * stops, and only the registers reported as changed by GDB are read again.
+	 * Default is {@value #REGISTERS_DELTA_UPDATE_DEFAULT}.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_REGISTERS_DELTA_UPDATE = "registersDeltaUpdate"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_REGISTERS_DELTA_UPDATE}
+	 *
+	 * @since 7.2
+	 */
+	public static final boolean REGISTERS_DELTA_UPDATE_DEFAULT = false;
+
+	/**
+	 * Boolean preference whether the results of disassembling address ranges are
+	 * cached. Ranges of executables loaded at fixed addresses are also saved in
+	 * the workspace metadata, and reused by later sessions debugging the same
+	 * binary. Default is {@value #DISASSEMBLY_CACHE_DEFAULT}.
+	 *
+	 * @since 7.2
+	 */
+	public static final String PREF_DISASSEMBLY_CACHE = "disassemblyCache"; //$NON-NLS-1$
+
+	/**
+	 * Default value of {@link #PREF_DISASSEMBLY_CACHE}
+	 *
+	 * @since 7.2
+	 */
+	public static final boolean DISASSEMBLY_CACHE_DEFAULT = false;
 }
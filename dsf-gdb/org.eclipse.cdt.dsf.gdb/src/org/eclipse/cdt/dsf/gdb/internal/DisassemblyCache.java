@@ -0,0 +1,672 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.internal;
+
+import java.io.File;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.cdt.dsf.debug.service.IInstruction;
+import org.eclipse.cdt.dsf.debug.service.IMixedInstruction;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIConst;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIDataDisassembleInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIList;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOOBRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIResult;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIResultRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MITuple;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIValue;
+import org.eclipse.cdt.utils.elf.Elf;
+
+/**
+ * Cache of -data-disassemble results for address ranges.
+ * <p>
+ * Results are grouped by an owner key and kept in memory up to a maximum number
+ * of ranges. When a directory is given, ranges evicted from memory and ranges
+ * saved with {@link #save(String)} are written to that directory, and are read
+ * back on a later lookup, possibly by another debug session. Owner keys of such
+ * a cache must identify a binary, see {@link Binary#getKey()}, and whatever else
+ * changes its disassembly, such as the version of GDB and the disassembly
+ * flavor. Owner keys are used as directory names. Once the files of all
+ * binaries exceed a maximum size, the least recently used ones are deleted,
+ * whatever their binary.
+ * <p>
+ * A lookup is satisfied by any cached range of the same mode that covers the
+ * requested range and has an instruction starting at the requested start
+ * address. Callers use {@link #sliceInstructions} and
+ * {@link #sliceMixedInstructions} to extract the requested part.
+ * <p>
+ * This class is thread-safe, since a shared instance is used by the executors
+ * of several sessions.
+ */
+public class DisassemblyCache {
+
+	/** Maximum number of ranges written to disk per binary */
+	private static final int MAX_DISK_ENTRIES = 4096;
+
+	/** Default maximum size, in bytes, of the ranges written to disk for all binaries */
+	private static final long MAX_DISK_SIZE = 64L * 1024 * 1024;
+
+	/** Maximum size of an instruction, in bytes, on the supported architectures */
+	private static final int MAX_INSTRUCTION_SIZE = 16;
+
+	private static final String FILE_EXTENSION = ".mi"; //$NON-NLS-1$
+
+	private static final class Key {
+		final String owner;
+		final int mode;
+		final BigInteger start;
+		final BigInteger end;
+
+		Key(String owner, int mode, BigInteger start, BigInteger end) {
+			this.owner = owner;
+			this.mode = mode;
+			this.start = start;
+			this.end = end;
+		}
+
+		boolean covers(String otherOwner, int otherMode, BigInteger otherStart, BigInteger otherEnd) {
+			return mode == otherMode && owner.equals(otherOwner) && start.compareTo(otherStart) <= 0
+					&& end.compareTo(otherEnd) >= 0;
+		}
+
+		boolean overlaps(BigInteger otherStart, BigInteger otherEnd) {
+			return start.compareTo(otherEnd) < 0 && end.compareTo(otherStart) > 0;
+		}
+
+		String getFileName() {
+			return mode + "-" + start.toString(16) + "-" + end.toString(16) + FILE_EXTENSION; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+
+		static Key fromFileName(String owner, String name) {
+			if (!name.endsWith(FILE_EXTENSION)) {
+				return null;
+			}
+			String[] parts = name.substring(0, name.length() - FILE_EXTENSION.length()).split("-"); //$NON-NLS-1$
+			if (parts.length != 3) {
+				return null;
+			}
+			try {
+				return new Key(owner, Integer.parseInt(parts[0]), new BigInteger(parts[1], 16),
+						new BigInteger(parts[2], 16));
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+			Key other = (Key) obj;
+			return mode == other.mode && owner.equals(other.owner) && start.equals(other.start)
+					&& end.equals(other.end);
+		}
+
+		@Override
+		public int hashCode() {
+			return owner.hashCode() ^ mode ^ start.hashCode() ^ end.hashCode();
+		}
+	}
+
+	private static final class Entry {
+		final MIDataDisassembleInfo info;
+		Set<BigInteger> addresses;
+
+		Entry(MIDataDisassembleInfo info) {
+			this.info = info;
+		}
+
+		boolean hasInstructionAt(BigInteger address) {
+			if (addresses == null) {
+				addresses = new HashSet<>();
+				for (IInstruction instruction : info.getMIAssemblyCode()) {
+					addresses.add(instruction.getAdress());
+				}
+				for (IMixedInstruction mixed : info.getMIMixedCode()) {
+					for (IInstruction instruction : mixed.getInstructions()) {
+						addresses.add(instruction.getAdress());
+					}
+				}
+			}
+			return addresses.contains(address);
+		}
+	}
+
+	private final File fDirectory;
+	private final int fMaxEntries;
+	private final long fMaxDiskSize;
+
+	/** Ranges kept in memory, least recently used first */
+	private final LinkedHashMap<Key, Entry> fEntries = new LinkedHashMap<>(16, 0.75f, true);
+
+	/** Ranges stored on disk, per owner, loaded lazily */
+	private final Map<String, Set<Key>> fDiskEntries = new HashMap<>();
+
+	/** Size of the files of all owners on disk, -1 until computed */
+	private long fDiskSize = -1;
+
+	private int fHits;
+	private int fMisses;
+
+	/**
+	 * @param directory The directory where ranges overflow, or <code>null</code>
+	 *                  to keep ranges in memory only.
+	 * @param maxEntries The maximum number of ranges kept in memory.
+	 */
+	public DisassemblyCache(File directory, int maxEntries) {
+		this(directory, maxEntries, MAX_DISK_SIZE);
+	}
+
+	/**
+	 * @param maxDiskSize The maximum size, in bytes, of the files written to the
+	 *                    directory for all owners.
+	 */
+	DisassemblyCache(File directory, int maxEntries, long maxDiskSize) {
+		fDirectory = directory;
+		fMaxEntries = Math.max(1, maxEntries);
+		fMaxDiskSize = maxDiskSize;
+	}
+
+	/**
+	 * Returns the cached result of a range covering the given range, or
+	 * <code>null</code> if there is none.
+	 */
+	public synchronized MIDataDisassembleInfo get(String owner, int mode, BigInteger start, BigInteger end) {
+		Key key = new Key(owner, mode, start, end);
+		if (!fEntries.containsKey(key)) {
+			key = null;
+			for (Map.Entry<Key, Entry> e : fEntries.entrySet()) {
+				if (e.getKey().covers(owner, mode, start, end)
+						&& (e.getKey().start.equals(start) || e.getValue().hasInstructionAt(start))) {
+					key = e.getKey();
+					break;
+				}
+			}
+		}
+		// Also marks the range as recently used
+		Entry entry = key != null ? fEntries.get(key) : null;
+		if (entry == null) {
+			entry = readFromDisk(owner, mode, start, end);
+		}
+		if (entry == null) {
+			fMisses++;
+			return null;
+		}
+		fHits++;
+		return entry.info;
+	}
+
+	/**
+	 * Stores the result of a -data-disassemble command for the given range.
+	 */
+	public synchronized void put(String owner, int mode, BigInteger start, BigInteger end,
+			MIDataDisassembleInfo info) {
+		addEntry(new Key(owner, mode, start, end), new Entry(info));
+	}
+
+	private void addEntry(Key key, Entry entry) {
+		fEntries.put(key, entry);
+		if (fEntries.size() > fMaxEntries) {
+			Iterator<Map.Entry<Key, Entry>> it = fEntries.entrySet().iterator();
+			Map.Entry<Key, Entry> eldest = it.next();
+			it.remove();
+			writeToDisk(eldest.getKey(), eldest.getValue());
+		}
+	}
+
+	/**
+	 * Writes all ranges of the given owner kept in memory to disk.
+	 */
+	public synchronized void save(String owner) {
+		for (Map.Entry<Key, Entry> e : fEntries.entrySet()) {
+			if (e.getKey().owner.equals(owner)) {
+				writeToDisk(e.getKey(), e.getValue());
+			}
+		}
+	}
+
+	/**
+	 * Removes the ranges of the given owner whose instructions may use memory
+	 * between the given addresses (end excluded), in memory and on disk.
+	 */
+	public synchronized void remove(String owner, BigInteger start, BigInteger end) {
+		// An instruction starting before the given memory may also be affected
+		BigInteger first = start.subtract(BigInteger.valueOf(MAX_INSTRUCTION_SIZE - 1));
+		fEntries.keySet().removeIf(key -> key.owner.equals(owner) && key.overlaps(first, end));
+
+		Set<Key> diskEntries = getDiskEntries(owner);
+		for (Iterator<Key> it = diskEntries.iterator(); it.hasNext();) {
+			Key key = it.next();
+			if (key.overlaps(first, end)) {
+				it.remove();
+				new File(getOwnerDirectory(owner), key.getFileName()).delete();
+				fDiskSize = -1;
+			}
+		}
+	}
+
+	/**
+	 * Removes all ranges of the given owner, in memory and on disk.
+	 */
+	public synchronized void clear(String owner) {
+		fEntries.keySet().removeIf(key -> key.owner.equals(owner));
+
+		Set<Key> diskEntries = getDiskEntries(owner);
+		for (Key key : diskEntries) {
+			new File(getOwnerDirectory(owner), key.getFileName()).delete();
+		}
+		diskEntries.clear();
+		fDiskSize = -1;
+	}
+
+	/**
+	 * Removes all ranges kept in memory.
+	 */
+	public synchronized void clear() {
+		fEntries.clear();
+	}
+
+	/** Returns the number of lookups that were satisfied by the cache. */
+	public synchronized int getHitCount() {
+		return fHits;
+	}
+
+	/** Returns the number of lookups that were not satisfied by the cache. */
+	public synchronized int getMissCount() {
+		return fMisses;
+	}
+
+	private File getOwnerDirectory(String owner) {
+		return new File(fDirectory, owner);
+	}
+
+	private Set<Key> getDiskEntries(String owner) {
+		Set<Key> keys = fDiskEntries.get(owner);
+		if (keys == null) {
+			keys = new HashSet<>();
+			if (fDirectory != null) {
+				String[] names = getOwnerDirectory(owner).list();
+				if (names != null) {
+					for (String name : names) {
+						Key key = Key.fromFileName(owner, name);
+						if (key != null) {
+							keys.add(key);
+						}
+					}
+				}
+			}
+			fDiskEntries.put(owner, keys);
+		}
+		return keys;
+	}
+
+	private Entry readFromDisk(String owner, int mode, BigInteger start, BigInteger end) {
+		if (fDirectory == null) {
+			return null;
+		}
+		for (Iterator<Key> it = getDiskEntries(owner).iterator(); it.hasNext();) {
+			Key key = it.next();
+			if (!key.covers(owner, mode, start, end)) {
+				continue;
+			}
+			File file = new File(getOwnerDirectory(owner), key.getFileName());
+			Entry entry;
+			try {
+				String line = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+				MIResultRecord rr = new MIParser().parseMIResultRecord(line);
+				entry = new Entry(new MIDataDisassembleInfo(new MIOutput(rr, new MIOOBRecord[0])));
+			} catch (IOException | RuntimeException e) {
+				// Unreadable or corrupted; forget about it
+				if (GdbDebugOptions.DEBUG) {
+					GdbDebugOptions.trace(String.format("%s Cannot read cached disassembly %s: %s\n", //$NON-NLS-1$
+							GdbPlugin.getDebugTime(), file, e));
+				}
+				it.remove();
+				file.delete();
+				continue;
+			}
+			if (key.start.equals(start) || entry.hasInstructionAt(start)) {
+				// The modification time tells the least recently used files, see trimDisk()
+				file.setLastModified(System.currentTimeMillis());
+				addEntry(key, entry);
+				return entry;
+			}
+		}
+		return null;
+	}
+
+	private void writeToDisk(Key key, Entry entry) {
+		if (fDirectory == null) {
+			return;
+		}
+		Set<Key> diskEntries = getDiskEntries(key.owner);
+		if (diskEntries.contains(key) || diskEntries.size() >= MAX_DISK_ENTRIES) {
+			return;
+		}
+		MIResultRecord rr = entry.info.getMIOutput().getMIResultRecord();
+		if (rr == null) {
+			return;
+		}
+		File dir = getOwnerDirectory(key.owner);
+		try {
+			dir.mkdirs();
+			byte[] bytes = serialize(rr).getBytes(StandardCharsets.UTF_8);
+			long diskSize = getDiskSize();
+			Files.write(new File(dir, key.getFileName()).toPath(), bytes);
+			diskEntries.add(key);
+			fDiskSize = diskSize + bytes.length;
+		} catch (IOException e) {
+			if (GdbDebugOptions.DEBUG) {
+				GdbDebugOptions.trace(String.format("%s Cannot write cached disassembly in %s: %s\n", //$NON-NLS-1$
+						GdbPlugin.getDebugTime(), dir, e));
+			}
+		}
+		if (fDiskSize > fMaxDiskSize) {
+			trimDisk();
+		}
+	}
+
+	private List<File> listDiskFiles() {
+		List<File> files = new ArrayList<>();
+		File[] dirs = fDirectory.listFiles(File::isDirectory);
+		if (dirs != null) {
+			for (File dir : dirs) {
+				File[] dirFiles = dir.listFiles((parent, name) -> name.endsWith(FILE_EXTENSION));
+				if (dirFiles != null) {
+					files.addAll(Arrays.asList(dirFiles));
+				}
+			}
+		}
+		return files;
+	}
+
+	private long getDiskSize() {
+		if (fDiskSize < 0) {
+			long size = 0;
+			for (File file : listDiskFiles()) {
+				size += file.length();
+			}
+			fDiskSize = size;
+		}
+		return fDiskSize;
+	}
+
+	/**
+	 * Deletes the least recently used files, of any owner, until the files use
+	 * at most three quarters of the maximum size, so that the next writes don't
+	 * have to trim again.
+	 */
+	private void trimDisk() {
+		// Read the times once, they may change while sorting
+		Map<File, Long> times = new HashMap<>();
+		long size = 0;
+		for (File file : listDiskFiles()) {
+			times.put(file, file.lastModified());
+			size += file.length();
+		}
+		List<File> files = new ArrayList<>(times.keySet());
+		files.sort(Comparator.comparing(times::get));
+
+		long target = fMaxDiskSize / 4 * 3;
+		for (File file : files) {
+			if (size <= target) {
+				break;
+			}
+			long length = file.length();
+			if (!file.delete()) {
+				continue;
+			}
+			size -= length;
+			File dir = file.getParentFile();
+			Set<Key> keys = fDiskEntries.get(dir.getName());
+			if (keys != null) {
+				keys.remove(Key.fromFileName(dir.getName(), file.getName()));
+			}
+			String[] left = dir.list();
+			if (left != null && left.length == 0) {
+				dir.delete();
+			}
+		}
+		fDiskSize = size;
+	}
+
+	/**
+	 * Writes a result record back in MI syntax. Unlike toString(), every constant
+	 * is quoted, so that the record can always be parsed again.
+	 */
+	private static String serialize(MIResultRecord rr) {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append('^').append(rr.getResultClass());
+		for (MIResult result : rr.getMIResults()) {
+			buffer.append(',');
+			serialize(buffer, result);
+		}
+		return buffer.toString();
+	}
+
+	private static void serialize(StringBuilder buffer, MIResult result) {
+		buffer.append(result.getVariable()).append('=');
+		serialize(buffer, result.getMIValue());
+	}
+
+	private static void serialize(StringBuilder buffer, MIValue value) {
+		MIResult[] results;
+		MIValue[] values;
+		char close;
+		if (value instanceof MITuple) {
+			buffer.append('{');
+			results = ((MITuple) value).getMIResults();
+			values = ((MITuple) value).getMIValues();
+			close = '}';
+		} else if (value instanceof MIList) {
+			buffer.append('[');
+			results = ((MIList) value).getMIResults();
+			values = ((MIList) value).getMIValues();
+			close = ']';
+		} else {
+			String str = value instanceof MIConst ? ((MIConst) value).getCString() : ""; //$NON-NLS-1$
+			// The parser only unescapes backslashes and quotes
+			buffer.append('"').append(str.replace("\\", "\\\\").replace("\"", "\\\"")).append('"'); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			return;
+		}
+		boolean first = true;
+		for (MIResult result : results) {
+			if (!first) {
+				buffer.append(',');
+			}
+			first = false;
+			serialize(buffer, result);
+		}
+		for (MIValue v : values) {
+			if (!first) {
+				buffer.append(',');
+			}
+			first = false;
+			serialize(buffer, v);
+		}
+		buffer.append(close);
+	}
+
+	/**
+	 * Returns the instructions starting in the given range.
+	 */
+	public static IInstruction[] sliceInstructions(IInstruction[] instructions, BigInteger start, BigInteger end) {
+		List<IInstruction> result = new ArrayList<>(instructions.length);
+		for (IInstruction instruction : instructions) {
+			if (isInRange(instruction, start, end)) {
+				result.add(instruction);
+			}
+		}
+		return result.size() == instructions.length ? instructions : result.toArray(new IInstruction[result.size()]);
+	}
+
+	/**
+	 * Returns the source lines with instructions starting in the given range,
+	 * with only those instructions.
+	 */
+	public static IMixedInstruction[] sliceMixedInstructions(IMixedInstruction[] mixedInstructions, BigInteger start,
+			BigInteger end) {
+		List<IMixedInstruction> result = new ArrayList<>(mixedInstructions.length);
+		boolean sliced = false;
+		for (final IMixedInstruction mixed : mixedInstructions) {
+			final IInstruction[] instructions = sliceInstructions(mixed.getInstructions(), start, end);
+			if (instructions == mixed.getInstructions()) {
+				result.add(mixed);
+				continue;
+			}
+			sliced = true;
+			if (instructions.length > 0) {
+				result.add(new IMixedInstruction() {
+					@Override
+					public String getFileName() {
+						return mixed.getFileName();
+					}
+
+					@Override
+					public int getLineNumber() {
+						return mixed.getLineNumber();
+					}
+
+					@Override
+					public IInstruction[] getInstructions() {
+						return instructions;
+					}
+				});
+			}
+		}
+		return sliced ? result.toArray(new IMixedInstruction[result.size()]) : mixedInstructions;
+	}
+
+	private static boolean isInRange(IInstruction instruction, BigInteger start, BigInteger end) {
+		BigInteger address = instruction.getAdress();
+		return address != null && address.compareTo(start) >= 0 && address.compareTo(end) < 0;
+	}
+
+	/**
+	 * Identity and layout of a binary whose disassembly can be kept across
+	 * sessions.
+	 */
+	public static class Binary {
+		private final String fKey;
+		private final List<BigInteger[]> fExecutableRanges;
+
+		private Binary(String key, List<BigInteger[]> executableRanges) {
+			fKey = key;
+			fExecutableRanges = executableRanges;
+		}
+
+		/**
+		 * Returns the key of this binary: its GNU build-id if it has one, or a key
+		 * derived from its path, size and modification time.
+		 */
+		public String getKey() {
+			return fKey;
+		}
+
+		/**
+		 * Returns whether the given range lies in one of the executable sections
+		 * of this binary.
+		 */
+		public boolean containsRange(BigInteger start, BigInteger end) {
+			for (BigInteger[] range : fExecutableRanges) {
+				if (range[0].compareTo(start) <= 0 && range[1].compareTo(end) >= 0) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * Reads the given binary. Returns <code>null</code> if the binary is not an
+		 * ELF executable loaded at fixed addresses, since the addresses of its
+		 * code then change from one run to the other.
+		 */
+		public static Binary open(String path) {
+			File file = new File(path);
+			if (!file.isFile()) {
+				return null;
+			}
+			try (Elf elf = new Elf(path)) {
+				Elf.ELFhdr header = elf.getELFhdr();
+				if (header.e_type != Elf.ELFhdr.ET_EXEC) {
+					return null;
+				}
+				boolean isLE = header.e_ident[Elf.ELFhdr.EI_DATA] == Elf.ELFhdr.ELFDATA2LSB;
+
+				String key = null;
+				List<BigInteger[]> ranges = new ArrayList<>();
+				for (Elf.Section section : elf.getSections()) {
+					if (section.sh_type == Elf.Section.SHT_NOTE && key == null) {
+						key = readBuildId(section.mapSectionData(), isLE);
+					}
+					if ((section.sh_flags & Elf.Section.SHF_ALLOC) != 0
+							&& (section.sh_flags & Elf.Section.SHF_EXECINTR) != 0 && section.sh_size > 0) {
+						BigInteger start = section.sh_addr.getValue();
+						ranges.add(new BigInteger[] { start, start.add(BigInteger.valueOf(section.sh_size)) });
+					}
+				}
+				if (ranges.isEmpty()) {
+					return null;
+				}
+				if (key == null) {
+					key = Integer.toHexString(file.getCanonicalPath().hashCode()) + '-'
+							+ Long.toHexString(file.length()) + '-' + Long.toHexString(file.lastModified());
+				}
+				return new Binary(key, ranges);
+			} catch (IOException e) {
+				return null;
+			}
+		}
+
+		static String readBuildId(ByteBuffer data, boolean isLE) {
+			data.order(isLE ? ByteOrder.LITTLE_ENDIAN : ByteOrder.BIG_ENDIAN);
+			// A note section can hold several notes
+			while (data.remaining() >= 12) {
+				int nameSize = data.getInt();
+				int descSize = data.getInt();
+				int type = data.getInt();
+				int descStart = data.position() + ((nameSize + 3) & ~3);
+				int next = descStart + ((descSize + 3) & ~3);
+				if (nameSize < 0 || descSize < 0 || next > data.limit()) {
+					return null;
+				}
+				if (type == Elf.Section.NT_GNU_BUILD_ID && nameSize == 4 && data.get(data.position()) == 'G'
+						&& data.get(data.position() + 1) == 'N' && data.get(data.position() + 2) == 'U') {
+					StringBuilder buildId = new StringBuilder();
+					for (int i = 0; i < descSize; i++) {
+						buildId.append(String.format("%02x", data.get(descStart + i))); //$NON-NLS-1$
+					}
+					return buildId.toString();
+				}
+				data.position(next);
+			}
+			return null;
+		}
+	}
+}
@@ -50,8 +50,13 @@ public class GdbPlugin extends Plugin {
 
 	private static BundleContext fgBundleContext;
 
+	/** Maximum number of disassembled ranges kept in memory by all sessions */
+	private static final int DISASSEMBLY_CACHE_SIZE = 1024;
+
 	private IAdapterFactory fMemoryRetrievalFactory = null;
 
+	private DisassemblyCache fDisassemblyCache = null;
+
 	/**
 	 * The constructor
 	 */
@@ -96,6 +101,18 @@ public class GdbPlugin extends Plugin {
 		return fgBundleContext;
 	}
 
+	/**
+	 * Returns the disassembly cache shared by all sessions, which overflows to
+	 * the state location of this plug-in.
+	 */
+	public synchronized DisassemblyCache getDisassemblyCache() {
+		if (fDisassemblyCache == null) {
+			fDisassemblyCache = new DisassemblyCache(getStateLocation().append("disassembly").toFile(), //$NON-NLS-1$
+					DISASSEMBLY_CACHE_SIZE);
+		}
+		return fDisassemblyCache;
+	}
+
 	/**
 	 * Shuts down any active launches.  We must shutdown any active sessions
 	 * and services associated with this plugin before this plugin is stopped.
@@ -73,5 +73,19 @@ public class GdbPreferenceInitializer extends AbstractPreferenceInitializer {
 				IGDBLaunchConfigurationConstants.DEBUGGER_REMOTE_TIMEOUT_VALUE_DEFAULT);
 		node.putInt(IGdbDebugPreferenceConstants.PREF_SUSPEND_TIMEOUT_VALUE,
 				IGdbDebugPreferenceConstants.SUSPEND_TIMEOUT_VALUE_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_MI_COMMAND_WINDOW,
+				IGdbDebugPreferenceConstants.MI_COMMAND_WINDOW_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_DSF_WORKER_THREADS,
+				IGdbDebugPreferenceConstants.DSF_WORKER_THREADS_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_MEMORY_CACHE_SIZE,
+				IGdbDebugPreferenceConstants.MEMORY_CACHE_SIZE_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_STACK_INITIAL_FRAMES,
+				IGdbDebugPreferenceConstants.STACK_INITIAL_FRAMES_DEFAULT);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_STACK_FRAMES_PAGE_SIZE,
+				IGdbDebugPreferenceConstants.STACK_FRAMES_PAGE_SIZE_DEFAULT);
+		node.putBoolean(IGdbDebugPreferenceConstants.PREF_REGISTERS_DELTA_UPDATE,
+				IGdbDebugPreferenceConstants.REGISTERS_DELTA_UPDATE_DEFAULT);
+		node.putBoolean(IGdbDebugPreferenceConstants.PREF_DISASSEMBLY_CACHE,
+				IGdbDebugPreferenceConstants.DISASSEMBLY_CACHE_DEFAULT);
 	}
 }
@@ -118,7 +118,11 @@ public class GdbLaunch extends DsfLaunch implements ITracedLaunch, ITargetedLaun
 
 		// Create the dispatch queue to be used by debugger control and services
 		// that belong to this launch
-		final DefaultDsfExecutor dsfExecutor = new DefaultDsfExecutor(GdbLaunchDelegate.GDB_DEBUG_MODEL_ID);
+		int workerThreads = Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_DSF_WORKER_THREADS,
+				IGdbDebugPreferenceConstants.DSF_WORKER_THREADS_DEFAULT, null);
+		final DefaultDsfExecutor dsfExecutor = new DefaultDsfExecutor(GdbLaunchDelegate.GDB_DEBUG_MODEL_ID,
+				workerThreads);
 		dsfExecutor.prestartCoreThread();
 		fExecutor = dsfExecutor;
 		fSession = DsfSession.startSession(fExecutor, GdbLaunchDelegate.GDB_DEBUG_MODEL_ID);
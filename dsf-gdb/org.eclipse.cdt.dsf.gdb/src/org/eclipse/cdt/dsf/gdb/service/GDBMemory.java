@@ -17,7 +17,9 @@
  *******************************************************************************/
 package org.eclipse.cdt.dsf.gdb.service;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Hashtable;
 import java.util.Map;
@@ -54,7 +56,12 @@ import org.eclipse.debug.core.model.MemoryByte;
 /**
  * @since 4.2
  */
-public class GDBMemory extends MIMemory implements IGDBMemory2 {
+public class GDBMemory extends MIMemory implements IGDBMemory3 {
+
+	// Size, in octets, of the chunks of a bulk read
+	private static final int BULK_READ_CHUNK_SIZE = 64 * 1024;
+	// Number of chunks of a bulk read requested at the same time
+	private static final int BULK_READ_CHUNKS_IN_FLIGHT = 4;
 
 	private IGDBControl fCommandControl;
 
@@ -91,7 +98,8 @@ public class GDBMemory extends MIMemory implements IGDBMemory2 {
 		fCommandControl = getServicesTracker().getService(IGDBControl.class);
 		getSession().addServiceEventListener(this, null);
 		register(new String[] { IMemory.class.getName(), MIMemory.class.getName(), IGDBMemory.class.getName(),
-				IGDBMemory2.class.getName(), GDBMemory.class.getName(), }, new Hashtable<String, String>());
+				IGDBMemory2.class.getName(), IGDBMemory3.class.getName(), GDBMemory.class.getName(), },
+				new Hashtable<String, String>());
 		requestMonitor.done();
 	}
 
@@ -108,22 +116,202 @@ public class GDBMemory extends MIMemory implements IGDBMemory2 {
 	@Override
 	protected void readMemoryBlock(final IDMContext dmc, IAddress address, long offset, int word_size, int word_count,
 			final DataRequestMonitor<MemoryByte[]> drm) {
-		super.readMemoryBlock(dmc, address, offset, word_size, word_count,
-				new DataRequestMonitor<MemoryByte[]>(ImmediateExecutor.getInstance(), drm) {
-					@Override
-					protected void handleSuccess() {
-						IMemoryDMContext memDmc = DMContexts.getAncestorOfType(dmc, IMemoryDMContext.class);
-						if (memDmc != null) {
-							boolean bigEndian = isBigEndian(memDmc);
-							for (MemoryByte b : getData()) {
-								b.setBigEndian(bigEndian);
-								b.setEndianessKnown(true);
+		super.readMemoryBlock(dmc, address, offset, word_size, word_count, setEndianness(dmc, drm));
+	}
+
+	/**
+	 * @since 7.2
+	 */
+	@Override
+	protected void readMemoryBlockUncached(IDMContext dmc, IAddress address, long offset, int word_size,
+			int word_count, DataRequestMonitor<MemoryByte[]> drm) {
+		super.readMemoryBlockUncached(dmc, address, offset, word_size, word_count, setEndianness(dmc, drm));
+	}
+
+	private DataRequestMonitor<MemoryByte[]> setEndianness(final IDMContext dmc,
+			final DataRequestMonitor<MemoryByte[]> drm) {
+		return new DataRequestMonitor<MemoryByte[]>(ImmediateExecutor.getInstance(), drm) {
+			@Override
+			protected void handleSuccess() {
+				IMemoryDMContext memDmc = DMContexts.getAncestorOfType(dmc, IMemoryDMContext.class);
+				if (memDmc != null) {
+					boolean bigEndian = isBigEndian(memDmc);
+					for (MemoryByte b : getData()) {
+						b.setBigEndian(bigEndian);
+						b.setEndianessKnown(true);
+					}
+				}
+				drm.setData(getData());
+				drm.done();
+			}
+		};
+	}
+
+	/**
+	 * @since 7.2
+	 */
+	@Override
+	public void readMemory(IMemoryDMContext context, IAddress address, long wordCount, IMemoryConsumer consumer,
+			DataRequestMonitor<IBulkReadResult> rm) {
+		if (context == null) {
+			rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INTERNAL_ERROR, "Unknown context type", null)); //$NON-NLS-1$
+			rm.done();
+			return;
+		}
+		if (wordCount < 0) {
+			rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INTERNAL_ERROR, "Invalid word count (< 0)", //$NON-NLS-1$
+					null));
+			rm.done();
+			return;
+		}
+		new BulkRead(context, address, wordCount, consumer, rm).requestChunks();
+	}
+
+	private static class BulkReadResult implements IBulkReadResult {
+		private final long fOctetsRead;
+		private final long fOctetsSkipped;
+		private final long fElapsedTime;
+
+		BulkReadResult(long octetsRead, long octetsSkipped, long elapsedTime) {
+			fOctetsRead = octetsRead;
+			fOctetsSkipped = octetsSkipped;
+			fElapsedTime = elapsedTime;
+		}
+
+		@Override
+		public long getOctetsRead() {
+			return fOctetsRead;
+		}
+
+		@Override
+		public long getOctetsSkipped() {
+			return fOctetsSkipped;
+		}
+
+		@Override
+		public long getElapsedTime() {
+			return fElapsedTime;
+		}
+
+		@Override
+		public long getThroughput() {
+			return fElapsedTime == 0 ? 0 : (fOctetsRead + fOctetsSkipped) * 1000 / fElapsedTime;
+		}
+	}
+
+	/**
+	 * State of a bulk read. The range is split in chunks aligned on the chunk size,
+	 * at most {@link #BULK_READ_CHUNKS_IN_FLIGHT} chunks are requested at a time and
+	 * the chunks are passed to the consumer in address order as they arrive.
+	 */
+	private class BulkRead {
+		private final IMemoryDMContext fContext;
+		private final IAddress fAddress;
+		private final long fWordCount;
+		private final IMemoryConsumer fConsumer;
+		private final DataRequestMonitor<IBulkReadResult> fRm;
+		private final int fWordSize;
+		private final long fChunkLength;
+		private final long fStartTime = System.currentTimeMillis();
+
+		// Chunks received but not passed to the consumer yet, by offset
+		private final Map<Long, MemoryByte[]> fReceived = new HashMap<>();
+		private long fNextToRequest;
+		private long fNextToConsume;
+		private int fInFlight;
+		private long fOctetsRead;
+		private long fOctetsSkipped;
+		private boolean fDone;
+
+		BulkRead(IMemoryDMContext context, IAddress address, long wordCount, IMemoryConsumer consumer,
+				DataRequestMonitor<IBulkReadResult> rm) {
+			fContext = context;
+			fAddress = address;
+			fWordCount = wordCount;
+			fConsumer = consumer;
+			fRm = rm;
+			fWordSize = getAddressableSize(context);
+			fChunkLength = Math.max(1, BULK_READ_CHUNK_SIZE / fWordSize);
+		}
+
+		// Length of the chunk at the given offset, the first chunk ends on a chunk boundary
+		private int chunkLength(long offset) {
+			long start = fAddress.getValue().add(BigInteger.valueOf(offset)).mod(BigInteger.valueOf(fChunkLength))
+					.longValue();
+			return (int) Math.min(fChunkLength - start, fWordCount - offset);
+		}
+
+		void requestChunks() {
+			while (!fDone && !fRm.isCanceled() && fInFlight < BULK_READ_CHUNKS_IN_FLIGHT
+					&& fNextToRequest < fWordCount) {
+				final long offset = fNextToRequest;
+				int length = chunkLength(offset);
+				fNextToRequest += length;
+				fInFlight++;
+				readMemoryBlockUncached(fContext, fAddress, offset, fWordSize, length,
+						new DataRequestMonitor<MemoryByte[]>(getExecutor(), null) {
+							@Override
+							protected void handleCompleted() {
+								fInFlight--;
+								if (fDone) {
+									return;
+								}
+								if (!isSuccess()) {
+									fDone = true;
+									fRm.setStatus(getStatus());
+									fRm.done();
+									return;
+								}
+								fReceived.put(offset, getData());
+								consumeChunks();
+								requestChunks();
 							}
-						}
-						drm.setData(getData());
-						drm.done();
+						});
+			}
+
+			if (!fDone && fInFlight == 0 && (fRm.isCanceled() || fNextToRequest >= fWordCount)) {
+				fDone = true;
+				fRm.setData(new BulkReadResult(fOctetsRead, fOctetsSkipped, System.currentTimeMillis() - fStartTime));
+				fRm.done();
+			}
+		}
+
+		private void consumeChunks() {
+			MemoryByte[] chunk;
+			while ((chunk = fReceived.remove(fNextToConsume)) != null) {
+				int length = chunkLength(fNextToConsume);
+				// Pass the runs of readable addressable units, skip the others
+				int runStart = -1;
+				for (int i = 0; i <= length; i++) {
+					boolean readable = i < length && isReadable(chunk, i);
+					if (readable && runStart < 0) {
+						runStart = i;
+					} else if (!readable && runStart >= 0) {
+						fConsumer.memoryRead(fAddress.add(fNextToConsume + runStart),
+								Arrays.copyOfRange(chunk, runStart * fWordSize, i * fWordSize));
+						fOctetsRead += (i - runStart) * fWordSize;
+						runStart = -1;
 					}
-				});
+					if (!readable && i < length) {
+						fOctetsSkipped += fWordSize;
+					}
+				}
+				fNextToConsume += length;
+			}
+		}
+
+		private boolean isReadable(MemoryByte[] chunk, int unit) {
+			int end = (unit + 1) * fWordSize;
+			if (end > chunk.length) {
+				return false;
+			}
+			for (int i = unit * fWordSize; i < end; i++) {
+				if (!chunk[i].isReadable()) {
+					return false;
+				}
+			}
+			return true;
+		}
 	}
 
 	@Override
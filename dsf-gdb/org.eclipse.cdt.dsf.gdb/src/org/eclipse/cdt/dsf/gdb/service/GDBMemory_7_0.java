@@ -51,7 +51,8 @@ public class GDBMemory_7_0 extends GDBMemory {
 	private void doInitialize(final RequestMonitor requestMonitor) {
 		register(
 				new String[] { MIMemory.class.getName(), IMemory.class.getName(), IGDBMemory.class.getName(),
-						IGDBMemory2.class.getName(), GDBMemory.class.getName(), GDBMemory_7_0.class.getName() },
+						IGDBMemory2.class.getName(), IGDBMemory3.class.getName(), GDBMemory.class.getName(),
+						GDBMemory_7_0.class.getName() },
 				new Hashtable<String, String>());
 
 		requestMonitor.done();
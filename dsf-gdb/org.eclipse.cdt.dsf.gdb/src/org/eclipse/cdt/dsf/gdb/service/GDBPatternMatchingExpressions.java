@@ -18,6 +18,7 @@ package org.eclipse.cdt.dsf.gdb.service;
 
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -41,10 +42,14 @@ import org.eclipse.cdt.dsf.debug.service.ICachingService;
 import org.eclipse.cdt.dsf.debug.service.IExpressions;
 import org.eclipse.cdt.dsf.debug.service.IExpressions2;
 import org.eclipse.cdt.dsf.debug.service.IExpressions3;
+import org.eclipse.cdt.dsf.debug.service.IExpressions4;
+import org.eclipse.cdt.dsf.debug.service.IExpressions5;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues;
 import org.eclipse.cdt.dsf.debug.service.IRegisters.IRegisterDMContext;
 import org.eclipse.cdt.dsf.debug.service.IRegisters2;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IResumedDMEvent;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.ISuspendedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IStack;
 import org.eclipse.cdt.dsf.debug.service.IStack.IFrameDMContext;
 import org.eclipse.cdt.dsf.debug.service.IStack.IVariableDMContext;
@@ -53,6 +58,7 @@ import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.mi.service.IMIExpressions;
 import org.eclipse.cdt.dsf.mi.service.MIRegisters.MIRegisterDMC;
 import org.eclipse.cdt.dsf.service.AbstractDsfService;
+import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -67,7 +73,8 @@ import org.osgi.framework.BundleContext;
  * pattern.
  * @since 4.2
  */
-public class GDBPatternMatchingExpressions extends AbstractDsfService implements IMIExpressions, ICachingService {
+public class GDBPatternMatchingExpressions extends AbstractDsfService
+		implements IMIExpressions, IExpressions5, ICachingService {
 	/**
 	 * A regex representing each character that can be used to separate
 	 * n the different expressions contained in an expression-group.
@@ -234,6 +241,26 @@ public class GDBPatternMatchingExpressions extends AbstractDsfService implements
 	 */
 	private IMIExpressions fDelegate;
 
+	/**
+	 * The matches of the expression-groups.  They are asked for several times
+	 * for each refresh, to get the value, the count and the children of a group,
+	 * and matching requires the locals and the registers, which only change when
+	 * the target runs.  So they are kept until the next stop or resume.
+	 */
+	private final Map<IExpressionGroupDMContext, IExpressionDMContext[]> fGroupMatches = new HashMap<>();
+
+	/**
+	 * The requests waiting for the matches of a group that are being computed.
+	 */
+	private final Map<IExpressionGroupDMContext, List<DataRequestMonitor<IExpressionDMContext[]>>>
+			fPendingGroupMatches = new HashMap<>();
+
+	/**
+	 * Incremented whenever the matches are cleared, so that matches being
+	 * computed at that time are not kept.
+	 */
+	private int fStopGeneration;
+
 	public GDBPatternMatchingExpressions(DsfSession session, IMIExpressions delegate) {
 		super(session);
 		fDelegate = delegate;
@@ -258,9 +285,12 @@ public class GDBPatternMatchingExpressions extends AbstractDsfService implements
 		// expression service know that it should not register itself.
 		register(
 				new String[] { IExpressions.class.getName(), IExpressions2.class.getName(),
-						IExpressions3.class.getName(), IMIExpressions.class.getName() },
+						IExpressions3.class.getName(), IExpressions4.class.getName(), IExpressions5.class.getName(),
+						IMIExpressions.class.getName() },
 				new Hashtable<String, String>());
 
+		getSession().addServiceEventListener(this, null);
+
 		// Second, we initialize the delegate so it can perform its duties
 		fDelegate.initialize(requestMonitor);
 	}
@@ -270,6 +300,7 @@ public class GDBPatternMatchingExpressions extends AbstractDsfService implements
 		fDelegate.shutdown(new RequestMonitor(getExecutor(), requestMonitor) {
 			@Override
 			protected void handleSuccess() {
+				getSession().removeServiceEventListener(GDBPatternMatchingExpressions.this);
 				unregister();
 				GDBPatternMatchingExpressions.super.shutdown(requestMonitor);
 			}
@@ -475,6 +506,80 @@ public class GDBPatternMatchingExpressions extends AbstractDsfService implements
 		fDelegate.getFormattedExpressionValue(dmc, rm);
 	}
 
+	/** @since 7.2 */
+	@Override
+	public void getFormattedExpressionValues(IExpressionDMContext[] exprDmcs, String formatId,
+			final IFormattedValuesListener listener, final DataRequestMonitor<FormattedValueDMData[]> rm) {
+		final FormattedValueDMData[] values = new FormattedValueDMData[exprDmcs.length];
+		final CountingRequestMonitor countingRm = new CountingRequestMonitor(getExecutor(), rm) {
+			@Override
+			protected void handleSuccess() {
+				rm.done(values);
+			}
+		};
+		int count = 0;
+
+		// The expression-groups are evaluated here, the other expressions
+		// are given to the delegate in a single batch.
+		final List<Integer> delegatedIndexes = new ArrayList<>();
+		List<IExpressionDMContext> delegatedDmcs = new ArrayList<>();
+		for (int i = 0; i < exprDmcs.length; i++) {
+			if (exprDmcs[i] instanceof IExpressionGroupDMContext || !(fDelegate instanceof IExpressions4)) {
+				final int index = i;
+				getFormattedExpressionValue(getFormattedValueContext(exprDmcs[i], formatId),
+						new DataRequestMonitor<FormattedValueDMData>(getExecutor(), null) {
+							@Override
+							protected void handleCompleted() {
+								if (isSuccess()) {
+									values[index] = getData();
+								}
+								if (listener != null) {
+									listener.formattedValueReceived(index, values[index], getStatus());
+								}
+								countingRm.done();
+							}
+						});
+				count++;
+			} else {
+				delegatedIndexes.add(i);
+				delegatedDmcs.add(exprDmcs[i]);
+			}
+		}
+
+		if (!delegatedDmcs.isEmpty()) {
+			IFormattedValuesListener delegatedListener = null;
+			if (listener != null) {
+				delegatedListener = (index, value, status) -> listener
+						.formattedValueReceived(delegatedIndexes.get(index), value, status);
+			}
+			((IExpressions4) fDelegate).getFormattedExpressionValues(
+					delegatedDmcs.toArray(new IExpressionDMContext[delegatedDmcs.size()]), formatId,
+					delegatedListener, new ImmediateDataRequestMonitor<FormattedValueDMData[]>(countingRm) {
+						@Override
+						protected void handleSuccess() {
+							for (int i = 0; i < getData().length; i++) {
+								values[delegatedIndexes.get(i)] = getData()[i];
+							}
+							countingRm.done();
+						}
+					});
+			count++;
+		}
+		countingRm.setDoneCount(count);
+	}
+
+	/** @since 7.2 */
+	@Override
+	public void getArrayValueSummary(IExpressionDMContext dmc, DataRequestMonitor<String> rm) {
+		// An expression-group is not an array
+		if (dmc instanceof IExpressionGroupDMContext || !(fDelegate instanceof IExpressions5)) {
+			rm.done(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, NOT_SUPPORTED, "Not supported", null)); //$NON-NLS-1$
+			return;
+		}
+
+		((IExpressions5) fDelegate).getArrayValueSummary(dmc, rm);
+	}
+
 	@Override
 	public void safeToAskForAllSubExpressions(IExpressionDMContext dmc, DataRequestMonitor<Boolean> rm) {
 		// Always safe to ask for all sub-expression of an expression-group,
@@ -489,11 +594,30 @@ public class GDBPatternMatchingExpressions extends AbstractDsfService implements
 
 	@Override
 	public void flushCache(IDMContext context) {
+		clearGroupMatches();
 		if (fDelegate instanceof ICachingService) {
 			((ICachingService) fDelegate).flushCache(context);
 		}
 	}
 
+	/** @since 7.2 */
+	@DsfServiceEventHandler
+	public void eventDispatched(IResumedDMEvent e) {
+		clearGroupMatches();
+	}
+
+	/** @since 7.2 */
+	@DsfServiceEventHandler
+	public void eventDispatched(ISuspendedDMEvent e) {
+		clearGroupMatches();
+	}
+
+	private void clearGroupMatches() {
+		fGroupMatches.clear();
+		fPendingGroupMatches.clear();
+		fStopGeneration++;
+	}
+
 	/**
 	 * Verify if we are dealing with an expression-group.
 	 * @param expr The expression to verify
@@ -640,6 +764,42 @@ public class GDBPatternMatchingExpressions extends AbstractDsfService implements
 	 */
 	protected void matchExpressionGroup(final IExpressionGroupDMContext exprGroupDmc, int startIndex, int length,
 			final DataRequestMonitor<IExpressionDMContext[]> rm) {
+		final int startIndex1 = (startIndex < 0) ? 0 : startIndex;
+		final int length1 = (length < 0) ? Integer.MAX_VALUE : length;
+
+		getGroupMatches(exprGroupDmc, new ImmediateDataRequestMonitor<IExpressionDMContext[]>(rm) {
+			@Override
+			protected void handleSuccess() {
+				// Extract the range of interest from the final list
+				IExpressionDMContext[] matches = getData();
+				int endIndex = (int) Math.min((long) startIndex1 + length1, matches.length);
+				rm.done(Arrays.copyOfRange(matches, startIndex1, endIndex));
+			}
+		});
+	}
+
+	/**
+	 * Returns all the matches of the specified expression-group, computing them
+	 * only if they were not since the last stop or resume.
+	 */
+	private void getGroupMatches(final IExpressionGroupDMContext exprGroupDmc,
+			final DataRequestMonitor<IExpressionDMContext[]> rm) {
+		IExpressionDMContext[] matches = fGroupMatches.get(exprGroupDmc);
+		if (matches != null) {
+			rm.done(matches);
+			return;
+		}
+
+		List<DataRequestMonitor<IExpressionDMContext[]>> pending = fPendingGroupMatches.get(exprGroupDmc);
+		if (pending != null) {
+			pending.add(rm);
+			return;
+		}
+		final List<DataRequestMonitor<IExpressionDMContext[]>> waiting = new ArrayList<>();
+		waiting.add(rm);
+		fPendingGroupMatches.put(exprGroupDmc, waiting);
+		final int generation = fStopGeneration;
+
 		// First separate the group into different expressions.
 		// We need to create a new list, as we will modify it during our processing.
 		final List<String> exprList = new ArrayList<>(splitExpressionsInGroup(exprGroupDmc));
@@ -647,12 +807,19 @@ public class GDBPatternMatchingExpressions extends AbstractDsfService implements
 		// List to store the final result, which is all the sub-expressions of this group
 		final ArrayList<IExpressionDMContext> subExprList = new ArrayList<>();
 
-		final int startIndex1 = (startIndex < 0) ? 0 : startIndex;
-		final int length1 = (length < 0) ? Integer.MAX_VALUE : length;
-
-		matchExpressionList(exprList, subExprList, exprGroupDmc, new ImmediateRequestMonitor(rm) {
+		matchExpressionList(exprList, subExprList, exprGroupDmc, new ImmediateRequestMonitor() {
 			@Override
-			protected void handleSuccess() {
+			protected void handleCompleted() {
+				if (fPendingGroupMatches.get(exprGroupDmc) == waiting) {
+					fPendingGroupMatches.remove(exprGroupDmc);
+				}
+				if (!isSuccess()) {
+					for (DataRequestMonitor<IExpressionDMContext[]> waitingRm : waiting) {
+						waitingRm.done(getStatus());
+					}
+					return;
+				}
+
 				// It would be nice to allow identical elements, so that the user
 				// can control their positioning.  For example, the pattern $eax, $*, would show
 				// the $eax first, followed by all other registers sorted alphabetically.  In that case
@@ -662,15 +829,14 @@ public class GDBPatternMatchingExpressions extends AbstractDsfService implements
 				// but children of duplicated elements are not always right.  Because of this, we
 				// remove all duplicates here.
 				LinkedHashSet<IExpressionDMContext> uniqueSubExprSet = new LinkedHashSet<>(subExprList);
-				subExprList.clear();
-				subExprList.addAll(uniqueSubExprSet);
-
-				// Extract the range of interest from the final list
-				int endIndex = Math.min(startIndex1 + length1, subExprList.size());
-				List<IExpressionDMContext> subExprRangeList = subExprList.subList(startIndex1, endIndex);
-				IExpressionDMContext[] subExprRange = subExprRangeList
-						.toArray(new IExpressionDMContext[subExprRangeList.size()]);
-				rm.done(subExprRange);
+				IExpressionDMContext[] matches = uniqueSubExprSet
+						.toArray(new IExpressionDMContext[uniqueSubExprSet.size()]);
+				if (generation == fStopGeneration) {
+					fGroupMatches.put(exprGroupDmc, matches);
+				}
+				for (DataRequestMonitor<IExpressionDMContext[]> waitingRm : waiting) {
+					waitingRm.done(matches);
+				}
 			}
 		});
 	}
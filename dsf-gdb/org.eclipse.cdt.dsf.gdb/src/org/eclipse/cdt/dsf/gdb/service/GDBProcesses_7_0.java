@@ -30,6 +30,7 @@ import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
@@ -75,6 +76,7 @@ import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
 import org.eclipse.cdt.dsf.gdb.IGDBLaunchConfigurationConstants;
 import org.eclipse.cdt.dsf.gdb.IGdbDebugConstants;
 import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.launching.GDBRemoteTCPLaunchTargetProvider;
 import org.eclipse.cdt.dsf.gdb.launching.InferiorRuntimeProcess;
@@ -644,6 +646,21 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 	// when the target can be unavailable and instead of hanging, the cache will return an error.
 	private CommandCache fListThreadGroupsAvailableCache;
 
+	// The threads of each thread group.  The list of a group is fetched the first time
+	// it is asked for, and then kept up to date from the =thread-created and =thread-exited
+	// notifications, instead of being fetched again every time a thread starts or exits,
+	// which is way too much traffic for a program with thousands of threads.
+	// A group without an entry is not known yet.
+	private Map<String, Set<String>> fThreadTable = new HashMap<>();
+	// Incremented on every thread notification; a list fetched while it changes may
+	// or may not include that thread, so it is returned but not kept in the table.
+	private int fThreadTableGeneration;
+	// The generation at which the list of a group was requested, while it is being fetched
+	private Map<String, Integer> fThreadListRequestGenerations = new HashMap<>();
+	// Statistics of the thread table, for tracing
+	private int fThreadListFetches;
+	private int fThreadTableUpdates;
+
 	// A map of process id to process names.  A name is fetched whenever we start
 	// debugging a process, and removed when we stop.
 	// This allows us to make sure that if a pid is re-used, we will not use an
@@ -812,6 +829,10 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 	 */
 	@Override
 	public void shutdown(RequestMonitor requestMonitor) {
+		if (GdbDebugOptions.DEBUG) {
+			GdbDebugOptions.trace(String.format("%s Thread lists fetched %d times, updated %d times\n", //$NON-NLS-1$
+					GdbPlugin.getDebugTime(), fThreadListFetches, fThreadTableUpdates));
+		}
 		unregister();
 		getSession().removeServiceEventListener(this);
 		fCommandControl.removeEventListener(this);
@@ -1523,12 +1544,52 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 				return;
 			}
 
-			fThreadCommandCache.execute(fCommandFactory.createMIListThreadGroups(controlDmc, containerDmc.getGroupId()),
+			final String groupId = containerDmc.getGroupId();
+			Set<String> threadIds = fThreadTable.get(groupId);
+			if (threadIds != null) {
+				rm.done(makeExecutionDMCs(containerDmc, threadIds.toArray(new String[threadIds.size()])));
+				return;
+			}
+
+			// Requests made while the list is being fetched are coalesced by the cache,
+			// they all depend on the generation at which the first one was made.
+			fThreadListRequestGenerations.putIfAbsent(groupId, fThreadTableGeneration);
+			final long start = System.currentTimeMillis();
+			fThreadCommandCache.execute(fCommandFactory.createMIListThreadGroups(controlDmc, groupId),
 					new DataRequestMonitor<MIListThreadGroupsInfo>(getExecutor(), rm) {
+						private Integer fRequestGeneration;
+
+						@Override
+						protected void handleCompleted() {
+							// Only the first of the coalesced requests gets the generation
+							fRequestGeneration = fThreadListRequestGenerations.remove(groupId);
+							super.handleCompleted();
+						}
+
 						@Override
 						protected void handleSuccess() {
-							rm.setData(makeExecutionDMCs(containerDmc, getData().getThreadInfo().getThreadList()));
-							rm.done();
+							MIThread[] threads = getData().getThreadInfo().getThreadList();
+							String[] threadIds = new String[threads.length];
+							for (int i = 0; i < threads.length; i++) {
+								threadIds[i] = threads[i].getThreadId();
+							}
+							if (fRequestGeneration != null && fRequestGeneration != fThreadTableGeneration) {
+								// The cache kept the list even if it was reset while the command was
+								// pending; drop it so that the next request fetches the list again.
+								fThreadCommandCache.reset();
+							} else if (fRequestGeneration != null) {
+								// From now on the table is used; don't let the cache answer with a
+								// list which would be out of date once the table is dropped.
+								fThreadCommandCache.reset();
+								fThreadTable.put(groupId, new LinkedHashSet<>(Arrays.asList(threadIds)));
+								fThreadListFetches++;
+								if (GdbDebugOptions.DEBUG) {
+									GdbDebugOptions.trace(String.format("%s Listed %d threads of %s in %d ms\n", //$NON-NLS-1$
+											GdbPlugin.getDebugTime(), threadIds.length, groupId,
+											System.currentTimeMillis() - start));
+								}
+							}
+							rm.done(makeExecutionDMCs(containerDmc, threadIds));
 						}
 					});
 		} else {
@@ -1575,10 +1636,10 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 		}
 	}
 
-	private IExecutionDMContext[] makeExecutionDMCs(IContainerDMContext containerDmc, MIThread[] threadInfos) {
+	private IExecutionDMContext[] makeExecutionDMCs(IContainerDMContext containerDmc, String[] threadIds) {
 		final IProcessDMContext procDmc = DMContexts.getAncestorOfType(containerDmc, IProcessDMContext.class);
 
-		if (threadInfos.length == 0) {
+		if (threadIds.length == 0) {
 			// Main thread always exist even if it is not reported by GDB.
 			// So create thread-id = 0 when no thread is reported.
 			// This hack is necessary to prevent AbstractMIControl from issuing a thread-select
@@ -1586,9 +1647,9 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 			return new IMIExecutionDMContext[] { createExecutionContext(containerDmc,
 					createThreadContext(procDmc, FAKE_THREAD_ID), FAKE_THREAD_ID) };
 		} else {
-			IExecutionDMContext[] executionDmcs = new IMIExecutionDMContext[threadInfos.length];
-			for (int i = 0; i < threadInfos.length; i++) {
-				String threadId = threadInfos[i].getThreadId();
+			IExecutionDMContext[] executionDmcs = new IMIExecutionDMContext[threadIds.length];
+			for (int i = 0; i < threadIds.length; i++) {
+				String threadId = threadIds[i];
 				executionDmcs[i] = createExecutionContext(containerDmc, createThreadContext(procDmc, threadId),
 						threadId);
 			}
@@ -2018,6 +2079,7 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 				ICommandControlDMContext controlDmc = DMContexts.getAncestorOfType(e.getDMContext(),
 						ICommandControlDMContext.class);
 				fThreadCommandCache.reset(controlDmc);
+				fThreadTable.clear();
 			}
 		} catch (CoreException exc) {
 		}
@@ -2035,7 +2097,7 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 
 			fContainerCommandCache.reset();
 			fNumConnected++;
-		} else {
+		} else if (!isInThreadTable(e.getDMContext())) {
 			fThreadCommandCache.reset();
 		}
 	}
@@ -2068,11 +2130,20 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 					}
 				}, 500, TimeUnit.MILLISECONDS);
 			}
-		} else {
+		} else if (!isInThreadTable(e.getDMContext())) {
 			fThreadCommandCache.reset();
 		}
 	}
 
+	/**
+	 * Whether the thread list of the group of the given thread is in the thread
+	 * table, and so was already updated when the thread started or exited.
+	 */
+	private boolean isInThreadTable(IDMContext threadDmc) {
+		IMIContainerDMContext containerDmc = DMContexts.getAncestorOfType(threadDmc, IMIContainerDMContext.class);
+		return containerDmc != null && fThreadTable.containsKey(containerDmc.getGroupId());
+	}
+
 	/**
 	 * @since 5.2
 	 */
@@ -2090,12 +2161,14 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 		fGroupIdToPTYMap.clear();
 
 		fExitedGroupId.clear();
+		fThreadTable.clear();
 	}
 
 	@Override
 	public void flushCache(IDMContext context) {
 		fContainerCommandCache.reset(context);
 		fThreadCommandCache.reset(context);
+		fThreadTable.clear();
 		// Not technically needed since we are supposed to have
 		// cleared this cache as soon as the it gets the answer
 		// from GDB; but to be more future-proof, might as well
@@ -2132,12 +2205,23 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 						}
 					}
 
+					Set<String> threadIds = groupId != null ? fThreadTable.get(groupId) : null;
 					if ("thread-created".equals(miEvent)) { //$NON-NLS-1$
 						// Update the thread to groupId map with the new groupId
 						getThreadToGroupMap().put(threadId, groupId);
+						if (threadIds != null) {
+							threadIds.add(threadId);
+						}
 					} else {
 						getThreadToGroupMap().remove(threadId);
+						if (threadIds != null) {
+							threadIds.remove(threadId);
+						}
+					}
+					if (threadIds != null) {
+						fThreadTableUpdates++;
 					}
+					fThreadTableGeneration++;
 					// "thread-group-created" was used before GDB 7.2, while "thread-group-started" is used with GDB 7.2
 				} else if ("thread-group-created".equals(miEvent) || "thread-group-started".equals(miEvent)) { //$NON-NLS-1$ //$NON-NLS-2$
 					String groupId = null;
@@ -2197,6 +2281,8 @@ public class GDBProcesses_7_0 extends AbstractDsfService implements IGDBProcesse
 
 					if (groupId != null) {
 						String pId = getGroupToPidMap().remove(groupId);
+						fThreadTable.remove(groupId);
+						fThreadTableGeneration++;
 
 						// GDB is no longer debugging this process.  Remove it from our list
 						String name = fDebuggedProcessesAndNames.remove(pId);
@@ -41,6 +41,7 @@ import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIListThreadGroupsInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIListThreadGroupsInfo.IThreadGroupInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIThread;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIThreadInfoInfo;
 import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.core.runtime.IStatus;
@@ -79,6 +80,10 @@ public class GDBProcesses_7_1 extends GDBProcesses_7_0 {
 	// The value of the cores can change at any time, but we provide
 	// an updated value whenever there is a suspended event.
 	private CommandCache fCommandForCoresCache;
+	// This cache is used for the data of each thread, which is only fetched for the
+	// threads that are shown.  The threads starting and exiting don't change the data
+	// of the other threads, so unlike the cache above it is only reset on suspended events.
+	private CommandCache fThreadDataCache;
 	private IGDBControl fCommandControl;
 
 	public GDBProcesses_7_1(DsfSession session) {
@@ -117,6 +122,9 @@ public class GDBProcesses_7_1 extends GDBProcesses_7_0 {
 		fCommandForCoresCache = new CommandCache(getSession(),
 				new BufferedCommandControl(fCommandControl, getExecutor(), 2));
 		fCommandForCoresCache.setContextAvailable(fCommandControl.getContext(), true);
+		fThreadDataCache = new CommandCache(getSession(),
+				new BufferedCommandControl(fCommandControl, getExecutor(), 2));
+		fThreadDataCache.setContextAvailable(fCommandControl.getContext(), true);
 
 		fCommandFactory = getServicesTracker().getService(IMICommandControl.class).getCommandFactory();
 		getSession().addServiceEventListener(this, null);
@@ -177,25 +185,21 @@ public class GDBProcesses_7_1 extends GDBProcesses_7_0 {
 				}
 			});
 		} else if (dmc instanceof MIThreadDMC) {
+			// Only ask for the thread in question, rather than listing all the threads of
+			// its group, which can be huge, for each thread shown.
 			ICommandControlDMContext controlDmc = DMContexts.getAncestorOfType(dmc, ICommandControlDMContext.class);
-			final String groupId = getGroupFromPid(
-					(DMContexts.getParentOfType(dmc, IMIProcessDMContext.class)).getProcId());
 			String threadId = ((MIThreadDMC) dmc).getId();
 
-			fCommandForCoresCache.execute(fCommandFactory.createMIListThreadGroups(controlDmc, groupId),
-					new ImmediateDataRequestMonitor<MIListThreadGroupsInfo>(rm) {
+			fThreadDataCache.execute(fCommandFactory.createMIThreadInfo(controlDmc, threadId),
+					new ImmediateDataRequestMonitor<MIThreadInfoInfo>(rm) {
 						@Override
 						protected void handleCompleted() {
 							IThreadDMData threadData = null;
 							if (isSuccess()) {
-								MIThread[] threads = getData().getThreadInfo().getThreadList();
-								if (threads != null) {
-									for (MIThread thread : threads) {
-										if (thread.getThreadId().equals(threadId)) {
-											threadData = createThreadDMData(thread);
-											break;
-										}
-									}
+								MIThread[] threads = getData().getThreadList();
+								if (threads != null && threads.length > 0
+										&& threads[0].getThreadId().equals(threadId)) {
+									threadData = createThreadDMData(threads[0]);
 								}
 							}
 
@@ -245,6 +249,7 @@ public class GDBProcesses_7_1 extends GDBProcesses_7_0 {
 		if (e instanceof IContainerResumedDMEvent) {
 			// This will happen in all-stop mode
 			fCommandForCoresCache.setContextAvailable(e.getDMContext(), false);
+			fThreadDataCache.setContextAvailable(e.getDMContext(), false);
 		} else {
 			// This will happen in non-stop mode
 			// Keep target available for Container commands
@@ -258,11 +263,13 @@ public class GDBProcesses_7_1 extends GDBProcesses_7_0 {
 		if (e instanceof IContainerSuspendedDMEvent) {
 			// This will happen in all-stop mode
 			fCommandForCoresCache.setContextAvailable(fCommandControl.getContext(), true);
+			fThreadDataCache.setContextAvailable(fCommandControl.getContext(), true);
 		} else {
 			// This will happen in non-stop mode
 		}
 
 		fCommandForCoresCache.reset();
+		fThreadDataCache.reset();
 	}
 
 	// Event handler when a thread or threadGroup starts, core allocation
@@ -282,6 +289,7 @@ public class GDBProcesses_7_1 extends GDBProcesses_7_0 {
 	@Override
 	public void flushCache(IDMContext context) {
 		fCommandForCoresCache.reset(context);
+		fThreadDataCache.reset(context);
 		super.flushCache(context);
 	}
 }
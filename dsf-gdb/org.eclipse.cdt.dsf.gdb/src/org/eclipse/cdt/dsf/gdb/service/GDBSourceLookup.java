@@ -136,6 +136,8 @@ public class GDBSourceLookup extends CSourceLookup implements IGDBSourceLookup,
 			return;
 		}
 
+		clearSourceCache(sourceLookupCtx);
+
 		Map<String, String> entries = getSubstitutionsPaths(sourceLookupCtx);
 		if (entries.equals(fCachedEntries)) {
 			rm.done(false);
@@ -279,6 +281,9 @@ public class GDBSourceLookup extends CSourceLookup implements IGDBSourceLookup,
 	@Override
 	public void flushCache(IDMContext context) {
 		fDebugSourceFilesCache.reset();
+		if (fCommand.getContext() instanceof ISourceLookupDMContext) {
+			clearSourceCache((ISourceLookupDMContext) fCommand.getContext());
+		}
 		getSession().dispatchEvent(new DebugSourceFilesChangedEvent(fCommand.getContext()), getProperties());
 	}
 }
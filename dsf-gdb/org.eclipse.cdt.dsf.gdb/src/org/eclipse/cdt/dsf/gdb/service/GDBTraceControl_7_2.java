@@ -14,9 +14,14 @@
  *******************************************************************************/
 package org.eclipse.cdt.dsf.gdb.service;
 
+import java.util.ArrayList;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateRequestMonitor;
@@ -60,7 +65,7 @@ import org.osgi.framework.BundleContext;
  *
  * @since 3.0
  */
-public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTraceControl2, ICachingService {
+public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTraceControl3, ICachingService {
 
 	@Immutable
 	protected static final class MITraceRecordDMContext extends AbstractDMContext implements ITraceRecordDMContext {
@@ -424,6 +429,32 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 	private ITraceRecordDMContext fCurrentRecordDmc;
 	private int fTracepointIndexForTraceRecord;
 
+	/**
+	 * The id of the trace record GDB will have selected once the commands
+	 * queued so far are done, or null if it will have none.
+	 */
+	private String fGdbTraceRecordId;
+
+	/** The maximum number of trace records kept in the cache */
+	static final int TRACE_RECORD_CACHE_SIZE = 1024;
+
+	/** The number of trace records fetched ahead of the one being visualized */
+	static final int TRACE_RECORD_PREFETCH_COUNT = 16;
+
+	/**
+	 * Cache of the trace record data, by record id. Trace records are only
+	 * cached when tracing is not active, since they don't change anymore.
+	 */
+	private final Map<String, ITraceRecordDMData> fTraceRecordCache = new LinkedHashMap<String, ITraceRecordDMData>(
+			16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ITraceRecordDMData> eldest) {
+			return size() > TRACE_RECORD_CACHE_SIZE;
+		}
+	};
+
 	private boolean fIsTracingActive;
 	private boolean fIsTracingCurrentlySupported;
 	private boolean fIsTracingFeatureAvailable = true;
@@ -459,7 +490,8 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 	 */
 	private void doInitialize(RequestMonitor requestMonitor) {
 		// Register this service.
-		register(new String[] { IGDBTraceControl.class.getName(), IGDBTraceControl2.class.getName() },
+		register(new String[] { IGDBTraceControl.class.getName(), IGDBTraceControl2.class.getName(),
+				IGDBTraceControl3.class.getName() },
 				new Hashtable<String, String>());
 
 		fConnection = getServicesTracker().getService(ICommandControlService.class);
@@ -557,6 +589,7 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 							@Override
 							protected void handleSuccess() {
 								fTraceStatusCache.reset(context);
+								fTraceRecordCache.clear();
 
 								fIsTracingActive = true;
 								getSession().dispatchEvent(new TracingStartedEvent(context), getProperties());
@@ -762,6 +795,7 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 							@Override
 							protected void handleSuccess() {
 								fTraceStatusCache.reset(context);
+								fTraceRecordCache.clear();
 
 								fIsTracingCurrentlySupported = true;
 								// Workaround for GDB pre-release where we don't get the details
@@ -837,11 +871,16 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 								}
 							}
 
+							if (fTraceRecordsStored != info.getNumberOfCollectedFrame()) {
+								// With a circular buffer, the trace records may have been renumbered
+								fTraceRecordCache.clear();
+							}
 							fTraceRecordsStored = info.getNumberOfCollectedFrame();
 
 							rm.setData(new TraceStatusDMData(info));
 						} else {
 							fTraceRecordsStored = 0;
+							fTraceRecordCache.clear();
 							fIsTracingActive = false;
 							rm.setData(new TraceStatusDMData());
 						}
@@ -982,11 +1021,13 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 				return;
 			}
 
+			fGdbTraceRecordId = recordId;
 			fConnection.queueCommand(fCommandFactory.createMITraceFindFrameNumber(targetDmc, reference),
 					new DataRequestMonitor<MITraceFindInfo>(getExecutor(), rm) {
 						@Override
 						protected void handleSuccess() {
 							if (getData().isFound() == false) {
+								fGdbTraceRecordId = null;
 								rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INTERNAL_ERROR,
 										"Could not find trace record", null)); //$NON-NLS-1$
 								rm.done();
@@ -1096,6 +1137,7 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 			return;
 		}
 
+		fGdbTraceRecordId = null;
 		fConnection.queueCommand(fCommandFactory.createMITraceFindNone(context),
 				new DataRequestMonitor<MITraceFindInfo>(getExecutor(), rm) {
 					@Override
@@ -1116,6 +1158,12 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 	public void getTraceRecordData(final ITraceRecordDMContext context,
 			final DataRequestMonitor<ITraceRecordDMData> rm) {
 		if (context instanceof MITraceRecordDMContext) {
+			ITraceRecordDMData cachedData = fTraceRecordCache.get(context.getRecordId());
+			if (cachedData != null) {
+				rm.done(cachedData);
+				prefetchTraceRecords(context);
+				return;
+			}
 
 			RequestMonitor tdumpRm = new ImmediateRequestMonitor(rm) {
 				@Override
@@ -1128,8 +1176,10 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 									TraceRecordDMData data = new TraceRecordDMData(getData().getContent(),
 											getData().getTracepointNumber(), getData().getFrameNumber(),
 											getData().getTimestamp());
+									cacheTraceRecord(data);
 									rm.setData(data);
 									rm.done();
+									prefetchTraceRecords(context);
 								}
 							});
 				}
@@ -1151,6 +1201,151 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 		}
 	}
 
+	/** @since 7.2 */
+	@Override
+	public void getTraceRecords(final ITraceTargetDMContext context, final int first, final int count,
+			final DataRequestMonitor<ITraceRecordDMData[]> rm) {
+		if (context == null) {
+			rm.done(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INVALID_STATE, "Invalid context", null)); //$NON-NLS-1$
+			return;
+		}
+
+		if (first < 0 || count < 0) {
+			rm.done(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INVALID_STATE, "Invalid trace record range", null)); //$NON-NLS-1$
+			return;
+		}
+
+		// Get the status first, to know how many trace records there are
+		getTraceStatus(context, new DataRequestMonitor<ITraceStatusDMData>(getExecutor(), rm) {
+			@Override
+			protected void handleSuccess() {
+				if (fIsTracingCurrentlySupported == false) {
+					rm.done(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, NOT_SUPPORTED, "Tracing not supported", //$NON-NLS-1$
+							null));
+					return;
+				}
+
+				final int end = (int) Math.min((long) first + count, fTraceRecordsStored);
+				final ITraceRecordDMData[] records = new ITraceRecordDMData[Math.max(end - first, 0)];
+				final List<Integer> missingRecords = new ArrayList<>();
+				for (int i = 0; i < records.length; i++) {
+					records[i] = fTraceRecordCache.get(Integer.toString(first + i));
+					if (records[i] == null) {
+						missingRecords.add(first + i);
+					}
+				}
+
+				fetchTraceRecords(context, missingRecords,
+						new DataRequestMonitor<ITraceRecordDMData[]>(getExecutor(), rm) {
+							@Override
+							protected void handleSuccess() {
+								for (int i = 0; i < missingRecords.size(); i++) {
+									records[missingRecords.get(i) - first] = getData()[i];
+								}
+								rm.done(records);
+							}
+						});
+			}
+		});
+	}
+
+	/**
+	 * Fetches the data of the given trace records, in one batch of commands,
+	 * and selects back the trace record GDB had selected. The data is
+	 * returned in the order of the given records.
+	 */
+	private void fetchTraceRecords(final ITraceTargetDMContext context, List<Integer> recordIndexes,
+			final DataRequestMonitor<ITraceRecordDMData[]> rm) {
+		final ITraceRecordDMData[] records = new ITraceRecordDMData[recordIndexes.size()];
+		if (records.length == 0) {
+			rm.done(records);
+			return;
+		}
+
+		final CountingRequestMonitor countingRm = new CountingRequestMonitor(getExecutor(), rm) {
+			@Override
+			protected void handleSuccess() {
+				rm.done(records);
+			}
+		};
+		countingRm.setDoneCount(records.length);
+
+		// All the commands are queued right away, so that no other command can
+		// be run on a trace record it doesn't expect.
+		for (int i = 0; i < records.length; i++) {
+			final int index = i;
+			final String recordId = Integer.toString(recordIndexes.get(i));
+			// If the record cannot be found, 'tdump' will dump another record,
+			// which is detected below
+			fConnection.queueCommand(fCommandFactory.createMITraceFindFrameNumber(context, recordIndexes.get(i)),
+					new DataRequestMonitor<MITraceFindInfo>(getExecutor(), null) {
+						@Override
+						protected void handleCompleted() {
+						}
+					});
+			fConnection.queueCommand(
+					fCommandFactory.createCLITraceDump(new MITraceRecordDMContext(getSession(), context, recordId)),
+					new DataRequestMonitor<CLITraceDumpInfo>(getExecutor(), countingRm) {
+						@Override
+						protected void handleSuccess() {
+							if (!recordId.equals(getData().getFrameNumber())) {
+								countingRm.done(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, REQUEST_FAILED,
+										"Could not find trace record " + recordId, null)); //$NON-NLS-1$
+								return;
+							}
+							records[index] = new TraceRecordDMData(getData().getContent(),
+									getData().getTracepointNumber(), getData().getFrameNumber(),
+									getData().getTimestamp());
+							cacheTraceRecord(records[index]);
+							countingRm.done();
+						}
+					});
+		}
+
+		// Select back the trace record which was selected.  We don't go through
+		// selectTraceRecord() since, from the point of view of the other services,
+		// the selected trace record doesn't change.
+		fConnection.queueCommand(
+				fGdbTraceRecordId != null
+						? fCommandFactory.createMITraceFindFrameNumber(context, Integer.parseInt(fGdbTraceRecordId))
+						: fCommandFactory.createMITraceFindNone(context),
+				new DataRequestMonitor<MITraceFindInfo>(getExecutor(), null) {
+					@Override
+					protected void handleCompleted() {
+					}
+				});
+	}
+
+	/**
+	 * Fetches the data of the trace records following the given one, which is
+	 * where the user is likely to go next.
+	 */
+	private void prefetchTraceRecords(ITraceRecordDMContext context) {
+		if (fIsTracingActive) {
+			return;
+		}
+		ITraceTargetDMContext targetDmc = DMContexts.getAncestorOfType(context, ITraceTargetDMContext.class);
+		int recordIndex = Integer.parseInt(context.getRecordId());
+		List<Integer> missingRecords = new ArrayList<>();
+		for (int i = recordIndex + 1; i <= recordIndex + TRACE_RECORD_PREFETCH_COUNT && i < fTraceRecordsStored; i++) {
+			if (!fTraceRecordCache.containsKey(Integer.toString(i))) {
+				missingRecords.add(i);
+			}
+		}
+		fetchTraceRecords(targetDmc, missingRecords, new DataRequestMonitor<ITraceRecordDMData[]>(getExecutor(), null) {
+			@Override
+			protected void handleCompleted() {
+				// Only meant to fill the cache
+			}
+		});
+	}
+
+	private void cacheTraceRecord(ITraceRecordDMData data) {
+		if (!fIsTracingActive && data.getRecordId() != null) {
+			fTraceRecordCache.put(data.getRecordId(), data);
+		}
+	}
+
 	/** @since 4.4 */
 	@Override
 	public void setCircularTraceBuffer(final ITraceTargetDMContext context, boolean useCircularBuffer,
@@ -1216,5 +1411,6 @@ public class GDBTraceControl_7_2 extends AbstractDsfService implements IGDBTrace
 	@Override
 	public void flushCache(IDMContext context) {
 		fTraceStatusCache.reset(context);
+		fTraceRecordCache.clear();
 	}
 }
@@ -0,0 +1,78 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.service;
+
+import org.eclipse.cdt.core.IAddress;
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.debug.core.model.MemoryByte;
+
+/**
+ * Extension interface to read large memory ranges, e.g. to export or search memory.
+ *
+ * @since 7.2
+ */
+public interface IGDBMemory3 extends IGDBMemory2 {
+
+	/**
+	 * Receives the memory of a bulk read.
+	 */
+	public interface IMemoryConsumer {
+		/**
+		 * Called, on the session executor and in address order, for every readable
+		 * part of the requested range.
+		 *
+		 * @param address the address of the first addressable unit of the block
+		 * @param block the content of the block, whole addressable units
+		 */
+		public void memoryRead(IAddress address, MemoryByte[] block);
+	}
+
+	/**
+	 * Summary of a bulk read.
+	 */
+	public interface IBulkReadResult {
+		/**
+		 * Returns the number of octets passed to the consumer.
+		 */
+		public long getOctetsRead();
+
+		/**
+		 * Returns the number of octets that could not be read and were skipped.
+		 */
+		public long getOctetsSkipped();
+
+		/**
+		 * Returns the duration of the read in milliseconds.
+		 */
+		public long getElapsedTime();
+
+		/**
+		 * Returns the number of octets read from the back end per second.
+		 */
+		public long getThroughput();
+	}
+
+	/**
+	 * Reads a memory range of any size and passes it to the consumer in chunks,
+	 * without ever holding the whole range in memory. The chunks are requested from
+	 * the back end a few at a time, and are neither taken from nor added to the
+	 * memory caches of the service. Memory that can't be read is skipped.
+	 * Cancelling the request monitor stops the read after the chunks in progress.
+	 *
+	 * @param context the memory context
+	 * @param address the address of the range
+	 * @param wordCount the length of the range in addressable units
+	 * @param consumer receives the content of the range
+	 * @param rm completed once the whole range was read
+	 */
+	public void readMemory(IMemoryDMContext context, IAddress address, long wordCount, IMemoryConsumer consumer,
+			DataRequestMonitor<IBulkReadResult> rm);
+}
@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.gdb.service;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+
+/**
+ * Enhancements to the trace control functionality, which allow to go through
+ * a large number of trace records.
+ * @since 7.2
+ */
+public interface IGDBTraceControl3 extends IGDBTraceControl2 {
+
+	/**
+	 * Returns the data of the trace records numbered from <code>first</code>
+	 * to <code>first + count - 1</code>, or less if there are not as many
+	 * trace records. Iterating over all the trace records should be done by
+	 * calling this method with consecutive ranges.
+	 * <p>
+	 * Unlike {@link #getTraceRecordData(ITraceRecordDMContext, DataRequestMonitor)},
+	 * this does not change the trace record being visualized.
+	 */
+	public void getTraceRecords(ITraceTargetDMContext context, int first, int count,
+			DataRequestMonitor<ITraceRecordDMData[]> rm);
+}
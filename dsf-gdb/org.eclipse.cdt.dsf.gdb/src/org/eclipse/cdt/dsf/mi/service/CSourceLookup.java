@@ -21,13 +21,16 @@ import java.util.List;
 import java.util.Map;
 
 import org.eclipse.cdt.debug.core.sourcelookup.CProjectSourceContainer;
+import org.eclipse.cdt.debug.core.sourcelookup.ISourceLookupChangeListener;
 import org.eclipse.cdt.debug.internal.core.sourcelookup.CSourceLookupDirector;
+import org.eclipse.cdt.debug.internal.core.sourcelookup.CSourceLookupParticipant;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
 import org.eclipse.cdt.dsf.concurrent.ImmediateRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
 import org.eclipse.cdt.dsf.debug.service.ISourceLookup;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIInfo;
@@ -43,6 +46,7 @@ import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.core.sourcelookup.ISourceContainer;
+import org.eclipse.debug.core.sourcelookup.ISourceLookupParticipant;
 import org.eclipse.debug.core.sourcelookup.containers.DirectorySourceContainer;
 import org.eclipse.debug.core.sourcelookup.containers.FolderSourceContainer;
 import org.eclipse.debug.core.sourcelookup.containers.ProjectSourceContainer;
@@ -50,9 +54,28 @@ import org.osgi.framework.BundleContext;
 
 /**
  * ISourceLookup service implementation based on the CDT CSourceLookupDirector.
+ * <p>
+ * Finding the source of a path reported by GDB goes through all the source
+ * containers of the director, each of which probes the file system. The
+ * results, including the paths for which no source was found, are therefore
+ * cached until the source containers change.
  */
 public class CSourceLookup extends AbstractDsfService implements ISourceLookup {
+	/** Cached in place of the source of a path for which none was found */
+	private static final Object NOT_FOUND = new Object();
+
 	private Map<ISourceLookupDMContext, CSourceLookupDirector> fDirectors = new HashMap<>();
+	private Map<CSourceLookupParticipant, ISourceLookupChangeListener> fChangeListeners = new HashMap<>();
+
+	/**
+	 * The sources found for the debugger paths, per context. The lookups are
+	 * done by jobs, so all accesses, including to the statistics, are
+	 * synchronized on this map.
+	 */
+	private final Map<ISourceLookupDMContext, Map<String, Object>> fSourceCache = new HashMap<>();
+	private long fCacheHits;
+	private long fCacheMisses;
+	private long fLookupTime;
 
 	ICommandControl fConnection;
 	private CommandFactory fCommandFactory;
@@ -66,8 +89,32 @@ public class CSourceLookup extends AbstractDsfService implements ISourceLookup {
 		return GdbPlugin.getBundleContext();
 	}
 
-	public void setSourceLookupDirector(ISourceLookupDMContext ctx, CSourceLookupDirector director) {
+	public void setSourceLookupDirector(final ISourceLookupDMContext ctx, CSourceLookupDirector director) {
 		fDirectors.put(ctx, director);
+		clearSourceCache(ctx);
+
+		// The GDB director does not use the CDT participant, see
+		// GDBSourceLookup.sourceContainersChanged() for that case.
+		for (ISourceLookupParticipant participant : director.getParticipants()) {
+			if (participant instanceof CSourceLookupParticipant) {
+				ISourceLookupChangeListener listener = d -> clearSourceCache(ctx);
+				((CSourceLookupParticipant) participant).addSourceLookupChangeListener(listener);
+				fChangeListeners.put((CSourceLookupParticipant) participant, listener);
+			}
+		}
+	}
+
+	/**
+	 * Forgets the sources found for the given context, which must be done
+	 * whenever its source containers change.
+	 *
+	 * @since 7.2
+	 */
+	protected void clearSourceCache(ISourceLookupDMContext ctx) {
+		synchronized (fSourceCache) {
+			// A lookup in progress keeps filling the old map, which is fine
+			fSourceCache.remove(ctx);
+		}
 	}
 
 	public void setSourceLookupPath(ISourceLookupDMContext ctx, ISourceContainer[] containers, RequestMonitor rm) {
@@ -145,6 +192,11 @@ public class CSourceLookup extends AbstractDsfService implements ISourceLookup {
 
 	@Override
 	public void shutdown(final RequestMonitor requestMonitor) {
+		for (Map.Entry<CSourceLookupParticipant, ISourceLookupChangeListener> entry : fChangeListeners.entrySet()) {
+			entry.getKey().removeSourceLookupChangeListener(entry.getValue());
+		}
+		fChangeListeners.clear();
+		traceCacheStatistics();
 		unregister();
 		super.shutdown(requestMonitor);
 	}
@@ -195,26 +247,61 @@ public class CSourceLookup extends AbstractDsfService implements ISourceLookup {
 		}
 		final CSourceLookupDirector director = fDirectors.get(sourceLookupCtx);
 
+		final Map<String, Object> cache;
+		synchronized (fSourceCache) {
+			cache = fSourceCache.computeIfAbsent(sourceLookupCtx, c -> new HashMap<>());
+			Object source = cache.get(debuggerPath);
+			if (source != null) {
+				fCacheHits++;
+				setSource(source, rm);
+				rm.done();
+				return;
+			}
+		}
+
 		new Job("Lookup Source") { //$NON-NLS-1$
 			@Override
 			protected IStatus run(IProgressMonitor monitor) {
-				Object[] sources;
+				long start = System.currentTimeMillis();
 				try {
-					sources = director.findSourceElements(debuggerPath);
-					if (sources == null || sources.length == 0) {
-						rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, IDsfStatusConstants.REQUEST_FAILED,
-								"No sources found", null)); //$NON-NLS-1$);
-					} else {
-						rm.setData(sources[0]);
+					Object[] sources = director.findSourceElements(debuggerPath);
+					Object source = sources == null || sources.length == 0 ? NOT_FOUND : sources[0];
+					synchronized (fSourceCache) {
+						cache.put(debuggerPath, source);
 					}
+					setSource(source, rm);
 				} catch (CoreException e) {
+					// Not cached, the lookup will be attempted again
 					rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, IDsfStatusConstants.REQUEST_FAILED,
 							"Source lookup failed", e)); //$NON-NLS-1$);
 				} finally {
+					synchronized (fSourceCache) {
+						fCacheMisses++;
+						fLookupTime += System.currentTimeMillis() - start;
+					}
 					rm.done();
 				}
 				return Status.OK_STATUS;
 			}
 		}.schedule();
 	}
+
+	private static void setSource(Object source, DataRequestMonitor<Object> rm) {
+		if (source == NOT_FOUND) {
+			rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, IDsfStatusConstants.REQUEST_FAILED,
+					"No sources found", null)); //$NON-NLS-1$);
+		} else {
+			rm.setData(source);
+		}
+	}
+
+	private void traceCacheStatistics() {
+		if (GdbDebugOptions.DEBUG) {
+			synchronized (fSourceCache) {
+				GdbDebugOptions.trace(
+						String.format("%s Source lookup cache: %d hits, %d misses looked up in %d ms\n", //$NON-NLS-1$
+								GdbPlugin.getDebugTime(), fCacheHits, fCacheMisses, fLookupTime));
+			}
+		}
+	}
 }
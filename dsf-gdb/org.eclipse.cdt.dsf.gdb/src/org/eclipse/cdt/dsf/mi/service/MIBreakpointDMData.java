@@ -274,6 +274,27 @@ public class MIBreakpointDMData implements IBreakpointDMData {
 		return fProperties.equals(other.fProperties);
 	}
 
+	/**
+	 * Checks for equality of everything but the hit count, which GDB reports
+	 * as a modification of the breakpoint each time it is hit.
+	 *
+	 * @param other
+	 * @return
+	 * @since 7.2
+	 */
+	public boolean equalsIgnoringHits(MIBreakpointDMData other) {
+		if (isPending() != other.isPending()) {
+			return false;
+		}
+		Map<String, Object> otherProperties = new HashMap<>(other.fProperties);
+		if (fProperties.containsKey(HITS)) {
+			otherProperties.put(HITS, fProperties.get(HITS));
+		} else {
+			otherProperties.remove(HITS);
+		}
+		return fProperties.equals(otherProperties);
+	}
+
 	@Override
 	public boolean equals(Object other) {
 		if (this == other)
@@ -32,6 +32,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -509,20 +510,36 @@ public class MIBreakpointsManager extends AbstractDsfService
 			rm.done();
 		}
 
+		// Group the breakpoints by source file, so that the debugger path of
+		// each file is determined once, however many breakpoints it has
+		final Map<Object, List<ICBreakpoint>> breakpointsByFile = new LinkedHashMap<>();
+		for (Map.Entry<ICBreakpoint, Map<String, Object>> entry : platformBPs.entrySet()) {
+			breakpointsByFile.computeIfAbsent(entry.getValue().get(ICBreakpoint.SOURCE_HANDLE), k -> new ArrayList<>())
+					.add(entry.getKey());
+		}
+
 		// Install the individual breakpoints on the dispatcher thread
 		// Requires a counting monitor to know when we are done
 		final CountingRequestMonitor countingRm = new CountingRequestMonitor(getExecutor(), rm);
-		countingRm.setDoneCount(platformBPs.size());
-
-		for (final ICBreakpoint breakpoint : platformBPs.keySet()) {
-			final Map<String, Object> attributes = platformBPs.get(breakpoint);
-			// Upon determining the debuggerPath, the breakpoint is installed
-			determineDebuggerPath(dmc, attributes, new RequestMonitor(getExecutor(), countingRm) {
+		countingRm.setDoneCount(breakpointsByFile.size());
+
+		for (final List<ICBreakpoint> fileBreakpoints : breakpointsByFile.values()) {
+			final Map<String, Object> firstAttributes = platformBPs.get(fileBreakpoints.get(0));
+			// Upon determining the debuggerPath, the breakpoints are installed.
+			// The commands are sent without waiting for the previous ones to
+			// complete, the command control pipelines them.
+			determineDebuggerPath(dmc, firstAttributes, new RequestMonitor(getExecutor(), countingRm) {
 				@Override
 				protected void handleSuccess() {
-					// Must install breakpoints right away, even if disabled, so that
-					// we can find out if they apply to this target (Bug 389070)
-					installBreakpoint(dmc, breakpoint, attributes, countingRm);
+					final CountingRequestMonitor fileRm = new CountingRequestMonitor(getExecutor(), countingRm);
+					fileRm.setDoneCount(fileBreakpoints.size());
+					for (ICBreakpoint breakpoint : fileBreakpoints) {
+						Map<String, Object> attributes = platformBPs.get(breakpoint);
+						attributes.put(ATTR_DEBUGGER_PATH, firstAttributes.get(ATTR_DEBUGGER_PATH));
+						// Must install breakpoints right away, even if disabled, so that
+						// we can find out if they apply to this target (Bug 389070)
+						installBreakpoint(dmc, breakpoint, attributes, fileRm);
+					}
 				}
 			});
 		}
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.Deque;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -84,6 +85,7 @@ import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.cdt.utils.Addr64;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarkerDelta;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -91,6 +93,7 @@ import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.IBreakpointsListener;
 import org.eclipse.debug.core.model.IBreakpoint;
 import org.eclipse.debug.core.sourcelookup.containers.LocalFileStorage;
 import org.osgi.framework.BundleContext;
@@ -186,6 +189,142 @@ public class MIBreakpointsSynchronizer extends AbstractDsfService
 	 */
 	private boolean fEventsIdle = true;
 
+	/**
+	 * Index of the platform breakpoints, or <code>null</code> if
+	 * {@link #usePlatformBreakpointIndex()} is false.
+	 */
+	private PlatformBreakpointIndex fPlatformBreakpointIndex;
+
+	/**
+	 * Index of the platform breakpoints by source file and line number, so that
+	 * finding the platform breakpoint of a target breakpoint doesn't compare it
+	 * with every platform breakpoint. Breakpoints that are not matched by file
+	 * and line (function and address breakpoints, watchpoints) are kept in a
+	 * separate list. The index is built on first use, then updated from the
+	 * notifications of the breakpoint manager, which may come from any thread.
+	 */
+	static class PlatformBreakpointIndex implements IBreakpointsListener {
+
+		private static class LineKey {
+			final File file;
+			final int line;
+
+			LineKey(File file, int line) {
+				this.file = file;
+				this.line = line;
+			}
+
+			@Override
+			public boolean equals(Object obj) {
+				return obj instanceof LineKey && ((LineKey) obj).file.equals(file) && ((LineKey) obj).line == line;
+			}
+
+			@Override
+			public int hashCode() {
+				return file.hashCode() * 31 + line;
+			}
+		}
+
+		private boolean fInitialized;
+		private long fNextOrder;
+
+		/** Order of the breakpoints in the breakpoint manager, which is the order of matching */
+		private final Map<ICBreakpoint, Long> fOrder = new HashMap<>();
+		/** Key of each indexed breakpoint, absent for the other breakpoints */
+		private final Map<ICBreakpoint, LineKey> fKeys = new HashMap<>();
+		private final Map<LineKey, List<ICBreakpoint>> fLineBreakpoints = new HashMap<>();
+		private final Set<ICBreakpoint> fOtherBreakpoints = new HashSet<>();
+
+		/**
+		 * Returns the platform breakpoints that can match a target breakpoint with
+		 * the given file and line, in the order of the breakpoint manager.
+		 */
+		synchronized List<ICBreakpoint> getCandidates(String fileName, int lineNumber) {
+			if (!fInitialized) {
+				fInitialized = true;
+				for (IBreakpoint b : DebugPlugin.getDefault().getBreakpointManager().getBreakpoints()) {
+					add(b);
+				}
+			}
+			List<ICBreakpoint> candidates = new ArrayList<>(fOtherBreakpoints);
+			if (fileName != null) {
+				List<ICBreakpoint> lineBreakpoints = fLineBreakpoints.get(new LineKey(new File(fileName), lineNumber));
+				if (lineBreakpoints != null) {
+					candidates.addAll(lineBreakpoints);
+				}
+			}
+			candidates.sort(Comparator.comparing(fOrder::get));
+			return candidates;
+		}
+
+		private void add(IBreakpoint b) {
+			if (b instanceof ICBreakpoint && !fOrder.containsKey(b)) {
+				fOrder.put((ICBreakpoint) b, fNextOrder++);
+				index((ICBreakpoint) b);
+			}
+		}
+
+		private void index(ICBreakpoint b) {
+			if (b instanceof ICLineBreakpoint && !(b instanceof ICAddressBreakpoint)
+					&& !(b instanceof ICFunctionBreakpoint)) {
+				try {
+					String sourceHandle = ((ICLineBreakpoint) b).getSourceHandle();
+					if (sourceHandle != null) {
+						LineKey key = new LineKey(new File(sourceHandle), ((ICLineBreakpoint) b).getLineNumber());
+						fKeys.put(b, key);
+						fLineBreakpoints.computeIfAbsent(key, k -> new ArrayList<>()).add(b);
+					}
+					// Otherwise, it cannot match any target breakpoint
+				} catch (CoreException e) {
+					// The marker is gone
+				}
+			} else {
+				fOtherBreakpoints.add(b);
+			}
+		}
+
+		private void unindex(ICBreakpoint b) {
+			LineKey key = fKeys.remove(b);
+			if (key != null) {
+				List<ICBreakpoint> lineBreakpoints = fLineBreakpoints.get(key);
+				lineBreakpoints.remove(b);
+				if (lineBreakpoints.isEmpty()) {
+					fLineBreakpoints.remove(key);
+				}
+			}
+			fOtherBreakpoints.remove(b);
+		}
+
+		@Override
+		public synchronized void breakpointsAdded(IBreakpoint[] breakpoints) {
+			if (fInitialized) {
+				for (IBreakpoint b : breakpoints) {
+					add(b);
+				}
+			}
+		}
+
+		@Override
+		public synchronized void breakpointsRemoved(IBreakpoint[] breakpoints, IMarkerDelta[] deltas) {
+			for (IBreakpoint b : breakpoints) {
+				if (fOrder.remove(b) != null) {
+					unindex((ICBreakpoint) b);
+				}
+			}
+		}
+
+		@Override
+		public synchronized void breakpointsChanged(IBreakpoint[] breakpoints, IMarkerDelta[] deltas) {
+			// The file or line may have changed
+			for (IBreakpoint b : breakpoints) {
+				if (fOrder.containsKey(b)) {
+					unindex((ICBreakpoint) b);
+					index((ICBreakpoint) b);
+				}
+			}
+		}
+	}
+
 	public MIBreakpointsSynchronizer(DsfSession session) {
 		super(session);
 		fTrackedTargets = new HashSet<>();
@@ -221,6 +360,11 @@ public class MIBreakpointsSynchronizer extends AbstractDsfService
 		fBreakpointsManager.addBreakpointsTrackingListener(this);
 		getSession().addServiceEventListener(this, null);
 
+		if (usePlatformBreakpointIndex()) {
+			fPlatformBreakpointIndex = new PlatformBreakpointIndex();
+			DebugPlugin.getDefault().getBreakpointManager().addBreakpointListener(fPlatformBreakpointIndex);
+		}
+
 		// Register this service
 		register(new String[] { MIBreakpointsSynchronizer.class.getName() }, new Hashtable<String, String>());
 
@@ -235,6 +379,10 @@ public class MIBreakpointsSynchronizer extends AbstractDsfService
 		fPendingModifications.clear();
 		fBreakpointEvents.clear();
 		getSession().removeServiceEventListener(this);
+		if (fPlatformBreakpointIndex != null) {
+			DebugPlugin.getDefault().getBreakpointManager().removeBreakpointListener(fPlatformBreakpointIndex);
+			fPlatformBreakpointIndex = null;
+		}
 		MIBreakpointsManager bm = getBreakpointsManager();
 		if (bm != null) {
 			bm.removeBreakpointsTrackingListener(this);
@@ -271,6 +419,24 @@ public class MIBreakpointsSynchronizer extends AbstractDsfService
 		return fConnection;
 	}
 
+	/**
+	 * Returns whether the platform breakpoint of a target breakpoint is looked
+	 * for among the platform breakpoints of the same source file and line only,
+	 * plus the breakpoints which are not matched by file and line (function and
+	 * address breakpoints, watchpoints), rather than among all of them.
+	 *
+	 * The index is only used by default by this class itself, as a subclass may
+	 * override {@link #isPlatformBreakpoint(ICBreakpoint, MIBreakpoint, String)}
+	 * so that a line breakpoint matches a target breakpoint of another file or
+	 * line. Subclasses whose platform breakpoints match by file and line can
+	 * return true to use the index.
+	 *
+	 * @since 7.2
+	 */
+	protected boolean usePlatformBreakpointIndex() {
+		return getClass() == MIBreakpointsSynchronizer.class;
+	}
+
 	private MIBreakpoints getBreakpointsService() {
 		return fBreakpointsService;
 	}
@@ -402,6 +568,10 @@ public class MIBreakpointsSynchronizer extends AbstractDsfService
 				if (bpNumbers.remove(number))
 					found = true;
 
+			// Only the breakpoints that differ from what we know need an update
+			if (found && !isTargetBreakpointChanged(miBpt))
+				continue;
+
 			BreakpointEvent event = new BreakpointEvent();
 			if (found)
 				event.modified = miBpt;
@@ -717,6 +887,13 @@ public class MIBreakpointsSynchronizer extends AbstractDsfService
 			return;
 		}
 
+		// GDB reports a modification each time a breakpoint is hit, for its hit
+		// count. These don't concern the platform breakpoint.
+		if (!isTargetBreakpointChanged(miBpt)) {
+			rm.done();
+			return;
+		}
+
 		findPlatformBreakpoint(miBpt, new DataRequestMonitor<IBreakpoint>(getExecutor(), rm) {
 			@Override
 			protected void handleSuccess() {
@@ -746,6 +923,39 @@ public class MIBreakpointsSynchronizer extends AbstractDsfService
 		});
 	}
 
+	/**
+	 * Returns whether the target breakpoint differs in more than its hit count
+	 * from the data stored by the breakpoints service. If only the hit count
+	 * differs, the stored data is updated.
+	 */
+	private boolean isTargetBreakpointChanged(MIBreakpoint miBpt) {
+		MIBreakpoints breakpointsService = getBreakpointsService();
+		IBreakpointsTargetDMContext bpTargetDMC = getBreakpointsTargetContext(miBpt);
+		if (breakpointsService == null || bpTargetDMC == null) {
+			return true;
+		}
+		Map<String, MIBreakpointDMData> contextBreakpoints = breakpointsService.getBreakpointMap(bpTargetDMC);
+		if (contextBreakpoints == null || !contextBreakpoints.containsKey(miBpt.getNumber())) {
+			return true;
+		}
+		return isTargetBreakpointChanged(contextBreakpoints, breakpointsService.createMIBreakpointDMData(miBpt));
+	}
+
+	/**
+	 * Returns whether the given data of a target breakpoint differs in more than
+	 * its hit count from the data of the same breakpoint in the given map. If
+	 * only the hit count differs, the map is updated.
+	 */
+	static boolean isTargetBreakpointChanged(Map<String, MIBreakpointDMData> contextBreakpoints,
+			MIBreakpointDMData newData) {
+		MIBreakpointDMData oldData = contextBreakpoints.get(newData.getNumber());
+		if (oldData == null || !oldData.equalsIgnoringHits(newData)) {
+			return true;
+		}
+		contextBreakpoints.put(newData.getNumber(), newData);
+		return false;
+	}
+
 	private void targetBreakpointModified(IBreakpointsTargetDMContext bpTargetDMC, ICBreakpoint plBpt,
 			MIBreakpoint miBpt) {
 		Map<String, MIBreakpointDMData> contextBreakpoints = getBreakpointsService().getBreakpointMap(bpTargetDMC);
@@ -860,7 +1070,15 @@ public class MIBreakpointsSynchronizer extends AbstractDsfService
 	}
 
 	private ICBreakpoint getPlatformBreakpoint(MIBreakpoint miBpt, String fileName) {
-		for (IBreakpoint b : DebugPlugin.getDefault().getBreakpointManager().getBreakpoints()) {
+		Collection<? extends IBreakpoint> candidates;
+		if (fPlatformBreakpointIndex != null) {
+			// Watchpoints have no line, don't bother computing it
+			int lineNumber = miBpt.isWatchpoint() || fileName == null ? -1 : getLineNumber(miBpt);
+			candidates = fPlatformBreakpointIndex.getCandidates(fileName, lineNumber);
+		} else {
+			candidates = Arrays.asList(DebugPlugin.getDefault().getBreakpointManager().getBreakpoints());
+		}
+		for (IBreakpoint b : candidates) {
 			if (b instanceof ICBreakpoint) {
 				ICBreakpoint cBreakpoint = (ICBreakpoint) b;
 				if (isPlatformBreakpoint(cBreakpoint, miBpt, fileName)) {
@@ -15,31 +15,126 @@
 package org.eclipse.cdt.dsf.mi.service;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.List;
+import java.util.Map;
 
+import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
+import org.eclipse.cdt.dsf.datamodel.DMContexts;
 import org.eclipse.cdt.dsf.debug.service.IDisassembly;
 import org.eclipse.cdt.dsf.debug.service.IInstruction;
+import org.eclipse.cdt.dsf.debug.service.IInstructionWithSize;
+import org.eclipse.cdt.dsf.debug.service.IMemory.IMemoryChangedEvent;
 import org.eclipse.cdt.dsf.debug.service.IMixedInstruction;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IExitedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService.ICommandControlRefreshAllDMEvent;
+import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
+import org.eclipse.cdt.dsf.gdb.internal.DisassemblyCache;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.gdb.launching.GdbLaunch;
+import org.eclipse.cdt.dsf.gdb.service.GDBProcesses_7_2;
+import org.eclipse.cdt.dsf.gdb.service.IGDBBackend;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIDataDisassemble;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIConst;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataDisassembleInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIGDBShowDisassemblyFlavorInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MINotifyAsyncOutput;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOOBRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIResult;
 import org.eclipse.cdt.dsf.service.AbstractDsfService;
+import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.ILaunch;
 import org.osgi.framework.BundleContext;
 
 public class MIDisassembly extends AbstractDsfService implements IDisassembly {
 
+	/** Maximum number of disassembled ranges kept in memory for this session only */
+	private static final int SESSION_CACHE_SIZE = 256;
+
+	/** Request monitor of a range fetched ahead of time, for which nobody waits */
+	private static class PrefetchRequestMonitor extends DataRequestMonitor<MIDataDisassembleInfo> {
+		PrefetchRequestMonitor() {
+			super(ImmediateExecutor.getInstance(), null);
+		}
+
+		@Override
+		protected void handleCompleted() {
+			// Failures don't matter, the range will be fetched again if needed
+		}
+	}
+
 	// Services
 	ICommandControl fConnection;
 	private CommandFactory fCommandFactory;
 
+	/**
+	 * Cache of disassembled address ranges, or <code>null</code> if disabled by
+	 * {@link IGdbDebugPreferenceConstants#PREF_DISASSEMBLY_CACHE}.
+	 */
+	private DisassemblyCache fSessionCache;
+
+	/**
+	 * The program of the launch when its disassembly can be reused by other
+	 * sessions, with the cache shared by all sessions.
+	 */
+	private DisassemblyCache.Binary fBinary;
+	private DisassemblyCache fBinaryCache;
+
+	/**
+	 * The owner of the ranges of the program in the shared cache. The same
+	 * program is disassembled differently by another version of GDB or with
+	 * another disassembly flavor, so they are part of it.
+	 */
+	private String fBinaryOwner;
+	private String fGdbVersion;
+
+	/** Follows the changes of the disassembly flavor made from the GDB console */
+	private final IEventListener fFlavorListener = new IEventListener() {
+		@Override
+		public void eventReceived(Object output) {
+			for (MIOOBRecord oobr : ((MIOutput) output).getMIOOBRecords()) {
+				if (oobr instanceof MINotifyAsyncOutput
+						&& "cmd-param-changed".equals(((MINotifyAsyncOutput) oobr).getAsyncClass())) { //$NON-NLS-1$
+					String param = null;
+					String value = null;
+					for (MIResult result : ((MINotifyAsyncOutput) oobr).getMIResults()) {
+						if (result.getMIValue() instanceof MIConst) {
+							if ("param".equals(result.getVariable())) { //$NON-NLS-1$
+								param = ((MIConst) result.getMIValue()).getString();
+							} else if ("value".equals(result.getVariable())) { //$NON-NLS-1$
+								value = ((MIConst) result.getMIValue()).getString();
+							}
+						}
+					}
+					if ("disassembly-flavor".equals(param) && value != null) { //$NON-NLS-1$
+						flavorChanged(value);
+					}
+				}
+			}
+		}
+	};
+
+	/** Requests waiting for a -data-disassemble command already sent, per range */
+	private final Map<String, List<DataRequestMonitor<MIDataDisassembleInfo>>> fPendingRequests = new HashMap<>();
+
 	///////////////////////////////////////////////////////////////////////////
 	// AbstractDsfService
 	///////////////////////////////////////////////////////////////////////////
@@ -70,16 +165,83 @@ public class MIDisassembly extends AbstractDsfService implements IDisassembly {
 		fConnection = getServicesTracker().getService(ICommandControl.class);
 		fCommandFactory = getServicesTracker().getService(IMICommandControl.class).getCommandFactory();
 
+		if (Platform.getPreferencesService().getBoolean(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_DISASSEMBLY_CACHE,
+				IGdbDebugPreferenceConstants.DISASSEMBLY_CACHE_DEFAULT, null)) {
+			fSessionCache = new DisassemblyCache(null, SESSION_CACHE_SIZE);
+
+			getSession().addServiceEventListener(this, null);
+
+			IGDBBackend backend = getServicesTracker().getService(IGDBBackend.class);
+			IPath program = backend != null ? backend.getProgramPath() : null;
+			ILaunch launch = (ILaunch) getSession().getModelAdapter(ILaunch.class);
+			if (program != null && !program.isEmpty() && GdbPlugin.getDefault() != null
+					&& launch instanceof GdbLaunch) {
+				try {
+					fGdbVersion = ((GdbLaunch) launch).getGDBVersion();
+				} catch (CoreException e) {
+				}
+				fBinary = fGdbVersion != null ? DisassemblyCache.Binary.open(program.toOSString()) : null;
+				if (fBinary != null) {
+					IMICommandControl commandControl = getServicesTracker().getService(IMICommandControl.class);
+					commandControl.queueCommand(
+							fCommandFactory.createMIGDBShowDisassemblyFlavor(commandControl.getContext()),
+							new ImmediateDataRequestMonitor<MIGDBShowDisassemblyFlavorInfo>() {
+								@Override
+								protected void handleCompleted() {
+									// Without the flavor, the ranges cannot be shared
+									if (isSuccess() && getData().getFlavor() != null) {
+										fBinaryCache = GdbPlugin.getDefault().getDisassemblyCache();
+										fBinaryOwner = getBinaryOwner(getData().getFlavor());
+										fConnection.addEventListener(fFlavorListener);
+									}
+									doRegister(rm);
+								}
+							});
+					return;
+				}
+			}
+		}
+		doRegister(rm);
+	}
+
+	private void doRegister(RequestMonitor rm) {
 		register(new String[] { IDisassembly.class.getName(), MIDisassembly.class.getName() },
 				new Hashtable<String, String>());
 		rm.done();
 	}
 
+	private String getBinaryOwner(String flavor) {
+		// The owner names a directory
+		return (fBinary.getKey() + '-' + flavor + '-' + fGdbVersion).replaceAll("[^\\w.-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private void flavorChanged(String flavor) {
+		// The ranges of the session were disassembled with the previous flavor
+		fSessionCache.clear();
+		if (fBinaryCache != null) {
+			fBinaryCache.save(fBinaryOwner);
+			fBinaryOwner = getBinaryOwner(flavor);
+		}
+	}
+
 	/**
 	 * @see org.eclipse.cdt.dsf.service.AbstractDsfService#shutdown(org.eclipse.cdt.dsf.concurrent.RequestMonitor)
 	 */
 	@Override
 	public void shutdown(RequestMonitor rm) {
+		if (fSessionCache != null) {
+			getSession().removeServiceEventListener(this);
+			if (fBinaryCache != null) {
+				fConnection.removeEventListener(fFlavorListener);
+				fBinaryCache.save(fBinaryOwner);
+				if (GdbDebugOptions.DEBUG) {
+					GdbDebugOptions.trace(String.format("%s Disassembly cache: %d hits, %d misses in this session; %d hits, %d misses for all sessions\n", //$NON-NLS-1$
+							GdbPlugin.getDebugTime(), fSessionCache.getHitCount(), fSessionCache.getMissCount(),
+							fBinaryCache.getHitCount(), fBinaryCache.getMissCount()));
+				}
+			}
+		}
 		unregister();
 		super.shutdown(rm);
 	}
@@ -109,8 +271,8 @@ public class MIDisassembly extends AbstractDsfService implements IDisassembly {
 	 * Helper method to allow getting disassembly instructions not in mixed mode.
 	 * @since 4.4
 	 */
-	protected void getInstructions(IDisassemblyDMContext context, BigInteger startAddress, BigInteger endAddress,
-			int mode, final DataRequestMonitor<IInstruction[]> drm) {
+	protected void getInstructions(IDisassemblyDMContext context, final BigInteger startAddress,
+			final BigInteger endAddress, int mode, final DataRequestMonitor<IInstruction[]> drm) {
 		// Checking what we don't support instead of what we do support allows
 		// others to extend the 'mode' field with new values.
 		assert mode != MIDataDisassemble.DATA_DISASSEMBLE_MODE_MIXED
@@ -122,13 +284,14 @@ public class MIDisassembly extends AbstractDsfService implements IDisassembly {
 			return;
 		}
 
-		String start = (startAddress != null) ? startAddress.toString() : "$pc"; //$NON-NLS-1$
-		String end = (endAddress != null) ? endAddress.toString() : start + " + 100"; //$NON-NLS-1$
-		fConnection.queueCommand(fCommandFactory.createMIDataDisassemble(context, start, end, mode),
+		disassemble(context, startAddress, endAddress, mode,
 				new DataRequestMonitor<MIDataDisassembleInfo>(getExecutor(), drm) {
 					@Override
 					protected void handleSuccess() {
 						IInstruction[] result = getData().getMIAssemblyCode();
+						if (fSessionCache != null && startAddress != null && endAddress != null) {
+							result = DisassemblyCache.sliceInstructions(result, startAddress, endAddress);
+						}
 						drm.setData(result);
 						drm.done();
 					}
@@ -185,8 +348,8 @@ public class MIDisassembly extends AbstractDsfService implements IDisassembly {
 	 * Helper method to allow getting disassembly instructions in mixed mode.
 	 * @since 4.4
 	 */
-	protected void getMixedInstructions(IDisassemblyDMContext context, BigInteger startAddress, BigInteger endAddress,
-			int mode, final DataRequestMonitor<IMixedInstruction[]> drm) {
+	protected void getMixedInstructions(IDisassemblyDMContext context, final BigInteger startAddress,
+			final BigInteger endAddress, int mode, final DataRequestMonitor<IMixedInstruction[]> drm) {
 		// Checking what we don't support instead of what we do support allows
 		// others to extend the 'mode' field with new values.
 		assert mode != MIDataDisassemble.DATA_DISASSEMBLE_MODE_DISASSEMBLY
@@ -198,13 +361,14 @@ public class MIDisassembly extends AbstractDsfService implements IDisassembly {
 			return;
 		}
 
-		String start = (startAddress != null) ? startAddress.toString() : "$pc"; //$NON-NLS-1$
-		String end = (endAddress != null) ? endAddress.toString() : start + " + 100"; //$NON-NLS-1$
-		fConnection.queueCommand(fCommandFactory.createMIDataDisassemble(context, start, end, mode),
+		disassemble(context, startAddress, endAddress, mode,
 				new DataRequestMonitor<MIDataDisassembleInfo>(getExecutor(), drm) {
 					@Override
 					protected void handleSuccess() {
 						IMixedInstruction[] result = getData().getMIMixedCode();
+						if (fSessionCache != null && startAddress != null && endAddress != null) {
+							result = DisassemblyCache.sliceMixedInstructions(result, startAddress, endAddress);
+						}
 						drm.setData(result);
 						drm.done();
 					}
@@ -247,4 +411,192 @@ public class MIDisassembly extends AbstractDsfService implements IDisassembly {
 					}
 				});
 	}
+
+	///////////////////////////////////////////////////////////////////////////
+	// Disassembly cache
+	///////////////////////////////////////////////////////////////////////////
+
+	/**
+	 * Disassembles the given address range, using the cache when enabled.
+	 */
+	private void disassemble(IDisassemblyDMContext context, BigInteger startAddress, BigInteger endAddress, int mode,
+			DataRequestMonitor<MIDataDisassembleInfo> drm) {
+		if (fSessionCache == null || startAddress == null || endAddress == null) {
+			String start = (startAddress != null) ? startAddress.toString() : "$pc"; //$NON-NLS-1$
+			String end = (endAddress != null) ? endAddress.toString() : start + " + 100"; //$NON-NLS-1$
+			fConnection.queueCommand(fCommandFactory.createMIDataDisassemble(context, start, end, mode), drm);
+			return;
+		}
+
+		MIDataDisassembleInfo info = getCache(context, startAddress, endAddress).get(
+				getCacheOwner(context, startAddress, endAddress), mode, startAddress, endAddress);
+		if (info != null) {
+			drm.done(info);
+			return;
+		}
+		fetchDisassembly(context, startAddress, endAddress, mode, drm);
+	}
+
+	/**
+	 * Sends -data-disassemble for the given range and caches the result. A
+	 * request for a range that is already being fetched waits for that result.
+	 * Once a range requested by a client is known, the range that follows it is
+	 * fetched ahead of time, since it is likely to be requested next when
+	 * scrolling.
+	 */
+	private void fetchDisassembly(final IDisassemblyDMContext context, final BigInteger startAddress,
+			final BigInteger endAddress, final int mode, DataRequestMonitor<MIDataDisassembleInfo> drm) {
+		final String owner = getCacheOwner(context, startAddress, endAddress);
+		final String key = owner + ':' + mode + ':' + startAddress + ':' + endAddress;
+		List<DataRequestMonitor<MIDataDisassembleInfo>> pending = fPendingRequests.get(key);
+		if (pending != null) {
+			pending.add(drm);
+			return;
+		}
+
+		final List<DataRequestMonitor<MIDataDisassembleInfo>> requests = new ArrayList<>();
+		requests.add(drm);
+		fPendingRequests.put(key, requests);
+
+		fConnection.queueCommand(
+				fCommandFactory.createMIDataDisassemble(context, startAddress.toString(), endAddress.toString(), mode),
+				new DataRequestMonitor<MIDataDisassembleInfo>(getExecutor(), null) {
+					@Override
+					protected void handleCompleted() {
+						fPendingRequests.remove(key);
+						boolean prefetch = false;
+						if (isSuccess()) {
+							getCache(context, startAddress, endAddress).put(owner, mode, startAddress, endAddress,
+									getData());
+							for (DataRequestMonitor<MIDataDisassembleInfo> rm : requests) {
+								prefetch |= !(rm instanceof PrefetchRequestMonitor);
+							}
+						}
+						for (DataRequestMonitor<MIDataDisassembleInfo> rm : requests) {
+							rm.setData(getData());
+							rm.setStatus(getStatus());
+							rm.done();
+						}
+						if (prefetch && fSessionCache != null) {
+							prefetchNextRange(context, startAddress, endAddress, mode, getData());
+						}
+					}
+				});
+	}
+
+	/**
+	 * Fetches the range of the same size that follows the given one. Only done
+	 * when the size of the last instruction is known, since disassembling from
+	 * an address that is not the start of an instruction gives wrong results on
+	 * architectures with variable length instructions. For the same reason, the
+	 * range preceding the given one is not fetched.
+	 */
+	private void prefetchNextRange(IDisassemblyDMContext context, BigInteger startAddress, BigInteger endAddress,
+			int mode, MIDataDisassembleInfo info) {
+		// Mixed instructions are ordered by source line, not by address
+		IInstruction last = getLastInstruction(info.getMIAssemblyCode(), null);
+		for (IMixedInstruction mixed : info.getMIMixedCode()) {
+			last = getLastInstruction(mixed.getInstructions(), last);
+		}
+		if (!(last instanceof IInstructionWithSize) || ((IInstructionWithSize) last).getSize() == null) {
+			return;
+		}
+
+		BigInteger nextStart = last.getAdress().add(BigInteger.valueOf(((IInstructionWithSize) last).getSize()));
+		BigInteger nextEnd = nextStart.add(endAddress.subtract(startAddress));
+		if (nextStart.compareTo(endAddress) < 0 || getCache(context, nextStart, nextEnd)
+				.get(getCacheOwner(context, nextStart, nextEnd), mode, nextStart, nextEnd) != null) {
+			return;
+		}
+		fetchDisassembly(context, nextStart, nextEnd, mode, new PrefetchRequestMonitor());
+	}
+
+	private static IInstruction getLastInstruction(IInstruction[] instructions, IInstruction last) {
+		for (IInstruction instruction : instructions) {
+			if (instruction.getAdress() != null
+					&& (last == null || instruction.getAdress().compareTo(last.getAdress()) > 0)) {
+				last = instruction;
+			}
+		}
+		return last;
+	}
+
+	/**
+	 * Returns whether the given range is code of the program of the launch, whose
+	 * disassembly is shared with other sessions.
+	 */
+	private boolean isBinaryRange(IDisassemblyDMContext context, BigInteger startAddress, BigInteger endAddress) {
+		if (fBinaryCache == null) {
+			return false;
+		}
+		// Other inferiors may run other programs
+		IMIContainerDMContext containerDmc = DMContexts.getAncestorOfType(context, IMIContainerDMContext.class);
+		return containerDmc != null && GDBProcesses_7_2.INITIAL_THREAD_GROUP_ID.equals(containerDmc.getGroupId())
+				&& fBinary.containsRange(startAddress, endAddress);
+	}
+
+	private DisassemblyCache getCache(IDisassemblyDMContext context, BigInteger startAddress,
+			BigInteger endAddress) {
+		return isBinaryRange(context, startAddress, endAddress) ? fBinaryCache : fSessionCache;
+	}
+
+	private String getCacheOwner(IDisassemblyDMContext context, BigInteger startAddress, BigInteger endAddress) {
+		if (isBinaryRange(context, startAddress, endAddress)) {
+			return fBinaryOwner;
+		}
+		IMIContainerDMContext containerDmc = DMContexts.getAncestorOfType(context, IMIContainerDMContext.class);
+		return containerDmc != null ? containerDmc.getGroupId() : ""; //$NON-NLS-1$
+	}
+
+	/**
+	 * @nooverride This method is not intended to be re-implemented or extended by clients.
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 7.2
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(IExitedDMEvent e) {
+		if (e.getDMContext() instanceof IMIContainerDMContext) {
+			// Another program may be loaded at the same addresses
+			fSessionCache.clear(((IMIContainerDMContext) e.getDMContext()).getGroupId());
+		}
+	}
+
+	/**
+	 * @nooverride This method is not intended to be re-implemented or extended by clients.
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 7.2
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(IMemoryChangedEvent e) {
+		IMIContainerDMContext containerDmc = DMContexts.getAncestorOfType(e.getDMContext(),
+				IMIContainerDMContext.class);
+		String owner = containerDmc != null ? containerDmc.getGroupId() : ""; //$NON-NLS-1$
+		BigInteger min = null;
+		BigInteger max = null;
+		for (IAddress address : e.getAddresses()) {
+			min = min == null ? address.getValue() : min.min(address.getValue());
+			max = max == null ? address.getValue() : max.max(address.getValue());
+		}
+		if (min == null) {
+			return;
+		}
+		BigInteger end = max.add(BigInteger.ONE);
+		fSessionCache.remove(owner, min, end);
+		if (fBinaryCache != null) {
+			fBinaryCache.remove(fBinaryOwner, min, end);
+		}
+	}
+
+	/**
+	 * @nooverride This method is not intended to be re-implemented or extended by clients.
+	 * @noreference This method is not intended to be referenced by clients.
+	 * @since 7.2
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(ICommandControlRefreshAllDMEvent e) {
+		fSessionCache.clear();
+		if (fBinaryCache != null) {
+			fBinaryCache.clear(fBinaryOwner);
+		}
+	}
 }
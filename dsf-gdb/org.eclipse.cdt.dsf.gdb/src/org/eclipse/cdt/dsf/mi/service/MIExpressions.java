@@ -27,6 +27,7 @@ import java.util.Map;
 import java.util.Map.Entry;
 
 import org.eclipse.cdt.core.IAddress;
+import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateRequestMonitor;
@@ -39,11 +40,14 @@ import org.eclipse.cdt.dsf.debug.service.ICachingService;
 import org.eclipse.cdt.dsf.debug.service.IExpressions;
 import org.eclipse.cdt.dsf.debug.service.IExpressions2;
 import org.eclipse.cdt.dsf.debug.service.IExpressions3;
+import org.eclipse.cdt.dsf.debug.service.IExpressions4;
+import org.eclipse.cdt.dsf.debug.service.IExpressions5;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues;
 import org.eclipse.cdt.dsf.debug.service.IMemory.IMemoryChangedEvent;
 import org.eclipse.cdt.dsf.debug.service.IMemory.IMemoryDMContext;
 import org.eclipse.cdt.dsf.debug.service.IMemorySpaces;
 import org.eclipse.cdt.dsf.debug.service.IMemorySpaces.DecodeResult;
+import org.eclipse.cdt.dsf.debug.service.IRegisters.IRegisterChangedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IRegisters.IRegisterDMContext;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerSuspendedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.IExecutionDMContext;
@@ -55,7 +59,9 @@ import org.eclipse.cdt.dsf.debug.service.IStack.IFrameDMContext;
 import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
 import org.eclipse.cdt.dsf.gdb.GDBTypeParser.GDBType;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.gdb.service.IGDBMemory;
 import org.eclipse.cdt.dsf.gdb.service.IGDBTraceControl.ITraceRecordSelectedChangedDMEvent;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 import org.eclipse.cdt.dsf.mi.service.command.commands.ExprMetaGetAttributes;
@@ -72,6 +78,7 @@ import org.eclipse.cdt.dsf.mi.service.command.output.ExprMetaGetChildrenInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.ExprMetaGetValueInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.ExprMetaGetVarInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataEvaluateExpressionInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIDataReadMemoryBytesInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIFrame;
 import org.eclipse.cdt.dsf.service.AbstractDsfService;
 import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
@@ -82,6 +89,7 @@ import org.eclipse.cdt.utils.Addr64;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.model.MemoryByte;
 import org.osgi.framework.BundleContext;
 
 /**
@@ -92,10 +100,13 @@ import org.osgi.framework.BundleContext;
  *
  * @since 2.0
  */
-public class MIExpressions extends AbstractDsfService implements IMIExpressions, ICachingService {
+public class MIExpressions extends AbstractDsfService implements IMIExpressions, IExpressions5, ICachingService {
 
 	private static final int PARTITION_LENGTH = 100;
 
+	// Number of elements shown by the value summary of an array
+	private static final int ARRAY_SUMMARY_ELEMENTS = 10;
+
 	/**
 	 * A format that gives more details about an expression and supports pretty-printing
 	 * provided by the backend.
@@ -1010,8 +1021,8 @@ public class MIExpressions extends AbstractDsfService implements IMIExpressions,
 		// service to be used, while delegating calls to this service.
 		if (getServicesTracker().getService(IExpressions.class) == null) {
 			register(new String[] { IExpressions.class.getName(), IExpressions2.class.getName(),
-					IExpressions3.class.getName(), IMIExpressions.class.getName(), MIExpressions.class.getName() },
-					new Hashtable<String, String>());
+					IExpressions3.class.getName(), IExpressions4.class.getName(), IExpressions5.class.getName(),
+					IMIExpressions.class.getName(), MIExpressions.class.getName() }, new Hashtable<String, String>());
 		}
 
 		// Create the expressionService-specific CommandControl which is our
@@ -1312,6 +1323,169 @@ public class MIExpressions extends AbstractDsfService implements IMIExpressions,
 		}
 	}
 
+	/**
+	 * Returns a one line summary of the first elements of an array of a primitive
+	 * type, e.g. <code>{1, 2, 3, ...}</code>. The elements are read from memory in
+	 * one command and decoded here, which is much cheaper than creating variable
+	 * objects for them. Fails with {@link #NOT_SUPPORTED} if the expression is not
+	 * an array of integers, floating point numbers or booleans in memory.
+	 *
+	 * @since 7.2
+	 */
+	@Override
+	public void getArrayValueSummary(final IExpressionDMContext dmc, final DataRequestMonitor<String> rm) {
+		getExpressionData(dmc, new DataRequestMonitor<IExpressionDMData>(getExecutor(), rm) {
+			@Override
+			protected void handleSuccess() {
+				// Only one dimension arrays, e.g. "unsigned int [1000]"
+				String typeName = getData().getTypeName();
+				int bracket = typeName == null ? -1 : typeName.indexOf('[');
+				if (!IExpressionDMData.BasicType.array.equals(getData().getBasicType()) || bracket < 0
+						|| bracket != typeName.lastIndexOf('[') || !typeName.endsWith("]")) { //$NON-NLS-1$
+					notSupported(rm);
+					return;
+				}
+				final String elementType = typeName.substring(0, bracket).trim();
+				final int count;
+				try {
+					count = Integer.parseInt(typeName.substring(bracket + 1, typeName.length() - 1).trim());
+				} catch (NumberFormatException e) {
+					notSupported(rm);
+					return;
+				}
+				if (count <= 0 || !isSummaryElementType(elementType)) {
+					notSupported(rm);
+					return;
+				}
+
+				getExpressionAddressData(dmc, new DataRequestMonitor<IExpressionDMAddress>(getExecutor(), rm) {
+					@Override
+					protected void handleSuccess() {
+						IExpressionDMAddress address = getData();
+						if (address.getAddress() == IExpressions.IExpressionDMLocation.INVALID_ADDRESS
+								|| address.getSize() % count != 0) {
+							notSupported(rm);
+							return;
+						}
+						final int elementSize = address.getSize() / count;
+						final int summaryCount = Math.min(count, ARRAY_SUMMARY_ELEMENTS);
+						if (!isSummaryElementSize(elementType, elementSize)) {
+							notSupported(rm);
+							return;
+						}
+
+						IMemoryDMContext memoryDmc = DMContexts.getAncestorOfType(dmc, IMemoryDMContext.class);
+						IGDBMemory memoryService = getServicesTracker().getService(IGDBMemory.class);
+						final boolean bigEndian = memoryDmc != null && memoryService != null
+								&& memoryService.isBigEndian(memoryDmc);
+
+						fExpressionCache.execute(
+								fCommandFactory.createMIDataReadMemoryBytes(dmc, address.getAddress().toString(), 0,
+										summaryCount * elementSize),
+								new DataRequestMonitor<MIDataReadMemoryBytesInfo>(getExecutor(), rm) {
+									@Override
+									protected void handleSuccess() {
+										MemoryByte[] bytes = getData().getMIMemoryBlock();
+										StringBuilder summary = new StringBuilder("{"); //$NON-NLS-1$
+										for (int i = 0; i < summaryCount; i++) {
+											if (i > 0) {
+												summary.append(", "); //$NON-NLS-1$
+											}
+											String element = formatSummaryElement(elementType, bytes, i * elementSize,
+													elementSize, bigEndian);
+											if (element == null) {
+												notSupported(rm);
+												return;
+											}
+											summary.append(element);
+										}
+										if (summaryCount < count) {
+											summary.append(", ..."); //$NON-NLS-1$
+										}
+										rm.setData(summary.append('}').toString());
+										rm.done();
+									}
+								});
+					}
+				});
+			}
+		});
+	}
+
+	private static void notSupported(RequestMonitor rm) {
+		rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, NOT_SUPPORTED,
+				"No value summary for this expression", null)); //$NON-NLS-1$
+		rm.done();
+	}
+
+	private static boolean isFloatType(String type) {
+		return type.equals("float") || type.equals("double"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static boolean isSummaryElementType(String type) {
+		switch (type) {
+		case "bool": //$NON-NLS-1$
+		case "_Bool": //$NON-NLS-1$
+		case "float": //$NON-NLS-1$
+		case "double": //$NON-NLS-1$
+			return true;
+		default:
+			String integerType = type.startsWith("unsigned ") ? type.substring(9) //$NON-NLS-1$
+					: type.startsWith("signed ") ? type.substring(7) : type; //$NON-NLS-1$
+			switch (integerType) {
+			case "short": //$NON-NLS-1$
+			case "short int": //$NON-NLS-1$
+			case "int": //$NON-NLS-1$
+			case "long": //$NON-NLS-1$
+			case "long int": //$NON-NLS-1$
+			case "long long": //$NON-NLS-1$
+			case "long long int": //$NON-NLS-1$
+				return true;
+			default:
+				return false;
+			}
+		}
+	}
+
+	private static boolean isSummaryElementSize(String type, int size) {
+		if (isFloatType(type)) {
+			return size == 4 || size == 8;
+		}
+		return size == 1 || size == 2 || size == 4 || size == 8;
+	}
+
+	/**
+	 * Decodes an element of an array of a primitive type, returns null if the memory could not be read.
+	 */
+	private static String formatSummaryElement(String type, MemoryByte[] bytes, int offset, int size,
+			boolean bigEndian) {
+		if (offset + size > bytes.length) {
+			return null;
+		}
+		long bits = 0;
+		for (int i = 0; i < size; i++) {
+			MemoryByte b = bytes[bigEndian ? offset + i : offset + size - 1 - i];
+			if (!b.isReadable()) {
+				return null;
+			}
+			bits = (bits << 8) | (b.getValue() & 0xFF);
+		}
+
+		if (isFloatType(type)) {
+			return size == 4 ? Float.toString(Float.intBitsToFloat((int) bits))
+					: Double.toString(Double.longBitsToDouble(bits));
+		}
+		if (type.equals("bool") || type.equals("_Bool")) { //$NON-NLS-1$ //$NON-NLS-2$
+			return bits == 0 ? "false" : "true"; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		if (type.startsWith("unsigned ")) { //$NON-NLS-1$
+			return Long.toUnsignedString(bits);
+		}
+		// Sign extend
+		int shift = 64 - size * 8;
+		return Long.toString((bits << shift) >> shift);
+	}
+
 	/**
 	 * Obtains the value of an expression in a specific format.
 	 *
@@ -1381,6 +1555,49 @@ public class MIExpressions extends AbstractDsfService implements IMIExpressions,
 		}
 	}
 
+	/**
+	 * Obtains the values of many expressions in a specific format.  All the
+	 * evaluations are started at once, so that their MI commands are sent
+	 * back-to-back instead of waiting for each other's answer.
+	 *
+	 * @since 7.2
+	 */
+	@Override
+	public void getFormattedExpressionValues(final IExpressionDMContext[] exprDmcs, String formatId,
+			final IFormattedValuesListener listener, final DataRequestMonitor<FormattedValueDMData[]> rm) {
+		final long start = System.currentTimeMillis();
+		final FormattedValueDMData[] values = new FormattedValueDMData[exprDmcs.length];
+		final CountingRequestMonitor countingRm = new CountingRequestMonitor(getExecutor(), rm) {
+			@Override
+			protected void handleSuccess() {
+				if (GdbDebugOptions.DEBUG) {
+					GdbDebugOptions.trace(String.format("%s Evaluated %d expressions in %d ms\n", //$NON-NLS-1$
+							GdbPlugin.getDebugTime(), exprDmcs.length, System.currentTimeMillis() - start));
+				}
+				rm.done(values);
+			}
+		};
+		countingRm.setDoneCount(exprDmcs.length);
+
+		for (int i = 0; i < exprDmcs.length; i++) {
+			final int index = i;
+			getFormattedExpressionValue(getFormattedValueContext(exprDmcs[i], formatId),
+					new DataRequestMonitor<FormattedValueDMData>(getExecutor(), null) {
+						@Override
+						protected void handleCompleted() {
+							// An expression that cannot be evaluated does not fail the others
+							if (isSuccess()) {
+								values[index] = getData();
+							}
+							if (listener != null) {
+								listener.formattedValueReceived(index, values[index], getStatus());
+							}
+							countingRm.done();
+						}
+					});
+		}
+	}
+
 	/* Not implemented
 	 *
 	 * (non-Javadoc)
@@ -1708,6 +1925,18 @@ public class MIExpressions extends AbstractDsfService implements IMIExpressions,
 		// MIVariableManager separately traps this event
 	}
 
+	/**
+	 * A register was written.  Any expression may depend on it, starting with the
+	 * variables the compiler keeps in registers.
+	 *
+	 * @since 7.2
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(IRegisterChangedDMEvent e) {
+		fExpressionCache.reset();
+		// MIVariableManager separately traps this event
+	}
+
 	/** @since 3.0 */
 	@DsfServiceEventHandler
 	public void eventDispatched(ITraceRecordSelectedChangedDMEvent e) {
@@ -1903,9 +2132,18 @@ public class MIExpressions extends AbstractDsfService implements IMIExpressions,
 	void getRealSubExpressions(final IExpressionDMContext exprCtx, int startIndex, int length,
 			final DataRequestMonitor<IExpressionDMContext[]> rm) {
 
-		ExprMetaGetChildren getChildren = (startIndex < 0 || length < 0) ? new ExprMetaGetChildren(exprCtx)
-				: new ExprMetaGetChildren(exprCtx, startIndex + length);
-		final int startIndex1 = (startIndex < 0) ? 0 : startIndex;
+		// When a range is given, only the children of that window are retrieved and the
+		// result holds these children only.
+		final boolean windowed = startIndex >= 0 && length > 0;
+		ExprMetaGetChildren getChildren;
+		if (windowed) {
+			getChildren = new ExprMetaGetChildren(exprCtx, startIndex, length);
+		} else if (startIndex < 0 || length < 0) {
+			getChildren = new ExprMetaGetChildren(exprCtx);
+		} else {
+			getChildren = new ExprMetaGetChildren(exprCtx, startIndex + length);
+		}
+		final int startIndex1 = (windowed || startIndex < 0) ? 0 : startIndex;
 		final int length1 = (length < 0) ? Integer.MAX_VALUE : length;
 		fExpressionCache.execute(getChildren, new DataRequestMonitor<ExprMetaGetChildrenInfo>(getExecutor(), rm) {
 			@Override
@@ -21,12 +21,14 @@
  *******************************************************************************/
 package org.eclipse.cdt.dsf.mi.service;
 
+import java.math.BigInteger;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Hashtable;
-import java.util.LinkedList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.ListIterator;
 import java.util.Map;
 
 import org.eclipse.cdt.core.IAddress;
@@ -51,6 +53,10 @@ import org.eclipse.cdt.dsf.debug.service.IRunControl.ISuspendedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.StateChangeReason;
 import org.eclipse.cdt.dsf.debug.service.command.BufferedCommandControl;
 import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
+import org.eclipse.cdt.dsf.debug.service.command.ICommand;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControl;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.service.command.IGDBControl;
 import org.eclipse.cdt.dsf.mi.service.MIExpressions.ExpressionChangedEvent;
@@ -64,6 +70,7 @@ import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.cdt.utils.Addr64;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.debug.core.model.MemoryByte;
 import org.osgi.framework.BundleContext;
@@ -77,6 +84,11 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 	//data-read-memory write is deprecated, its description could be ambiguous for e.g. 16 bit addressable systems
 	private static final String DATA_WRITE_MEMORY_16_NOT_SUPPORTED = "data-write-memory with word-size != 1 not supported"; //$NON-NLS-1$
 
+	// Number of addressable units of a page of the memory cache
+	private static final int PAGE_SIZE = 256;
+	// Number of pages read ahead of a sequential read
+	private static final int READ_AHEAD_PAGES = 4;
+
 	public class MemoryChangedEvent extends AbstractDMEvent<IMemoryDMContext> implements IMemoryChangedEvent {
 		private IAddress[] fAddresses;
 
@@ -93,6 +105,7 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 
 	// Back-end commands cache
 	private CommandCache fCommandCache;
+	private ICommandControl fCommandControl;
 	private CommandFactory fCommandFactory;
 
 	// Map of memory caches
@@ -140,6 +153,7 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 		IGDBControl commandControl = getServicesTracker().getService(IGDBControl.class);
 		BufferedCommandControl bufferedCommandControl = new BufferedCommandControl(commandControl, getExecutor(), 2);
 
+		fCommandControl = commandControl;
 		fDataReadMemoryBytes = commandControl.getFeatures().contains(READ_MEMORY_BYTES_FEATURE);
 
 		fCommandFactory = getServicesTracker().getService(IMICommandControl.class).getCommandFactory();
@@ -319,8 +333,26 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 	 */
 	protected void readMemoryBlock(IDMContext dmc, IAddress address, final long offset, final int wordSize,
 			final int wordCount, final DataRequestMonitor<MemoryByte[]> drm) {
+		readMemoryBlock(dmc, address, offset, wordSize, wordCount, true, drm);
+	}
+
+	/**
+	 * Reads a memory block from the back end without keeping the result in the command
+	 * cache. Meant for large reads, e.g. bulk reads, that would only fill the cache.
+	 *
+	 * @param wordCount in addressable units
+	 *
+	 * @since 7.2
+	 */
+	protected void readMemoryBlockUncached(IDMContext dmc, IAddress address, long offset, int wordSize,
+			int wordCount, DataRequestMonitor<MemoryByte[]> drm) {
+		readMemoryBlock(dmc, address, offset, wordSize, wordCount, false, drm);
+	}
+
+	private void readMemoryBlock(IDMContext dmc, IAddress address, final long offset, final int wordSize,
+			final int wordCount, boolean useCache, final DataRequestMonitor<MemoryByte[]> drm) {
 		if (fDataReadMemoryBytes) {
-			fCommandCache.execute(
+			execute(useCache,
 					fCommandFactory.createMIDataReadMemoryBytes(dmc, address.toString(), offset, wordCount, wordSize),
 					new DataRequestMonitor<MIDataReadMemoryBytesInfo>(getExecutor(), drm) {
 						@Override
@@ -356,24 +388,32 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 			int nbCols = wordCount;
 			Character asChar = null;
 
-			fCommandCache
-					.execute(
-							fCommandFactory.createMIDataReadMemory(dmc, offset, address.toString(), mode, wordSize,
-									nbRows, nbCols, asChar),
-							new DataRequestMonitor<MIDataReadMemoryInfo>(getExecutor(), drm) {
-								@Override
-								protected void handleSuccess() {
-									// Retrieve the memory block
-									drm.setData(getData().getMIMemoryBlock());
-									drm.done();
-								}
+			execute(useCache,
+					fCommandFactory.createMIDataReadMemory(dmc, offset, address.toString(), mode, wordSize, nbRows,
+							nbCols, asChar),
+					new DataRequestMonitor<MIDataReadMemoryInfo>(getExecutor(), drm) {
+						@Override
+						protected void handleSuccess() {
+							// Retrieve the memory block
+							drm.setData(getData().getMIMemoryBlock());
+							drm.done();
+						}
 
-								@Override
-								protected void handleFailure() {
-									drm.setData(createInvalidBlock(wordSize * wordCount));
-									drm.done();
-								}
-							});
+						@Override
+						protected void handleFailure() {
+							drm.setData(createInvalidBlock(wordSize * wordCount));
+							drm.done();
+						}
+					});
+		}
+	}
+
+	private <V extends ICommandResult> void execute(boolean useCache, ICommand<V> command,
+			DataRequestMonitor<V> rm) {
+		if (useCache) {
+			fCommandCache.execute(command, rm);
+		} else {
+			fCommandControl.queueCommand(command, rm);
 		}
 	}
 
@@ -532,361 +572,247 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 	}
 
 	///////////////////////////////////////////////////////////////////////////
-	// SortedLinkedlist
+	// MIMemoryCache
 	///////////////////////////////////////////////////////////////////////////
 
-	// This class is really the equivalent of a C struct (old habits die hard...)
-	// For simplicity, everything is public.
-	private static class MemoryBlock {
-		public IAddress fAddress;
-		public long fLengthInAddressableUnits;
-		public long fLengthInOctets;
-		public MemoryByte[] fBlock;
-
-		public MemoryBlock(IAddress address, long lengthInOctets, long lengthInAddressableUnits, MemoryByte[] block) {
-			// A memory block is expected to be populated with the contents of a defined range of addresses
-			// therefore the number of octets shall be divisible by the number of addresses
-			assert (lengthInOctets % lengthInAddressableUnits == 0);
-			fAddress = address;
-			fLengthInAddressableUnits = lengthInAddressableUnits;
-			fLengthInOctets = lengthInOctets;
-			fBlock = block;
-		}
-	}
+	/**
+	 * Page-aligned memory cache of a memory context.
+	 *
+	 * Memory is cached in pages of a fixed number of addressable units, aligned on
+	 * multiples of the page size. A request is served from the cached pages and the
+	 * runs of missing pages are read from the back end, one command per run.
+	 * The pages are kept in least-recently-used order and the oldest pages are
+	 * discarded once the cache holds more than {@link IGdbDebugPreferenceConstants#PREF_MEMORY_CACHE_SIZE}
+	 * octets. When a read continues the previous one (e.g. the user scrolls a memory
+	 * view) and has to go to the back end anyway, the read is extended by a few
+	 * pages in the direction of the scroll.
+	 *
+	 * @since 4.2
+	 */
+	protected class MIMemoryCache {
+		// The cached pages by page index, least recently used first
+		private final LinkedHashMap<BigInteger, MemoryByte[]> fPages = new LinkedHashMap<>(16, 0.75f, true);
+		private final long fMaxOctets;
+		private long fCachedOctets;
 
-	// Address-ordered data structure to cache the memory blocks.
-	// Contiguous blocks are merged if possible.
-	@SuppressWarnings("serial")
-	private static class SortedMemoryBlockList extends LinkedList<MemoryBlock> {
+		// Octets per addressable unit of the cached pages
+		private int fWordSize = 1;
 
-		public SortedMemoryBlockList() {
-			super();
-		}
+		// Incremented on every reset, reads issued before a reset are not cached
+		private int fGeneration;
 
-		// Insert the block in the sorted linked list and merge contiguous
-		// blocks if necessary
-		@Override
-		public boolean add(MemoryBlock block) {
+		// Range of the last read, in addressable units, to detect sequential reads
+		private BigInteger fLastReadStart;
+		private BigInteger fLastReadEnd;
 
-			// If the list is empty, just store the block
-			if (isEmpty()) {
-				addFirst(block);
-				return true;
-			}
+		private long fPageHits;
+		private long fPageMisses;
+		private long fOctetsFetched;
 
-			// Insert the block at the correct location and then
-			// merge the blocks if possible
-			ListIterator<MemoryBlock> it = listIterator();
-			while (it.hasNext()) {
-				int index = it.nextIndex();
-				MemoryBlock item = it.next();
-				if (block.fAddress.compareTo(item.fAddress) < 0) {
-					add(index, block);
-					compact(index);
-					return true;
-				}
-			}
+		public MIMemoryCache() {
+			fMaxOctets = 1024L * Math.max(1,
+					Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+							IGdbDebugPreferenceConstants.PREF_MEMORY_CACHE_SIZE,
+							IGdbDebugPreferenceConstants.MEMORY_CACHE_SIZE_DEFAULT, null));
+		}
 
-			// Put at the end of the list and merge if necessary
-			addLast(block);
-			compact(size() - 1);
-			return true;
+		public void reset() {
+			// Clear the memory cache
+			fPages.clear();
+			fCachedOctets = 0;
+			fLastReadStart = null;
+			fLastReadEnd = null;
+			fGeneration++;
 		}
 
-		// Merge this block with its contiguous neighbors (if any)
-		// Note: Merge is not performed if resulting block size would exceed MAXINT
-		private void compact(int index) {
-
-			MemoryBlock newBlock = get(index);
-
-			// Case where the block is to be merged with the previous block
-			if (index > 0) {
-				MemoryBlock prevBlock = get(index - 1);
-				IAddress endOfPreviousBlock = prevBlock.fAddress.add(prevBlock.fLengthInAddressableUnits);
-				if (endOfPreviousBlock.distanceTo(newBlock.fAddress).longValue() == 0) {
-					long newLengthInOctets = prevBlock.fLengthInOctets + newBlock.fLengthInOctets;
-					long newLengthInAddressableUnits = prevBlock.fLengthInAddressableUnits
-							+ newBlock.fLengthInAddressableUnits;
-					if (newLengthInOctets <= Integer.MAX_VALUE) {
-						MemoryByte[] block = new MemoryByte[(int) newLengthInOctets];
-						System.arraycopy(prevBlock.fBlock, 0, block, 0, (int) prevBlock.fLengthInOctets);
-						System.arraycopy(newBlock.fBlock, 0, block, (int) prevBlock.fLengthInOctets,
-								(int) newBlock.fLengthInOctets);
-						newBlock = new MemoryBlock(prevBlock.fAddress, newLengthInOctets, newLengthInAddressableUnits,
-								block);
-						remove(index);
-						index -= 1;
-						set(index, newBlock);
-					}
-				}
-			}
+		/**
+		 * Returns the number of pages that were found in the cache.
+		 * @since 7.2
+		 */
+		public long getPageHits() {
+			return fPageHits;
+		}
 
-			// Case where the block is to be merged with the following block
-			int lastIndex = size() - 1;
-			if (index < lastIndex) {
-				MemoryBlock nextBlock = get(index + 1);
-				IAddress endOfNewBlock = newBlock.fAddress.add(newBlock.fLengthInAddressableUnits);
-				if (endOfNewBlock.distanceTo(nextBlock.fAddress).longValue() == 0) {
-					long newLength = newBlock.fLengthInOctets + nextBlock.fLengthInOctets;
-					long newAddressesLength = newBlock.fLengthInAddressableUnits + nextBlock.fLengthInAddressableUnits;
-					if (newLength <= Integer.MAX_VALUE) {
-						MemoryByte[] block = new MemoryByte[(int) newLength];
-						System.arraycopy(newBlock.fBlock, 0, block, 0, (int) newBlock.fLengthInOctets);
-						System.arraycopy(nextBlock.fBlock, 0, block, (int) newBlock.fLengthInOctets,
-								(int) nextBlock.fLengthInOctets);
-						newBlock = new MemoryBlock(newBlock.fAddress, newLength, newAddressesLength, block);
-						set(index, newBlock);
-						remove(index + 1);
-					}
-				}
-			}
+		/**
+		 * Returns the number of pages that had to be read from the back end.
+		 * @since 7.2
+		 */
+		public long getPageMisses() {
+			return fPageMisses;
 		}
-	}
 
-	///////////////////////////////////////////////////////////////////////////
-	// MIMemoryCache
-	///////////////////////////////////////////////////////////////////////////
+		/**
+		 * Returns the ratio of the requested pages found in the cache, 0 if nothing was requested yet.
+		 * @since 7.2
+		 */
+		public double getHitRatio() {
+			long total = fPageHits + fPageMisses;
+			return total == 0 ? 0 : (double) fPageHits / total;
+		}
 
-	/** @since 4.2 */
-	protected class MIMemoryCache {
-		// The memory cache data structure
-		private SortedMemoryBlockList fMemoryBlockList;
+		/**
+		 * Returns the number of octets read from the back end, read-ahead included.
+		 * @since 7.2
+		 */
+		public long getOctetsFetched() {
+			return fOctetsFetched;
+		}
 
-		public MIMemoryCache() {
-			// Create the memory block cache
-			fMemoryBlockList = new SortedMemoryBlockList();
+		private BigInteger pageOf(BigInteger address) {
+			return address.divide(BigInteger.valueOf(PAGE_SIZE));
 		}
 
-		public void reset() {
-			// Clear the memory cache
-			fMemoryBlockList.clear();
+		private BigInteger pageStart(BigInteger page) {
+			return page.multiply(BigInteger.valueOf(PAGE_SIZE));
+		}
+
+		private void setWordSize(int wordSize) {
+			if (wordSize != fWordSize) {
+				// Pages are sized in octets, they can't be reused with another addressable size
+				reset();
+				fWordSize = wordSize;
+			}
 		}
 
 		/**
-		 *  This function walks the address-sorted memory block list to identify
-		 *  the 'missing' blocks (i.e. the holes) that need to be fetched on the target.
-		 *
-		 *  The idea is fairly simple but an illustration could perhaps help.
-		 *  Assume the cache holds a number of cached memory blocks with gaps i.e.
-		 *  there is un-cached memory areas between blocks A, B and C:
-		 *
-		 *        +---------+      +---------+      +---------+
-		 *        +    A    +      +    B    +      +    C    +
-		 *        +---------+      +---------+      +---------+
-		 *        :         :      :         :      :         :
-		 *   [a]  :         :  [b] :         :  [c] :         :  [d]
-		 *        :         :      :         :      :         :
-		 *   [e---+--]      :  [f--+---------+--]   :         :
-		 *   [g---+---------+------+---------+------+---------+----]
-		 *        :         :      :         :      :         :
-		 *        :   [h]   :      :   [i----+--]   :         :
-		 *
-		 *
-		 *  We have the following cases to consider.The requested block [a-i] either:
-		 *
-		 *  [1] Fits entirely before A, in one of the gaps, or after C
-		 *      with no overlap and no contiguousness (e.g. [a], [b], [c] and [d])
-		 *      -> Add the requested block to the list of blocks to fetch
-		 *
-		 *  [2] Starts before an existing block but overlaps part of it, possibly
-		 *      spilling in the gap following the cached block (e.g. [e], [f] and [g])
-		 *      -> Determine the length of the missing part (< count)
-		 *      -> Add a request to fill the gap before the existing block
-		 *      -> Update the requested block for the next iteration:
-		 *         - Start address to point just after the end of the cached block
-		 *         - Count reduced by cached block length (possibly becoming negative, e.g. [e])
-		 *      At this point, the updated requested block starts just beyond the cached block
-		 *      for the next iteration.
-		 *
-		 *  [3] Starts at or into an existing block and overlaps part of it ([h] and [i])
-		 *      -> Update the requested block for the next iteration:
-		 *         - Start address to point just after the end of the cached block
-		 *         - Count reduced by length to end of cached block (possibly becoming negative, e.g. [h])
-		 *      At this point, the updated requested block starts just beyond the cached block
-		 *      for the next iteration.
-		 *
-		 *  We iterate over the cached blocks list until there is no entry left or until
-		 *  the remaining requested block count is <= 0, meaning the result list contains
-		 *  only the sub-blocks needed to fill the gap(s), if any.
-		 *
-		 *  (As is often the case, it takes much more typing to explain it than to just do it :-)
-		 *
-		 *  What is missing is a parameter that indicates the minimal block size that is worth fetching.
-		 *  This is target-specific and straight in the realm of the coalescing function...
-		 *
-		 * @param reqBlockStart The address of the requested block
-		 * @param count Its length
-		 * @return A list of the sub-blocks to fetch in order to fill enough gaps in the memory cache
-		 * to service the request
+		 * Copies the part of the source block that overlaps the destination block.
+		 * Both blocks are given by their content and their range of addresses,
+		 * the end address being excluded.
 		 */
-		private List<MemoryBlock> getListOfMissingBlocks(IAddress reqBlockStart, int wordCount, int wordSize) {
-			int octetCount = wordCount * wordSize;
-
-			LinkedList<MemoryBlock> list = new LinkedList<>();
-			ListIterator<MemoryBlock> it = fMemoryBlockList.listIterator();
-
-			// Look for holes in the list of memory blocks
-			while (it.hasNext() && octetCount > 0) {
-				MemoryBlock cachedBlock = it.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// Case where we miss a block before the cached block
-				if (reqBlockStart.distanceTo(cachedBlockStart).longValue() >= 0) {
-					int lengthInOctets = (int) Math
-							.min(reqBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize, octetCount);
-					// If both blocks start at the same location, no need to create a new cached block
-					if (lengthInOctets > 0) {
-						int lengthInAddressableUnits = lengthInOctets / wordSize;
-						MemoryBlock newBlock = new MemoryBlock(reqBlockStart, lengthInOctets, lengthInAddressableUnits,
-								new MemoryByte[0]);
-						list.add(newBlock);
-					}
-					// Adjust request block start and length for the next iteration
-					reqBlockStart = cachedBlockEnd;
-					octetCount -= lengthInOctets + cachedBlock.fLengthInOctets;
-				}
+		private void copyOverlap(MemoryByte[] src, BigInteger srcStart, BigInteger srcEnd, MemoryByte[] dst,
+				BigInteger dstStart, BigInteger dstEnd) {
+			BigInteger from = srcStart.max(dstStart);
+			BigInteger to = srcEnd.min(dstEnd);
+			if (from.compareTo(to) < 0) {
+				System.arraycopy(src, from.subtract(srcStart).intValue() * fWordSize, dst,
+						from.subtract(dstStart).intValue() * fWordSize, to.subtract(from).intValue() * fWordSize);
+			}
+		}
 
-				// Case where the requested block starts somewhere in the cached block
-				else if (cachedBlockStart.distanceTo(reqBlockStart).longValue() > 0
-						&& reqBlockStart.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					// Start of the requested block already in cache
-					// Adjust request block start and length for the next iteration
-					octetCount -= reqBlockStart.distanceTo(cachedBlockEnd).longValue() * wordSize;
-					reqBlockStart = cachedBlockEnd;
+		/**
+		 * Returns the block read from the back end with the expected length, padded
+		 * with invalid bytes if the back end returned less.
+		 */
+		private MemoryByte[] fit(MemoryByte[] block, int lengthInOctets) {
+			if (block.length == lengthInOctets) {
+				return block;
+			}
+			MemoryByte[] result = createInvalidBlock(lengthInOctets);
+			System.arraycopy(block, 0, result, 0, Math.min(block.length, lengthInOctets));
+			return result;
+		}
+
+		private boolean isInvalid(MemoryByte[] block) {
+			for (MemoryByte b : block) {
+				if (b.isReadable()) {
+					return false;
 				}
 			}
+			return true;
+		}
 
-			// Case where we miss a block at the end of the cache
-			if (octetCount > 0) {
-				int addressesLength = octetCount / wordSize;
-				MemoryBlock newBlock = new MemoryBlock(reqBlockStart, octetCount, addressesLength, new MemoryByte[0]);
-				list.add(newBlock);
+		private void addPages(BigInteger firstPage, MemoryByte[] block) {
+			int pageOctets = PAGE_SIZE * fWordSize;
+			BigInteger page = firstPage;
+			for (int pos = 0; pos + pageOctets <= block.length; pos += pageOctets) {
+				MemoryByte[] old = fPages.put(page, Arrays.copyOfRange(block, pos, pos + pageOctets));
+				if (old == null) {
+					fCachedOctets += pageOctets;
+				}
+				page = page.add(BigInteger.ONE);
 			}
 
-			return list;
+			// Evict the least recently used pages
+			Iterator<MemoryByte[]> it = fPages.values().iterator();
+			while (fCachedOctets > fMaxOctets && it.hasNext()) {
+				fCachedOctets -= it.next().length;
+				it.remove();
+			}
 		}
 
 		/**
-		 *  This function walks the address-sorted memory block list to get the
-		 *  cached memory bytes (possibly from multiple contiguous blocks).
-		 *  This function is called *after* the missing blocks have been read from
-		 *  the back end i.e. the requested memory is all cached.
-		 *
-		 *  Again, this is fairly simple. As we loop over the address-ordered list,
-		 *  There are really only 2 cases:
-		 *
-		 *  [1] The requested block fits entirely in the cached block ([a] or [b])
-		 *  [2] The requested block starts in a cached block and ends in the
-		 *      following (contiguous) one ([c]) in which case it is treated
-		 *      as 2 contiguous requests ([c'] and [c"])
+		 * Extends the runs of missing pages of a read that continues the previous
+		 * one by a few pages in the direction of the scroll.
 		 *
-		 *       +--------------+--------------+
-		 *       +       A      +      B       +
-		 *       +--------------+--------------+
-		 *       :  [a----]     :   [b-----]   :
-		 *       :              :              :
-		 *       :       [c-----+------]       :
-		 *       :       [c'---]+[c"---]       :
-		 *
-		 * @param reqBlockStart The address of the requested block
-		 * @param count Its length
-		 * @return The cached memory content
+		 * @param missingRuns the runs of missing pages, as [first, last + 1] page indexes
 		 */
-		private MemoryByte[] getMemoryBlockFromCache(IAddress reqBlockStart, int wordCount, int wordSize) {
-			int count = wordCount * wordSize;
-
-			IAddress reqBlockEnd = reqBlockStart.add(wordCount);
-			MemoryByte[] resultBlock = new MemoryByte[count];
-			ListIterator<MemoryBlock> iter = fMemoryBlockList.listIterator();
-
-			while (iter.hasNext()) {
-				MemoryBlock cachedBlock = iter.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// Case where the cached block overlaps completely the requested memory block
-				if (cachedBlockStart.distanceTo(reqBlockStart).longValue() >= 0
-						&& reqBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) cachedBlockStart.distanceTo(reqBlockStart).longValue() * wordSize;
-					System.arraycopy(cachedBlock.fBlock, pos, resultBlock, 0, count);
-				}
-
-				// Case where the beginning of the cached block is within the requested memory block
-				else if (reqBlockStart.distanceTo(cachedBlockStart).longValue() >= 0
-						&& cachedBlockStart.distanceTo(reqBlockEnd).longValue() > 0) {
-					int pos = (int) reqBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					int length = (int) Math.min(cachedBlock.fLengthInOctets, count - pos);
-					System.arraycopy(cachedBlock.fBlock, 0, resultBlock, pos, length);
+		private void readAhead(List<BigInteger[]> missingRuns, IAddress address, BigInteger start, BigInteger end) {
+			if (start.equals(fLastReadEnd)) {
+				// Scrolling down: extend the last run if it reaches the end of the request
+				BigInteger[] run = missingRuns.get(missingRuns.size() - 1);
+				if (run[1].equals(pageOf(end.subtract(BigInteger.ONE)).add(BigInteger.ONE))) {
+					BigInteger limit = pageOf(address.getMaxAddress().getValue()).add(BigInteger.ONE);
+					for (int i = 0; i < READ_AHEAD_PAGES && run[1].compareTo(limit) < 0
+							&& !fPages.containsKey(run[1]); i++) {
+						run[1] = run[1].add(BigInteger.ONE);
+					}
 				}
-
-				// Case where the end of the cached block is within the requested memory block
-				else if (cachedBlockStart.distanceTo(reqBlockStart).longValue() >= 0
-						&& reqBlockStart.distanceTo(cachedBlockEnd).longValue() > 0) {
-					int pos = (int) cachedBlockStart.distanceTo(reqBlockStart).longValue() * wordSize;
-					int length = (int) Math.min(cachedBlock.fLengthInOctets - pos, count);
-					System.arraycopy(cachedBlock.fBlock, pos, resultBlock, 0, length);
+			} else if (end.equals(fLastReadStart)) {
+				// Scrolling up: extend the first run if it reaches the start of the request
+				BigInteger[] run = missingRuns.get(0);
+				if (run[0].equals(pageOf(start))) {
+					for (int i = 0; i < READ_AHEAD_PAGES && run[0].signum() > 0
+							&& !fPages.containsKey(run[0].subtract(BigInteger.ONE)); i++) {
+						run[0] = run[0].subtract(BigInteger.ONE);
+					}
 				}
 			}
-			return resultBlock;
 		}
 
 		/**
-		 *  This function walks the address-sorted memory block list and updates
-		 *  the content with the actual memory just read from the target.
+		 * Updates the cached pages with the actual memory just read from the target.
+		 * Pages that are not cached are left alone.
 		 *
 		 * @param modBlockStart
 		 * @param wordCount - Number of addressable units
 		 * @param modBlock
 		 * @param wordSize - Number of octets per addressable unit
+		 * @return whether the value of any cached byte changed
 		 */
-		private void updateMemoryCache(IAddress modBlockStart, int wordCount, MemoryByte[] modBlock, int wordSize) {
-			IAddress modBlockEnd = modBlockStart.add(wordCount);
-			ListIterator<MemoryBlock> iter = fMemoryBlockList.listIterator();
-			int count = wordCount * wordSize;
-
-			while (iter.hasNext()) {
-				MemoryBlock cachedBlock = iter.next();
-				IAddress cachedBlockStart = cachedBlock.fAddress;
-				IAddress cachedBlockEnd = cachedBlock.fAddress.add(cachedBlock.fLengthInAddressableUnits);
-
-				// For now, we only bother to update bytes already cached.
-				// Note: In a better implementation (v1.1), we would augment
-				// the cache with the missing memory blocks since we went
-				// through the pains of reading them in the first place.
-				// (this is left as an exercise to the reader :-)
-
-				// Case where the modified block is completely included in the cached block
-				if (cachedBlockStart.distanceTo(modBlockStart).longValue() >= 0
-						&& modBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) cachedBlockStart.distanceTo(modBlockStart).longValue() * wordSize;
-					System.arraycopy(modBlock, 0, cachedBlock.fBlock, pos, count);
-				}
-
-				// Case where the cached block is completely included in the modified block
-				else if (modBlockStart.distanceTo(cachedBlockStart).longValue() >= 0
-						&& cachedBlockEnd.distanceTo(modBlockEnd).longValue() >= 0) {
-					int pos = (int) modBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					System.arraycopy(modBlock, pos, cachedBlock.fBlock, 0, (int) cachedBlock.fLengthInOctets);
-				}
-
-				// Case where the beginning of the modified block is within the cached block
-				else if (cachedBlockStart.distanceTo(modBlockStart).longValue() >= 0
-						&& modBlockStart.distanceTo(cachedBlockEnd).longValue() > 0) {
-					int pos = (int) cachedBlockStart.distanceTo(modBlockStart).longValue() * wordSize;
-					int length = (int) modBlockStart.distanceTo(cachedBlockEnd).longValue() * wordSize;
-					System.arraycopy(modBlock, 0, cachedBlock.fBlock, pos, length);
+		private boolean updateMemoryCache(IAddress modBlockStart, int wordCount, MemoryByte[] modBlock,
+				int wordSize) {
+			if (wordCount <= 0 || wordSize != fWordSize) {
+				return false;
+			}
+			boolean changed = false;
+			BigInteger start = modBlockStart.getValue();
+			BigInteger end = start.add(BigInteger.valueOf(wordCount));
+			BigInteger lastPage = pageOf(end.subtract(BigInteger.ONE));
+			for (BigInteger page = pageOf(start); page.compareTo(lastPage) <= 0; page = page.add(BigInteger.ONE)) {
+				MemoryByte[] bytes = fPages.get(page);
+				if (bytes != null) {
+					BigInteger pageStart = pageStart(page);
+					BigInteger from = start.max(pageStart);
+					BigInteger to = end.min(pageStart(page.add(BigInteger.ONE)));
+					int modPos = from.subtract(start).intValue() * wordSize;
+					int pagePos = from.subtract(pageStart).intValue() * wordSize;
+					int length = to.subtract(from).intValue() * wordSize;
+					for (int i = 0; i < length; i++) {
+						if (bytes[pagePos + i].getValue() != modBlock[modPos + i].getValue()) {
+							changed = true;
+						}
+						bytes[pagePos + i] = modBlock[modPos + i];
+					}
 				}
+			}
+			return changed;
+		}
 
-				// Case where the end of the modified block is within the cached block
-				else if (cachedBlockStart.distanceTo(modBlockEnd).longValue() > 0
-						&& modBlockEnd.distanceTo(cachedBlockEnd).longValue() >= 0) {
-					int pos = (int) modBlockStart.distanceTo(cachedBlockStart).longValue() * wordSize;
-					int length = (int) cachedBlockStart.distanceTo(modBlockEnd).longValue() * wordSize;
-					System.arraycopy(modBlock, pos, cachedBlock.fBlock, 0, length);
+		/**
+		 * Returns whether any part of the given memory area is cached.
+		 */
+		private boolean isCached(IAddress address, int wordCount, int wordSize) {
+			if (wordCount <= 0 || wordSize != fWordSize) {
+				return false;
+			}
+			BigInteger start = address.getValue();
+			BigInteger lastPage = pageOf(start.add(BigInteger.valueOf(wordCount - 1)));
+			for (BigInteger page = pageOf(start); page.compareTo(lastPage) <= 0; page = page.add(BigInteger.ONE)) {
+				if (fPages.containsKey(page)) {
+					return true;
 				}
 			}
-			return;
+			return false;
 		}
 
 		/**
@@ -896,38 +822,91 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 		 * @param wordCount the number of addressable units to read
 		 * @param drm		the asynchronous data request monitor
 		 */
-		public void getMemory(IMemoryDMContext memoryDMC, final IAddress address, final int wordSize,
+		public void getMemory(final IMemoryDMContext memoryDMC, final IAddress address, final int wordSize,
 				final int wordCount, final DataRequestMonitor<MemoryByte[]> drm) {
-			// Determine the number of read requests to issue
-			List<MemoryBlock> missingBlocks = getListOfMissingBlocks(address, wordCount, wordSize);
-			int numberOfRequests = missingBlocks.size();
+			setWordSize(wordSize);
+
+			final MemoryByte[] result = new MemoryByte[wordCount * wordSize];
+			final BigInteger start = address.getValue();
+			final BigInteger end = start.add(BigInteger.valueOf(wordCount));
+
+			// Copy the cached pages and collect the runs of missing pages
+			List<BigInteger[]> missingRuns = new ArrayList<>();
+			if (wordCount > 0) {
+				BigInteger lastPage = pageOf(end.subtract(BigInteger.ONE));
+				for (BigInteger page = pageOf(start); page.compareTo(lastPage) <= 0; page = page
+						.add(BigInteger.ONE)) {
+					MemoryByte[] bytes = fPages.get(page);
+					if (bytes != null) {
+						fPageHits++;
+						copyOverlap(bytes, pageStart(page), pageStart(page.add(BigInteger.ONE)), result, start, end);
+					} else {
+						fPageMisses++;
+						BigInteger[] run = missingRuns.isEmpty() ? null : missingRuns.get(missingRuns.size() - 1);
+						if (run != null && run[1].equals(page)) {
+							run[1] = page.add(BigInteger.ONE);
+						} else {
+							missingRuns.add(new BigInteger[] { page, page.add(BigInteger.ONE) });
+						}
+					}
+				}
+			}
+
+			if (!missingRuns.isEmpty()) {
+				readAhead(missingRuns, address, start, end);
+			}
+			fLastReadStart = start;
+			fLastReadEnd = end;
 
-			// A read request will be issued for each block needed
+			// A read request will be issued for each run of missing pages
 			// so we need to keep track of the count
 			final CountingRequestMonitor countingRM = new CountingRequestMonitor(getExecutor(), drm) {
 				@Override
 				protected void handleSuccess() {
-					// We received everything so read the result from the memory cache
-					drm.setData(getMemoryBlockFromCache(address, wordCount, wordSize));
+					drm.setData(result);
 					drm.done();
 				}
 			};
-			countingRM.setDoneCount(numberOfRequests);
-
-			// Issue the read requests
-			for (int i = 0; i < numberOfRequests; i++) {
-				MemoryBlock block = missingBlocks.get(i);
-				final IAddress startAddress = block.fAddress;
-				final int length = (int) block.fLengthInAddressableUnits;
-				readMemoryBlock(memoryDMC, startAddress, 0, wordSize, length,
-						new DataRequestMonitor<MemoryByte[]>(getSession().getExecutor(), drm) {
+			countingRM.setDoneCount(missingRuns.size());
+
+			final int generation = fGeneration;
+			for (BigInteger[] run : missingRuns) {
+				final BigInteger firstPage = run[0];
+				final BigInteger runStart = pageStart(run[0]);
+				final BigInteger runEnd = pageStart(run[1]);
+				final int length = runEnd.subtract(runStart).intValue();
+				readMemoryBlock(memoryDMC, address.add(runStart.subtract(start)), 0, wordSize, length,
+						new DataRequestMonitor<MemoryByte[]>(getExecutor(), countingRM) {
 							@Override
 							protected void handleSuccess() {
-								MemoryByte[] block = getData();
-								int lenghtInaddressableUnits = block.length / wordSize;
-								MemoryBlock memoryBlock = new MemoryBlock(startAddress, block.length,
-										lenghtInaddressableUnits, block);
-								fMemoryBlockList.add(memoryBlock);
+								MemoryByte[] block = fit(getData(), length * wordSize);
+								fOctetsFetched += block.length;
+
+								if (isInvalid(block) && (runStart.compareTo(start) < 0 || runEnd.compareTo(end) > 0)) {
+									// The pages may extend into memory that can't be read, read the requested
+									// part only, without caching it
+									final BigInteger from = runStart.max(start);
+									final BigInteger to = runEnd.min(end);
+									final int requestedLength = to.subtract(from).intValue();
+									readMemoryBlock(memoryDMC, address.add(from.subtract(start)), 0, wordSize,
+											requestedLength, new DataRequestMonitor<MemoryByte[]>(getExecutor(),
+													countingRM) {
+												@Override
+												protected void handleSuccess() {
+													MemoryByte[] requestedBlock = fit(getData(),
+															requestedLength * wordSize);
+													fOctetsFetched += requestedBlock.length;
+													copyOverlap(requestedBlock, from, to, result, start, end);
+													countingRM.done();
+												}
+											});
+									return;
+								}
+
+								copyOverlap(block, runStart, runEnd, result, start, end);
+								if (generation == fGeneration) {
+									addPages(firstPage, block);
+								}
 								countingRM.done();
 							}
 						});
@@ -953,12 +932,16 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 							// that the subsequent memory read will be correct)
 							fCommandCache.reset();
 
+							// Reads issued before the write may return the old memory, don't cache them
+							fGeneration++;
+
 							// Re-read the modified memory block to asynchronously update of the memory cache
 							readMemoryBlock(memoryDMC, address, offset, wordSize, wordCount,
 									new DataRequestMonitor<MemoryByte[]>(getExecutor(), rm) {
 										@Override
 										protected void handleSuccess() {
-											updateMemoryCache(address.add(offset), wordCount, getData(), wordSize);
+											updateMemoryCache(address.add(offset), wordCount,
+													fit(getData(), wordCount * wordSize), wordSize);
 											// Send the MemoryChangedEvent
 											IAddress[] addresses = new IAddress[wordCount];
 											for (int i = 0; i < wordCount; i++) {
@@ -986,14 +969,8 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 				final int wordSize, final int wordCount, final boolean sendMemoryEvent, final RequestMonitor rm) {
 			// Check if we already cache part of this memory area (which means it
 			// is used by a memory service client that will have to be updated)
-			List<MemoryBlock> list = getListOfMissingBlocks(address, wordCount, wordSize);
-			int sizeToRead = 0;
-			for (MemoryBlock block : list) {
-				sizeToRead += block.fLengthInAddressableUnits;
-			}
-
 			// If none of the requested memory is in cache, just get out
-			if (sizeToRead == wordCount) {
+			if (!isCached(address.add(offset), wordCount, wordSize)) {
 				rm.done();
 				return;
 			}
@@ -1004,26 +981,16 @@ public class MIMemory extends AbstractDsfService implements IMemory, ICachingSer
 					new DataRequestMonitor<MemoryByte[]>(getExecutor(), rm) {
 						@Override
 						protected void handleSuccess() {
-							MemoryByte[] oldBlock = getMemoryBlockFromCache(address, wordCount, wordSize);
-							MemoryByte[] newBlock = getData();
-							boolean blocksDiffer = false;
-							for (int i = 0; i < oldBlock.length; i++) {
-								if (oldBlock[i].getValue() != newBlock[i].getValue()) {
-									blocksDiffer = true;
-									break;
-								}
-							}
-							if (blocksDiffer) {
-								updateMemoryCache(address.add(offset), wordCount, newBlock, wordSize);
-								if (sendMemoryEvent) {
-									// Send the MemoryChangedEvent
-									final IAddress[] addresses = new IAddress[wordCount];
-									for (int i = 0; i < wordCount; i++) {
-										addresses[i] = address.add(offset + i);
-									}
-									getSession().dispatchEvent(new MemoryChangedEvent(memoryDMC, addresses),
-											getProperties());
+							boolean blocksDiffer = updateMemoryCache(address.add(offset), wordCount,
+									fit(getData(), wordCount * wordSize), wordSize);
+							if (blocksDiffer && sendMemoryEvent) {
+								// Send the MemoryChangedEvent
+								final IAddress[] addresses = new IAddress[wordCount];
+								for (int i = 0; i < wordCount; i++) {
+									addresses[i] = address.add(offset + i);
 								}
+								getSession().dispatchEvent(new MemoryChangedEvent(memoryDMC, addresses),
+										getProperties());
 							}
 							rm.done();
 						}
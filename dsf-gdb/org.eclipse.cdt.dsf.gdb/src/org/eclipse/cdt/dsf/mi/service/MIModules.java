@@ -15,7 +15,16 @@
 package org.eclipse.cdt.dsf.mi.service;
 
 import java.math.BigInteger;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.Hashtable;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
@@ -31,11 +40,18 @@ import org.eclipse.cdt.dsf.debug.service.IModules;
 import org.eclipse.cdt.dsf.debug.service.IModules2;
 import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
+import org.eclipse.cdt.dsf.debug.service.command.IEventListener;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
 import org.eclipse.cdt.dsf.mi.service.command.output.CLIInfoSharedLibraryInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.CLIInfoSharedLibraryInfo.DsfMISharedInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIConst;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MINotifyAsyncOutput;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOOBRecord;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIResult;
 import org.eclipse.cdt.dsf.service.AbstractDsfService;
 import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfSession;
@@ -44,9 +60,24 @@ import org.eclipse.core.runtime.Status;
 import org.osgi.framework.BundleContext;
 
 /**
- *
+ * Modules service based on the shared libraries reported by GDB.
+ * <p>
+ * The list of modules is fetched once and then kept up to date using the
+ * <code>=library-loaded</code> and <code>=library-unloaded</code>
+ * notifications, rather than asking GDB for the whole list again whenever a
+ * library is loaded. The addresses and symbol state of the modules are only
+ * fetched when needed, and for all modules at once. Views are told about the
+ * changes with a single {@link IModuleListChangedDMEvent} per burst of
+ * notifications.
  */
-public class MIModules extends AbstractDsfService implements IModules2, ICachingService {
+public class MIModules extends AbstractDsfService implements IModules2, ICachingService, IEventListener {
+
+	// Library notifications
+	private static final String LIBRARY_LOADED = "library-loaded"; //$NON-NLS-1$
+	private static final String LIBRARY_UNLOADED = "library-unloaded"; //$NON-NLS-1$
+
+	/** How long to wait for more library notifications before reporting the changes */
+	static final int MODULE_EVENT_DELAY = 100; // ms
 
 	private static class SymbolsLoadedEvent extends AbstractDMEvent<ISymbolDMContext> implements ISymbolsLoadedDMEvent {
 
@@ -63,10 +94,51 @@ public class MIModules extends AbstractDsfService implements IModules2, ICaching
 		}
 	}
 
+	private static class ModuleListChangedEvent extends AbstractDMEvent<ISymbolDMContext>
+			implements IModuleListChangedDMEvent {
+
+		private IModuleDMContext[] fLoaded;
+		private IModuleDMContext[] fUnloaded;
+
+		public ModuleListChangedEvent(ISymbolDMContext context, IModuleDMContext[] loaded,
+				IModuleDMContext[] unloaded) {
+			super(context);
+			fLoaded = loaded;
+			fUnloaded = unloaded;
+		}
+
+		@Override
+		public IModuleDMContext[] getLoadedModules() {
+			return fLoaded;
+		}
+
+		@Override
+		public IModuleDMContext[] getUnloadedModules() {
+			return fUnloaded;
+		}
+	}
+
+	private ICommandControlService fCommandControl;
 	private CommandCache fModulesCache;
 	private CommandCache fModulesLoadCache;
 	private CommandFactory fCommandFactory;
 
+	/**
+	 * The modules of each symbol context, in load order. The data of a module
+	 * is null until it is needed.
+	 */
+	private final Map<ISymbolDMContext, Map<String, ModuleDMData>> fModules = new HashMap<>();
+	/**
+	 * Incremented on every library notification, so that a list fetched from
+	 * GDB while libraries were being loaded is not kept.
+	 */
+	private int fModulesGeneration;
+
+	/** The changes not reported yet */
+	private final Set<String> fPendingLoaded = new LinkedHashSet<>();
+	private final Set<String> fPendingUnloaded = new LinkedHashSet<>();
+	private ScheduledFuture<?> fModuleEventFuture;
+
 	public MIModules(DsfSession session) {
 		super(session);
 	}
@@ -88,11 +160,12 @@ public class MIModules extends AbstractDsfService implements IModules2, ICaching
 
 	private void doInitialize(RequestMonitor requestMonitor) {
 		// Cache for holding Modules data
-		ICommandControlService commandControl = getServicesTracker().getService(ICommandControlService.class);
-		fModulesCache = new CommandCache(getSession(), commandControl);
-		fModulesCache.setContextAvailable(commandControl.getContext(), true);
-		fModulesLoadCache = new CommandCache(getSession(), commandControl);
-		fModulesLoadCache.setContextAvailable(commandControl.getContext(), true);
+		fCommandControl = getServicesTracker().getService(ICommandControlService.class);
+		fModulesCache = new CommandCache(getSession(), fCommandControl);
+		fModulesCache.setContextAvailable(fCommandControl.getContext(), true);
+		fModulesLoadCache = new CommandCache(getSession(), fCommandControl);
+		fModulesLoadCache.setContextAvailable(fCommandControl.getContext(), true);
+		fCommandControl.addEventListener(this);
 
 		fCommandFactory = getServicesTracker().getService(IMICommandControl.class).getCommandFactory();
 
@@ -107,6 +180,13 @@ public class MIModules extends AbstractDsfService implements IModules2, ICaching
 
 	@Override
 	public void shutdown(RequestMonitor requestMonitor) {
+		if (fCommandControl != null) {
+			fCommandControl.removeEventListener(this);
+		}
+		if (fModuleEventFuture != null) {
+			fModuleEventFuture.cancel(false);
+			fModuleEventFuture = null;
+		}
 		unregister();
 		super.shutdown(requestMonitor);
 	}
@@ -206,14 +286,17 @@ public class MIModules extends AbstractDsfService implements IModules2, ICaching
 	@Override
 	public void getModules(final ISymbolDMContext symCtx, final DataRequestMonitor<IModuleDMContext[]> rm) {
 		if (symCtx != null) {
-			fModulesCache.execute(fCommandFactory.createCLIInfoSharedLibrary(symCtx),
-					new DataRequestMonitor<CLIInfoSharedLibraryInfo>(getExecutor(), rm) {
-						@Override
-						protected void handleSuccess() {
-							rm.setData(makeModuleContexts(symCtx, getData()));
-							rm.done();
-						}
-					});
+			Map<String, ModuleDMData> modules = fModules.get(symCtx);
+			if (modules != null) {
+				rm.done(makeModuleContexts(symCtx, modules.keySet()));
+				return;
+			}
+			fetchModules(symCtx, new DataRequestMonitor<Map<String, ModuleDMData>>(getExecutor(), rm) {
+				@Override
+				protected void handleSuccess() {
+					rm.done(makeModuleContexts(symCtx, getData().keySet()));
+				}
+			});
 		} else {
 			rm.setData(new IModuleDMContext[] {
 					new ModuleDMContext(this, DMContexts.EMPTY_CONTEXTS_ARRAY, "example module 1"), //$NON-NLS-1$
@@ -222,13 +305,37 @@ public class MIModules extends AbstractDsfService implements IModules2, ICaching
 		}
 	}
 
-	private IModuleDMContext[] makeModuleContexts(IDMContext symCtxt, CLIInfoSharedLibraryInfo info) {
+	/**
+	 * Fetches the modules and their data from GDB, which replace those known
+	 * so far unless libraries were loaded or unloaded meanwhile.
+	 */
+	private void fetchModules(final ISymbolDMContext symCtx, final DataRequestMonitor<Map<String, ModuleDMData>> rm) {
+		final int generation = fModulesGeneration;
+		fModulesCache.execute(fCommandFactory.createCLIInfoSharedLibrary(symCtx),
+				new DataRequestMonitor<CLIInfoSharedLibraryInfo>(getExecutor(), rm) {
+					@Override
+					protected void handleSuccess() {
+						Map<String, ModuleDMData> modules = new LinkedHashMap<>();
+						for (DsfMISharedInfo shared : getData().getMIShared()) {
+							modules.put(shared.getName(), new ModuleDMData(shared.getName(), shared.getFrom(),
+									shared.getTo(), shared.isRead()));
+						}
+						if (generation == fModulesGeneration) {
+							fModules.put(symCtx, modules);
+						} else {
+							// The cache kept the outdated list when the command completed
+							fModulesCache.reset();
+						}
+						rm.done(modules);
+					}
+				});
+	}
 
-		DsfMISharedInfo[] sharedInfos = info.getMIShared();
-		ModuleDMContext[] modules = new ModuleDMContext[sharedInfos.length];
+	private IModuleDMContext[] makeModuleContexts(IDMContext symCtxt, Collection<String> files) {
+		ModuleDMContext[] modules = new ModuleDMContext[files.size()];
 		int i = 0;
-		for (DsfMISharedInfo shared : sharedInfos) {
-			modules[i++] = new ModuleDMContext(this, new IDMContext[] { symCtxt }, shared.getName());
+		for (String file : files) {
+			modules[i++] = new ModuleDMContext(this, new IDMContext[] { symCtxt }, file);
 		}
 		return modules;
 	}
@@ -238,14 +345,24 @@ public class MIModules extends AbstractDsfService implements IModules2, ICaching
 		assert dmc != null;
 		ISymbolDMContext symDmc = DMContexts.getAncestorOfType(dmc, ISymbolDMContext.class);
 		if (symDmc != null && dmc instanceof ModuleDMContext) {
-			fModulesCache.execute(fCommandFactory.createCLIInfoSharedLibrary(symDmc),
-					new DataRequestMonitor<CLIInfoSharedLibraryInfo>(getExecutor(), rm) {
-						@Override
-						protected void handleSuccess() {
-							rm.setData(createSharedLibInfo((ModuleDMContext) dmc, getData()));
-							rm.done();
-						}
-					});
+			final String file = ((ModuleDMContext) dmc).getFile();
+			Map<String, ModuleDMData> modules = fModules.get(symDmc);
+			if (modules != null && modules.get(file) != null) {
+				rm.done(modules.get(file));
+				return;
+			}
+			// The requests for the data of the other modules will be served
+			// by the same command.
+			fetchModules(symDmc, new DataRequestMonitor<Map<String, ModuleDMData>>(getExecutor(), rm) {
+				@Override
+				protected void handleSuccess() {
+					ModuleDMData data = getData().get(file);
+					if (data == null) {
+						data = new ModuleDMData("", "", "", false); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					}
+					rm.done(data);
+				}
+			});
 		} else {
 			rm.setStatus(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INVALID_HANDLE, "Unknown DM Context", null)); //$NON-NLS-1$
 			rm.done();
@@ -308,16 +425,6 @@ public class MIModules extends AbstractDsfService implements IModules2, ICaching
 		}
 	}
 
-	private IModuleDMData createSharedLibInfo(ModuleDMContext dmc, CLIInfoSharedLibraryInfo info) {
-		for (CLIInfoSharedLibraryInfo.DsfMISharedInfo shared : info.getMIShared()) {
-			if (shared.getName().equals(dmc.fFile)) {
-				return new ModuleDMData(shared.getName(), shared.getFrom(), shared.getTo(), shared.isRead());
-			}
-		}
-		return new ModuleDMData("", "", "", false); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
-
-	}
-
 	@Override
 	public void calcAddressInfo(ISymbolDMContext symCtx, String file, int line, int col,
 			DataRequestMonitor<AddressRange[]> rm) {
@@ -337,9 +444,109 @@ public class MIModules extends AbstractDsfService implements IModules2, ICaching
 	@DsfServiceEventHandler
 	public void eventDispatched(ISymbolsLoadedDMEvent e) {
 		fModulesCache.reset();
+		fModules.clear();
 		// Do not clear fModulesLoadCache since those commands do not need to be resent.
 	}
 
+	/**
+	 * @since 7.2
+	 */
+	@Override
+	public void eventReceived(Object output) {
+		if (!(output instanceof MIOutput)) {
+			return;
+		}
+		for (MIOOBRecord r : ((MIOutput) output).getMIOOBRecords()) {
+			if (r instanceof MINotifyAsyncOutput) {
+				MINotifyAsyncOutput notifyOutput = (MINotifyAsyncOutput) r;
+				String asyncClass = notifyOutput.getAsyncClass();
+				if (LIBRARY_LOADED.equals(asyncClass)) {
+					String file = getLibraryFile(notifyOutput);
+					if (file != null) {
+						libraryLoaded(file);
+					}
+				} else if (LIBRARY_UNLOADED.equals(asyncClass)) {
+					String file = getLibraryFile(notifyOutput);
+					if (file != null) {
+						libraryUnloaded(file);
+					}
+				}
+			}
+		}
+	}
+
+	private String getLibraryFile(MINotifyAsyncOutput notifyOutput) {
+		String id = null;
+		String targetName = null;
+		String hostName = null;
+		for (MIResult result : notifyOutput.getMIResults()) {
+			if (result.getMIValue() instanceof MIConst) {
+				String value = ((MIConst) result.getMIValue()).getString();
+				if ("host-name".equals(result.getVariable())) { //$NON-NLS-1$
+					hostName = value;
+				} else if ("target-name".equals(result.getVariable())) { //$NON-NLS-1$
+					targetName = value;
+				} else if ("id".equals(result.getVariable())) { //$NON-NLS-1$
+					id = value;
+				}
+			}
+		}
+		// "info sharedlibrary" shows the name of the library on the host, which differs
+		// from the name on the target when the library was found through the solib search path
+		if (hostName != null) {
+			return hostName;
+		}
+		return targetName != null ? targetName : id;
+	}
+
+	private void libraryLoaded(String file) {
+		fModulesGeneration++;
+		fModulesCache.reset();
+		for (Map<String, ModuleDMData> modules : fModules.values()) {
+			modules.put(file, null);
+		}
+		fPendingLoaded.add(file);
+		scheduleModuleEvent();
+	}
+
+	private void libraryUnloaded(String file) {
+		fModulesGeneration++;
+		fModulesCache.reset();
+		for (Map<String, ModuleDMData> modules : fModules.values()) {
+			modules.remove(file);
+		}
+		if (!fPendingLoaded.remove(file)) {
+			fPendingUnloaded.add(file);
+		}
+		scheduleModuleEvent();
+	}
+
+	private void scheduleModuleEvent() {
+		if (fModuleEventFuture == null) {
+			try {
+				fModuleEventFuture = getExecutor().schedule(this::dispatchModuleEvent, MODULE_EVENT_DELAY,
+						TimeUnit.MILLISECONDS);
+			} catch (RejectedExecutionException e) {
+				// Session is shut down
+			}
+		}
+	}
+
+	private void dispatchModuleEvent() {
+		fModuleEventFuture = null;
+		if (fCommandControl.getContext() instanceof ISymbolDMContext) {
+			ISymbolDMContext symCtx = (ISymbolDMContext) fCommandControl.getContext();
+			if (GdbDebugOptions.DEBUG) {
+				GdbDebugOptions.trace(String.format("%s %d modules loaded, %d unloaded\n", //$NON-NLS-1$
+						GdbPlugin.getDebugTime(), fPendingLoaded.size(), fPendingUnloaded.size()));
+			}
+			getSession().dispatchEvent(new ModuleListChangedEvent(symCtx, makeModuleContexts(symCtx, fPendingLoaded),
+					makeModuleContexts(symCtx, fPendingUnloaded)), getProperties());
+		}
+		fPendingLoaded.clear();
+		fPendingUnloaded.clear();
+	}
+
 	/**
 	 * {@inheritDoc}
 	 * @since 1.1
@@ -348,5 +555,6 @@ public class MIModules extends AbstractDsfService implements IModules2, ICaching
 	public void flushCache(IDMContext context) {
 		fModulesCache.reset();
 		fModulesLoadCache.reset();
+		fModules.clear();
 	}
 }
@@ -20,9 +20,11 @@ package org.eclipse.cdt.dsf.mi.service;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
@@ -44,8 +46,11 @@ import org.eclipse.cdt.dsf.debug.service.IStack.IFrameDMContext;
 import org.eclipse.cdt.dsf.debug.service.command.BufferedCommandControl;
 import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIDataListChangedRegistersInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataListRegisterNamesInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataListRegisterValuesInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIInfo;
@@ -54,6 +59,7 @@ import org.eclipse.cdt.dsf.service.AbstractDsfService;
 import org.eclipse.cdt.dsf.service.DsfServiceEventHandler;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.osgi.framework.BundleContext;
 
@@ -255,6 +261,63 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 
 	private CommandCache fRegisterNameCache; // Cache for holding the Register Names in the single Group
 	private CommandCache fRegisterValueCache; // Cache for holding the Register Values
+	private BufferedCommandControl fBufferedCommandControl;
+
+	/**
+	 * The values of the registers of the top frame of a thread, by register number
+	 * and format.
+	 */
+	@SuppressWarnings("serial")
+	private static class RegisterValues extends HashMap<Integer, Map<Integer, String>> {
+		public String get(int regNo, int format) {
+			Map<Integer, String> formats = get(regNo);
+			return formats == null ? null : formats.get(format);
+		}
+
+		public void put(int regNo, int format, String value) {
+			Map<Integer, String> formats = get(regNo);
+			if (formats == null) {
+				put(regNo, formats = new HashMap<>());
+			}
+			formats.put(format, value);
+		}
+	}
+
+	/**
+	 * Whether the register values of the top frame are kept across stops.
+	 * @see IGdbDebugPreferenceConstants#PREF_REGISTERS_DELTA_UPDATE
+	 */
+	private boolean fDeltaUpdate;
+
+	private final Map<IMIExecutionDMContext, RegisterValues> fRegisterValues = new HashMap<>();
+
+	/**
+	 * The threads that stopped since their register values were checked with
+	 * -data-list-changed-registers.
+	 */
+	private final Set<IMIExecutionDMContext> fStaleThreads = new HashSet<>();
+
+	/**
+	 * GDB reports the registers that changed since the previous -data-list-changed-registers,
+	 * whatever thread it was sent for. This is the thread it was last sent for.
+	 */
+	private IMIExecutionDMContext fChangedRegistersThread;
+
+	/**
+	 * The requests waiting for the -data-list-changed-registers sent for a thread.
+	 * The command is not cached: GDB must really receive it for its answer to
+	 * be relative to {@link #fChangedRegistersThread}.
+	 */
+	private final Map<IMIExecutionDMContext, List<RequestMonitor>> fChangedRegistersRequests = new HashMap<>();
+
+	/**
+	 * Incremented on every stop and resume, so that values read before are not kept.
+	 */
+	private int fGeneration;
+
+	// The register values read from GDB and taken from the kept values since the last stop
+	private int fValuesRead;
+	private int fValuesFromCache;
 
 	public MIRegisters(DsfSession session) {
 		super(session);
@@ -280,7 +343,7 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 		 * Create the lower level register cache.
 		 */
 		ICommandControlService commandControl = getServicesTracker().getService(ICommandControlService.class);
-		BufferedCommandControl bufferedCommandControl = new BufferedCommandControl(commandControl, getExecutor(), 2);
+		fBufferedCommandControl = new BufferedCommandControl(commandControl, getExecutor(), 2);
 
 		fCommandFactory = getServicesTracker().getService(IMICommandControl.class).getCommandFactory();
 
@@ -292,13 +355,17 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 		// To solve this, we use a bufferedCommandControl that will delay the command
 		// result by two scheduling of the executor.
 		// See bug 280461
-		fRegisterValueCache = new CommandCache(getSession(), bufferedCommandControl);
+		fRegisterValueCache = new CommandCache(getSession(), fBufferedCommandControl);
 		fRegisterValueCache.setContextAvailable(commandControl.getContext(), true);
 
 		// This cache is not affected by events so does not need the bufferedCommandControl
 		fRegisterNameCache = new CommandCache(getSession(), commandControl);
 		fRegisterNameCache.setContextAvailable(commandControl.getContext(), true);
 
+		fDeltaUpdate = Platform.getPreferencesService().getBoolean(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_REGISTERS_DELTA_UPDATE,
+				IGdbDebugPreferenceConstants.REGISTERS_DELTA_UPDATE_DEFAULT, null);
+
 		/*
 		 * Sign up so we see events. We use these events to decide how to manage
 		 * any local caches we are providing as well as the lower level register
@@ -455,8 +522,112 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 			NumberFormat = MIFormat.DECIMAL;
 		}
 
-		int[] regnos = { regDmc.getRegNo() };
-		fRegisterValueCache.execute(fCommandFactory.createMIDataListRegisterValues(frameDmc, NumberFormat, regnos),
+		IMIExecutionDMContext execDmc = DMContexts.getAncestorOfType(frameDmc, IMIExecutionDMContext.class);
+		if (fDeltaUpdate && execDmc != null && frameDmc.getLevel() == 0) {
+			getTopFrameRegisterValue(execDmc, frameDmc, regDmc.getRegNo(), NumberFormat, rm);
+		} else {
+			readRegisterValue(frameDmc, regDmc.getRegNo(), NumberFormat, rm);
+		}
+	}
+
+	/**
+	 * Returns the value of a register of the top frame of a thread. The values are kept
+	 * across stops; when the thread stopped, GDB is first asked which registers changed
+	 * and only those are read again.
+	 */
+	private void getTopFrameRegisterValue(final IMIExecutionDMContext execDmc, final IFrameDMContext frameDmc,
+			final int regNo, final int format, final DataRequestMonitor<FormattedValueDMData> rm) {
+		if (fStaleThreads.contains(execDmc) || !execDmc.equals(fChangedRegistersThread)) {
+			updateChangedRegisters(execDmc, frameDmc, new RequestMonitor(getExecutor(), rm) {
+				@Override
+				protected void handleCompleted() {
+					if (isSuccess()) {
+						getTopFrameRegisterValue(execDmc, frameDmc, regNo, format, rm);
+					} else {
+						readRegisterValue(frameDmc, regNo, format, rm);
+					}
+				}
+			});
+			return;
+		}
+
+		RegisterValues values = fRegisterValues.get(execDmc);
+		String value = values == null ? null : values.get(regNo, format);
+		if (value != null) {
+			fValuesFromCache++;
+			rm.done(new FormattedValueDMData(value));
+			return;
+		}
+
+		final int generation = fGeneration;
+		readRegisterValue(frameDmc, regNo, format, new DataRequestMonitor<FormattedValueDMData>(getExecutor(), rm) {
+			@Override
+			protected void handleSuccess() {
+				if (generation == fGeneration) {
+					RegisterValues threadValues = fRegisterValues.get(execDmc);
+					if (threadValues == null) {
+						fRegisterValues.put(execDmc, threadValues = new RegisterValues());
+					}
+					threadValues.put(regNo, format, getData().getFormattedValue());
+				}
+				rm.done(getData());
+			}
+		});
+	}
+
+	/**
+	 * Sends -data-list-changed-registers for a thread and drops the kept values
+	 * of the registers it reports. Requests made while the command is pending
+	 * wait for its answer.
+	 */
+	private void updateChangedRegisters(final IMIExecutionDMContext execDmc, IFrameDMContext frameDmc,
+			RequestMonitor rm) {
+		List<RequestMonitor> waiting = fChangedRegistersRequests.get(execDmc);
+		if (waiting != null) {
+			waiting.add(rm);
+			return;
+		}
+		waiting = new ArrayList<>();
+		waiting.add(rm);
+		fChangedRegistersRequests.put(execDmc, waiting);
+
+		final int generation = fGeneration;
+		fBufferedCommandControl.queueCommand(fCommandFactory.createMIDataListChangedRegisters(frameDmc),
+				new DataRequestMonitor<MIDataListChangedRegistersInfo>(getExecutor(), null) {
+					@Override
+					protected void handleCompleted() {
+						RegisterValues values = fRegisterValues.get(execDmc);
+						if (values != null) {
+							if (isSuccess() && execDmc.equals(fChangedRegistersThread)) {
+								for (int changed : getData().getRegisterNumbers()) {
+									values.remove(changed);
+								}
+							} else {
+								values.clear();
+							}
+						}
+						// The thread may have stopped again while the command was pending
+						if (generation == fGeneration) {
+							fStaleThreads.remove(execDmc);
+						}
+						fChangedRegistersThread = isSuccess() ? execDmc : null;
+
+						List<RequestMonitor> rms = fChangedRegistersRequests.remove(execDmc);
+						if (rms != null) {
+							for (RequestMonitor waitingRm : rms) {
+								waitingRm.setStatus(getStatus());
+								waitingRm.done();
+							}
+						}
+					}
+				});
+	}
+
+	private void readRegisterValue(IFrameDMContext frameDmc, int regNo, int format,
+			final DataRequestMonitor<FormattedValueDMData> rm) {
+		fValuesRead++;
+		int[] regnos = { regNo };
+		fRegisterValueCache.execute(fCommandFactory.createMIDataListRegisterValues(frameDmc, format, regnos),
 				new DataRequestMonitor<MIDataListRegisterValuesInfo>(getExecutor(), rm) {
 					@Override
 					protected void handleSuccess() {
@@ -589,6 +760,7 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 		if (e.getReason() != StateChangeReason.STEP) {
 			fRegisterValueCache.reset();
 		}
+		fGeneration++;
 	}
 
 	/**
@@ -599,6 +771,40 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 	public void eventDispatched(IRunControl.ISuspendedDMEvent e) {
 		fRegisterValueCache.setContextAvailable(e.getDMContext(), true);
 		fRegisterValueCache.reset();
+		fGeneration++;
+
+		if (fDeltaUpdate) {
+			IMIExecutionDMContext execDmc = DMContexts.getAncestorOfType(e.getDMContext(),
+					IMIExecutionDMContext.class);
+			if (execDmc != null) {
+				fStaleThreads.add(execDmc);
+			} else {
+				fStaleThreads.addAll(fRegisterValues.keySet());
+			}
+		}
+
+		if (GdbDebugOptions.DEBUG && fValuesRead + fValuesFromCache > 0) {
+			GdbDebugOptions.trace(String.format("%s Register values of the previous stop: %d read, %d kept\n", //$NON-NLS-1$
+					GdbPlugin.getDebugTime(), fValuesRead, fValuesFromCache));
+		}
+		fValuesRead = 0;
+		fValuesFromCache = 0;
+	}
+
+	/**
+	 * @nooverride This method is not intended to be re-implemented or extended by clients.
+	 * @noreference This method is not intended to be referenced by clients.
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(IRunControl.IExitedDMEvent e) {
+		IMIExecutionDMContext execDmc = DMContexts.getAncestorOfType(e.getDMContext(), IMIExecutionDMContext.class);
+		if (execDmc != null) {
+			fRegisterValues.remove(execDmc);
+			fStaleThreads.remove(execDmc);
+			if (execDmc.equals(fChangedRegistersThread)) {
+				fChangedRegistersThread = null;
+			}
+		}
 	}
 
 	/**
@@ -608,6 +814,27 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 	@DsfServiceEventHandler
 	public void eventDispatched(final IRegisters.IRegisterChangedDMEvent e) {
 		fRegisterValueCache.reset();
+		// Writing a register can change others
+		fRegisterValues.clear();
+	}
+
+	/**
+	 * Returns the number of register values read from GDB since the last stop.
+	 *
+	 * @since 7.2
+	 */
+	public int getRegisterValuesRead() {
+		return fValuesRead;
+	}
+
+	/**
+	 * Returns the number of register values of the top frame that were known from a
+	 * previous stop and did not have to be read again since the last stop.
+	 *
+	 * @since 7.2
+	 */
+	public int getRegisterValuesKept() {
+		return fValuesFromCache;
 	}
 
 	/**
@@ -870,5 +1097,7 @@ public class MIRegisters extends AbstractDsfService implements IRegisters, ICach
 	public void flushCache(IDMContext context) {
 		fRegisterNameCache.reset(context);
 		fRegisterValueCache.reset(context);
+		fRegisterValues.clear();
+		fChangedRegistersThread = null;
 	}
 }
@@ -23,6 +23,7 @@ import java.util.Hashtable;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 
 import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
@@ -46,6 +47,8 @@ import org.eclipse.cdt.dsf.debug.service.command.BufferedCommandControl;
 import org.eclipse.cdt.dsf.debug.service.command.CommandCache;
 import org.eclipse.cdt.dsf.debug.service.command.ICommand;
 import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
 import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.service.IGDBTraceControl.ITraceRecordSelectedChangedDMEvent;
 import org.eclipse.cdt.dsf.mi.service.command.CommandFactory;
@@ -64,6 +67,7 @@ import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.cdt.utils.Addr32;
 import org.eclipse.cdt.utils.Addr64;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 import org.osgi.framework.BundleContext;
 
@@ -196,6 +200,10 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 		// The actual depth we received
 		private int stackDepth = -1;
 		private final List<FrameData> frames = new ArrayList<>();
+		// True while the frames are being fetched page by page
+		private boolean retrieving;
+		// Requests for the stack depth waiting for the frames being fetched
+		private final List<DepthRequest> depthRequests = new ArrayList<>();
 
 		/**
 		 * Return currently cached stack depth if cache value if valid, otherwise return -1.
@@ -272,6 +280,34 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 			}
 			return null;
 		}
+
+		/**
+		 * Completes the depth requests that can be answered with the frames fetched so far,
+		 * or all of them if the fetching is over.
+		 */
+		public void completeDepthRequests() {
+			List<DepthRequest> completed = new ArrayList<>();
+			for (DepthRequest request : depthRequests) {
+				if (!retrieving || getStackDepth(request.maxDepth) > 0) {
+					completed.add(request);
+				}
+			}
+			depthRequests.removeAll(completed);
+			for (DepthRequest request : completed) {
+				int depth = getStackDepth(request.maxDepth);
+				request.rm.done(depth > 0 ? depth : getValidStackDepth());
+			}
+		}
+	}
+
+	private static class DepthRequest {
+		final int maxDepth;
+		final DataRequestMonitor<Integer> rm;
+
+		DepthRequest(int maxDepth, DataRequestMonitor<Integer> rm) {
+			this.maxDepth = maxDepth;
+			this.rm = rm;
+		}
 	}
 
 	/**
@@ -321,7 +357,10 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 		}
 
 		public FramesCacheInfo update(String threadId, MIStackListFramesInfo framesInfo) {
-			FramesCacheInfo info = getThreadFramesCache(threadId);
+			return update(getThreadFramesCache(threadId), framesInfo);
+		}
+
+		public FramesCacheInfo update(FramesCacheInfo info, MIStackListFramesInfo framesInfo) {
 			if (framesInfo != null) {
 				int len = framesInfo.getMIFrames().length;
 				for (int i = 0; i < len; i++) {
@@ -334,6 +373,36 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 
 	private FramesCache fFramesCache = new FramesCache();
 
+	/**
+	 * Number of frames fetched first when the frames of a thread are retrieved
+	 * incrementally, 0 if they are not.
+	 * @see IGdbDebugPreferenceConstants#PREF_STACK_INITIAL_FRAMES
+	 */
+	private int fInitialFrames;
+
+	/**
+	 * Number of frames fetched by each request after the initial frames.
+	 * @see IGdbDebugPreferenceConstants#PREF_STACK_FRAMES_PAGE_SIZE
+	 */
+	private int fFramesPageSize;
+
+	/**
+	 * The frames of the threads that were stepped, by thread id.  When a thread stops
+	 * again, the frames below the initial frames are re-used if the deepest initial frames
+	 * and the stack depth did not change.
+	 */
+	private Map<String, FramesCacheInfo> fPreviousFrames = new HashMap<>();
+
+	/**
+	 * The time at which each thread stopped, until its first frames are received.
+	 */
+	private Map<String, Long> fStopTimes = new HashMap<>();
+
+	/**
+	 * Time between the last stop and the reception of the first frames, in microseconds.
+	 */
+	private long fTimeToFirstFrame = -1;
+
 	private MIStoppedEvent fCachedStoppedEvent;
 	private IRunControl fRunControl;
 
@@ -469,6 +538,14 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 
 		fCommandFactory = getServicesTracker().getService(IMICommandControl.class).getCommandFactory();
 
+		fInitialFrames = Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+				IGdbDebugPreferenceConstants.PREF_STACK_INITIAL_FRAMES,
+				IGdbDebugPreferenceConstants.STACK_INITIAL_FRAMES_DEFAULT, null);
+		fFramesPageSize = Math.max(1,
+				Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+						IGdbDebugPreferenceConstants.PREF_STACK_FRAMES_PAGE_SIZE,
+						IGdbDebugPreferenceConstants.STACK_FRAMES_PAGE_SIZE_DEFAULT, null));
+
 		getSession().addServiceEventListener(this, null);
 		register(new String[] { IStack.class.getName(), MIStack.class.getName() }, new Hashtable<String, String>());
 		rm.done();
@@ -667,11 +744,36 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 			}
 		}
 
+		if (fInitialFrames > 0) {
+			// Only retrieve the page of frames that contains the requested frame.
+			int first = getFramesPageStart(frameLevel);
+			fMICommandCache.execute(createMIStackListFrames(execDmc, first, getFramesPageEnd(first)),
+					new DataRequestMonitor<MIStackListFramesInfo>(getExecutor(), rm) {
+						@Override
+						protected void handleSuccess() {
+							reportTimeToFirstFrame(threadId);
+							FrameData frameData = fFramesCache.update(threadId, getData()).getFrameData(frameLevel);
+							if (frameData == null) {
+								getSingleFrameData(execDmc, miFrameDmc, rm);
+							} else {
+								rm.done(frameData);
+							}
+						}
+
+						@Override
+						protected void handleError() {
+							getSingleFrameData(execDmc, miFrameDmc, rm);
+						}
+					});
+			return;
+		}
+
 		// If not, retrieve the full list of frame data.
 		fMICommandCache.execute(createMIStackListFrames(execDmc),
 				new DataRequestMonitor<MIStackListFramesInfo>(getExecutor(), rm) {
 					@Override
 					protected void handleSuccess() {
+						reportTimeToFirstFrame(threadId);
 						FramesCacheInfo info = fFramesCache.update(threadId, getData());
 						FrameData frameData = info.getFrameData(frameLevel);
 						if (frameData == null) {
@@ -688,24 +790,185 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 						// frames with no limits, but the same command succeeds if the request is limited
 						// to one frame. So try again with a limit of 1.
 						// It's better to show just one frame than none at all
-						fMICommandCache.execute(createMIStackListFrames(execDmc, frameLevel, frameLevel),
-								new DataRequestMonitor<MIStackListFramesInfo>(getExecutor(), rm) {
-									@Override
-									protected void handleSuccess() {
-										FrameData frameData = fFramesCache.update(threadId, getData())
-												.getFrameData(frameLevel);
-										if (frameData == null) {
-											rm.done(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INVALID_HANDLE,
-													"Invalid frame " + frameDmc, null)); //$NON-NLS-1$
-										} else {
-											rm.done(frameData);
-										}
-									}
-								});
+						getSingleFrameData(execDmc, miFrameDmc, rm);
+					}
+				});
+	}
+
+	private void getSingleFrameData(final IMIExecutionDMContext execDmc, final MIFrameDMC frameDmc,
+			final DataRequestMonitor<IFrameDMData> rm) {
+		final String threadId = execDmc.getThreadId();
+		final int frameLevel = frameDmc.fLevel;
+		fMICommandCache.execute(createMIStackListFrames(execDmc, frameLevel, frameLevel),
+				new DataRequestMonitor<MIStackListFramesInfo>(getExecutor(), rm) {
+					@Override
+					protected void handleSuccess() {
+						FrameData frameData = fFramesCache.update(threadId, getData()).getFrameData(frameLevel);
+						if (frameData == null) {
+							rm.done(new Status(IStatus.ERROR, GdbPlugin.PLUGIN_ID, INVALID_HANDLE,
+									"Invalid frame " + frameDmc, null)); //$NON-NLS-1$
+						} else {
+							rm.done(frameData);
+						}
+					}
+				});
+	}
+
+	private int getFramesPageStart(int level) {
+		if (level < fInitialFrames) {
+			return 0;
+		}
+		return level - (level - fInitialFrames) % fFramesPageSize;
+	}
+
+	private int getFramesPageEnd(int first) {
+		return first == 0 ? fInitialFrames - 1 : first + fFramesPageSize - 1;
+	}
+
+	/**
+	 * Retrieves the frames of a thread incrementally: the initial frames first, then the
+	 * others one page at a time, so that other commands can be processed in between.
+	 * The stack depth is deduced from the frames; when GDB returns less frames than
+	 * asked for, or an error, the last frame was reached.
+	 */
+	private void retrieveFrames(final IMIExecutionDMContext execDmc, final FramesCacheInfo info) {
+		if (info.retrieving || !info.limited) {
+			return;
+		}
+		info.retrieving = true;
+		retrieveFrames(execDmc, info, 0);
+	}
+
+	private void retrieveFrames(final IMIExecutionDMContext execDmc, final FramesCacheInfo info, final int first) {
+		final String threadId = execDmc.getThreadId();
+		final int last = getFramesPageEnd(first);
+		fMICommandCache.execute(createMIStackListFrames(execDmc, first, last),
+				new DataRequestMonitor<MIStackListFramesInfo>(getExecutor(), null) {
+					@Override
+					protected void handleCompleted() {
+						if (fFramesCache.get(threadId) != info
+								|| !fTraceVisualization && !fRunControl.isSuspended(execDmc)) {
+							// The thread was resumed or the cache flushed, stop here.
+							info.retrieving = false;
+							info.completeDepthRequests();
+							return;
+						}
+
+						int received = 0;
+						if (isSuccess()) {
+							fFramesCache.update(info, getData());
+							received = getData().getMIFrames().length;
+							if (first == 0) {
+								reportTimeToFirstFrame(threadId);
+								FramesCacheInfo previous = fPreviousFrames.remove(threadId);
+								if (hasSameInitialFrames(info, previous, received)) {
+									reusePreviousFrames(execDmc, info, previous, last + 1);
+									return;
+								}
+							}
+						}
+
+						if (received == last - first + 1) {
+							info.completeDepthRequests();
+							retrieveFrames(execDmc, info, last + 1);
+						} else {
+							info.setStackDepth(first + received, 0);
+							info.retrieving = false;
+							info.completeDepthRequests();
+						}
+					}
+				});
+	}
+
+	/**
+	 * Returns whether the deepest initial frames of a thread that was stepped are the same
+	 * as before the step. MI does not give the canonical frame address of a frame, so frames
+	 * are compared by address and function. In a recursion, frames of different levels look
+	 * the same, this is not enough to tell that the frames below did not change.
+	 */
+	private boolean hasSameInitialFrames(FramesCacheInfo info, FramesCacheInfo previous, int received) {
+		if (previous == null || previous.limited || received < fInitialFrames || previous.stackDepth <= received
+				|| previous.getFrameData(previous.stackDepth - 1) == null) {
+			return false;
+		}
+		for (int level = Math.max(0, received - 2); level < received; level++) {
+			if (!isSameFrame(info.getFrameData(level), previous.getFrameData(level))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean isSameFrame(FrameData frame, FrameData other) {
+		return frame != null && other != null
+				&& Objects.equals(frame.getMIFrame().getAddress(), other.getMIFrame().getAddress())
+				&& Objects.equals(frame.getFunction(), other.getFunction());
+	}
+
+	/**
+	 * Re-uses the frames a thread had before it was stepped, below its initial frames, if the
+	 * stack still has the same depth and the same outermost frame. Otherwise, e.g. after a
+	 * step into a recursive call, the frames are retrieved from the given level.
+	 */
+	private void reusePreviousFrames(final IMIExecutionDMContext execDmc, final FramesCacheInfo info,
+			final FramesCacheInfo previous, final int next) {
+		final String threadId = execDmc.getThreadId();
+		final int depth = previous.stackDepth;
+		// Ask for one frame more than the previous stack to check its depth
+		fMICommandCache.execute(createMIStackListFrames(execDmc, depth - 1, depth),
+				new DataRequestMonitor<MIStackListFramesInfo>(getExecutor(), null) {
+					@Override
+					protected void handleCompleted() {
+						if (fFramesCache.get(threadId) != info
+								|| !fTraceVisualization && !fRunControl.isSuspended(execDmc)) {
+							// The thread was resumed or the cache flushed, stop here.
+							info.retrieving = false;
+							info.completeDepthRequests();
+							return;
+						}
+
+						if (isSuccess() && getData().getMIFrames().length == 1
+								&& getData().getMIFrames()[0].getLevel() == depth - 1
+								&& isSameFrame(new FrameDataFromMIStackFrameListInfo(getData(), 0),
+										previous.getFrameData(depth - 1))) {
+							for (int i = next; i < depth; i++) {
+								FrameData previousData = previous.getFrameData(i);
+								if (previousData != null) {
+									info.updateFrameData(previousData);
+								}
+							}
+							info.setStackDepth(depth, 0);
+							info.retrieving = false;
+							info.completeDepthRequests();
+						} else {
+							info.completeDepthRequests();
+							retrieveFrames(execDmc, info, next);
+						}
 					}
 				});
 	}
 
+	private void reportTimeToFirstFrame(String threadId) {
+		Long stopTime = fStopTimes.remove(threadId);
+		if (stopTime != null) {
+			fTimeToFirstFrame = (System.nanoTime() - stopTime) / 1000;
+			if (GdbDebugOptions.DEBUG) {
+				GdbDebugOptions.trace(String.format("%s Time to first frame of thread %s: %dus\n", //$NON-NLS-1$
+						GdbPlugin.getDebugTime(), threadId, fTimeToFirstFrame));
+			}
+		}
+	}
+
+	/**
+	 * Returns the time, in microseconds, between the last stop of a thread and the
+	 * reception of its first frames from GDB, or -1 if no frames were received yet.
+	 *
+	 * @since 7.2
+	 */
+	public long getTimeToFirstFrame() {
+		return fTimeToFirstFrame;
+	}
+
 	@Override
 	public void getArguments(final IFrameDMContext frameDmc, final DataRequestMonitor<IVariableDMContext[]> rm) {
 		final IMIExecutionDMContext execDmc = DMContexts.getAncestorOfType(frameDmc, IMIExecutionDMContext.class);
@@ -1069,6 +1332,15 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 				return;
 			}
 
+			if (fInitialFrames > 0 && !fTraceVisualization) {
+				// Deduce the depth from the frames retrieved page by page, -stack-info-depth
+				// can take long with deep or corrupted stacks.
+				FramesCacheInfo info = fFramesCache.getThreadFramesCache(threadId);
+				info.depthRequests.add(new DepthRequest(maxDepth, rm));
+				retrieveFrames(execDmc, info);
+				return;
+			}
+
 			ICommand<MIStackInfoDepthInfo> depthCommand = null;
 			if (maxDepth > 0) {
 				depthCommand = fCommandFactory.createMIStackInfoDepth(execDmc, maxDepth);
@@ -1137,10 +1409,26 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 	@DsfServiceEventHandler
 	public void eventDispatched(IResumedDMEvent e) {
 		fMICommandCache.setContextAvailable(e.getDMContext(), false);
+		IMIExecutionDMContext execDmc = DMContexts.getAncestorOfType(e.getDMContext(), IMIExecutionDMContext.class);
 		if (e.getReason() != StateChangeReason.STEP) {
 			fCachedStoppedEvent = null;
 			fMICommandCache.reset();
 			fFramesCache.clear();
+			fPreviousFrames.clear();
+		} else if (fInitialFrames > 0) {
+			// Keep the frames of the stepped threads, most of them are still valid
+			// when the thread stops again.
+			if (execDmc == null) {
+				fPreviousFrames.putAll(fFramesCache);
+			} else if (fFramesCache.containsKey(execDmc.getThreadId())) {
+				fPreviousFrames.put(execDmc.getThreadId(), fFramesCache.get(execDmc.getThreadId()));
+			}
+		}
+
+		if (execDmc == null) {
+			fStopTimes.clear();
+		} else {
+			fStopTimes.remove(execDmc.getThreadId());
 		}
 
 		handleReturnValues(e);
@@ -1178,6 +1466,25 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 		fMICommandCache.reset();
 		fFramesCache.clear();
 
+		IExecutionDMContext[] stoppedThreads;
+		if (e instanceof IContainerSuspendedDMEvent) {
+			stoppedThreads = ((IContainerSuspendedDMEvent) e).getTriggeringContexts();
+		} else {
+			stoppedThreads = new IExecutionDMContext[] { e.getDMContext() };
+		}
+		long stopTime = System.nanoTime();
+		for (IExecutionDMContext thread : stoppedThreads) {
+			if (thread instanceof IMIExecutionDMContext) {
+				IMIExecutionDMContext execDmc = (IMIExecutionDMContext) thread;
+				fStopTimes.put(execDmc.getThreadId(), stopTime);
+				if (fInitialFrames > 0) {
+					// Start retrieving the frames of the threads that stopped, the views
+					// will ask for them anyway.
+					retrieveFrames(execDmc, fFramesCache.getThreadFramesCache(execDmc.getThreadId()));
+				}
+			}
+		}
+
 		handleReturnValues(e);
 	}
 
@@ -1252,6 +1559,7 @@ public class MIStack extends AbstractDsfService implements IStack, ICachingServi
 	public void flushCache(IDMContext context) {
 		fMICommandCache.reset(context);
 		fFramesCache.clear(context);
+		fPreviousFrames.clear();
 		fCachedStoppedEvent = null;
 	}
 
@@ -26,6 +26,7 @@ package org.eclipse.cdt.dsf.mi.service;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
@@ -46,6 +47,7 @@ import org.eclipse.cdt.dsf.debug.service.IFormattedValues;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues.FormattedValueDMContext;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues.FormattedValueDMData;
 import org.eclipse.cdt.dsf.debug.service.IMemory.IMemoryChangedEvent;
+import org.eclipse.cdt.dsf.debug.service.IRegisters.IRegisterChangedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IRunControl;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.IExecutionDMContext;
 import org.eclipse.cdt.dsf.debug.service.IStack;
@@ -385,6 +387,8 @@ public class MIVariableManager implements ICommandControl {
 		private ExpressionInfo[] fChildren = null;
 		// we need to keep track of fake children because they are in the LRU and need to be removed in some cases.
 		private List<ExpressionInfo> fFakeChildren = new ArrayList<>(3);
+		// The children created for windows (see getChildrenWindow()) by index, least recently used first
+		private final LinkedHashMap<Integer, ExpressionInfo> fWindowChildren = new LinkedHashMap<>(16, 0.75f, true);
 		private boolean fHasMore = false;
 		private MIDisplayHint fDisplayHint = MIDisplayHint.NONE;
 
@@ -718,6 +722,10 @@ public class MIVariableManager implements ICommandControl {
 		 * @since 4.0
 		 */
 		protected void addChildren(ExpressionInfo[][] newChildren) {
+			addChildren(flatten(newChildren));
+		}
+
+		private ExpressionInfo[] flatten(ExpressionInfo[][] newChildren) {
 			int requiredSize = 0;
 
 			for (ExpressionInfo[] subArray : newChildren) {
@@ -732,7 +740,7 @@ public class MIVariableManager implements ICommandControl {
 				i += subArray.length;
 			}
 
-			addChildren(plainChildren);
+			return plainChildren;
 		}
 
 		/**
@@ -797,6 +805,10 @@ public class MIVariableManager implements ICommandControl {
 				cleanupChild(fakeChild);
 			}
 			fFakeChildren.clear();
+			for (ExpressionInfo windowChild : fWindowChildren.values()) {
+				cleanupChild(windowChild);
+			}
+			fWindowChildren.clear();
 		}
 
 		public void setParent(MIVariableObject p) {
@@ -1347,6 +1359,123 @@ public class MIVariableManager implements ICommandControl {
 			}
 		}
 
+		/**
+		 * Returns the children of this variable object in the window
+		 * [startIndex, startIndex + length), e.g. the children visible in a view.
+		 *
+		 * For arrays and dynamic collections only the children of the window are
+		 * created. They are not stored as the children of this variable object, and
+		 * the least recently used ones are discarded once this variable object has
+		 * more than {@link MIVariableManager#MAX_WINDOW_CHILDREN} of them. The
+		 * children of other variable objects are fetched as usual, since children
+		 * like public/private/protected don't map to indexes.
+		 */
+		private void getChildrenWindow(final IExpressionDMContext exprDmc, final int startIndex, final int length,
+				final DataRequestMonitor<ChildrenInfo> rm) {
+			// If we already know the children, no need to go to the back-end
+			if (fChildren != null && (fChildren.length >= startIndex + length || !fHasMore)) {
+				rm.setData(new ChildrenInfo(window(fChildren, startIndex, length), fHasMore));
+				rm.done();
+				return;
+			}
+
+			// Children of arrays are created by us, only create the ones of the window
+			if (isArray()) {
+				int end = Math.min(startIndex + length, getNumChildrenHint());
+				ExpressionInfo[] children = new ExpressionInfo[Math.max(0, end - startIndex)];
+				for (int i = 0; i < children.length; i++) {
+					children[i] = addWindowChild(startIndex + i, createArrayChild(exprDmc, startIndex + i));
+				}
+				rm.setData(new ChildrenInfo(children, false));
+				rm.done();
+				return;
+			}
+
+			if (isSafeToAskForAllChildren()) {
+				getChildren(exprDmc, startIndex + length,
+						new DataRequestMonitor<ChildrenInfo>(fSession.getExecutor(), rm) {
+							@Override
+							protected void handleSuccess() {
+								rm.setData(new ChildrenInfo(window(getData().getChildren(), startIndex, length),
+										getData().hasMore()));
+								rm.done();
+							}
+						});
+				return;
+			}
+
+			// Dynamic collection, e.g. an STL container: only list the children of the window
+			listChildren(exprDmc, startIndex, startIndex + length,
+					new DataRequestMonitor<ChildrenInfo>(fSession.getExecutor(), rm) {
+						@Override
+						protected void handleSuccess() {
+							ExpressionInfo[] children = getData().getChildren();
+							for (int i = 0; i < children.length; i++) {
+								children[i] = addWindowChild(startIndex + i, children[i]);
+							}
+							rm.setData(new ChildrenInfo(children, getData().hasMore()));
+
+							// Make sure the window is updated by -var-update, see fetchChildren()
+							int updateLimit = updateLimit(startIndex + length);
+							fCommandControl.queueCommand(
+									fCommandFactory.createMIVarSetUpdateRange(getRootToUpdate().getControlDMContext(),
+											getGdbName(), 0, updateLimit),
+									new DataRequestMonitor<MIInfo>(fSession.getExecutor(), rm));
+						}
+					});
+		}
+
+		private ExpressionInfo[] window(ExpressionInfo[] children, int startIndex, int length) {
+			int end = Math.min(startIndex + length, children.length);
+			return startIndex >= end ? new ExpressionInfo[0] : Arrays.copyOfRange(children, startIndex, end);
+		}
+
+		/**
+		 * Remembers a child created for a window and discards the least recently
+		 * used window children beyond the limit.
+		 *
+		 * @return The child to use for the given index
+		 */
+		private ExpressionInfo addWindowChild(int index, ExpressionInfo child) {
+			ExpressionInfo known = fWindowChildren.get(index);
+			if (known != null && known.getFullExpr().equals(child.getFullExpr())) {
+				return known;
+			}
+			fWindowChildren.put(index, child);
+
+			Iterator<ExpressionInfo> it = fWindowChildren.values().iterator();
+			while (fWindowChildren.size() > MAX_WINDOW_CHILDREN && it.hasNext()) {
+				ExpressionInfo eldest = it.next();
+				it.remove();
+				cleanupChild(eldest);
+			}
+			return child;
+		}
+
+		private ExpressionInfo createArrayChild(IExpressionDMContext exprDmc, int index) {
+			int castingIndex = 0;
+			// in case of casts, need to resolve that before dereferencing, to be safe
+			if (exprDmc instanceof ICastedExpressionDMContext) {
+				castingIndex = ((ICastedExpressionDMContext) exprDmc).getCastInfo().getArrayStartIndex();
+			}
+			if (exprDmc instanceof IIndexedPartitionDMContext) {
+				castingIndex = ((IIndexedPartitionDMContext) exprDmc).getIndex();
+			}
+
+			String fullExpr = exprDmc.getExpression() + "[" + index + "]";//$NON-NLS-1$//$NON-NLS-2$
+
+			String relExpr;
+			if (exprDmc instanceof MIExpressionDMC) {
+				relExpr = ((MIExpressionDMC) exprDmc).getRelativeExpression();
+			} else {
+				// Unexpected, but avoid exception
+				relExpr = exprDmc.getExpression();
+			}
+			relExpr = relExpr + "[" + (castingIndex + index) + "]";//$NON-NLS-1$//$NON-NLS-2$
+
+			return new ExpressionInfo(fullExpr, relExpr, false, fExprInfo, index);
+		}
+
 		/**
 		 * Fetch the out-standing children.
 		 *
@@ -1392,29 +1521,8 @@ public class MIVariableManager implements ICommandControl {
 			// immediately, that is why we don't want to use it for arrays.
 			if (isArray()) {
 				ExpressionInfo[] childrenOfArray = new ExpressionInfo[getNumChildrenHint()];
-				String exprName = exprDmc.getExpression();
-
-				int castingIndex = 0;
-				// in case of casts, need to resolve that before dereferencing, to be safe
-				if (exprDmc instanceof ICastedExpressionDMContext) {
-					castingIndex = ((ICastedExpressionDMContext) exprDmc).getCastInfo().getArrayStartIndex();
-				}
-				if (exprDmc instanceof IIndexedPartitionDMContext) {
-					castingIndex = ((IIndexedPartitionDMContext) exprDmc).getIndex();
-				}
 				for (int i = 0; i < childrenOfArray.length; i++) {
-					String fullExpr = exprName + "[" + i + "]";//$NON-NLS-1$//$NON-NLS-2$
-
-					String relExpr;
-					if (exprDmc instanceof MIExpressionDMC) {
-						relExpr = ((MIExpressionDMC) exprDmc).getRelativeExpression();
-					} else {
-						// Unexpected, but avoid exception
-						relExpr = exprDmc.getExpression();
-					}
-					relExpr = relExpr + "[" + (castingIndex + i) + "]";//$NON-NLS-1$//$NON-NLS-2$
-
-					childrenOfArray[i] = new ExpressionInfo(fullExpr, relExpr, false, fExprInfo, i);
+					childrenOfArray[i] = createArrayChild(exprDmc, i);
 				}
 
 				// First store these children, for the next time
@@ -1433,7 +1541,42 @@ public class MIVariableManager implements ICommandControl {
 			final int from = (addChildren && (fChildren != null)) ? getNumChildrenHint() : 0;
 			final int to = Math.max(newNumChildrenLimit, fExprInfo.getChildCountLimit());
 
-			ICommand<MIVarListChildrenInfo> varListChildren = isSafeToAskForAllChildren()
+			listChildren(exprDmc, from, isSafeToAskForAllChildren() ? -1 : to,
+					new DataRequestMonitor<ChildrenInfo>(fSession.getExecutor(), rm) {
+						@Override
+						protected void handleSuccess() {
+							// Store the children in our variable object cache
+							addChildren(getData().getChildren());
+							fHasMore = getData().hasMore();
+							rm.setData(new ChildrenInfo(getChildren(), fHasMore));
+
+							int updateLimit = updateLimit(to);
+
+							if (!isSafeToAskForAllChildren()) {
+								// Make sure the gdb will not hang, if later
+								// the varobj is updated, but the underlying
+								// data is still uninitialized.
+								fCommandControl.queueCommand(fCommandFactory.createMIVarSetUpdateRange(
+										getRootToUpdate().getControlDMContext(), getGdbName(), 0, updateLimit),
+										new DataRequestMonitor<MIInfo>(fSession.getExecutor(), rm));
+							} else {
+								rm.done();
+							}
+						}
+					});
+		}
+
+		/**
+		 * Lists the children of this variable object in GDB, creating a variable object
+		 * for each of them, and returns them without storing them as the children of
+		 * this variable object.
+		 *
+		 * @param from index of the first child to list
+		 * @param to index after the last child to list, -1 to list all children
+		 */
+		private void listChildren(final IExpressionDMContext exprDmc, final int from, int to,
+				final DataRequestMonitor<ChildrenInfo> rm) {
+			ICommand<MIVarListChildrenInfo> varListChildren = to < 0
 					? fCommandFactory.createMIVarListChildren(getRootToUpdate().getControlDMContext(), getGdbName())
 					: fCommandFactory.createMIVarListChildren(getRootToUpdate().getControlDMContext(), getGdbName(),
 							from, to);
@@ -1456,23 +1599,8 @@ public class MIVariableManager implements ICommandControl {
 									rm) {
 								@Override
 								protected void handleSuccess() {
-									// Store the children in our variable object cache
-									addChildren(realChildren);
-									fHasMore = localHasMore;
-									rm.setData(new ChildrenInfo(getChildren(), fHasMore));
-
-									int updateLimit = updateLimit(to);
-
-									if (!isSafeToAskForAllChildren()) {
-										// Make sure the gdb will not hang, if later
-										// the varobj is updated, but the underlying
-										// data is still uninitialized.
-										fCommandControl.queueCommand(fCommandFactory.createMIVarSetUpdateRange(
-												getRootToUpdate().getControlDMContext(), getGdbName(), 0, updateLimit),
-												new DataRequestMonitor<MIInfo>(fSession.getExecutor(), rm));
-									} else {
-										rm.done();
-									}
+									rm.setData(new ChildrenInfo(flatten(realChildren), localHasMore));
+									rm.done();
 								}
 							};
 
@@ -2639,6 +2767,12 @@ public class MIVariableManager implements ICommandControl {
 	/** Our least recently used cache */
 	private final LRUVariableCache lruVariableList;
 
+	/**
+	 * Maximum number of children a variable object keeps for windows of its children,
+	 * a few screens of children of the variables view.
+	 */
+	private static final int MAX_WINDOW_CHILDREN = 300;
+
 	/** The list of root variable objects that have been updated */
 	private final LinkedList<MIRootVariableObject> updatedRootList = new LinkedList<>();
 
@@ -3043,15 +3177,22 @@ public class MIVariableManager implements ICommandControl {
 			getVariable(exprCtx, new DataRequestMonitor<MIVariableObject>(fSession.getExecutor(), drm) {
 				@Override
 				protected void handleSuccess() {
-					getData().getChildren(exprCtx, ((ExprMetaGetChildren) command).getNumChildLimit(),
-							new DataRequestMonitor<ChildrenInfo>(fSession.getExecutor(), drm) {
-								@Override
-								protected void handleSuccess() {
-									drm.setData(new ExprMetaGetChildrenInfo(getData().getChildren()));
-									drm.done();
-									processCommandDone(token, drm.getData());
-								}
-							});
+					ExprMetaGetChildren getChildren = (ExprMetaGetChildren) command;
+					DataRequestMonitor<ChildrenInfo> childrenRm = new DataRequestMonitor<ChildrenInfo>(
+							fSession.getExecutor(), drm) {
+						@Override
+						protected void handleSuccess() {
+							drm.setData(new ExprMetaGetChildrenInfo(getData().getChildren()));
+							drm.done();
+							processCommandDone(token, drm.getData());
+						}
+					};
+					if (getChildren.isWindowed()) {
+						getData().getChildrenWindow(exprCtx, getChildren.getStartIndex(), getChildren.getLength(),
+								childrenRm);
+					} else {
+						getData().getChildren(exprCtx, getChildren.getNumChildLimit(), childrenRm);
+					}
 				}
 			});
 
@@ -3175,6 +3316,16 @@ public class MIVariableManager implements ICommandControl {
 		markAllOutOfDate();
 	}
 
+	/**
+	 * @since 7.2
+	 */
+	@DsfServiceEventHandler
+	public void eventDispatched(IRegisterChangedDMEvent e) {
+		// A register has changed.  We don't know which variable objects
+		// live in registers, so mark them all as out of date.
+		markAllOutOfDate();
+	}
+
 	/**
 	 * @since 3.0
 	 */
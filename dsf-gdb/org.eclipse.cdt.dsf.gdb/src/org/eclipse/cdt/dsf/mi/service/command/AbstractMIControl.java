@@ -39,6 +39,7 @@ import java.util.Set;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.cdt.dsf.concurrent.ConfinedToDsfExecutor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
@@ -97,7 +98,6 @@ import org.eclipse.osgi.util.NLS;
  */
 public abstract class AbstractMIControl extends AbstractDsfService implements IMICommandControl {
 	private static final String MI_TRACE_IDENTIFIER = "[MI]"; //$NON-NLS-1$
-	private static final int NUMBER_CONCURRENT_COMMANDS = 3;
 	private static final int DEVELOPMENT_TRACE_LIMIT_CHARS = 5000;
 
 	/*
@@ -108,6 +108,8 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	private RxThread fRxThread;
 	private ErrorThread fErrorThread;
 	private final int fNumberOfConcurrentCommands;
+	// Commands handed to the TX thread which have not been answered yet
+	private final AtomicInteger fCommandsInFlight = new AtomicInteger();
 
 	// MI did not always support the --thread/--frame options
 	// This boolean is used to know if we should use -thread-select and -stack-select-frame instead
@@ -125,6 +127,8 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	private final Map<Integer, CommandHandle> fRxCommands = Collections
 			.synchronizedMap(new HashMap<Integer, CommandHandle>());
 
+	private final MICommandStatistics fCommandStatistics = new MICommandStatistics();
+
 	/**
 	 * Handle that's inserted into the TX commands queue to signal
 	 * that the TX thread should shut down.
@@ -199,7 +203,10 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		fCommandFactory = factory;
 
 		if (isConcurrentCommandsSupported()) {
-			fNumberOfConcurrentCommands = NUMBER_CONCURRENT_COMMANDS;
+			fNumberOfConcurrentCommands = Math.max(1,
+					Platform.getPreferencesService().getInt(GdbPlugin.PLUGIN_ID,
+							IGdbDebugPreferenceConstants.PREF_MI_COMMAND_WINDOW,
+							IGdbDebugPreferenceConstants.MI_COMMAND_WINDOW_DEFAULT, null));
 		} else {
 			fNumberOfConcurrentCommands = 1;
 		}
@@ -249,6 +256,14 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		return fCommandFactory;
 	}
 
+	/**
+	 * Returns the latencies of the commands answered by the back end so far.
+	 * @since 7.2
+	 */
+	public MICommandStatistics getCommandStatistics() {
+		return fCommandStatistics;
+	}
+
 	/**
 	 * Starts the threads that process the debugger input/output channels.
 	 * To be invoked by the initialization routine of the extending class.
@@ -308,6 +323,11 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			return;
 		fStoppedCommandProcessing = true;
 
+		if (GdbDebugOptions.DEBUG) {
+			GdbDebugOptions.trace(String.format("%s %s  Command latencies:\n%s", GdbPlugin.getDebugTime(), //$NON-NLS-1$
+					MI_TRACE_IDENTIFIER, fCommandStatistics));
+		}
+
 		/*
 		 *  First go through the commands which have been queueud and not yet sent to the backend.
 		 */
@@ -329,6 +349,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		 */
 		List<CommandHandle> txCommands = new ArrayList<>();
 		fTxCommands.drainTo(txCommands);
+		fCommandsInFlight.addAndGet(-txCommands.size());
 		for (CommandHandle commandHandle : txCommands) {
 			if (commandHandle.getRequestMonitor() == null)
 				continue;
@@ -346,6 +367,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			rxCommandsCopy = new LinkedHashMap<>(fRxCommands);
 			fRxCommands.clear();
 		}
+		fCommandsInFlight.addAndGet(-rxCommandsCopy.size());
 		for (CommandHandle commandHandle : rxCommandsCopy.values()) {
 			if (commandHandle.getRequestMonitor() == null)
 				continue;
@@ -386,7 +408,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 			rm.done();
 		} else {
 			/*
-			 *  We only allow three outstanding commands to be on the wire to the backend
+			 *  We only allow a few outstanding commands to be on the wire to the backend
 			 *  at any one time. This allows for coalescing as well as canceling
 			 *  existing commands on a state change. So we add it to the waiting list and let
 			 *  the user know they can now work with this item if need be.
@@ -408,7 +430,10 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 	}
 
 	private void processNextQueuedCommand() {
-		if (!fCommandQueue.isEmpty() && fRxCommands.size() < fNumberOfConcurrentCommands) {
+		// Fill the whole window at once, the TX thread writes the commands back-to-back.
+		// A command counts as outstanding from the moment it is handed to the TX thread
+		// until its answer is received, including while the TX thread is writing it.
+		while (!fCommandQueue.isEmpty() && fCommandsInFlight.get() < fNumberOfConcurrentCommands) {
 			final CommandHandle handle = fCommandQueue.remove(0);
 			if (handle != null) {
 				processCommandSent(handle);
@@ -438,7 +463,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 							CommandHandle cmdHandle = new CommandHandle((MICommand<MIInfo>) getCommandFactory()
 									.createMIThreadSelect(targetContext, targetThread), null);
 							cmdHandle.generateTokenId();
-							fTxCommands.add(cmdHandle);
+							sendCommand(cmdHandle);
 						}
 
 						// Before the command is sent, Check the Stack level and send it to
@@ -448,7 +473,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 							CommandHandle cmdHandle = new CommandHandle((MICommand<MIInfo>) getCommandFactory()
 									.createMIStackSelectFrame(targetContext, targetFrame), null);
 							cmdHandle.generateTokenId();
-							fTxCommands.add(cmdHandle);
+							sendCommand(cmdHandle);
 						}
 					}
 				}
@@ -459,11 +484,16 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 					// need a token id.  In fact, GDB will fail if we send one in this case.
 					handle.generateTokenId();
 				}
-				fTxCommands.add(handle);
+				sendCommand(handle);
 			}
 		}
 	}
 
+	private void sendCommand(CommandHandle handle) {
+		fCommandsInFlight.incrementAndGet();
+		fTxCommands.add(handle);
+	}
+
 	/*
 	 *   This is the command which allows the user to retract a previously issued command. The
 	 *   state of the command  is that it is in the waiting queue  and has not yet been handed
@@ -656,11 +686,14 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		private MICommand<MIInfo> fCommand;
 		private DataRequestMonitor<MIInfo> fRequestMonitor;
 		private int fTokenId;
+		private final long fQueuedTime;
+		private long fSentTime;
 
 		CommandHandle(MICommand<MIInfo> c, DataRequestMonitor<MIInfo> d) {
 			fCommand = c;
 			fRequestMonitor = d;
 			fTokenId = -1; // Only initialize to a real value when needed
+			fQueuedTime = System.nanoTime();
 		}
 
 		@Override
@@ -731,13 +764,24 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 
 		@Override
 		public void run() {
+			boolean flushNeeded = false;
 			while (true) {
-				CommandHandle commandHandle = null;
-
-				try {
-					commandHandle = fTxCommands.take();
-				} catch (InterruptedException e) {
-					break; // Shutting down.
+				// Commands that are already waiting are written back-to-back,
+				// the stream is only flushed once the queue is drained.
+				CommandHandle commandHandle = fTxCommands.poll();
+				if (commandHandle == null) {
+					try {
+						if (flushNeeded) {
+							flushNeeded = false;
+							fOutputStream.flush();
+						}
+						commandHandle = fTxCommands.take();
+					} catch (InterruptedException e) {
+						break; // Shutting down.
+					} catch (IOException e) {
+						// Shutdown thread in case of IO error.
+						break;
+					}
 				}
 
 				if (commandHandle == fTerminatorHandle) {
@@ -753,9 +797,12 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 				/*
 				 *  We note that this is an outstanding request at this point.
 				 */
+				commandHandle.fSentTime = System.nanoTime();
 				if (!(commandHandle.getCommand() instanceof RawCommand)) {
 					// RawCommands will not get an answer, so we cannot put them in the receive queue.
 					fRxCommands.put(commandHandle.getTokenId(), commandHandle);
+				} else {
+					fCommandsInFlight.decrementAndGet();
 				}
 
 				/*
@@ -787,7 +834,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 						writeToTracingStream(true, str);
 
 						fOutputStream.write(str.getBytes());
-						fOutputStream.flush();
+						flushNeeded = true;
 					}
 				} catch (IOException e) {
 					// Shutdown thread in case of IO error.
@@ -998,6 +1045,11 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 				final CommandHandle commandHandle = fRxCommands.remove(id);
 
 				if (commandHandle != null) {
+					fCommandsInFlight.decrementAndGet();
+					fCommandStatistics.record(commandHandle.getCommand().getOperation(),
+							(commandHandle.fSentTime - commandHandle.fQueuedTime) / 1000,
+							(System.nanoTime() - commandHandle.fSentTime) / 1000);
+
 					final MIOutput response = new MIOutput(rr,
 							fAccumulatedOOBRecords.toArray(new MIOOBRecord[fAccumulatedOOBRecords.size()]));
 					fAccumulatedOOBRecords.clear();
@@ -1232,6 +1284,7 @@ public abstract class AbstractMIControl extends AbstractDsfService implements IM
 		if (h == null)
 			// Command has already been processed by RxThread.
 			return;
+		fCommandsInFlight.decrementAndGet();
 
 		MIConst value = new MIConst();
 		value.setCString(errorMessage);
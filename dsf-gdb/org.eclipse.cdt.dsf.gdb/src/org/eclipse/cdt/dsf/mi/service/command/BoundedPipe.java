@@ -0,0 +1,385 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.cdt.dsf.gdb.internal.GdbDebugOptions;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.debug.core.DebugPlugin;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchListener;
+import org.eclipse.debug.core.ILaunchManager;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * A pipe through which the output received from GDB is passed to the console
+ * reading it.
+ * <p>
+ * Unlike {@link java.io.PipedOutputStream}, writing never blocks: the writer is
+ * the thread reading the MI channel, and blocking it because the console does
+ * not keep up with a program printing a lot would freeze the whole debug
+ * session. The data is kept in a ring buffer of a fixed size. When it does not
+ * fit, it is written to an overflow file instead, and so is any further data
+ * until the reader has emptied the buffer. At that point a line saying how much
+ * output was diverted, and where to, is given to the reader. The overflow file
+ * is bounded too; beyond that the output is dropped and only counted. It is
+ * kept after the session ends so that it can still be opened, and deleted when
+ * its launch is removed, or when the workbench exits at the latest.
+ * <p>
+ * Also unlike the piped streams, the pipe does not care which threads read
+ * and write it.
+ */
+class BoundedPipe {
+
+	/** The size of the ring buffer */
+	static final int DEFAULT_CAPACITY = 1024 * 1024; // 1M
+
+	/** The maximum size of the overflow file */
+	static final long DEFAULT_OVERFLOW_LIMIT = 256L * 1024 * 1024; // 256M
+
+	private final String fName;
+	private final ILaunch fLaunch;
+	private final byte[] fBuffer;
+	private final long fOverflowLimit;
+
+	/** Index of the next byte to read in the ring buffer */
+	private int fHead;
+	/** Number of bytes in the ring buffer */
+	private int fCount;
+
+	private boolean fWriterClosed;
+	private boolean fReaderClosed;
+
+	private File fOverflowFile;
+	private OutputStream fOverflowStream;
+	/** Whether the overflow file could not be created or written */
+	private boolean fOverflowFailed;
+	/** Whether data is being diverted because the reader did not keep up */
+	private boolean fOverflowing;
+	/** Bytes diverted to the file, resp. dropped, since the reader was last told */
+	private long fPendingSaved;
+	private long fPendingDropped;
+
+	private final long fCreationTime = System.currentTimeMillis();
+	private long fBytesWritten;
+	private long fBytesRead;
+	private long fBytesSaved;
+	private long fBytesDropped;
+	private int fMaxCount;
+
+	private final InputStream fInputStream = new InputStream() {
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			return read(b, 0, 1) == -1 ? -1 : b[0] & 0xff;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			return BoundedPipe.this.read(b, off, len);
+		}
+
+		@Override
+		public int available() throws IOException {
+			return BoundedPipe.this.available();
+		}
+
+		@Override
+		public void close() throws IOException {
+			closeReader();
+		}
+	};
+
+	private final OutputStream fOutputStream = new OutputStream() {
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte) b }, 0, 1);
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			BoundedPipe.this.write(b, off, len);
+		}
+
+		@Override
+		public void close() throws IOException {
+			closeWriter();
+		}
+	};
+
+	/**
+	 * @param name Used to name the overflow file and in traces.
+	 * @param launch The launch whose removal deletes the overflow file, or null to
+	 *               delete it as soon as the reader closes the pipe.
+	 */
+	BoundedPipe(String name, ILaunch launch) {
+		this(name, DEFAULT_CAPACITY, DEFAULT_OVERFLOW_LIMIT, launch);
+	}
+
+	BoundedPipe(String name, int capacity, long overflowLimit) {
+		this(name, capacity, overflowLimit, null);
+	}
+
+	BoundedPipe(String name, int capacity, long overflowLimit, ILaunch launch) {
+		fName = name;
+		fLaunch = launch;
+		fBuffer = new byte[capacity];
+		fOverflowLimit = overflowLimit;
+	}
+
+	/** The end of the pipe the console reads from */
+	InputStream getInputStream() {
+		return fInputStream;
+	}
+
+	/** The end of the pipe the output of GDB is written to; writing never blocks */
+	OutputStream getOutputStream() {
+		return fOutputStream;
+	}
+
+	private synchronized void write(byte[] b, int off, int len) throws IOException {
+		if (fWriterClosed || fReaderClosed) {
+			throw new IOException("Pipe closed"); //$NON-NLS-1$
+		}
+		if (len == 0) {
+			return;
+		}
+		fBytesWritten += len;
+		if (!fOverflowing && len <= fBuffer.length - fCount) {
+			int tail = (fHead + fCount) % fBuffer.length;
+			int first = Math.min(len, fBuffer.length - tail);
+			System.arraycopy(b, off, fBuffer, tail, first);
+			System.arraycopy(b, off + first, fBuffer, 0, len - first);
+			fCount += len;
+			fMaxCount = Math.max(fMaxCount, fCount);
+		} else {
+			fOverflowing = true;
+			overflow(b, off, len);
+		}
+		notifyAll();
+	}
+
+	private void overflow(byte[] b, int off, int len) {
+		if (!fOverflowFailed && fBytesSaved + len <= fOverflowLimit) {
+			try {
+				if (fOverflowStream == null) {
+					fOverflowFile = File.createTempFile("cdt-" + fName + "-", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+					fOverflowFile.deleteOnExit();
+					fOverflowStream = new BufferedOutputStream(new FileOutputStream(fOverflowFile));
+				}
+				fOverflowStream.write(b, off, len);
+				fBytesSaved += len;
+				fPendingSaved += len;
+				return;
+			} catch (IOException e) {
+				GdbPlugin.log(e);
+				fOverflowFailed = true;
+				closeOverflowStream();
+			}
+		}
+		fBytesDropped += len;
+		fPendingDropped += len;
+	}
+
+	private synchronized int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		while (fCount == 0) {
+			if (fReaderClosed) {
+				throw new IOException("Pipe closed"); //$NON-NLS-1$
+			}
+			if (fOverflowing) {
+				// The reader caught up, tell it what it missed and go back to
+				// using the buffer.
+				reportOverflow();
+				break;
+			}
+			if (fWriterClosed) {
+				return -1;
+			}
+			try {
+				wait();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException();
+			}
+		}
+		int n = Math.min(len, fCount);
+		int first = Math.min(n, fBuffer.length - fHead);
+		System.arraycopy(fBuffer, fHead, b, off, first);
+		System.arraycopy(fBuffer, 0, b, off + first, n - first);
+		fHead = (fHead + n) % fBuffer.length;
+		fCount -= n;
+		fBytesRead += n;
+		return n;
+	}
+
+	private void reportOverflow() {
+		String message;
+		if (fPendingSaved > 0 && fPendingDropped > 0) {
+			message = NLS.bind(Messages.BoundedPipe_output_saved_and_dropped,
+					new Object[] { fPendingSaved, fOverflowFile, fPendingDropped });
+		} else if (fPendingSaved > 0) {
+			message = NLS.bind(Messages.BoundedPipe_output_saved, fPendingSaved, fOverflowFile);
+		} else {
+			message = NLS.bind(Messages.BoundedPipe_output_dropped, fPendingDropped);
+		}
+		if (fOverflowStream != null) {
+			try {
+				fOverflowStream.flush();
+			} catch (IOException e) {
+			}
+		}
+		byte[] bytes = message.getBytes(StandardCharsets.UTF_8);
+		int len = Math.min(bytes.length, fBuffer.length);
+		System.arraycopy(bytes, 0, fBuffer, 0, len);
+		fHead = 0;
+		fCount = len;
+		fPendingSaved = 0;
+		fPendingDropped = 0;
+		fOverflowing = false;
+	}
+
+	private synchronized int available() throws IOException {
+		if (fReaderClosed) {
+			throw new IOException("Pipe closed"); //$NON-NLS-1$
+		}
+		return fCount;
+	}
+
+	private synchronized void closeWriter() {
+		if (fWriterClosed) {
+			return;
+		}
+		fWriterClosed = true;
+		notifyAll();
+		trace();
+	}
+
+	private synchronized void closeReader() {
+		if (fReaderClosed) {
+			return;
+		}
+		fReaderClosed = true;
+		fCount = 0;
+		fOverflowFailed = true;
+		closeOverflowStream();
+		if (fOverflowFile != null) {
+			deleteWithLaunch(fOverflowFile);
+		}
+		notifyAll();
+	}
+
+	/**
+	 * Deletes the overflow file when the launch is removed, as the console
+	 * told where it is, or right away if there is no launch anymore.
+	 */
+	private void deleteWithLaunch(final File file) {
+		DebugPlugin debugPlugin = DebugPlugin.getDefault();
+		if (fLaunch == null || debugPlugin == null) {
+			file.delete();
+			return;
+		}
+		final ILaunchManager launchManager = debugPlugin.getLaunchManager();
+		ILaunchListener listener = new ILaunchListener() {
+			@Override
+			public void launchRemoved(ILaunch launch) {
+				if (launch == fLaunch) {
+					launchManager.removeLaunchListener(this);
+					file.delete();
+				}
+			}
+
+			@Override
+			public void launchAdded(ILaunch launch) {
+			}
+
+			@Override
+			public void launchChanged(ILaunch launch) {
+			}
+		};
+		launchManager.addLaunchListener(listener);
+		if (!launchManager.isRegistered(fLaunch)) {
+			// Removed before the listener was added
+			launchManager.removeLaunchListener(listener);
+			file.delete();
+		}
+	}
+
+	private void closeOverflowStream() {
+		if (fOverflowStream != null) {
+			try {
+				fOverflowStream.close();
+			} catch (IOException e) {
+			}
+			fOverflowStream = null;
+		}
+	}
+
+	private void trace() {
+		if (GdbDebugOptions.DEBUG) {
+			GdbDebugOptions.trace(String.format("%s [%s]  %s\n", GdbPlugin.getDebugTime(), fName, this)); //$NON-NLS-1$
+		}
+	}
+
+	/** The file the output that did not fit is written to, or null if none did */
+	synchronized File getOverflowFile() {
+		return fOverflowFile;
+	}
+
+	/** Total number of bytes written to the pipe */
+	synchronized long getBytesWritten() {
+		return fBytesWritten;
+	}
+
+	/** Total number of bytes read from the pipe, including the overflow reports */
+	synchronized long getBytesRead() {
+		return fBytesRead;
+	}
+
+	/** Total number of bytes written to the overflow file */
+	synchronized long getBytesSaved() {
+		return fBytesSaved;
+	}
+
+	/** Total number of bytes dropped because the overflow file was full */
+	synchronized long getBytesDropped() {
+		return fBytesDropped;
+	}
+
+	/** The largest number of bytes the ring buffer ever held */
+	synchronized int getMaxBufferedBytes() {
+		return fMaxCount;
+	}
+
+	/** The average number of bytes written per second since the pipe was created */
+	synchronized long getThroughput() {
+		long elapsed = Math.max(1, System.currentTimeMillis() - fCreationTime);
+		return fBytesWritten * 1000 / elapsed;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format(
+				"%d bytes written (%d bytes/s), %d read, %d saved to %s, %d dropped, at most %d of %d bytes buffered", //$NON-NLS-1$
+				fBytesWritten, getThroughput(), fBytesRead, fBytesSaved, fOverflowFile, fBytesDropped, fMaxCount,
+				fBuffer.length);
+	}
+}
@@ -91,6 +91,7 @@ import org.eclipse.cdt.dsf.mi.service.command.commands.MIBreakWatch;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIDPrintfInsert;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIDataDisassemble;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIDataEvaluateExpression;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MIDataListChangedRegisters;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIDataListRegisterNames;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIDataListRegisterValues;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIDataReadMemory;
@@ -153,6 +154,7 @@ import org.eclipse.cdt.dsf.mi.service.command.commands.MIGDBSetTargetCharset;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIGDBSetTargetWideCharset;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIGDBSetTraceNotes;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIGDBSetTraceUser;
+import org.eclipse.cdt.dsf.mi.service.command.commands.MIGDBShowDisassemblyFlavor;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIGDBShowExitCode;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIGDBShowLanguage;
 import org.eclipse.cdt.dsf.mi.service.command.commands.MIGDBShowNewConsole;
@@ -220,11 +222,13 @@ import org.eclipse.cdt.dsf.mi.service.command.output.MIBreakInsertInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIBreakListInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataDisassembleInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataEvaluateExpressionInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIDataListChangedRegistersInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataListRegisterNamesInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataListRegisterValuesInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataReadMemoryBytesInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataReadMemoryInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIDataWriteMemoryInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIGDBShowDisassemblyFlavorInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIGDBShowExitCodeInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIGDBShowLanguageInfo;
 import org.eclipse.cdt.dsf.mi.service.command.output.MIGDBShowNewConsoleInfo;
@@ -521,6 +525,13 @@ public class CommandFactory {
 		return new MIDataEvaluateExpression<>(exprDmc);
 	}
 
+	/**
+	 * @since 7.2
+	 */
+	public ICommand<MIDataListChangedRegistersInfo> createMIDataListChangedRegisters(IFrameDMContext ctx) {
+		return new MIDataListChangedRegisters(ctx);
+	}
+
 	public ICommand<MIDataListRegisterNamesInfo> createMIDataListRegisterNames(IContainerDMContext ctx) {
 		return new MIDataListRegisterNames(ctx);
 	}
@@ -911,6 +922,11 @@ public class CommandFactory {
 		return new MIGDBSetTraceUser(ctx, userName);
 	}
 
+	/** @since 7.2 */
+	public ICommand<MIGDBShowDisassemblyFlavorInfo> createMIGDBShowDisassemblyFlavor(IDMContext ctx) {
+		return new MIGDBShowDisassemblyFlavor(ctx);
+	}
+
 	public ICommand<MIGDBShowExitCodeInfo> createMIGDBShowExitCode(ICommandControlDMContext ctx) {
 		return new MIGDBShowExitCode(ctx);
 	}
@@ -0,0 +1,110 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Latencies of the MI commands sent by an {@link AbstractMIControl}, per MI operation
+ * (e.g. "-var-list-children"). For every command the time spent in the queue of the
+ * command control before it was written to the back end and the time the back end took
+ * to answer it are recorded. All times are in microseconds.
+ *
+ * @since 7.2
+ */
+public class MICommandStatistics {
+	private static class Entry {
+		int fCount;
+		long fTotalQueueTime;
+		long fTotalResponseTime;
+		long fMaxResponseTime;
+	}
+
+	private final Map<String, Entry> fEntries = new HashMap<>();
+
+	synchronized void record(String operation, long queueTime, long responseTime) {
+		Entry entry = fEntries.get(operation);
+		if (entry == null) {
+			entry = new Entry();
+			fEntries.put(operation, entry);
+		}
+		entry.fCount++;
+		entry.fTotalQueueTime += queueTime;
+		entry.fTotalResponseTime += responseTime;
+		entry.fMaxResponseTime = Math.max(entry.fMaxResponseTime, responseTime);
+	}
+
+	/**
+	 * Returns the operations for which commands were answered, the operations with the
+	 * highest total response time come first.
+	 */
+	public synchronized List<String> getOperations() {
+		List<String> operations = new ArrayList<>(fEntries.keySet());
+		operations.sort((o1, o2) -> Long.compare(fEntries.get(o2).fTotalResponseTime,
+				fEntries.get(o1).fTotalResponseTime));
+		return operations;
+	}
+
+	/**
+	 * Returns the number of answered commands of the given operation.
+	 */
+	public synchronized int getCount(String operation) {
+		Entry entry = fEntries.get(operation);
+		return entry == null ? 0 : entry.fCount;
+	}
+
+	/**
+	 * Returns the average time the commands of the given operation waited before they were sent.
+	 */
+	public synchronized long getAverageQueueTime(String operation) {
+		Entry entry = fEntries.get(operation);
+		return entry == null ? 0 : entry.fTotalQueueTime / entry.fCount;
+	}
+
+	/**
+	 * Returns the average time between sending a command of the given operation and
+	 * receiving its result.
+	 */
+	public synchronized long getAverageResponseTime(String operation) {
+		Entry entry = fEntries.get(operation);
+		return entry == null ? 0 : entry.fTotalResponseTime / entry.fCount;
+	}
+
+	/**
+	 * Returns the longest time between sending a command of the given operation and
+	 * receiving its result.
+	 */
+	public synchronized long getMaxResponseTime(String operation) {
+		Entry entry = fEntries.get(operation);
+		return entry == null ? 0 : entry.fMaxResponseTime;
+	}
+
+	public synchronized void reset() {
+		fEntries.clear();
+	}
+
+	@Override
+	public synchronized String toString() {
+		StringBuilder buf = new StringBuilder();
+		for (String operation : getOperations()) {
+			Entry entry = fEntries.get(operation);
+			buf.append(operation).append(": ") //$NON-NLS-1$
+					.append(entry.fCount).append(" commands, ") //$NON-NLS-1$
+					.append(entry.fTotalQueueTime / entry.fCount).append("us queued, ") //$NON-NLS-1$
+					.append(entry.fTotalResponseTime / entry.fCount).append("us average, ") //$NON-NLS-1$
+					.append(entry.fMaxResponseTime).append("us max\n"); //$NON-NLS-1$
+		}
+		return buf.toString();
+	}
+}
@@ -20,8 +20,6 @@ package org.eclipse.cdt.dsf.mi.service.command;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PipedInputStream;
-import java.io.PipedOutputStream;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.RejectedExecutionException;
@@ -63,6 +61,7 @@ import org.eclipse.cdt.utils.pty.PTY;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.debug.core.ILaunch;
 
 /**
  * This Process implementation tracks one of the inferiors that is being debugged
@@ -84,10 +83,10 @@ public class MIInferiorProcess extends Process implements IEventListener, IComma
 	private OutputStream fOutputStream;
 	private InputStream fInputStream;
 
-	private PipedOutputStream fInputStreamPiped;
+	private OutputStream fInputStreamPiped;
 
-	private PipedInputStream fErrorStream;
-	private PipedOutputStream fErrorStreamPiped;
+	private InputStream fErrorStream;
+	private OutputStream fErrorStreamPiped;
 
 	private final DsfSession fSession;
 
@@ -186,6 +185,7 @@ public class MIInferiorProcess extends Process implements IEventListener, IComma
 		fCommandControl.addEventListener(this);
 		fCommandControl.addCommandListener(this);
 
+		ILaunch launch = (ILaunch) fSession.getModelAdapter(ILaunch.class);
 		if (pty != null) {
 			fOutputStream = pty.getOutputStream();
 			fInputStream = pty.getInputStream();
@@ -198,27 +198,18 @@ public class MIInferiorProcess extends Process implements IEventListener, IComma
 				}
 			};
 
-			fInputStreamPiped = new PipedOutputStream();
-			PipedInputStream inputStream = null;
-			try {
-				// Using a LargePipedInputStream see https://bugs.eclipse.org/bugs/show_bug.cgi?id=223154
-				inputStream = new LargePipedInputStream(fInputStreamPiped);
-			} catch (IOException e) {
-			}
-			fInputStream = inputStream;
-
+			// Use a pipe that does not block the MI channel if the console
+			// does not keep up with the program, see BoundedPipe
+			BoundedPipe inputPipe = new BoundedPipe("inferior-output", launch); //$NON-NLS-1$
+			fInputStreamPiped = inputPipe.getOutputStream();
+			fInputStream = inputPipe.getInputStream();
 		}
 
 		// Note: We do not have any err stream from gdb/mi so this gdb
 		// err channel instead.
-		fErrorStreamPiped = new PipedOutputStream();
-		PipedInputStream errorStream = null;
-		try {
-			// Using a LargePipedInputStream see https://bugs.eclipse.org/bugs/show_bug.cgi?id=223154
-			errorStream = new LargePipedInputStream(fErrorStreamPiped);
-		} catch (IOException e) {
-		}
-		fErrorStream = errorStream;
+		BoundedPipe errorPipe = new BoundedPipe("inferior-error", launch); //$NON-NLS-1$
+		fErrorStreamPiped = errorPipe.getOutputStream();
+		fErrorStream = errorPipe.getInputStream();
 	}
 
 	@ConfinedToDsfExecutor("fSession#getExecutor")
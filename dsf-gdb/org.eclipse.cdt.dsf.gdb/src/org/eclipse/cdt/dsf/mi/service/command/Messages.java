@@ -15,6 +15,9 @@ import org.eclipse.osgi.util.NLS;
 class Messages extends NLS {
 	private static final String BUNDLE_NAME = "org.eclipse.cdt.dsf.mi.service.command.messages"; //$NON-NLS-1$
 	public static String AbstractMIControl_message_truncated;
+	public static String BoundedPipe_output_saved;
+	public static String BoundedPipe_output_dropped;
+	public static String BoundedPipe_output_saved_and_dropped;
 	static {
 		// initialize resource bundle
 		NLS.initializeMessages(BUNDLE_NAME, Messages.class);
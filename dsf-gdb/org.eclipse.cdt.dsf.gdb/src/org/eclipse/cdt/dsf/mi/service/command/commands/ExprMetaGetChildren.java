@@ -21,6 +21,8 @@ import org.eclipse.cdt.dsf.mi.service.command.output.ExprMetaGetChildrenInfo;
 public class ExprMetaGetChildren extends ExprMetaCommand<ExprMetaGetChildrenInfo> {
 
 	private int numChildLimit = IMIExpressions.CHILD_COUNT_LIMIT_UNSPECIFIED;
+	private int startIndex = -1;
+	private int length = -1;
 
 	public ExprMetaGetChildren(IExpressionDMContext ctx) {
 		super(ctx);
@@ -37,6 +39,23 @@ public class ExprMetaGetChildren extends ExprMetaCommand<ExprMetaGetChildrenInfo
 		this.numChildLimit = numChildLimit;
 	}
 
+	/**
+	 * Asks for a window of the children only, e.g. the children visible in a view.
+	 * Only the children in the window are retrieved from the back end when possible.
+	 *
+	 * @param ctx
+	 * @param startIndex index of the first child of the window
+	 * @param length number of children of the window
+	 *
+	 * @since 7.2
+	 */
+	public ExprMetaGetChildren(IExpressionDMContext ctx, int startIndex, int length) {
+		super(ctx);
+		this.numChildLimit = startIndex + length;
+		this.startIndex = startIndex;
+		this.length = length;
+	}
+
 	/**
 	 * @since 4.0
 	 */
@@ -44,11 +63,38 @@ public class ExprMetaGetChildren extends ExprMetaCommand<ExprMetaGetChildrenInfo
 		return numChildLimit;
 	}
 
+	/**
+	 * Returns the index of the first child of the window, or -1 if all children are requested.
+	 *
+	 * @since 7.2
+	 */
+	public int getStartIndex() {
+		return startIndex;
+	}
+
+	/**
+	 * Returns the number of children of the window, or -1 if all children are requested.
+	 *
+	 * @since 7.2
+	 */
+	public int getLength() {
+		return length;
+	}
+
+	/**
+	 * @since 7.2
+	 */
+	public boolean isWindowed() {
+		return startIndex >= 0 && length >= 0;
+	}
+
 	@Override
 	public int hashCode() {
 		final int prime = 31;
 		int result = super.hashCode();
 		result = prime * result + numChildLimit;
+		result = prime * result + startIndex;
+		result = prime * result + length;
 		return result;
 	}
 
@@ -61,6 +107,8 @@ public class ExprMetaGetChildren extends ExprMetaCommand<ExprMetaGetChildrenInfo
 		ExprMetaGetChildren other = (ExprMetaGetChildren) obj;
 		if (numChildLimit != other.numChildLimit)
 			return false;
+		if (startIndex != other.startIndex || length != other.length)
+			return false;
 		return true;
 	}
 }
\ No newline at end of file
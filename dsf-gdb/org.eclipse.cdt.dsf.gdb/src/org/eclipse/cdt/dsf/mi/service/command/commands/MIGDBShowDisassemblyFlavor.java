@@ -0,0 +1,33 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.commands;
+
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIGDBShowDisassemblyFlavorInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIOutput;
+
+/**
+ *
+ *     -gdb-show disassembly-flavor
+ *
+ * @since 7.2
+ *
+ */
+public class MIGDBShowDisassemblyFlavor extends MIGDBShow<MIGDBShowDisassemblyFlavorInfo> {
+	public MIGDBShowDisassemblyFlavor(IDMContext ctx) {
+		super(ctx, new String[] { "disassembly-flavor" }); //$NON-NLS-1$
+	}
+
+	@Override
+	public MIGDBShowDisassemblyFlavorInfo getResult(MIOutput miResult) {
+		return new MIGDBShowDisassemblyFlavorInfo(miResult);
+	}
+}
@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.mi.service.command.output;
+
+/**
+ * '-gdb-show disassembly-flavor' returns the syntax used to disassemble
+ * x86 instructions.
+ *
+ * sample output:
+ *
+ * -gdb-show disassembly-flavor
+ * ^done,value="att"
+ *
+ * @since 7.2
+ */
+public class MIGDBShowDisassemblyFlavorInfo extends MIInfo {
+
+	private String fFlavor;
+
+	public MIGDBShowDisassemblyFlavorInfo(MIOutput record) {
+		super(record);
+		parse();
+	}
+
+	protected void parse() {
+		if (isDone()) {
+			MIOutput out = getMIOutput();
+			MIResultRecord outr = out.getMIResultRecord();
+			if (outr != null) {
+				MIResult[] results = outr.getMIResults();
+				for (int i = 0; i < results.length; i++) {
+					String var = results[i].getVariable();
+					if (var.equals("value")) { //$NON-NLS-1$
+						MIValue value = results[i].getMIValue();
+						if (value instanceof MIConst) {
+							fFlavor = ((MIConst) value).getString();
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns the disassembly flavor, e.g. "att" or "intel", or <code>null</code>
+	 * if GDB did not report it.
+	 */
+	public String getFlavor() {
+		return fFlavor;
+	}
+}
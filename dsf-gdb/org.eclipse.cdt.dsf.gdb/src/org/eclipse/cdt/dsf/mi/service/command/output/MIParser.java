@@ -93,16 +93,49 @@ import java.util.List;
 `C-STRING :'
      `""" SEVEN-BIT-ISO-C-STRING-CONTENT """'
 </pre>
+<p>
+The records are parsed in a single pass over a character buffer that is reused
+for all records, the values are created directly from that buffer. Instances
+are therefore not thread-safe, every reader thread needs its own parser.
  */
 public class MIParser {
 	public enum RecordType {
 		ResultRecord, OOBRecord, PrimaryPrompt
 	}
 
+	private static final String[] RESULT_CLASSES = { MIResultRecord.DONE, MIResultRecord.ERROR, MIResultRecord.EXIT,
+			MIResultRecord.RUNNING, MIResultRecord.CONNECTED };
+	private static final MIResult[] NO_RESULTS = new MIResult[0];
+	private static final MIValue[] NO_VALUES = new MIValue[0];
+
+	private static final int INITIAL_BUFFER_SIZE = 1024;
+	/** Buffers grown beyond this size for a large record are released after parsing it. */
+	private static final int MAX_RETAINED_BUFFER_SIZE = 1024 * 1024;
+	/** Size of the cache of short strings, must be a power of two. */
+	private static final int STRING_CACHE_SIZE = 1024;
+	private static final int MAX_CACHED_STRING_LENGTH = 32;
+
 	public String primaryPrompt = "(gdb)"; //$NON-NLS-1$
 	public String cliPrompt = primaryPrompt;
 	public String secondaryPrompt = ">"; //$NON-NLS-1$
 
+	/** Characters of the record being parsed. */
+	private char[] fChars = new char[INITIAL_BUFFER_SIZE];
+	/** Position of the next character to be consumed. */
+	private int fPos;
+	/** End of the record in {@link #fChars}. */
+	private int fEnd;
+	/** Elements of the tuples and lists being parsed, shared by all nesting levels. */
+	private final ArrayList<MIValue> fValueStack = new ArrayList<>();
+	private final ArrayList<MIResult> fResultStack = new ArrayList<>();
+	/** Used for C strings containing escapes. */
+	private final StringBuilder fCString = new StringBuilder();
+	/**
+	 * Variable names and short constants recur in almost every record (name, value, frame,
+	 * "0", ...), they are shared rather than allocated again for every occurrence.
+	 */
+	private final String[] fStringCache = new String[STRING_CACHE_SIZE];
+
 	public RecordType getRecordType(String line) {
 		int i = 0;
 		if (Character.isDigit(line.charAt(0))) {
@@ -126,137 +159,151 @@ public class MIParser {
 	 *
 	 */
 	public MIResultRecord parseMIResultRecord(String line) {
-		StringBuffer buffer = new StringBuffer(line);
-		// Fetch the Token/Id
-		int id = parseToken(buffer);
-		// Consume the '^'
-		buffer.deleteCharAt(0);
-
-		MIResultRecord rr = new MIResultRecord();
-		rr.setToken(id);
-		if (buffer.toString().startsWith(MIResultRecord.DONE)) {
-			rr.setResultClass(MIResultRecord.DONE);
-			buffer.delete(0, MIResultRecord.DONE.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.ERROR)) {
-			rr.setResultClass(MIResultRecord.ERROR);
-			buffer.delete(0, MIResultRecord.ERROR.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.EXIT)) {
-			rr.setResultClass(MIResultRecord.EXIT);
-			buffer.delete(0, MIResultRecord.EXIT.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.RUNNING)) {
-			rr.setResultClass(MIResultRecord.RUNNING);
-			buffer.delete(0, MIResultRecord.RUNNING.length());
-		} else if (buffer.toString().startsWith(MIResultRecord.CONNECTED)) {
-			rr.setResultClass(MIResultRecord.CONNECTED);
-			buffer.delete(0, MIResultRecord.CONNECTED.length());
-		} else {
-			// Error throw an exception?
-		}
+		load(line);
+		try {
+			// Fetch the Token/Id
+			int id = parseToken();
+			// Consume the '^'
+			if (fPos < fEnd) {
+				fPos++;
+			}
+
+			MIResultRecord rr = new MIResultRecord();
+			rr.setToken(id);
+			for (String resultClass : RESULT_CLASSES) {
+				if (startsWith(resultClass)) {
+					rr.setResultClass(resultClass);
+					fPos += resultClass.length();
+					break;
+				}
+			}
 
-		// Results are separated by commas.
-		if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-			buffer.deleteCharAt(0);
-			MIResult[] res = processMIResults(new FSB(buffer));
-			rr.setMIResults(res);
+			// Results are separated by commas.
+			if (fPos < fEnd && fChars[fPos] == ',') {
+				fPos++;
+				rr.setMIResults(processMIResults());
+			}
+			return rr;
+		} finally {
+			release();
 		}
-		return rr;
 	}
 
 	/**
 	 * Find OutOfBand Records depending on the starting token.
 	 */
 	public MIOOBRecord parseMIOOBRecord(String line) {
-		StringBuffer buffer = new StringBuffer(line);
-		int id = parseToken(buffer);
-		MIOOBRecord oob = null;
-		char c = buffer.length() != 0 ? buffer.charAt(0) : 0;
-		if (c == '*' || c == '+' || c == '=') {
-			// Consume the first char
-			buffer.deleteCharAt(0);
-			MIAsyncRecord async = null;
-			switch (c) {
-			case '*':
-				async = new MIExecAsyncOutput();
-				break;
-
-			case '+':
-				async = new MIStatusAsyncOutput();
-				break;
-
-			case '=':
-				async = new MINotifyAsyncOutput();
-				break;
-			default:
-				assert false;
-				async = new MINotifyAsyncOutput();
-			}
-			async.setToken(id);
-			// Extract the Async-Class
-			int i = buffer.toString().indexOf(',');
-			if (i != -1) {
-				String asyncClass = buffer.substring(0, i);
-				async.setAsyncClass(asyncClass);
-				// Consume the async-class and the comma
-				buffer.delete(0, i + 1);
+		load(line);
+		try {
+			int id = parseToken();
+			MIOOBRecord oob = null;
+			char c = fPos < fEnd ? fChars[fPos] : 0;
+			if (c == '*' || c == '+' || c == '=') {
+				// Consume the first char
+				fPos++;
+				MIAsyncRecord async = null;
+				switch (c) {
+				case '*':
+					async = new MIExecAsyncOutput();
+					break;
+
+				case '+':
+					async = new MIStatusAsyncOutput();
+					break;
+
+				case '=':
+					async = new MINotifyAsyncOutput();
+					break;
+				default:
+					assert false;
+					async = new MINotifyAsyncOutput();
+				}
+				async.setToken(id);
+				// Extract the Async-Class
+				int i = indexOf(',');
+				if (i != -1) {
+					async.setAsyncClass(newString(fPos, i));
+					// Consume the async-class and the comma
+					fPos = i + 1;
+				} else {
+					async.setAsyncClass(newString(fPos, fEnd).trim());
+					fPos = fEnd;
+				}
+				async.setMIResults(processMIResults());
+				oob = async;
+			} else if (c == '~' || c == '@' || c == '&') {
+				// Consume the first char
+				fPos++;
+				MIStreamRecord stream = null;
+				switch (c) {
+				case '~':
+					stream = new MIConsoleStreamOutput();
+					break;
+
+				case '@':
+					stream = new MITargetStreamOutput();
+					break;
+
+				case '&':
+					stream = new MILogStreamOutput();
+					break;
+				default:
+					assert false;
+					stream = new MIConsoleStreamOutput();
+				}
+				// translateCString() assumes that the leading " is consumed
+				if (fPos < fEnd && fChars[fPos] == '"') {
+					fPos++;
+				}
+				// Don't parse any backslashes - backslashes within stream records
+				// aren't escaped.
+				stream.setCString(translateCString(false));
+				oob = stream;
 			} else {
-				async.setAsyncClass(buffer.toString().trim());
-				buffer.setLength(0);
+				// Badly format MI line, just pass it to the user as target stream
+				MIStreamRecord stream = new MITargetStreamOutput();
+				stream.setCString(line + "\n"); //$NON-NLS-1$
+				oob = stream;
 			}
-			MIResult[] res = processMIResults(new FSB(buffer));
-			async.setMIResults(res);
-			oob = async;
-		} else if (c == '~' || c == '@' || c == '&') {
-			// Consume the first char
-			buffer.deleteCharAt(0);
-			MIStreamRecord stream = null;
-			switch (c) {
-			case '~':
-				stream = new MIConsoleStreamOutput();
-				break;
+			return oob;
+		} finally {
+			release();
+		}
+	}
 
-			case '@':
-				stream = new MITargetStreamOutput();
-				break;
+	private void load(String line) {
+		int length = line.length();
+		if (fChars.length < length) {
+			fChars = new char[Math.max(length, 2 * fChars.length)];
+		}
+		line.getChars(0, length, fChars, 0);
+		fPos = 0;
+		fEnd = length;
+	}
 
-			case '&':
-				stream = new MILogStreamOutput();
-				break;
-			default:
-				assert false;
-				stream = new MIConsoleStreamOutput();
-			}
-			// translateCString() assumes that the leading " is deleted
-			if (buffer.length() > 0 && buffer.charAt(0) == '"') {
-				buffer.deleteCharAt(0);
-			}
-			// Don't parse any backslashes - backslashes within stream records
-			// aren't escaped.
-			stream.setCString(translateCString(new FSB(buffer), false));
-			oob = stream;
-		} else {
-			// Badly format MI line, just pass it to the user as target stream
-			MIStreamRecord stream = new MITargetStreamOutput();
-			stream.setCString(line + "\n"); //$NON-NLS-1$
-			oob = stream;
+	private void release() {
+		if (fChars.length > MAX_RETAINED_BUFFER_SIZE) {
+			fChars = new char[INITIAL_BUFFER_SIZE];
 		}
-		return oob;
+		// Only needed when parsing failed with an exception.
+		fValueStack.clear();
+		fResultStack.clear();
 	}
 
-	private int parseToken(StringBuffer buffer) {
+	private int parseToken() {
 		int id = -1;
 		// Fetch the Token/Id
-		if (Character.isDigit(buffer.charAt(0))) {
-			int i = 1;
-			while (i < buffer.length() && Character.isDigit(buffer.charAt(i))) {
+		if (fPos < fEnd && Character.isDigit(fChars[fPos])) {
+			int i = fPos + 1;
+			while (i < fEnd && Character.isDigit(fChars[i])) {
 				i++;
 			}
-			String numbers = buffer.substring(0, i);
 			try {
-				id = Integer.parseInt(numbers);
+				id = Integer.parseInt(new String(fChars, fPos, i - fPos));
 			} catch (NumberFormatException e) {
 			}
 			// Consume the token.
-			buffer.delete(0, i);
+			fPos = i;
 		}
 		return id;
 	}
@@ -265,45 +312,38 @@ public class MIParser {
 	 * Assuming that the usual leading comma was consumed.
 	 * Extract the MI Result comma seperated responses.
 	 */
-	private MIResult[] processMIResults(FSB buffer) {
-		List<MIResult> aList = new ArrayList<>();
-		MIResult result = processMIResult(buffer);
-		if (result != null) {
-			aList.add(result);
-		}
-		while (buffer.length() > 0 && buffer.charAt(0) == ',') {
-			buffer.deleteCharAt(0);
-			result = processMIResult(buffer);
-			if (result != null) {
-				aList.add(result);
-			}
+	private MIResult[] processMIResults() {
+		int base = fResultStack.size();
+		fResultStack.add(processMIResult());
+		while (fPos < fEnd && fChars[fPos] == ',') {
+			fPos++;
+			fResultStack.add(processMIResult());
 		}
-		return aList.toArray(new MIResult[aList.size()]);
+		return popResults(base);
 	}
 
 	/**
-	 * Construct the DsfMIResult.  Characters will be consume/delete
+	 * Construct the DsfMIResult.  Characters will be consumed
 	 * moving forward constructing the AST.
 	 */
-	private MIResult processMIResult(FSB buffer) {
+	private MIResult processMIResult() {
 		MIResult result = new MIResult();
 		int equal;
-		if (buffer.length() > 0 && Character.isLetter(buffer.charAt(0)) && (equal = buffer.indexOf('=')) != -1) {
+		if (fPos < fEnd && Character.isLetter(fChars[fPos]) && (equal = indexOf('=')) != -1) {
 			// Result is a variable and value
-			String variable = buffer.substring(0, equal);
-			result.setVariable(variable);
-			buffer.delete(0, equal + 1);
-			MIValue value = processMIValue(buffer);
+			result.setVariable(newString(fPos, equal));
+			fPos = equal + 1;
+			MIValue value = processMIValue();
 			result.setMIValue(value);
 		} else {
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue();
 			if (value != null) {
 				// Result is a value only (bug 527419)
 				result.setMIValue(value);
 			} else {
-				result.setVariable(buffer.toString());
+				result.setVariable(newString(fPos, fEnd));
 				result.setMIValue(new MIConst()); // Empty string:???
-				buffer.setLength(0);
+				fPos = fEnd;
 			}
 		}
 		return result;
@@ -312,21 +352,22 @@ public class MIParser {
 	/**
 	 * Find a DsfMIValue implementation or return null.
 	 */
-	private MIValue processMIValue(FSB buffer) {
+	private MIValue processMIValue() {
 		MIValue value = null;
-		if (buffer.length() > 0) {
-			if (buffer.charAt(0) == '{') {
-				buffer.deleteCharAt(0);
-				value = processMITuple(buffer);
-			} else if (buffer.charAt(0) == '[') {
-				buffer.deleteCharAt(0);
-				value = processMIList(buffer);
-			} else if (buffer.charAt(0) == '"') {
-				buffer.deleteCharAt(0);
+		if (fPos < fEnd) {
+			char c = fChars[fPos];
+			if (c == '{') {
+				fPos++;
+				value = processMITuple();
+			} else if (c == '[') {
+				fPos++;
+				value = processMIList();
+			} else if (c == '"') {
+				fPos++;
 				MIConst cnst = new MIConst();
 				// Parse backslashes - backslashes within result
 				// and out of band records are escaped.
-				cnst.setCString(translateCString(buffer, true));
+				cnst.setCString(translateCString(true));
 				value = cnst;
 			}
 		}
@@ -334,96 +375,116 @@ public class MIParser {
 	}
 
 	/**
-	 * Assuming the starting '{' was deleted form the StringBuffer,
-	 * go to the closing '}' consuming/deleting all the characters.
+	 * Assuming the starting '{' was consumed, go to the closing '}'
+	 * consuming all the characters.
 	 * This is usually call by processMIvalue();
 	 */
-	private MIValue processMITuple(FSB buffer) {
+	private MIValue processMITuple() {
 		MITuple tuple = new MITuple();
-		List<MIValue> valueList = new ArrayList<>();
-		List<MIResult> resultList = new ArrayList<>();
-		// Catch closing '}'
-		while (buffer.length() > 0 && buffer.charAt(0) != '}') {
-			// Try for the DsfMIValue first
-			MIValue value = processMIValue(buffer);
-			if (value != null) {
-				valueList.add(value);
-			} else {
-				MIResult result = processMIResult(buffer);
-				if (result != null) {
-					resultList.add(result);
-				}
-			}
-			if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-				buffer.deleteCharAt(0);
-			}
-		}
-		if (buffer.length() > 0 && buffer.charAt(0) == '}') {
-			buffer.deleteCharAt(0);
-		}
-		MIValue[] values = valueList.toArray(new MIValue[valueList.size()]);
-		MIResult[] res = resultList.toArray(new MIResult[resultList.size()]);
-		tuple.setMIValues(values);
-		tuple.setMIResults(res);
+		int valueBase = fValueStack.size();
+		int resultBase = fResultStack.size();
+		processMIElements('}');
+		tuple.setMIValues(popValues(valueBase));
+		tuple.setMIResults(popResults(resultBase));
 		return tuple;
 	}
 
 	/**
-	 * Assuming the leading '[' was deleted, find the closing
-	 * ']' consuming/delete chars from the StringBuffer.
+	 * Assuming the leading '[' was consumed, find the closing
+	 * ']' consuming all the characters.
 	 */
-	private MIValue processMIList(FSB buffer) {
+	private MIValue processMIList() {
 		MIList list = new MIList();
-		List<MIValue> valueList = new ArrayList<>();
-		List<MIResult> resultList = new ArrayList<>();
-		// catch closing ']'
-		while (buffer.length() > 0 && buffer.charAt(0) != ']') {
+		int valueBase = fValueStack.size();
+		int resultBase = fResultStack.size();
+		processMIElements(']');
+		list.setMIValues(popValues(valueBase));
+		list.setMIResults(popResults(resultBase));
+		return list;
+	}
+
+	/**
+	 * Pushes the elements of a tuple or list onto the value and result stacks,
+	 * up to and including the given closing character.
+	 */
+	private void processMIElements(char closing) {
+		while (fPos < fEnd && fChars[fPos] != closing) {
 			// Try for the DsfMIValue first
-			MIValue value = processMIValue(buffer);
+			MIValue value = processMIValue();
 			if (value != null) {
-				valueList.add(value);
+				fValueStack.add(value);
 			} else {
-				MIResult result = processMIResult(buffer);
-				if (result != null) {
-					resultList.add(result);
-				}
+				fResultStack.add(processMIResult());
 			}
-			if (buffer.length() > 0 && buffer.charAt(0) == ',') {
-				buffer.deleteCharAt(0);
+			if (fPos < fEnd && fChars[fPos] == ',') {
+				fPos++;
 			}
 		}
-		if (buffer.length() > 0 && buffer.charAt(0) == ']') {
-			buffer.deleteCharAt(0);
+		if (fPos < fEnd) {
+			// Consume the closing character
+			fPos++;
 		}
-		MIValue[] values = valueList.toArray(new MIValue[valueList.size()]);
-		MIResult[] res = resultList.toArray(new MIResult[resultList.size()]);
-		list.setMIValues(values);
-		list.setMIResults(res);
-		return list;
+	}
+
+	private MIValue[] popValues(int base) {
+		int size = fValueStack.size();
+		if (size == base) {
+			return NO_VALUES;
+		}
+		List<MIValue> elements = fValueStack.subList(base, size);
+		MIValue[] values = elements.toArray(new MIValue[size - base]);
+		elements.clear();
+		return values;
+	}
+
+	private MIResult[] popResults(int base) {
+		int size = fResultStack.size();
+		if (size == base) {
+			return NO_RESULTS;
+		}
+		List<MIResult> elements = fResultStack.subList(base, size);
+		MIResult[] results = elements.toArray(new MIResult[size - base]);
+		elements.clear();
+		return results;
 	}
 
 	/**
 	 * MI C-String rather MIConst values are enclosed in double quotes
 	 * and any double quotes or backslashes in the string are escaped.
-	 * Assuming the starting double quote was removed. This method will
+	 * Assuming the starting double quote was consumed. This method will
 	 * stop at the closing double quote, remove the extra backslash escaping
 	 * and return the string __without__ the enclosing double quotes. The
-	 * original string buffer will move forward.
-	 * @param buffer The string buffer to read from.
+	 * parse position will move forward past the closing double quote.
 	 * @param parseBackslashes Defines whether backslashes should be parsed.
 	 * This parameter is necessary to differentiate between records which
 	 * contain escaped backslashes and records which do not.
 	 * @return The translated C string.
 	 */
-	private String translateCString(FSB buffer, boolean parseBackslashes) {
-		boolean escape = false;
-		boolean closingQuotes = false;
-
-		StringBuffer sb = new StringBuffer();
+	private String translateCString(boolean parseBackslashes) {
+		final int start = fPos;
+		int index = start;
+		// Most strings contain no escapes, they are created directly from the buffer.
+		for (; index < fEnd; index++) {
+			char c = fChars[index];
+			if (c == '"') {
+				fPos = index + 1;
+				return newString(start, index);
+			}
+			if (c == '\\') {
+				break;
+			}
+		}
+		if (index == fEnd) {
+			fPos = fEnd;
+			return newString(start, fEnd);
+		}
 
-		int index = 0;
-		for (; index < buffer.length() && !closingQuotes; index++) {
-			char c = buffer.charAt(index);
+		StringBuilder sb = fCString;
+		sb.setLength(0);
+		sb.append(fChars, start, index - start);
+		boolean escape = false;
+		for (; index < fEnd; index++) {
+			char c = fChars[index];
 			if (c == '\\') {
 				if (escape) {
 					sb.append(c);
@@ -439,8 +500,9 @@ public class MIParser {
 					sb.append(c);
 					escape = false;
 				} else {
-					// Bail out.
-					closingQuotes = true;
+					// Bail out, consuming the closing quote.
+					index++;
+					break;
 				}
 			} else {
 				if (escape) {
@@ -450,8 +512,67 @@ public class MIParser {
 				escape = false;
 			}
 		}
-		buffer.delete(0, index);
-		return sb.toString();
+		fPos = index;
+		String result = sb.toString();
+		if (sb.capacity() > MAX_RETAINED_BUFFER_SIZE) {
+			sb.setLength(0);
+			sb.trimToSize();
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the string for the given range of the buffer. Short strings are taken
+	 * from the string cache when possible.
+	 */
+	private String newString(int start, int end) {
+		int length = end - start;
+		if (length > MAX_CACHED_STRING_LENGTH) {
+			return new String(fChars, start, length);
+		}
+		int hash = length;
+		for (int i = start; i < end; i++) {
+			hash = 31 * hash + fChars[i];
+		}
+		int slot = (hash ^ (hash >>> 16)) & (STRING_CACHE_SIZE - 1);
+		String cached = fStringCache[slot];
+		if (cached != null && cached.length() == length) {
+			int i = 0;
+			while (i < length && cached.charAt(i) == fChars[start + i]) {
+				i++;
+			}
+			if (i == length) {
+				return cached;
+			}
+		}
+		String str = new String(fChars, start, length);
+		fStringCache[slot] = str;
+		return str;
+	}
+
+	/**
+	 * Returns the position of the next occurrence of the given character, or -1.
+	 */
+	private int indexOf(char c) {
+		for (int i = fPos; i < fEnd; i++) {
+			if (fChars[i] == c) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private boolean startsWith(String prefix) {
+		int length = prefix.length();
+		if (fEnd - fPos < length) {
+			return false;
+		}
+		for (int i = 0; i < length; i++) {
+			if (fChars[fPos + i] != prefix.charAt(i)) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -478,14 +599,17 @@ public class MIParser {
 	}
 
 	/**
-	 * Fast String Buffer class. MIParser does a lot
+	 * Fast String Buffer class. MIParser used to do a lot
 	 * of deleting off the front of a string, that's clearly
 	 * an order N operation for StringBuffer which makes
 	 * the MIParser an order N^2 operation. There are "issues"
 	 * with this for large arrays. Use of FSB rather than String
 	 * Buffer makes MIParser N rather than N^2 because FSB can
 	 * delete from the front in constant time.
+	 *
+	 * @deprecated The parser works on a character buffer now, this class is no longer used.
 	 */
+	@Deprecated
 	public class FSB {
 		StringBuffer buf;
 		int pos;
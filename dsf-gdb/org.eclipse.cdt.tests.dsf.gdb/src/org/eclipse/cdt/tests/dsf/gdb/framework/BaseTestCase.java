@@ -524,6 +524,10 @@ public class BaseTestCase {
 		ILaunchConfigurationWorkingCopy lcWorkingCopy = lcType.newInstance(null,
 				launchMgr.generateLaunchConfigurationName("Test Launch")); //$NON-NLS-1$
 		assert lcWorkingCopy != null;
+		// Record or replay the exchanges with GDB, if requested
+		launchAttributes.put(IGDBLaunchConfigurationConstants.ATTR_DEBUG_NAME,
+				MockGdb.getLauncher((String) launchAttributes.get(IGDBLaunchConfigurationConstants.ATTR_DEBUG_NAME),
+						getClass().getSimpleName() + "." + testName.getMethodName()));
 		lcWorkingCopy.setAttributes(launchAttributes);
 
 		fLaunchConfiguration = lcWorkingCopy.doSave();
@@ -789,7 +793,13 @@ public class BaseTestCase {
 			// See if we can find GDB by actually running it.
 			String version = gdbCache.get(gdb);
 			if (version == null) {
-				version = doReadGdbVersion(gdb);
+				version = MockGdb.getRecordedVersion(gdb);
+				if (version == null) {
+					version = doReadGdbVersion(gdb);
+					if (version != null) {
+						MockGdb.recordVersion(gdb, version);
+					}
+				}
 				gdbCache.put(gdb, version);
 			}
 			return version;
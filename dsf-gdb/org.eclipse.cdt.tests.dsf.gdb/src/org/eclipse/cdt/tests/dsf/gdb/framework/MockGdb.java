@@ -0,0 +1,532 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.gdb.framework;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A stand-in for GDB, which answers the MI commands it receives with the
+ * output a real GDB gave to the same commands, as recorded in a transcript.
+ * It allows running the tests, and in particular measuring the performance of
+ * DSF-GDB, without GDB, a target or a network, and with a configurable
+ * latency.
+ * <p>
+ * The same class records the transcripts, by standing between DSF-GDB and a
+ * real GDB. It runs in its own process, launched through a script created by
+ * {@link #getLauncher(String, String)}. It only depends on the JRE so that it
+ * can be run outside of OSGi.
+ * <p>
+ * The tests use it according to the following system properties:
+ * <ul>
+ * <li><code>cdt.tests.dsf.gdb.mock</code>: <code>record</code> to record the
+ * transcripts of the tests run with a real GDB, <code>replay</code> to run them
+ * with the recorded transcripts</li>
+ * <li><code>cdt.tests.dsf.gdb.mock.transcripts</code>: the directory of the
+ * transcripts, one per test</li>
+ * <li><code>cdt.tests.dsf.gdb.mock.latency</code>: the time in milliseconds
+ * taken to answer each command when replaying, 0 by default. It is counted from
+ * the time the command is sent, so that the commands sent without waiting for
+ * the previous answers wait together, as they would on a link to a remote
+ * target.</li>
+ * </ul>
+ * As the services use the standard streams of GDB, the full GDB console, which
+ * requires a PTY, must be disabled.
+ * <p>
+ * A transcript is a text file. Each line starting with "&gt; " is an MI command
+ * without its token, followed by the lines starting with "&lt; " which are the
+ * output of GDB for that command. The output before the first command is
+ * printed at startup. A command is answered with the output of the first
+ * command of the transcript not answered yet which is identical, or else which
+ * is the same operation with other parameters (e.g. other paths), or else the
+ * last one which was identical or the same operation.
+ */
+public class MockGdb {
+
+	public static final String MODE_PROPERTY = "cdt.tests.dsf.gdb.mock";
+	public static final String TRANSCRIPTS_PROPERTY = "cdt.tests.dsf.gdb.mock.transcripts";
+	public static final String LATENCY_PROPERTY = "cdt.tests.dsf.gdb.mock.latency";
+
+	public static final String MODE_RECORD = "record";
+	public static final String MODE_REPLAY = "replay";
+
+	private static final String COMMAND_PREFIX = "> ";
+	private static final String OUTPUT_PREFIX = "< ";
+	private static final String TRANSCRIPT_EXTENSION = ".mi";
+	private static final String VERSION_EXTENSION = ".version";
+
+	/** The classes needed to run this class in a separate process */
+	private static final String[] CLASS_NAMES = { MockGdb.class.getName(), MockGdb.class.getName() + "$Entry",
+			MockGdb.class.getName() + "$ReceivedLine" };
+
+	private static final Pattern TOKEN_PATTERN = Pattern.compile("^(\\d+)(.*)$");
+	private static final Pattern CONSOLE_PATTERN = Pattern.compile("^~\"(.*)\"$");
+
+	/** A command of the transcript, with its output */
+	private static class Entry {
+		final String command;
+		final List<String> output = new ArrayList<>();
+		boolean answered;
+
+		Entry(String command) {
+			this.command = command;
+		}
+	}
+
+	/** A line sent to GDB, with the time it was received */
+	private static class ReceivedLine {
+		static final ReceivedLine END = new ReceivedLine(null);
+
+		final String line;
+		final long time = System.nanoTime();
+
+		ReceivedLine(String line) {
+			this.line = line;
+		}
+	}
+
+	private final List<Entry> fEntries = new ArrayList<>();
+
+	// Recording state
+	private final Deque<Entry> fAwaitingResult = new ArrayDeque<>();
+	private final List<String> fAwaitingTokens = new ArrayList<>();
+	private Entry fLastResultEntry;
+	private Entry fLastRunningEntry;
+	private boolean fSaved;
+
+	// ------------------------------------------------------------------------
+	// Use from the tests
+	// ------------------------------------------------------------------------
+
+	/**
+	 * Returns the mode of the tests, <code>null</code> if they use GDB directly.
+	 */
+	public static String getMode() {
+		String mode = System.getProperty(MODE_PROPERTY);
+		return MODE_RECORD.equals(mode) || MODE_REPLAY.equals(mode) ? mode : null;
+	}
+
+	private static File getTranscriptsDir() {
+		String dir = System.getProperty(TRANSCRIPTS_PROPERTY);
+		if (dir == null || dir.isBlank()) {
+			throw new IllegalStateException(TRANSCRIPTS_PROPERTY + " must be set when " + MODE_PROPERTY + " is set");
+		}
+		return new File(dir);
+	}
+
+	private static String toFileName(String name) {
+		return name.replaceAll("[^A-Za-z0-9._-]", "_");
+	}
+
+	/**
+	 * Returns the program to use instead of GDB for the given test, which
+	 * records or replays its transcript. Returns the given GDB if the tests
+	 * use GDB directly.
+	 *
+	 * @param gdb the GDB the test would use
+	 * @param testName a name unique to the test, used for the transcript
+	 */
+	public static String getLauncher(String gdb, String testName) throws IOException {
+		String mode = getMode();
+		if (mode == null) {
+			return gdb;
+		}
+
+		File dir = getTranscriptsDir();
+		dir.mkdirs();
+		File transcript = new File(dir, toFileName(testName) + TRANSCRIPT_EXTENSION);
+		List<String> args = new ArrayList<>();
+		if (MODE_RECORD.equals(mode)) {
+			args.addAll(Arrays.asList("--record", transcript.getAbsolutePath(), gdb));
+		} else {
+			args.addAll(Arrays.asList("--replay", transcript.getAbsolutePath(),
+					Integer.toString(Integer.getInteger(LATENCY_PROPERTY, 0))));
+		}
+		return createLauncher(args).getAbsolutePath();
+	}
+
+	/**
+	 * Returns the version of GDB recorded with its transcripts, or
+	 * <code>null</code> if the tests don't replay transcripts.
+	 */
+	public static String getRecordedVersion(String gdb) throws IOException {
+		if (!MODE_REPLAY.equals(getMode())) {
+			return null;
+		}
+		File file = new File(getTranscriptsDir(), toFileName(new File(gdb).getName()) + VERSION_EXTENSION);
+		return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).trim();
+	}
+
+	/**
+	 * Records the version of GDB, if the tests record transcripts.
+	 */
+	public static void recordVersion(String gdb, String version) throws IOException {
+		if (MODE_RECORD.equals(getMode())) {
+			File dir = getTranscriptsDir();
+			dir.mkdirs();
+			File file = new File(dir, toFileName(new File(gdb).getName()) + VERSION_EXTENSION);
+			Files.write(file.toPath(), version.getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	/**
+	 * Returns the output of GDB recorded in all the transcripts of the
+	 * transcripts directory, one MI record per line, or an empty list if the
+	 * directory is not set.
+	 */
+	public static List<String> getRecordedOutput() throws IOException {
+		List<String> output = new ArrayList<>();
+		String dir = System.getProperty(TRANSCRIPTS_PROPERTY);
+		if (dir == null || dir.isBlank()) {
+			return output;
+		}
+		File[] transcripts = new File(dir).listFiles((d, name) -> name.endsWith(TRANSCRIPT_EXTENSION));
+		if (transcripts != null) {
+			Arrays.sort(transcripts);
+			for (File transcript : transcripts) {
+				MockGdb mock = new MockGdb();
+				mock.load(transcript);
+				for (Entry entry : mock.fEntries) {
+					output.addAll(entry.output);
+				}
+			}
+		}
+		return output;
+	}
+
+	/**
+	 * Creates a script which runs this class in a new JVM with the given
+	 * arguments, followed by the arguments of the script.
+	 */
+	private static File createLauncher(List<String> args) throws IOException {
+		File dir = Files.createTempDirectory("mockgdb").toFile();
+		dir.deleteOnExit();
+
+		// The classes are copied since, in OSGi, the classpath of the bundle
+		// cannot be given to another JVM
+		File classesDir = new File(dir, "classes");
+		for (String className : CLASS_NAMES) {
+			String resource = className.replace('.', '/') + ".class";
+			File classFile = new File(classesDir, resource);
+			classFile.getParentFile().mkdirs();
+			try (InputStream in = MockGdb.class.getClassLoader().getResourceAsStream(resource)) {
+				Files.copy(in, classFile.toPath());
+			}
+		}
+
+		String java = new File(new File(System.getProperty("java.home"), "bin"), "java").getAbsolutePath();
+		StringBuilder command = new StringBuilder();
+		command.append('"').append(java).append("\" -cp \"").append(classesDir.getAbsolutePath()).append("\" ")
+				.append(MockGdb.class.getName());
+		for (String arg : args) {
+			command.append(" \"").append(arg).append('"');
+		}
+
+		File launcher;
+		if (File.separatorChar == '\\') {
+			launcher = new File(dir, "gdb.bat");
+			Files.write(launcher.toPath(), ("@" + command + " %*\r\n").getBytes(StandardCharsets.UTF_8));
+		} else {
+			launcher = new File(dir, "gdb");
+			Files.write(launcher.toPath(),
+					("#!/bin/sh\nexec " + command + " \"$@\"\n").getBytes(StandardCharsets.UTF_8));
+			launcher.setExecutable(true);
+		}
+		return launcher;
+	}
+
+	// ------------------------------------------------------------------------
+	// Replay
+	// ------------------------------------------------------------------------
+
+	private void load(File transcript) throws IOException {
+		Entry entry = new Entry(null);
+		fEntries.add(entry);
+		for (String line : Files.readAllLines(transcript.toPath(), StandardCharsets.UTF_8)) {
+			if (line.startsWith(COMMAND_PREFIX)) {
+				entry = new Entry(line.substring(COMMAND_PREFIX.length()));
+				fEntries.add(entry);
+			} else if (line.startsWith(OUTPUT_PREFIX)) {
+				entry.output.add(line.substring(OUTPUT_PREFIX.length()));
+			}
+			// Anything else is a comment
+		}
+	}
+
+	private static String getOperation(String command) {
+		int end = command.indexOf(' ');
+		return end < 0 ? command : command.substring(0, end);
+	}
+
+	private Entry findEntry(String command) {
+		String operation = getOperation(command);
+		Entry sameOperation = null;
+		Entry lastIdentical = null;
+		Entry lastSameOperation = null;
+		for (Entry entry : fEntries) {
+			if (entry.command == null) {
+				continue;
+			}
+			if (entry.command.equals(command)) {
+				if (!entry.answered) {
+					return entry;
+				}
+				lastIdentical = entry;
+			}
+			if (getOperation(entry.command).equals(operation)) {
+				if (!entry.answered && sameOperation == null) {
+					sameOperation = entry;
+				}
+				lastSameOperation = entry;
+			}
+		}
+		if (sameOperation != null) {
+			return sameOperation;
+		}
+		return lastIdentical != null ? lastIdentical : lastSameOperation;
+	}
+
+	private void printVersion(PrintStream out) {
+		Entry entry = findEntry("-gdb-version");
+		if (entry != null) {
+			for (String line : entry.output) {
+				Matcher matcher = CONSOLE_PATTERN.matcher(line);
+				if (matcher.matches()) {
+					out.print(matcher.group(1).replace("\\n", "\n").replace("\\\"", "\"").replace("\\\\", "\\"));
+				}
+			}
+		}
+		out.flush();
+	}
+
+	private void replay(int latency, InputStream input, PrintStream out) throws InterruptedException {
+		for (String line : fEntries.get(0).output) {
+			out.println(line);
+		}
+		out.flush();
+
+		// Read the commands as soon as they are sent, to know when they were
+		BlockingQueue<ReceivedLine> received = new LinkedBlockingQueue<>();
+		Thread reader = new Thread(() -> {
+			BufferedReader in = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+			try {
+				String line;
+				while ((line = in.readLine()) != null) {
+					received.add(new ReceivedLine(line));
+				}
+			} catch (IOException e) {
+			}
+			received.add(ReceivedLine.END);
+		}, "MockGdb reader");
+		reader.setDaemon(true);
+		reader.start();
+
+		ReceivedLine receivedLine;
+		while ((receivedLine = received.take()) != ReceivedLine.END) {
+			String line = receivedLine.line;
+			Matcher matcher = TOKEN_PATTERN.matcher(line);
+			String token = matcher.matches() ? matcher.group(1) : "";
+			String command = (matcher.matches() ? matcher.group(2) : line).trim();
+			if (command.isEmpty()) {
+				continue;
+			}
+
+			long delay = receivedLine.time + TimeUnit.MILLISECONDS.toNanos(latency) - System.nanoTime();
+			if (delay > 0) {
+				TimeUnit.NANOSECONDS.sleep(delay);
+			}
+
+			Entry entry = findEntry(command);
+			if (entry == null) {
+				out.println(token + "^error,msg=\"No recorded output for: " + command.replace("\\", "\\\\")
+						.replace("\"", "\\\"") + "\"");
+				out.println("(gdb) ");
+			} else {
+				entry.answered = true;
+				for (String output : entry.output) {
+					out.println(output.startsWith("^") ? token + output : output);
+				}
+			}
+			out.flush();
+
+			if (getOperation(command).equals("-gdb-exit")) {
+				return;
+			}
+		}
+	}
+
+	// ------------------------------------------------------------------------
+	// Record
+	// ------------------------------------------------------------------------
+
+	private synchronized void recordCommand(String line) {
+		Matcher matcher = TOKEN_PATTERN.matcher(line);
+		String command = (matcher.matches() ? matcher.group(2) : line).trim();
+		if (command.isEmpty()) {
+			return;
+		}
+		Entry entry = new Entry(command);
+		fEntries.add(entry);
+		fAwaitingResult.add(entry);
+		fAwaitingTokens.add(matcher.matches() ? matcher.group(1) : "");
+	}
+
+	private synchronized void recordOutput(String line) {
+		Matcher matcher = TOKEN_PATTERN.matcher(line);
+		String output = matcher.matches() ? matcher.group(2) : line;
+		if (output.startsWith("^")) {
+			// The result of a command, identified by its token
+			String token = matcher.matches() ? matcher.group(1) : "";
+			int index = fAwaitingTokens.indexOf(token);
+			if (index < 0) {
+				index = 0;
+			}
+			if (index < fAwaitingResult.size()) {
+				Entry entry = new ArrayList<>(fAwaitingResult).get(index);
+				fAwaitingResult.remove(entry);
+				fAwaitingTokens.remove(index);
+				entry.output.add(output);
+				fLastResultEntry = entry;
+				if (output.startsWith("^running")) {
+					fLastRunningEntry = entry;
+				}
+				return;
+			}
+		} else if (output.startsWith("(gdb)") && fLastResultEntry != null) {
+			// The prompt which follows a result
+			fLastResultEntry.output.add(output);
+			return;
+		} else if (output.startsWith("*") && fLastRunningEntry != null) {
+			// The execution state changes caused by the last command which resumed
+			fLastRunningEntry.output.add(output);
+			return;
+		}
+		// Other output goes with the oldest command still running, or else
+		// with the last command
+		Entry entry = fAwaitingResult.isEmpty() ? fEntries.get(fEntries.size() - 1) : fAwaitingResult.peek();
+		entry.output.add(output);
+	}
+
+	private synchronized void save(File transcript) {
+		if (fSaved) {
+			return;
+		}
+		fSaved = true;
+		try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(transcript.toPath(), StandardCharsets.UTF_8))) {
+			writer.println("# MI transcript recorded by " + MockGdb.class.getName());
+			for (Entry entry : fEntries) {
+				if (entry.command != null) {
+					writer.println(COMMAND_PREFIX + entry.command);
+				}
+				for (String output : entry.output) {
+					writer.println(OUTPUT_PREFIX + output);
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private int record(File transcript, List<String> gdbCommand) throws IOException, InterruptedException {
+		fEntries.add(new Entry(null));
+
+		Process gdb = new ProcessBuilder(gdbCommand).redirectError(ProcessBuilder.Redirect.INHERIT).start();
+		// In case we are killed before GDB exits
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> save(transcript)));
+
+		Thread input = new Thread(() -> {
+			BufferedReader in = new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8));
+			OutputStream gdbIn = gdb.getOutputStream();
+			try {
+				String line;
+				while ((line = in.readLine()) != null) {
+					recordCommand(line);
+					gdbIn.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+					gdbIn.flush();
+				}
+				gdbIn.close();
+			} catch (IOException e) {
+				// GDB is gone
+			}
+		});
+		input.setDaemon(true);
+		input.start();
+
+		BufferedReader gdbOut = new BufferedReader(new InputStreamReader(gdb.getInputStream(), StandardCharsets.UTF_8));
+		String line;
+		while ((line = gdbOut.readLine()) != null) {
+			recordOutput(line);
+			System.out.println(line);
+			System.out.flush();
+		}
+
+		int exitValue = gdb.waitFor();
+		save(transcript);
+		return exitValue;
+	}
+
+	// ------------------------------------------------------------------------
+
+	/**
+	 * <pre>
+	 * MockGdb --replay &lt;transcript&gt; &lt;latency in ms&gt; [GDB arguments]
+	 * MockGdb --record &lt;transcript&gt; &lt;GDB&gt; [GDB arguments]
+	 * </pre>
+	 */
+	public static void main(String[] args) throws Exception {
+		if (args.length < 3) {
+			System.err.println("Usage: " + MockGdb.class.getName()
+					+ " --replay <transcript> <latency in ms> [GDB arguments]");
+			System.err.println("       " + MockGdb.class.getName() + " --record <transcript> <GDB> [GDB arguments]");
+			System.exit(2);
+		}
+
+		File transcript = new File(args[1]);
+		List<String> gdbArgs = Arrays.asList(args).subList(3, args.length);
+		MockGdb mock = new MockGdb();
+		if (args[0].equals("--record")) {
+			List<String> gdbCommand = new ArrayList<>();
+			gdbCommand.add(args[2]);
+			gdbCommand.addAll(gdbArgs);
+			if (gdbArgs.contains("--version")) {
+				// Not a session, nothing to record
+				System.exit(new ProcessBuilder(gdbCommand).inheritIO().start().waitFor());
+			}
+			System.exit(mock.record(transcript, gdbCommand));
+		} else {
+			mock.load(transcript);
+			if (gdbArgs.contains("--version")) {
+				mock.printVersion(System.out);
+			} else {
+				mock.replay(Integer.parseInt(args[2]), System.in, System.out);
+			}
+			System.exit(0);
+		}
+	}
+}
@@ -0,0 +1,501 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.gdb.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.core.IAddress;
+import org.eclipse.cdt.debug.core.CDIDebugModel;
+import org.eclipse.cdt.debug.core.ICDTLaunchConfigurationConstants;
+import org.eclipse.cdt.debug.core.model.ICBreakpointType;
+import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateCountingRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.Query;
+import org.eclipse.cdt.dsf.datamodel.CompositeDMContext;
+import org.eclipse.cdt.dsf.datamodel.DMContexts;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.ICachingService;
+import org.eclipse.cdt.dsf.debug.service.IExpressions.IExpressionDMContext;
+import org.eclipse.cdt.dsf.debug.service.IExpressions4;
+import org.eclipse.cdt.dsf.debug.service.IFormattedValues;
+import org.eclipse.cdt.dsf.debug.service.IFormattedValues.FormattedValueDMData;
+import org.eclipse.cdt.dsf.debug.service.IMemory;
+import org.eclipse.cdt.dsf.debug.service.IMemory.IMemoryDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRegisters;
+import org.eclipse.cdt.dsf.debug.service.IRegisters.IRegisterDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.StepType;
+import org.eclipse.cdt.dsf.debug.service.IStack.IFrameDMContext;
+import org.eclipse.cdt.dsf.debug.service.IStack.IVariableDMData;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandControlService;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandListener;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandResult;
+import org.eclipse.cdt.dsf.debug.service.command.ICommandToken;
+import org.eclipse.cdt.dsf.gdb.service.GdbDebugServicesFactory;
+import org.eclipse.cdt.dsf.gdb.service.extensions.GDBBackend_HEAD;
+import org.eclipse.cdt.dsf.mi.service.IMIBackend;
+import org.eclipse.cdt.dsf.mi.service.IMIExecutionDMContext;
+import org.eclipse.cdt.dsf.mi.service.command.events.MIStoppedEvent;
+import org.eclipse.cdt.dsf.service.DsfServicesTracker;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.cdt.tests.dsf.gdb.framework.BaseParametrizedTestCase;
+import org.eclipse.cdt.tests.dsf.gdb.framework.MockGdb;
+import org.eclipse.cdt.tests.dsf.gdb.framework.ServiceFactoriesManager;
+import org.eclipse.cdt.tests.dsf.gdb.framework.SyncUtil;
+import org.eclipse.cdt.tests.dsf.gdb.launching.TestsPlugin;
+import org.eclipse.cdt.utils.Addr64;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.model.MemoryByte;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * Measures the time taken by the common debugging operations, as seen by the
+ * views. The measurements are printed, and appended to the CSV file given by
+ * the <code>cdt.tests.dsf.gdb.benchmark.results</code> system property, if set.
+ * The tests don't fail on slowness, the results are meant to be compared
+ * between runs.
+ * <p>
+ * To track the performance of DSF-GDB itself, independently of GDB and of the
+ * target, they are meant to be run with {@link MockGdb}: once with a real GDB
+ * to record the transcripts, then as often as needed replaying them, with the
+ * latency to simulate.
+ */
+@RunWith(Parameterized.class)
+public class DebuggerPerformanceTest extends BaseParametrizedTestCase {
+	public static final String RESULTS_PROPERTY = "cdt.tests.dsf.gdb.benchmark.results";
+
+	private static final String EXEC_NAME = "MemoryTestApp.exe";
+	private static final String SOURCE_NAME = "MemoryTestApp.cc";
+
+	/** The number of times each operation is measured */
+	private static final int ITERATIONS = 20;
+	/** The number of bytes of charBlock and of integerBlock in MemoryTestApp */
+	private static final int CHAR_BLOCK_SIZE = 256;
+	private static final int INTEGER_BLOCK_SIZE = 256 * 4;
+	/** The number of identifiers a hover-heavy editor evaluates at once */
+	private static final int HOVER_EXPRESSIONS = 50;
+	/** The number of platform breakpoints installed when launching, as in a large project */
+	private static final int INITIAL_BREAKPOINTS = 2000;
+	/** The lines of the loops of zeroBlocks() and setBlocks() in MemoryTestApp */
+	private static final int[] INITIAL_BREAKPOINT_LINES = { 20, 21, 28, 29 };
+
+	private DsfSession fSession;
+	private DsfServicesTracker fServicesTracker;
+	private IRegisters fRegisters;
+	private IMemory fMemory;
+	private IExpressions4 fExpressions;
+	private ICommandControlService fCommandControl;
+
+	private long fTimeToFirstStop;
+
+	/**
+	 * A backend which uses the basic console, since the full console doesn't
+	 * use the standard streams of GDB, which MockGdb stands behind.
+	 */
+	private class TestBackendBasicConsole extends GDBBackend_HEAD {
+		public TestBackendBasicConsole(DsfSession session, ILaunchConfiguration lc) {
+			super(session, lc);
+		}
+
+		@Override
+		public boolean isFullGdbConsoleSupported() {
+			return false;
+		}
+	}
+
+	private class TestServicesFactoryBasicConsole extends GdbDebugServicesFactory {
+		public TestServicesFactoryBasicConsole(String version, ILaunchConfiguration config) {
+			super(version, config);
+		}
+
+		@Override
+		protected IMIBackend createBackendGDBService(DsfSession session, ILaunchConfiguration lc) {
+			if (compareVersionWith(GDB_7_12_VERSION) >= 0) {
+				return new TestBackendBasicConsole(session, lc);
+			}
+			return super.createBackendGDBService(session, lc);
+		}
+	}
+
+	@Override
+	public void doBeforeTest() throws Exception {
+		assumeLocalSession();
+		super.doBeforeTest();
+
+		fSession = getGDBLaunch().getSession();
+		Runnable runnable = () -> {
+			fServicesTracker = new DsfServicesTracker(TestsPlugin.getBundleContext(), fSession.getId());
+			fRegisters = fServicesTracker.getService(IRegisters.class);
+			fMemory = fServicesTracker.getService(IMemory.class);
+			fExpressions = fServicesTracker.getService(IExpressions4.class);
+			fCommandControl = fServicesTracker.getService(ICommandControlService.class);
+		};
+		fSession.getExecutor().submit(runnable).get();
+	}
+
+	@Override
+	protected void setLaunchAttributes() {
+		super.setLaunchAttributes();
+
+		setLaunchAttribute(ICDTLaunchConfigurationConstants.ATTR_PROGRAM_NAME, EXEC_PATH + EXEC_NAME);
+
+		// Use the basic console for all runs, so that their results can be compared
+		String servicesFactoryId = getClass().getName() + "#" + testName.getMethodName();
+		try {
+			getServiceFactoriesManager().addTestServicesFactory(servicesFactoryId,
+					new TestServicesFactoryBasicConsole(getGdbVersion(), getLaunchConfiguration()));
+		} catch (CoreException e) {
+			throw new IllegalStateException(e);
+		}
+		setLaunchAttribute(ServiceFactoriesManager.DEBUG_SERVICES_FACTORY_KEY, servicesFactoryId);
+	}
+
+	@Override
+	protected void doLaunch() throws Exception {
+		if (testName.getMethodName().startsWith("initialBreakpointsInstallation")) {
+			createInitialBreakpoints();
+		}
+		long start = System.nanoTime();
+		// Returns once the program is stopped at main
+		super.doLaunch();
+		fTimeToFirstStop = System.nanoTime() - start;
+	}
+
+	@Override
+	public void doAfterTest() throws Exception {
+		if (fServicesTracker != null) {
+			fServicesTracker.dispose();
+		}
+		super.doAfterTest();
+	}
+
+	/**
+	 * Creates the platform breakpoints to be installed when launching, spread
+	 * over a few lines, with distinct conditions which are never true so that
+	 * the program doesn't stop.
+	 */
+	private void createInitialBreakpoints() throws CoreException {
+		String sourceHandle = new File(SOURCE_PATH + SOURCE_NAME).getAbsolutePath();
+		ResourcesPlugin.getWorkspace().run(monitor -> {
+			for (int i = 0; i < INITIAL_BREAKPOINTS; i++) {
+				CDIDebugModel.createLineBreakpoint(sourceHandle, ResourcesPlugin.getWorkspace().getRoot(),
+						ICBreakpointType.REGULAR, INITIAL_BREAKPOINT_LINES[i % INITIAL_BREAKPOINT_LINES.length], true,
+						0, "i == " + (1000000 + i), true);
+			}
+		}, null);
+	}
+
+	/**
+	 * Reports the median and maximum of the given durations, in nanoseconds.
+	 */
+	private void report(String operation, long[] durations) throws IOException {
+		long[] sorted = durations.clone();
+		Arrays.sort(sorted);
+		double median = sorted[sorted.length / 2] / 1e6;
+		double max = sorted[sorted.length - 1] / 1e6;
+		report(String.format("%s,%s,median_ms,%.3f", getGdbVersionParameter(), operation, median));
+		report(String.format("%s,%s,max_ms,%.3f", getGdbVersionParameter(), operation, max));
+	}
+
+	/**
+	 * Prints the given line of results, and appends it to the results file.
+	 */
+	static void report(String line) throws IOException {
+		System.out.println("Benchmark: " + line);
+		String results = System.getProperty(RESULTS_PROPERTY);
+		if (results != null && !results.isBlank()) {
+			try (PrintWriter writer = new PrintWriter(new FileWriter(results, true))) {
+				writer.println(line);
+			}
+		}
+	}
+
+	/**
+	 * Runs into the loop of setBlocks(), where each step stops on a new line.
+	 */
+	private MIStoppedEvent runToLoop() throws Throwable {
+		SyncUtil.runToLocation(SOURCE_NAME + ":setBlocks");
+		return SyncUtil.step(StepType.STEP_OVER);
+	}
+
+	/**
+	 * The time from the launch to the stop at main.
+	 */
+	@Test
+	public void timeToFirstStop() throws Throwable {
+		report(String.format("%s,timeToFirstStop,ms,%.3f", getGdbVersionParameter(), fTimeToFirstStop / 1e6));
+	}
+
+	/**
+	 * The time of a step, from the request to the stopped event.
+	 */
+	@Test
+	public void stepLatency() throws Throwable {
+		runToLoop();
+		long[] durations = new long[ITERATIONS];
+		for (int i = 0; i < ITERATIONS; i++) {
+			long start = System.nanoTime();
+			SyncUtil.step(StepType.STEP_OVER);
+			durations[i] = System.nanoTime() - start;
+		}
+		report("stepLatency", durations);
+	}
+
+	/**
+	 * The time to get what the Variables view shows after a step: the local
+	 * variables and their values.
+	 */
+	@Test
+	public void variablesRefresh() throws Throwable {
+		runToLoop();
+		long[] durations = new long[ITERATIONS];
+		for (int i = 0; i < ITERATIONS; i++) {
+			MIStoppedEvent stoppedEvent = SyncUtil.step(StepType.STEP_OVER);
+
+			long start = System.nanoTime();
+			IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+			IVariableDMData[] locals = SyncUtil.getLocals(frameDmc);
+			for (IVariableDMData local : locals) {
+				IExpressionDMContext exprDmc = SyncUtil.createExpression(frameDmc, local.getName());
+				SyncUtil.getExpressionValue(exprDmc, IFormattedValues.NATURAL_FORMAT);
+			}
+			durations[i] = System.nanoTime() - start;
+			assertTrue("No local variable", locals.length > 0);
+		}
+		report("variablesRefresh", durations);
+	}
+
+	/**
+	 * The time to evaluate the identifiers visible in an editor after a step,
+	 * e.g. to show their values inline: one after the other as the hover does,
+	 * then all at once.
+	 */
+	@Test
+	public void hoverExpressions() throws Throwable {
+		runToLoop();
+		final String[] expressions = new String[HOVER_EXPRESSIONS];
+		for (int i = 0; i < expressions.length; i++) {
+			expressions[i] = (i % 2 == 0 ? "charBlock[" : "integerBlock[") + i / 2 + "]";
+		}
+
+		long[] durations = new long[ITERATIONS];
+		for (int i = 0; i < ITERATIONS; i++) {
+			MIStoppedEvent stoppedEvent = SyncUtil.step(StepType.STEP_OVER);
+
+			long start = System.nanoTime();
+			IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+			for (String expression : expressions) {
+				SyncUtil.getExpressionValue(SyncUtil.createExpression(frameDmc, expression),
+						IFormattedValues.NATURAL_FORMAT);
+			}
+			durations[i] = System.nanoTime() - start;
+		}
+		report("hoverExpressions", durations);
+
+		for (int i = 0; i < ITERATIONS; i++) {
+			MIStoppedEvent stoppedEvent = SyncUtil.step(StepType.STEP_OVER);
+
+			long start = System.nanoTime();
+			final IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+			Query<FormattedValueDMData[]> query = new Query<>() {
+				@Override
+				protected void execute(DataRequestMonitor<FormattedValueDMData[]> rm) {
+					IExpressionDMContext[] exprDmcs = new IExpressionDMContext[expressions.length];
+					for (int j = 0; j < expressions.length; j++) {
+						exprDmcs[j] = fExpressions.createExpression(frameDmc, expressions[j]);
+					}
+					fExpressions.getFormattedExpressionValues(exprDmcs, IFormattedValues.NATURAL_FORMAT, null, rm);
+				}
+			};
+			fSession.getExecutor().execute(query);
+			FormattedValueDMData[] values = query.get(TestsPlugin.massageTimeout(5000), TimeUnit.MILLISECONDS);
+			durations[i] = System.nanoTime() - start;
+			assertTrue("Expression not evaluated", Arrays.stream(values).allMatch(value -> value != null));
+		}
+		report("hoverExpressionsBatch", durations);
+	}
+
+	/**
+	 * The time to get what the Registers view shows after a step: the
+	 * registers and their values.
+	 */
+	@Test
+	public void registersRefresh() throws Throwable {
+		runToLoop();
+		long[] durations = new long[ITERATIONS];
+		for (int i = 0; i < ITERATIONS; i++) {
+			MIStoppedEvent stoppedEvent = SyncUtil.step(StepType.STEP_OVER);
+
+			long start = System.nanoTime();
+			final IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+			final IContainerDMContext containerDmc = DMContexts.getAncestorOfType(frameDmc,
+					IContainerDMContext.class);
+			Query<Integer> query = new Query<>() {
+				@Override
+				protected void execute(final DataRequestMonitor<Integer> rm) {
+					fRegisters.getRegisters(new CompositeDMContext(new IDMContext[] { containerDmc, frameDmc }),
+							new ImmediateDataRequestMonitor<IRegisterDMContext[]>(rm) {
+								@Override
+								protected void handleSuccess() {
+									final IRegisterDMContext[] registers = getData();
+									CountingRequestMonitor countingRm = new ImmediateCountingRequestMonitor(rm) {
+										@Override
+										protected void handleSuccess() {
+											rm.done(registers.length);
+										}
+									};
+									countingRm.setDoneCount(registers.length);
+									for (IRegisterDMContext register : registers) {
+										fRegisters.getFormattedExpressionValue(
+												fRegisters.getFormattedValueContext(register,
+														IFormattedValues.NATURAL_FORMAT),
+												new ImmediateDataRequestMonitor<FormattedValueDMData>(countingRm));
+									}
+								}
+							});
+				}
+			};
+			fSession.getExecutor().execute(query);
+			int count = query.get(TestsPlugin.massageTimeout(5000), TimeUnit.MILLISECONDS);
+			durations[i] = System.nanoTime() - start;
+			assertTrue("No register", count > 0);
+		}
+		report("registersRefresh", durations);
+	}
+
+	/**
+	 * The time to insert a breakpoint, when many are inserted.
+	 */
+	@Test
+	public void breakpointInsertion() throws Throwable {
+		String[] locations = { "zeroBlocks", "setBlocks", "main" };
+		long[] durations = new long[ITERATIONS * locations.length];
+		for (int i = 0; i < durations.length; i++) {
+			long start = System.nanoTime();
+			SyncUtil.addBreakpoint(SOURCE_NAME + ":" + locations[i % locations.length], false);
+			durations[i] = System.nanoTime() - start;
+		}
+		report("breakpointInsertion", durations);
+	}
+
+	/**
+	 * The time from the launch to the stop at main, when many platform
+	 * breakpoints are installed by the launch, and the time per breakpoint.
+	 */
+	@Test
+	public void initialBreakpointsInstallation() throws Throwable {
+		report(String.format("%s,initialBreakpointsInstallation,ms,%.3f", getGdbVersionParameter(),
+				fTimeToFirstStop / 1e6));
+		report(String.format("%s,initialBreakpointsInstallation,ms_per_breakpoint,%.3f", getGdbVersionParameter(),
+				fTimeToFirstStop / 1e6 / INITIAL_BREAKPOINTS));
+		assertTrue("Breakpoints not installed", SyncUtil.getBreakpointList(5000).length >= INITIAL_BREAKPOINTS);
+	}
+
+	/**
+	 * The throughput of memory reads, as done by the Memory Browser, with the
+	 * memory cache flushed before each read.
+	 */
+	@Test
+	public void memoryThroughput() throws Throwable {
+		MIStoppedEvent stoppedEvent = runToLoop();
+		IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+		final IMemoryDMContext memoryDmc = DMContexts.getAncestorOfType(frameDmc, IMemoryDMContext.class);
+		IAddress[] addresses = {
+				new Addr64(SyncUtil.getExpressionValue(SyncUtil.createExpression(frameDmc, "&charBlock"),
+						IFormattedValues.HEX_FORMAT)),
+				new Addr64(SyncUtil.getExpressionValue(SyncUtil.createExpression(frameDmc, "&integerBlock"),
+						IFormattedValues.HEX_FORMAT)) };
+		int[] sizes = { CHAR_BLOCK_SIZE, INTEGER_BLOCK_SIZE };
+
+		long bytes = 0;
+		long duration = 0;
+		for (int i = 0; i < ITERATIONS; i++) {
+			for (int j = 0; j < addresses.length; j++) {
+				fSession.getExecutor().submit(() -> ((ICachingService) fMemory).flushCache(memoryDmc)).get();
+
+				long start = System.nanoTime();
+				MemoryByte[] buffer = SyncUtil.readMemory(memoryDmc, addresses[j], 0, 1, sizes[j]);
+				duration += System.nanoTime() - start;
+				assertEquals("Wrong number of bytes read", sizes[j], buffer.length);
+				bytes += buffer.length;
+			}
+		}
+		report(String.format("%s,memoryThroughput,KiB_per_s,%.3f", getGdbVersionParameter(),
+				bytes / 1024.0 / (duration / 1e9)));
+	}
+
+	/**
+	 * The time and the MI traffic to get what the Debug view shows of the
+	 * threads after a step: the threads of the process and their data.
+	 */
+	@Test
+	public void threadListRefresh() throws Throwable {
+		runToLoop();
+		final IContainerDMContext containerDmc = SyncUtil.getContainerContext();
+		final int[] commandCount = new int[1];
+		final ICommandListener listener = new ICommandListener() {
+			@Override
+			public void commandQueued(ICommandToken token) {
+			}
+
+			@Override
+			public void commandSent(ICommandToken token) {
+				commandCount[0]++;
+			}
+
+			@Override
+			public void commandRemoved(ICommandToken token) {
+			}
+
+			@Override
+			public void commandDone(ICommandToken token, ICommandResult result) {
+			}
+		};
+		fSession.getExecutor().submit(() -> fCommandControl.addCommandListener(listener)).get();
+
+		long[] durations = new long[ITERATIONS];
+		int commands = 0;
+		try {
+			for (int i = 0; i < ITERATIONS; i++) {
+				SyncUtil.step(StepType.STEP_OVER);
+
+				fSession.getExecutor().submit(() -> commandCount[0] = 0).get();
+				long start = System.nanoTime();
+				IMIExecutionDMContext[] threads = SyncUtil.getExecutionContexts(containerDmc);
+				for (IMIExecutionDMContext thread : threads) {
+					SyncUtil.getThreadData(Integer.parseInt(thread.getThreadId()));
+				}
+				durations[i] = System.nanoTime() - start;
+				commands += fSession.getExecutor().submit(() -> commandCount[0]).get();
+				assertTrue("No thread", threads.length > 0);
+			}
+		} finally {
+			fSession.getExecutor().submit(() -> fCommandControl.removeCommandListener(listener)).get();
+		}
+		report("threadListRefresh", durations);
+		report(String.format("%s,threadListRefresh,commands,%.1f", getGdbVersionParameter(),
+				(double) commands / ITERATIONS));
+	}
+}
@@ -361,6 +361,32 @@ public class GDBPatternMatchingExpressionsTest extends BaseParametrizedTestCase
 		checkChildrenCount(exprDmc, children.length);
 	}
 
+	/**
+	 * Test that the matches of a group are computed again once the
+	 * program has run, even for a frame of the same level
+	 */
+	@Test
+	public void testMatchAllLocalsAfterStepReturn() throws Throwable {
+		final String exprString = "*";
+		final String[] children = new String[] { "argc", "argv", "boolvar", "chararray", "intvar" };
+
+		SyncUtil.runToLocation("foo");
+		MIStoppedEvent stoppedEvent = SyncUtil.step(5, StepType.STEP_OVER);
+
+		IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+
+		IExpressionDMContext exprDmc = SyncUtil.createExpression(frameDmc, exprString);
+		checkChildren(exprDmc, -1, -1, fAllVariables);
+		checkChildrenCount(exprDmc, fAllVariables.length);
+
+		stoppedEvent = SyncUtil.step(StepType.STEP_RETURN);
+		frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+
+		exprDmc = SyncUtil.createExpression(frameDmc, exprString);
+		checkChildren(exprDmc, -1, -1, children);
+		checkChildrenCount(exprDmc, children.length);
+	}
+
 	/**
 	 * Test that registers can be matched using '*'
 	 */
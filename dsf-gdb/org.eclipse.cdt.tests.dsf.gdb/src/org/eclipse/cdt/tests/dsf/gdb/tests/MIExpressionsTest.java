@@ -18,19 +18,23 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 
 import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.debug.core.ICDTLaunchConfigurationConstants;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
 import org.eclipse.cdt.dsf.concurrent.ImmediateDataRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.Query;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
@@ -45,6 +49,8 @@ import org.eclipse.cdt.dsf.debug.service.IExpressions2;
 import org.eclipse.cdt.dsf.debug.service.IExpressions2.CastInfo;
 import org.eclipse.cdt.dsf.debug.service.IExpressions2.ICastedExpressionDMContext;
 import org.eclipse.cdt.dsf.debug.service.IExpressions3.IExpressionDMDataExtension;
+import org.eclipse.cdt.dsf.debug.service.IExpressions4;
+import org.eclipse.cdt.dsf.debug.service.IExpressions5;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues.FormattedValueDMContext;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues.FormattedValueDMData;
@@ -65,6 +71,7 @@ import org.eclipse.cdt.tests.dsf.gdb.framework.SyncUtil;
 import org.eclipse.cdt.tests.dsf.gdb.launching.TestsPlugin;
 import org.eclipse.cdt.utils.Addr32;
 import org.eclipse.cdt.utils.Addr64;
+import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.junit.Ignore;
@@ -282,6 +289,41 @@ public class MIExpressionsTest extends BaseParametrizedTestCase {
 		executeExpressionSubTests(tests1, SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0));
 	}
 
+	/**
+	 * Test that we can evaluate many expressions at once, and that one which
+	 * cannot be evaluated does not prevent the others to be.
+	 */
+	@Test
+	public void testFormattedExpressionValues() throws Throwable {
+		MIStoppedEvent stoppedEvent = runToTag("testLocals_init");
+		final IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+		final String[] expressions = { "lIntVar", "lCharVar", "lBoolVar", "lUndefinedVar", "lIntArray[1]" };
+		final String[] expectedValues = { "12345", "109 'm'", "false", null, "12345" };
+		final IStatus[] statuses = new IStatus[expressions.length];
+
+		Query<FormattedValueDMData[]> query = new Query<FormattedValueDMData[]>() {
+			@Override
+			protected void execute(DataRequestMonitor<FormattedValueDMData[]> rm) {
+				IExpressionDMContext[] exprDmcs = new IExpressionDMContext[expressions.length];
+				for (int i = 0; i < expressions.length; i++) {
+					exprDmcs[i] = fExpService.createExpression(frameDmc, expressions[i]);
+				}
+				((IExpressions4) fExpService).getFormattedExpressionValues(exprDmcs, IFormattedValues.NATURAL_FORMAT,
+						(index, value, status) -> statuses[index] = status, rm);
+			}
+		};
+		fExpService.getExecutor().execute(query);
+		FormattedValueDMData[] values = query.get(TestsPlugin.massageTimeout(5000), TimeUnit.MILLISECONDS);
+
+		String[] actualValues = new String[values.length];
+		for (int i = 0; i < values.length; i++) {
+			actualValues[i] = values[i] == null ? null : values[i].getFormattedValue();
+			// Each value was also given as soon as it was known
+			assertEquals(expectedValues[i] != null, statuses[i].isOK());
+		}
+		assertArrayEquals(expectedValues, actualValues);
+	}
+
 	/**
 	 * This tests verifies that we can deal with variables in a subblock hiding
 	 * variables with the same name in the outer block.
@@ -3259,6 +3301,100 @@ public class MIExpressionsTest extends BaseParametrizedTestCase {
 				new String[] { "array_double_small[3][19]", "array_double_small[3][20]" });
 	}
 
+	/**
+	 * Checks that a window of the children of an array_int partition gives the
+	 * elements [firstIndex, firstIndex + count), with the values of these
+	 * elements.
+	 */
+	private void checkArrayIntWindow(IFrameDMContext frameDmc, IExpressionDMContext partitionDmc, int startIndex,
+			int length, int firstIndex, int count) throws Throwable {
+		String[] expectedValues = new String[count];
+		for (int i = 0; i < count; ++i) {
+			expectedValues[i] = String.format("array_int[%d]", firstIndex + i);
+		}
+		IExpressionDMContext[] children = getChildren(partitionDmc, startIndex, length, expectedValues);
+		for (int i = 0; i < count; ++i) {
+			IExpressionDMContext elementDmc = SyncUtil.createExpression(frameDmc, expectedValues[i]);
+			assertEquals("Wrong value for " + expectedValues[i],
+					SyncUtil.getExpressionValue(elementDmc, IFormattedValues.NATURAL_FORMAT),
+					SyncUtil.getExpressionValue(children[i], IFormattedValues.NATURAL_FORMAT));
+		}
+	}
+
+	/**
+	 * This test verifies that windows of the children of a large array, at its
+	 * start, in its middle and at its end, only give the children of the
+	 * window, also once the children of older windows were discarded.
+	 */
+	@Test
+	public void testWindowedArrayChildren() throws Throwable {
+		MIStoppedEvent stoppedEvent = SyncUtil.runToLocation("testArrays");
+
+		IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+
+		// int array_int[24321], partitioned in [0-9999], [10000-19999], [20000-24320]
+		IExpressionDMContext arrayIntExprDMC = SyncUtil.createExpression(frameDmc, "array_int");
+		IExpressionDMContext[] partitions = getChildren(arrayIntExprDMC,
+				new String[] { "*((array_int)+0)@10000", "*((array_int)+10000)@10000", "*((array_int)+20000)@4321" });
+
+		// Start of the array
+		IExpressionDMContext[] first = getChildren(partitions[0], 0, 1, new String[] { "*((array_int)+0)@100" });
+		checkArrayIntWindow(frameDmc, first[0], 0, 5, 0, 5);
+
+		// Middle of the array
+		IExpressionDMContext[] middle = getChildren(partitions[1], 20, 1,
+				new String[] { "*((array_int)+12000)@100" });
+		checkArrayIntWindow(frameDmc, middle[0], 50, 5, 12050, 5);
+
+		// End of the array, the window is cut at the last element
+		IExpressionDMContext[] last = getChildren(partitions[2], 43, 1, new String[] { "*((array_int)+24300)@21" });
+		checkArrayIntWindow(frameDmc, last[0], 18, 5, 24318, 3);
+
+		// Windows over more children than are kept for array_int, the first
+		// children get discarded and are created again when needed
+		IExpressionDMContext[] leaves = getChildren(partitions[0], 1, 4,
+				new String[] { "*((array_int)+100)@100", "*((array_int)+200)@100", "*((array_int)+300)@100",
+						"*((array_int)+400)@100" });
+		for (int i = 0; i < leaves.length; ++i) {
+			checkArrayIntWindow(frameDmc, leaves[i], 0, 100, (i + 1) * 100, 100);
+		}
+		checkArrayIntWindow(frameDmc, first[0], 0, 5, 0, 5);
+	}
+
+	private String getArrayValueSummary(IExpressionDMContext exprDmc) throws Throwable {
+		Query<String> query = new Query<String>() {
+			@Override
+			protected void execute(DataRequestMonitor<String> rm) {
+				((IExpressions5) fExpService).getArrayValueSummary(exprDmc, rm);
+			}
+		};
+		fExpService.getExecutor().execute(query);
+		return query.get(TestsPlugin.massageTimeout(5000), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * This test verifies the summary of the first elements of arrays of
+	 * integers, and that other expressions are not summarized.
+	 */
+	@Test
+	public void testArrayValueSummary() throws Throwable {
+		SyncUtil.runToLocation("testCasting");
+		MIStoppedEvent stoppedEvent = SyncUtil.step(3, StepType.STEP_OVER);
+		IFrameDMContext frameDmc = SyncUtil.getStackFrame(stoppedEvent.getDMContext(), 0);
+
+		assertEquals("{65, 1094861636, 1162233672, 0}",
+				getArrayValueSummary(SyncUtil.createExpression(frameDmc, "array_small")));
+		assertEquals("{65, 1094861636, 1162233672, 0, 0, 0, 0, 0, 0, 0, ...}",
+				getArrayValueSummary(SyncUtil.createExpression(frameDmc, "array_large")));
+
+		try {
+			getArrayValueSummary(SyncUtil.createExpression(frameDmc, "int_ptr"));
+			fail("A pointer should not be summarized");
+		} catch (ExecutionException e) {
+			assertEquals(IDsfStatusConstants.NOT_SUPPORTED, ((CoreException) e.getCause()).getStatus().getCode());
+		}
+	}
+
 	/**
 	 * This test verifies that there is no RTTI support before GDB 7.5.
 	 */
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.gdb.tests;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assume.assumeFalse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIParser.RecordType;
+import org.eclipse.cdt.tests.dsf.gdb.framework.MockGdb;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Measures the time taken by {@link MIParser} to parse the output of GDB
+ * recorded in the {@link MockGdb} transcripts, as the reader thread of
+ * DSF-GDB does. The transcripts of the {@link DebuggerPerformanceTest} runs
+ * are the reference input; the tests are skipped when the
+ * <code>cdt.tests.dsf.gdb.mock.transcripts</code> system property doesn't
+ * point to recorded transcripts. The results are reported as those of
+ * {@link DebuggerPerformanceTest}.
+ */
+public class MIParserPerformanceTest {
+
+	/** The number of times the transcripts are parsed */
+	private static final int ITERATIONS = 20;
+	/** The records at least that long are also measured on their own */
+	private static final int LARGE_RECORD_LENGTH = 64 * 1024;
+
+	private static List<String> fRecords;
+	private static long fChars;
+
+	@BeforeClass
+	public static void loadTranscripts() throws Exception {
+		fRecords = new ArrayList<>();
+		for (String line : MockGdb.getRecordedOutput()) {
+			// Skip the prompts, which aren't parsed
+			if (!line.isEmpty() && new MIParser().getRecordType(line) != RecordType.PrimaryPrompt) {
+				fRecords.add(line);
+				fChars += line.length();
+			}
+		}
+	}
+
+	/**
+	 * Parses the given records with one parser, as the reader thread does.
+	 */
+	private static long parse(List<String> records) {
+		MIParser parser = new MIParser();
+		long start = System.nanoTime();
+		for (String record : records) {
+			Object output = parser.getRecordType(record) == RecordType.ResultRecord
+					? parser.parseMIResultRecord(record)
+					: parser.parseMIOOBRecord(record);
+			assertNotNull(output);
+		}
+		return System.nanoTime() - start;
+	}
+
+	private static void report(String operation, long[] durations, long chars) throws Exception {
+		long[] sorted = durations.clone();
+		Arrays.sort(sorted);
+		double median = sorted[sorted.length / 2] / 1e6;
+		DebuggerPerformanceTest.report(String.format("mi-parser,%s,median_ms,%.3f", operation, median));
+		DebuggerPerformanceTest.report(String.format("mi-parser,%s,MiB_per_s,%.3f", operation,
+				chars / 1024.0 / 1024.0 / (median / 1e3)));
+	}
+
+	/**
+	 * The time to parse all the recorded records.
+	 */
+	@Test
+	public void parseTranscripts() throws Exception {
+		assumeFalse("No recorded transcripts", fRecords.isEmpty());
+		// Warm up
+		parse(fRecords);
+
+		long[] durations = new long[ITERATIONS];
+		for (int i = 0; i < ITERATIONS; i++) {
+			durations[i] = parse(fRecords);
+		}
+		report("parseTranscripts", durations, fChars);
+		DebuggerPerformanceTest.report(String.format("mi-parser,parseTranscripts,records,%d", fRecords.size()));
+	}
+
+	/**
+	 * The time to parse the large records alone, such as deep backtraces or
+	 * the children of big containers, which stall the reader thread.
+	 */
+	@Test
+	public void parseLargeRecords() throws Exception {
+		List<String> largeRecords = new ArrayList<>();
+		long chars = 0;
+		for (String record : fRecords) {
+			if (record.length() >= LARGE_RECORD_LENGTH) {
+				largeRecords.add(record);
+				chars += record.length();
+			}
+		}
+		assumeFalse("No large record in the transcripts", largeRecords.isEmpty());
+		parse(largeRecords);
+
+		long[] durations = new long[ITERATIONS];
+		for (int i = 0; i < ITERATIONS; i++) {
+			durations[i] = parse(largeRecords);
+		}
+		report("parseLargeRecords", durations, chars);
+		DebuggerPerformanceTest.report(String.format("mi-parser,parseLargeRecords,records,%d", largeRecords.size()));
+	}
+}
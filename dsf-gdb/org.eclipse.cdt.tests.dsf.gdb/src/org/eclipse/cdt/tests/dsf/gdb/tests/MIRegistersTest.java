@@ -58,15 +58,24 @@ import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerDMContext;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.IExecutionDMContext;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.StepType;
 import org.eclipse.cdt.dsf.debug.service.IStack.IFrameDMContext;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
 import org.eclipse.cdt.dsf.gdb.service.GDBRegisters;
+import org.eclipse.cdt.dsf.gdb.service.command.IGDBControl;
+import org.eclipse.cdt.dsf.mi.service.MIFormat;
+import org.eclipse.cdt.dsf.mi.service.MIRegisters;
 import org.eclipse.cdt.dsf.mi.service.MIRegisters.MIRegisterDMC;
 import org.eclipse.cdt.dsf.mi.service.command.events.MIStoppedEvent;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIDataListRegisterValuesInfo;
+import org.eclipse.cdt.dsf.mi.service.command.output.MIRegisterValue;
 import org.eclipse.cdt.dsf.service.DsfServicesTracker;
 import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.cdt.tests.dsf.gdb.framework.BaseParametrizedTestCase;
 import org.eclipse.cdt.tests.dsf.gdb.framework.ServiceEventWaitor;
 import org.eclipse.cdt.tests.dsf.gdb.framework.SyncUtil;
 import org.eclipse.cdt.tests.dsf.gdb.launching.TestsPlugin;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
@@ -96,6 +105,11 @@ public class MIRegistersTest extends BaseParametrizedTestCase {
 
 	@Override
 	public void doBeforeTest() throws Exception {
+		if (testName.getMethodName().startsWith("registerDeltaUpdate")) {
+			// The preference is read when the service starts
+			IEclipsePreferences node = InstanceScope.INSTANCE.getNode(GdbPlugin.PLUGIN_ID);
+			node.putBoolean(IGdbDebugPreferenceConstants.PREF_REGISTERS_DELTA_UPDATE, true);
+		}
 		super.doBeforeTest();
 
 		fSession = getGDBLaunch().getSession();
@@ -137,6 +151,8 @@ public class MIRegistersTest extends BaseParametrizedTestCase {
 			fServicesTracker.dispose();
 		fRegService = null;
 		super.doAfterTest();
+		IEclipsePreferences node = InstanceScope.INSTANCE.getNode(GdbPlugin.PLUGIN_ID);
+		node.remove(IGdbDebugPreferenceConstants.PREF_REGISTERS_DELTA_UPDATE);
 	}
 
 	/*
@@ -384,6 +400,170 @@ public class MIRegistersTest extends BaseParametrizedTestCase {
 
 	}
 
+	/**
+	 * Returns the values of the registers of the top frame of a thread, read
+	 * from the service one by one.
+	 */
+	private Map<Integer, String> getTopFrameRegisterValues(IExecutionDMContext execDmc) throws Throwable {
+		IFrameDMContext frameDmc = SyncUtil.getStackFrame(execDmc, 0);
+		Map<Integer, String> values = new HashMap<>();
+		for (IRegisterDMContext registerDmc : getTargetRegisters(frameDmc)) {
+			values.put(((MIRegisterDMC) registerDmc).getRegNo(),
+					getModelDataForRegisterDataValue(registerDmc, IFormattedValues.NATURAL_FORMAT));
+		}
+		return values;
+	}
+
+	/**
+	 * Returns the values of the registers of the top frame of a thread, read
+	 * from GDB directly, to compare them to the values of the service.
+	 */
+	private Map<Integer, String> getTopFrameRegisterValuesFromGdb(IExecutionDMContext execDmc) throws Throwable {
+		final IFrameDMContext frameDmc = SyncUtil.getStackFrame(execDmc, 0);
+		final IGDBControl commandControl = fServicesTracker.getService(IGDBControl.class);
+		Query<MIDataListRegisterValuesInfo> query = new Query<>() {
+			@Override
+			protected void execute(DataRequestMonitor<MIDataListRegisterValuesInfo> rm) {
+				commandControl.queueCommand(
+						commandControl.getCommandFactory().createMIDataListRegisterValues(frameDmc, MIFormat.NATURAL),
+						rm);
+			}
+		};
+		fSession.getExecutor().execute(query);
+
+		Map<Integer, String> values = new HashMap<>();
+		for (MIRegisterValue value : query.get(TestsPlugin.massageTimeout(500), TimeUnit.MILLISECONDS)
+				.getMIRegisterValues()) {
+			values.put(value.getNumber(), value.getValue());
+		}
+		return values;
+	}
+
+	/**
+	 * Returns the number of register values read from GDB and kept from the
+	 * previous stop, since the last stop.
+	 */
+	private int[] getRegisterValueCounts() throws Throwable {
+		Query<int[]> query = new Query<>() {
+			@Override
+			protected void execute(DataRequestMonitor<int[]> rm) {
+				MIRegisters registers = (MIRegisters) fRegService;
+				rm.done(new int[] { registers.getRegisterValuesRead(), registers.getRegisterValuesKept() });
+			}
+		};
+		fSession.getExecutor().execute(query);
+		return query.get(TestsPlugin.massageTimeout(500), TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * With the delta update of the registers, only the registers changed by a
+	 * step are read again, and the values of every thread stay correct.
+	 * The preference is set for this test only, see {@link #doBeforeTest()}.
+	 */
+	@Test
+	public void registerDeltaUpdateAfterStep() throws Throwable {
+		MIStoppedEvent stoppedEvent = SyncUtil
+				.runToLocation(SOURCE_NAME + ':' + getLineForTag("LINE_MAIN_ALL_THREADS_STARTED"));
+		final IContainerDMContext containerDmc = DMContexts.getAncestorOfType(stoppedEvent.getDMContext(),
+				IContainerDMContext.class);
+		IExecutionDMContext steppedThread = DMContexts.getAncestorOfType(stoppedEvent.getDMContext(),
+				IExecutionDMContext.class);
+		assertNotNull(steppedThread);
+
+		Query<IExecutionDMContext[]> queryExecutionContexts = new Query<>() {
+			@Override
+			protected void execute(DataRequestMonitor<IExecutionDMContext[]> rm) {
+				fRunControl.getExecutionContexts(containerDmc, rm);
+			}
+		};
+		fRegService.getExecutor().submit(queryExecutionContexts);
+		IExecutionDMContext otherThread = null;
+		for (IExecutionDMContext ctx : queryExecutionContexts.get(TestsPlugin.massageTimeout(500),
+				TimeUnit.MILLISECONDS)) {
+			if (!ctx.equals(steppedThread)) {
+				otherThread = ctx;
+			}
+		}
+		assertNotNull(otherThread);
+
+		// GDB reports the registers changed since it was last asked, the stepped
+		// thread is read last so that the list it reports after the step is usable.
+		getTopFrameRegisterValues(otherThread);
+		Map<Integer, String> valuesBefore = getTopFrameRegisterValues(steppedThread);
+
+		SyncUtil.step(steppedThread, StepType.STEP_OVER);
+
+		Map<Integer, String> values = getTopFrameRegisterValues(steppedThread);
+		assertEquals(getTopFrameRegisterValuesFromGdb(steppedThread), values);
+		int[] counts = getRegisterValueCounts();
+		int changed = 0;
+		for (Map.Entry<Integer, String> entry : values.entrySet()) {
+			if (!entry.getValue().equals(valuesBefore.get(entry.getKey()))) {
+				changed++;
+			}
+		}
+		// The program counter changed at least
+		assertTrue("No register changed by the step", changed > 0);
+		assertTrue("Changed registers not read again", counts[0] >= changed);
+		assertTrue("No register value kept", counts[1] > 0);
+		assertEquals(values.size(), counts[0] + counts[1]);
+
+		// The list of changed registers was for the stepped thread, all the
+		// registers of the other thread are read again.
+		Map<Integer, String> otherValues = getTopFrameRegisterValues(otherThread);
+		assertEquals(getTopFrameRegisterValuesFromGdb(otherThread), otherValues);
+		int[] otherCounts = getRegisterValueCounts();
+		assertEquals(counts[0] + otherValues.size(), otherCounts[0]);
+		assertEquals(counts[1], otherCounts[1]);
+
+		// And the values of the stepped thread are still correct
+		assertEquals(getTopFrameRegisterValuesFromGdb(steppedThread), getTopFrameRegisterValues(steppedThread));
+	}
+
+	/**
+	 * Switching from a thread to another and back within one stop must leave GDB's
+	 * list of changed registers relative to the last thread, so that the values
+	 * kept for that thread are still correct after a step.
+	 */
+	@Test
+	public void registerDeltaUpdateAfterThreadSwitch() throws Throwable {
+		MIStoppedEvent stoppedEvent = SyncUtil
+				.runToLocation(SOURCE_NAME + ':' + getLineForTag("LINE_MAIN_ALL_THREADS_STARTED"));
+		final IContainerDMContext containerDmc = DMContexts.getAncestorOfType(stoppedEvent.getDMContext(),
+				IContainerDMContext.class);
+		IExecutionDMContext steppedThread = DMContexts.getAncestorOfType(stoppedEvent.getDMContext(),
+				IExecutionDMContext.class);
+		assertNotNull(steppedThread);
+
+		Query<IExecutionDMContext[]> queryExecutionContexts = new Query<>() {
+			@Override
+			protected void execute(DataRequestMonitor<IExecutionDMContext[]> rm) {
+				fRunControl.getExecutionContexts(containerDmc, rm);
+			}
+		};
+		fRegService.getExecutor().submit(queryExecutionContexts);
+		IExecutionDMContext otherThread = null;
+		for (IExecutionDMContext ctx : queryExecutionContexts.get(TestsPlugin.massageTimeout(500),
+				TimeUnit.MILLISECONDS)) {
+			if (!ctx.equals(steppedThread)) {
+				otherThread = ctx;
+			}
+		}
+		assertNotNull(otherThread);
+
+		// A, B and A again, within the same stop
+		getTopFrameRegisterValues(steppedThread);
+		getTopFrameRegisterValues(otherThread);
+		getTopFrameRegisterValues(steppedThread);
+
+		SyncUtil.step(steppedThread, StepType.STEP_OVER);
+
+		Map<Integer, String> values = getTopFrameRegisterValues(steppedThread);
+		assertEquals(getTopFrameRegisterValuesFromGdb(steppedThread), values);
+		// The list of changed registers was usable, some values were kept
+		assertTrue("No register value kept", getRegisterValueCounts()[1] > 0);
+	}
+
 	private void writeRegister(IFrameDMContext frameDmc, final int regIndex, final String regValue,
 			final String formatId) throws Throwable {
 		final IRegisterDMContext[] regDMCs = getAllRegisters(frameDmc);
@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.gdb.tests;
+
+import static org.junit.Assert.assertEquals;
+
+import org.eclipse.cdt.debug.core.ICDTLaunchConfigurationConstants;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IExecutionDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.StepType;
+import org.eclipse.cdt.dsf.gdb.IGdbDebugPreferenceConstants;
+import org.eclipse.cdt.dsf.gdb.internal.GdbPlugin;
+import org.eclipse.cdt.dsf.mi.service.command.events.MIStoppedEvent;
+import org.eclipse.cdt.tests.dsf.gdb.framework.BaseParametrizedTestCase;
+import org.eclipse.cdt.tests.dsf.gdb.framework.SyncUtil;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.core.runtime.preferences.InstanceScope;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+
+/**
+ * Tests the stack frames of {@link org.eclipse.cdt.dsf.mi.service.MIStack} when
+ * they are retrieved incrementally, in particular the frames re-used after a step.
+ */
+@RunWith(Parameterized.class)
+public class MIStackIncrementalFramesTest extends BaseParametrizedTestCase {
+
+	private static final String EXEC_NAME = "StepIntoSelectionTestApp.exe";
+
+	// Enough initial frames for the deepest two to be recursive calls
+	private static final int INITIAL_FRAMES = 3;
+	private static final int FRAMES_PAGE_SIZE = 2;
+
+	@Override
+	public void doBeforeTest() throws Exception {
+		IEclipsePreferences node = InstanceScope.INSTANCE.getNode(GdbPlugin.PLUGIN_ID);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_STACK_INITIAL_FRAMES, INITIAL_FRAMES);
+		node.putInt(IGdbDebugPreferenceConstants.PREF_STACK_FRAMES_PAGE_SIZE, FRAMES_PAGE_SIZE);
+		super.doBeforeTest();
+	}
+
+	@Override
+	public void doAfterTest() throws Exception {
+		super.doAfterTest();
+		IEclipsePreferences node = InstanceScope.INSTANCE.getNode(GdbPlugin.PLUGIN_ID);
+		node.remove(IGdbDebugPreferenceConstants.PREF_STACK_INITIAL_FRAMES);
+		node.remove(IGdbDebugPreferenceConstants.PREF_STACK_FRAMES_PAGE_SIZE);
+	}
+
+	@Override
+	protected void setLaunchAttributes() {
+		super.setLaunchAttributes();
+		setLaunchAttribute(ICDTLaunchConfigurationConstants.ATTR_PROGRAM_NAME, EXEC_PATH + EXEC_NAME);
+	}
+
+	/**
+	 * Checks that the stack is made of the given number of calls to recursiveTest,
+	 * called by main.
+	 */
+	private void checkRecursiveStack(IExecutionDMContext execDmc, int recursiveCalls) throws Throwable {
+		assertEquals("Wrong stack depth", recursiveCalls + 1, SyncUtil.getStackDepth(execDmc).intValue());
+		for (int level = 0; level < recursiveCalls; level++) {
+			assertEquals("Wrong function at level " + level, "recursiveTest",
+					SyncUtil.getFrameData(execDmc, level).getFunction());
+		}
+		assertEquals("Wrong function at level " + recursiveCalls, "main",
+				SyncUtil.getFrameData(execDmc, recursiveCalls).getFunction());
+	}
+
+	/**
+	 * Steps into a recursive function, where the deepest initial frames look the
+	 * same before and after the step although the stack got deeper, then out of it.
+	 */
+	@Test
+	public void stepIntoRecursiveFunction() throws Throwable {
+		MIStoppedEvent stoppedEvent = SyncUtil.runToLocation("recursiveTest");
+		IExecutionDMContext execDmc = stoppedEvent.getDMContext();
+		int recursiveCalls = 1;
+		checkRecursiveStack(execDmc, recursiveCalls);
+
+		for (int i = 0; i < 4; i++) {
+			// To the recursive call, the stack does not change
+			SyncUtil.step(execDmc, StepType.STEP_OVER);
+			checkRecursiveStack(execDmc, recursiveCalls);
+
+			SyncUtil.step(execDmc, StepType.STEP_INTO);
+			recursiveCalls++;
+			checkRecursiveStack(execDmc, recursiveCalls);
+		}
+
+		SyncUtil.step(execDmc, StepType.STEP_RETURN);
+		recursiveCalls--;
+		checkRecursiveStack(execDmc, recursiveCalls);
+	}
+}
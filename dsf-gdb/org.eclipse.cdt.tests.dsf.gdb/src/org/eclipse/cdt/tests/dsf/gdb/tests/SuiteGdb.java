@@ -48,7 +48,7 @@ import org.junit.runners.Suite;
 		GDBRemoteTracepointsTest.class, TraceFileTest.class, GDBConsoleSynchronizingTest.class, MIMemoryTest.class,
 		MIDisassemblyTest.class, GDBProcessesTest.class, PostMortemCoreTest.class, CommandTimeoutTest.class,
 		ThreadStackFrameSyncTest.class, CommandLineArgsTest.class, MIAsyncErrorProcessorTests.class,
-		MultiProcessRemoteTest.class
+		MultiProcessRemoteTest.class, MIStackIncrementalFramesTest.class
 /* Add your test class here */
 })
 public class SuiteGdb {
@@ -39,5 +39,6 @@ public class PreferenceInitializer extends AbstractPreferenceInitializer {
 		prefs.setDefault(IDsfDebugUIConstants.PREF_STACK_FRAME_LIMIT_ENABLE, true);
 		prefs.setDefault(IDsfDebugUIConstants.PREF_WAIT_FOR_VIEW_UPDATE_AFTER_STEP_ENABLE, false);
 		prefs.setDefault(IDsfDebugUIConstants.PREF_MIN_STEP_INTERVAL, 100);
+		prefs.setDefault(IDsfDebugUIConstants.PREF_MAX_VIEW_UPDATE_DELAY, 0);
 	}
 }
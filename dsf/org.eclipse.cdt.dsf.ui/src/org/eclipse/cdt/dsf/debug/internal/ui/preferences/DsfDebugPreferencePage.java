@@ -97,6 +97,15 @@ public class DsfDebugPreferencePage extends FieldEditorPreferencePage implements
 		minIntervalEditor.fillIntoGrid(performanceGroup, 3);
 		addField(minIntervalEditor);
 
+		// maximum view update delay
+		IntegerFieldEditor maxUpdateDelayEditor = new DecoratingIntegerFieldEditor(
+				IDsfDebugUIConstants.PREF_MAX_VIEW_UPDATE_DELAY,
+				MessagesForPreferences.DsfDebugPreferencePage_maxViewUpdateDelay_label, performanceGroup);
+
+		maxUpdateDelayEditor.setValidRange(0, 10000);
+		maxUpdateDelayEditor.fillIntoGrid(performanceGroup, 3);
+		addField(maxUpdateDelayEditor);
+
 		// need to set layout again
 		performanceGroup.setLayout(groupLayout);
 	}
@@ -23,6 +23,7 @@ class MessagesForPreferences extends NLS {
 	public static String DsfDebugPreferencePage_limitStackFrames_label;
 
 	public static String DsfDebugPreferencePage_minStepInterval_label;
+	public static String DsfDebugPreferencePage_maxViewUpdateDelay_label;
 	public static String DsfDebugPreferencePage_performanceGroup_label;
 
 	public static String DsfDebugPreferencePage_waitForViewUpdate_label;
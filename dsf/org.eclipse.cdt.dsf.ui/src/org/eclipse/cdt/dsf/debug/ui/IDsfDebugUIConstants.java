@@ -66,6 +66,15 @@ public interface IDsfDebugUIConstants {
 	 */
 	public static final String PREF_MIN_STEP_INTERVAL = "minStepInterval"; //$NON-NLS-1$
 
+	/**
+	 * Integer preference for the longest time, in milliseconds, for which the views
+	 * delay their refresh after an event, so that events arriving while stepping fast
+	 * can be coalesced. Default is <code>0</code>, i.e. views are refreshed right away.
+	 *
+	 * @since 2.8
+	 */
+	public static final String PREF_MAX_VIEW_UPDATE_DELAY = "maxViewUpdateDelay"; //$NON-NLS-1$
+
 	/**
 	 * @since 1.1
 	 */
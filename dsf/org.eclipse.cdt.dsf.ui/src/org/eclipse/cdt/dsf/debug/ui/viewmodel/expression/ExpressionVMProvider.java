@@ -83,6 +83,9 @@ public class ExpressionVMProvider extends AbstractElementVMProvider implements I
 			if (property.equals(IDsfDebugUIConstants.PREF_WAIT_FOR_VIEW_UPDATE_AFTER_STEP_ENABLE)) {
 				IPreferenceStore store = DsfDebugUITools.getPreferenceStore();
 				setDelayEventHandleForViewUpdate(store.getBoolean(property));
+			} else if (property.equals(IDsfDebugUIConstants.PREF_MAX_VIEW_UPDATE_DELAY)) {
+				IPreferenceStore store = DsfDebugUITools.getPreferenceStore();
+				setMaxEventDelay(store.getInt(property));
 			}
 		}
 	};
@@ -103,6 +106,7 @@ public class ExpressionVMProvider extends AbstractElementVMProvider implements I
 		store.addPropertyChangeListener(fPreferencesListener);
 		setDelayEventHandleForViewUpdate(
 				store.getBoolean(IDsfDebugUIConstants.PREF_WAIT_FOR_VIEW_UPDATE_AFTER_STEP_ENABLE));
+		setMaxEventDelay(store.getInt(IDsfDebugUIConstants.PREF_MAX_VIEW_UPDATE_DELAY));
 
 		// The VM provider has to handle all events that result in model deltas.
 		// Add the provider as listener to expression changes events.
@@ -28,6 +28,7 @@ import org.eclipse.cdt.dsf.datamodel.DMContexts;
 import org.eclipse.cdt.dsf.datamodel.IDMContext;
 import org.eclipse.cdt.dsf.datamodel.IDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IRunControl;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerDMContext;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.IExecutionDMContext;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.IExitedDMEvent;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.IStartedDMEvent;
@@ -83,6 +84,8 @@ public class AbstractLaunchVMProvider extends AbstractDMVMProvider
 					store.getInt(IDsfDebugUIConstants.PREF_STACK_FRAME_LIMIT));
 		}
 
+		setMaxEventDelay(store.getInt(IDsfDebugUIConstants.PREF_MAX_VIEW_UPDATE_DELAY));
+
 		fPreferencesListener = event -> handlePropertyChanged(store, event);
 		store.addPropertyChangeListener(fPreferencesListener);
 
@@ -272,6 +275,13 @@ public class AbstractLaunchVMProvider extends AbstractDMVMProvider
 		// Note: Avoid skipping thread started/exited events which require a larger
 		// scope refresh than some suspended events.
 		if (newEvent instanceof IStartedDMEvent || newEvent instanceof IExitedDMEvent) {
+			// However, when many threads start at once, e.g. when attaching to a process
+			// with thousands of threads, refresh their container only once for all of them.
+			// Exited events are not skipped since the nodes clean up after exited threads.
+			if (eventToSkip instanceof IStartedDMEvent) {
+				IContainerDMContext containerDmc = getThreadContainer((IDMEvent<?>) eventToSkip);
+				return containerDmc != null && containerDmc.equals(getThreadContainer((IDMEvent<?>) newEvent));
+			}
 			return false;
 		}
 
@@ -287,6 +297,18 @@ public class AbstractLaunchVMProvider extends AbstractDMVMProvider
 		return false;
 	}
 
+	/**
+	 * Returns the container of the thread the given event is about, or
+	 * <code>null</code> if the event is about a container.
+	 */
+	private IContainerDMContext getThreadContainer(IDMEvent<?> event) {
+		IDMContext dmc = event.getDMContext();
+		if (dmc instanceof IContainerDMContext) {
+			return null;
+		}
+		return DMContexts.getAncestorOfType(dmc, IContainerDMContext.class);
+	}
+
 	protected void handlePropertyChanged(final IPreferenceStore store, final PropertyChangeEvent event) {
 		String property = event.getProperty();
 		boolean processEvent = false;
@@ -300,6 +322,8 @@ public class AbstractLaunchVMProvider extends AbstractDMVMProvider
 				getPresentationContext().setProperty(IDsfDebugUIConstants.PREF_STACK_FRAME_LIMIT, null);
 			}
 			processEvent = true;
+		} else if (IDsfDebugUIConstants.PREF_MAX_VIEW_UPDATE_DELAY.equals(property)) {
+			setMaxEventDelay(store.getInt(IDsfDebugUIConstants.PREF_MAX_VIEW_UPDATE_DELAY));
 		} else if (IDsfDebugUIConstants.DEBUG_VIEW_SHOW_FULL_PATH_PROPERTY.equals(property)) {
 			getPresentationContext().setProperty(IDsfDebugUIConstants.DEBUG_VIEW_SHOW_FULL_PATH_PROPERTY,
 					event.getNewValue());
@@ -213,7 +213,7 @@ public class ModulesVMNode extends AbstractDMVMNode implements IElementLabelProv
 
 	@Override
 	public int getDeltaFlags(Object e) {
-		if (e instanceof IRunControl.ISuspendedDMEvent) {
+		if (e instanceof IRunControl.ISuspendedDMEvent || e instanceof IModules.ModulesChangedDMEvent) {
 			return IModelDelta.CONTENT;
 		}
 		return IModelDelta.NO_CHANGE;
@@ -221,7 +221,7 @@ public class ModulesVMNode extends AbstractDMVMNode implements IElementLabelProv
 
 	@Override
 	public void buildDelta(Object e, VMDelta parentDelta, int nodeOffset, RequestMonitor rm) {
-		if (e instanceof IRunControl.ISuspendedDMEvent) {
+		if (e instanceof IRunControl.ISuspendedDMEvent || e instanceof IModules.ModulesChangedDMEvent) {
 			// Create a delta that indicates all groups have changed
 			parentDelta.setFlags(parentDelta.getFlags() | IModelDelta.CONTENT);
 		}
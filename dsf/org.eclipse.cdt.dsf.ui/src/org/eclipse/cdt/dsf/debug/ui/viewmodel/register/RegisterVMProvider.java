@@ -60,6 +60,9 @@ public class RegisterVMProvider extends AbstractElementVMProvider {
 			if (property.equals(IDsfDebugUIConstants.PREF_WAIT_FOR_VIEW_UPDATE_AFTER_STEP_ENABLE)) {
 				IPreferenceStore store = DsfDebugUITools.getPreferenceStore();
 				setDelayEventHandleForViewUpdate(store.getBoolean(property));
+			} else if (property.equals(IDsfDebugUIConstants.PREF_MAX_VIEW_UPDATE_DELAY)) {
+				IPreferenceStore store = DsfDebugUITools.getPreferenceStore();
+				setMaxEventDelay(store.getInt(property));
 			}
 		}
 	};
@@ -83,6 +86,7 @@ public class RegisterVMProvider extends AbstractElementVMProvider {
 		store.addPropertyChangeListener(fPreferencesListener);
 		setDelayEventHandleForViewUpdate(
 				store.getBoolean(IDsfDebugUIConstants.PREF_WAIT_FOR_VIEW_UPDATE_AFTER_STEP_ENABLE));
+		setMaxEventDelay(store.getInt(IDsfDebugUIConstants.PREF_MAX_VIEW_UPDATE_DELAY));
 
 		configureLayout();
 	}
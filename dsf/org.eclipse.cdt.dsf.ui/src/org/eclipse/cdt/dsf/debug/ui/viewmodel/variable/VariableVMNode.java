@@ -47,6 +47,7 @@ import org.eclipse.cdt.dsf.debug.service.IExpressions.IIndexedPartitionDMContext
 import org.eclipse.cdt.dsf.debug.service.IExpressions2;
 import org.eclipse.cdt.dsf.debug.service.IExpressions3;
 import org.eclipse.cdt.dsf.debug.service.IExpressions3.IExpressionDMDataExtension;
+import org.eclipse.cdt.dsf.debug.service.IExpressions5;
 import org.eclipse.cdt.dsf.debug.service.IFormattedValues;
 import org.eclipse.cdt.dsf.debug.service.IMemory.IMemoryChangedEvent;
 import org.eclipse.cdt.dsf.debug.service.IRunControl.ISuspendedDMEvent;
@@ -142,6 +143,14 @@ public class VariableVMNode extends AbstractExpressionVMNode
 	public static final String PROP_VARIABLE_ADDRESS_CHANGED = ICachingVMProvider.PROP_IS_CHANGED_PREFIX
 			+ PROP_VARIABLE_ADDRESS;
 
+	/**
+	 * A one line summary of the first elements of an array, see
+	 * {@link IExpressions5#getArrayValueSummary}.
+	 *
+	 * @since 2.8
+	 */
+	public static final String PROP_VARIABLE_ARRAY_SUMMARY = "variable_array_summary"; //$NON-NLS-1$
+
 	/**
 	 * 'PROP_VARIABLE_BASIC_TYPE' property value for indexed partitions
 	 */
@@ -482,6 +491,18 @@ public class VariableVMNode extends AbstractExpressionVMNode
 										&& Arrays.asList(formatIds).contains(IFormattedValues.STRING_FORMAT)
 										&& super.isEnabled(status, properties);
 							}
+						},
+						// Arrays in the natural format show the summary of their first elements
+						new FormattedValueLabelText(MessagesForVariablesVM.VariableVMNode_Value_column__text_format,
+								new String[] { IDebugVMConstants.PROP_FORMATTED_VALUE_ACTIVE_FORMAT_VALUE,
+										PROP_VARIABLE_ARRAY_SUMMARY }) {
+							@Override
+							public boolean isEnabled(IStatus status, Map<String, Object> properties) {
+								String activeFormat = (String) properties
+										.get(IDebugVMConstants.PROP_FORMATTED_VALUE_ACTIVE_FORMAT);
+								return IFormattedValues.NATURAL_FORMAT.equals(activeFormat)
+										&& super.isEnabled(status, properties);
+							}
 						}, new FormattedValueLabelText(), new ErrorLabelText(), new ErrorLabelForeground(),
 						columnIdValueBackground, new StaleDataLabelForeground(), new VariableLabelFont(), }));
 
@@ -759,6 +780,21 @@ public class VariableVMNode extends AbstractExpressionVMNode
 				count++;
 			}
 
+			if (update.getProperties().contains(PROP_VARIABLE_ARRAY_SUMMARY) && service instanceof IExpressions5) {
+				((IExpressions5) service).getArrayValueSummary(dmc,
+						new ViewerDataRequestMonitor<String>(ImmediateExecutor.getInstance(), update) {
+							@Override
+							protected void handleCompleted() {
+								// Not an array which can be summarized, the value is shown alone
+								if (isSuccess()) {
+									update.setProperty(PROP_VARIABLE_ARRAY_SUMMARY, getData());
+								}
+								countingRm.done();
+							}
+						});
+				count++;
+			}
+
 			if (update.getProperties().contains(PROP_VARIABLE_ADDRESS)) {
 				service.getExpressionAddressData(dmc,
 						// Use the ViewerDataRequestMonitor in order to propagate the update's cancel request. Use an immediate
@@ -21,9 +21,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Executor;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.cdt.dsf.concurrent.CountingRequestMonitor;
 import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
 import org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants;
 import org.eclipse.cdt.dsf.concurrent.RequestMonitor;
 import org.eclipse.cdt.dsf.internal.DsfPlugin;
@@ -33,6 +36,7 @@ import org.eclipse.cdt.dsf.ui.concurrent.SimpleDisplayExecutor;
 import org.eclipse.cdt.dsf.ui.concurrent.ViewerDataRequestMonitor;
 import org.eclipse.cdt.dsf.ui.viewmodel.update.UserEditEvent;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IChildrenCountUpdate;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IChildrenUpdate;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IColumnPresentation;
@@ -45,6 +49,8 @@ import org.eclipse.debug.internal.ui.viewers.model.provisional.IPresentationCont
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IViewerInputProvider;
 import org.eclipse.debug.internal.ui.viewers.model.provisional.IViewerInputUpdate;
 import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchPart;
 
 /**
  * View model provider implements the asynchronous view model functionality for
@@ -149,13 +155,17 @@ abstract public class AbstractVMProvider implements IVMProvider, IVMEventListene
 	private IRootVMNode fRootNode;
 
 	private class EventInfo {
-		EventInfo(Object event, RequestMonitor rm) {
+		EventInfo(Object event, RequestMonitor rm, int delay) {
 			fEvent = event;
 			fClientRm = rm;
+			fDelay = delay;
 		}
 
 		Object fEvent;
 		RequestMonitor fClientRm;
+
+		/** Time in milliseconds to wait before handling the event */
+		int fDelay;
 	}
 
 	private class ModelProxyEventQueue {
@@ -169,12 +179,36 @@ abstract public class AbstractVMProvider implements IVMProvider, IVMEventListene
 		 */
 		RequestMonitor fCurrentRm;
 
+		/**
+		 * The time at which the handling of fCurrentEvent started, 0 while it
+		 * is delayed.
+		 */
+		long fCurrentStartTime;
+
 		/** The queue */
 		List<EventInfo> fEventQueue = new LinkedList<>();
 	}
 
 	private Map<IVMModelProxy, ModelProxyEventQueue> fProxyEventQueues = new HashMap<>();
 
+	/**
+	 * The longest time, in milliseconds, for which the handling of an event is
+	 * delayed. 0 if events are never delayed.
+	 */
+	private int fMaxEventDelay = 0;
+
+	/** The time at which the last event that may generate a delta was received */
+	private long fLastEventTime;
+
+	/** The time it took to handle the last event that was not canceled */
+	private long fLastEventHandlingTime;
+
+	// Statistics of the events handled by this provider
+	private int fHandledEventCount;
+	private int fSkippedEventCount;
+	private int fCanceledEventCount;
+	private int fCoalescedEventCount;
+
 	/**
 	 * Constructs the view model provider for given DSF session.  The
 	 * constructor is thread-safe to allow VM provider to be constructed
@@ -267,6 +301,7 @@ abstract public class AbstractVMProvider implements IVMProvider, IVMEventListene
 		CountingRequestMonitor crm = new CountingRequestMonitor(getExecutor(), rm);
 		final List<IVMModelProxy> activeModelProxies = new ArrayList<>(getActiveModelProxies());
 		crm.setDoneCount(activeModelProxies.size());
+		int delay = -1;
 
 		for (final IVMModelProxy proxyStrategy : activeModelProxies) {
 			// If the event is generated by the model proxy, only process it for the proxy that created it.
@@ -280,6 +315,9 @@ abstract public class AbstractVMProvider implements IVMProvider, IVMEventListene
 			// Also, process the event if it is a result of the user modifying something
 			// so that the cache is properly updated.
 			if (proxyStrategy.isDeltaEvent(event) || event instanceof UserEditEvent) {
+				if (delay < 0) {
+					delay = getEventDelay();
+				}
 				if (!fProxyEventQueues.containsKey(proxyStrategy)) {
 					fProxyEventQueues.put(proxyStrategy, new ModelProxyEventQueue());
 				}
@@ -300,6 +338,7 @@ abstract public class AbstractVMProvider implements IVMProvider, IVMEventListene
 								trace(event, eventToSkipInfo.fEvent, proxyStrategy, EventHandlerAction.skipped);
 							}
 							queue.fEventQueue.remove(queue.fEventQueue.size() - 1);
+							fSkippedEventCount++;
 							eventToSkipInfo.fClientRm.done();
 						} else {
 							break;
@@ -313,6 +352,14 @@ abstract public class AbstractVMProvider implements IVMProvider, IVMEventListene
 								|| getPresentationContext().getId().equals(DEBUG_PRESENTATION_ID))) {
 							trace(event, queue.fCurrentEvent.fEvent, proxyStrategy, EventHandlerAction.canceled);
 						}
+						// Count the current event once, even if several newer events replace it.
+						if (!queue.fCurrentRm.isCanceled()) {
+							if (queue.fCurrentStartTime != 0) {
+								fCanceledEventCount++;
+							} else {
+								fCoalescedEventCount++;
+							}
+						}
 						queue.fCurrentRm.cancel();
 					}
 
@@ -320,9 +367,9 @@ abstract public class AbstractVMProvider implements IVMProvider, IVMEventListene
 							|| getPresentationContext().getId().equals(DEBUG_PRESENTATION_ID))) {
 						trace(event, null, proxyStrategy, EventHandlerAction.queued);
 					}
-					queue.fEventQueue.add(new EventInfo(event, crm));
+					queue.fEventQueue.add(new EventInfo(event, crm, delay));
 				} else {
-					doHandleEvent(queue, proxyStrategy, new EventInfo(event, crm));
+					doHandleEvent(queue, proxyStrategy, new EventInfo(event, crm, delay));
 				}
 			} else {
 				crm.done();
@@ -349,9 +396,14 @@ abstract public class AbstractVMProvider implements IVMProvider, IVMEventListene
 		assert queue.fCurrentEvent == null && queue.fCurrentRm == null;
 
 		queue.fCurrentEvent = eventInfo;
+		queue.fCurrentStartTime = 0;
 		queue.fCurrentRm = new RequestMonitor(getExecutor(), eventInfo.fClientRm) {
 			@Override
 			protected void handleCompleted() {
+				if (!isCanceled() && queue.fCurrentStartTime != 0) {
+					fLastEventHandlingTime = System.currentTimeMillis() - queue.fCurrentStartTime;
+					fHandledEventCount++;
+				}
 				eventInfo.fClientRm.done();
 				queue.fCurrentEvent = null;
 				queue.fCurrentRm = null;
@@ -361,7 +413,140 @@ abstract public class AbstractVMProvider implements IVMProvider, IVMEventListene
 				}
 			}
 		};
-		handleEvent(proxyStrategy, eventInfo.fEvent, queue.fCurrentRm);
+
+		if (eventInfo.fDelay <= 0) {
+			queue.fCurrentStartTime = System.currentTimeMillis();
+			handleEvent(proxyStrategy, eventInfo.fEvent, queue.fCurrentRm);
+			return;
+		}
+
+		// Give a newer event the chance to replace this one, see canSkipHandlingEvent().
+		final RequestMonitor rm = queue.fCurrentRm;
+		final DsfRunnable delayedHandling = new DsfRunnable() {
+			@Override
+			public void run() {
+				if (rm.isCanceled() || fDisposed) {
+					rm.done();
+				} else {
+					queue.fCurrentStartTime = System.currentTimeMillis();
+					handleEvent(proxyStrategy, eventInfo.fEvent, rm);
+				}
+			}
+		};
+		try {
+			if (getExecutor() instanceof ScheduledExecutorService) {
+				((ScheduledExecutorService) getExecutor()).schedule(delayedHandling, eventInfo.fDelay,
+						TimeUnit.MILLISECONDS);
+			} else {
+				// The executor can't schedule, wait in a system job then go back to the executor.
+				Job.createSystem("Delayed view model event", monitor -> { //$NON-NLS-1$
+					try {
+						getExecutor().execute(delayedHandling);
+					} catch (RejectedExecutionException e) {
+						// The display is disposed, the provider is being disposed too.
+					}
+				}).schedule(eventInfo.fDelay);
+			}
+		} catch (RejectedExecutionException e) {
+			rm.done();
+		}
+	}
+
+	/**
+	 * Returns the time, in milliseconds, by which the handling of a new event is
+	 * delayed. Events are delayed only while they arrive faster than they are
+	 * handled, e.g. when the user is stepping quickly, so that a newer event can
+	 * replace them before they cause any request. Events for a view that is not
+	 * visible are always delayed as much as allowed, so that the visible views
+	 * are refreshed first.
+	 */
+	private int getEventDelay() {
+		if (fMaxEventDelay <= 0) {
+			return 0;
+		}
+		long now = System.currentTimeMillis();
+		long sinceLastEvent = now - fLastEventTime;
+		fLastEventTime = now;
+
+		if (!isVisible()) {
+			return fMaxEventDelay;
+		}
+		if (sinceLastEvent >= Math.max(fLastEventHandlingTime, fMaxEventDelay)) {
+			return 0;
+		}
+		return (int) Math.min(Math.max(fLastEventHandlingTime, sinceLastEvent), fMaxEventDelay);
+	}
+
+	/**
+	 * Returns whether the part this provider fills is visible.
+	 *
+	 * @since 2.8
+	 */
+	protected boolean isVisible() {
+		IWorkbenchPart part = getPresentationContext().getPart();
+		if (part == null || part.getSite() == null) {
+			return true;
+		}
+		IWorkbenchPage page = part.getSite().getPage();
+		return page == null || page.isPartVisible(part);
+	}
+
+	/**
+	 * Sets the longest time, in milliseconds, for which the handling of an event
+	 * may be delayed to be coalesced with newer events. 0 disables the delay,
+	 * which is the default.
+	 *
+	 * @since 2.8
+	 */
+	protected void setMaxEventDelay(int maxDelay) {
+		fMaxEventDelay = maxDelay;
+	}
+
+	/**
+	 * @since 2.8
+	 */
+	protected int getMaxEventDelay() {
+		return fMaxEventDelay;
+	}
+
+	/**
+	 * Returns the number of events that were handled until a delta was generated.
+	 *
+	 * @since 2.8
+	 */
+	public int getHandledEventCount() {
+		return fHandledEventCount;
+	}
+
+	/**
+	 * Returns the number of events that were dropped from the queue because a
+	 * newer event made them obsolete.
+	 *
+	 * @since 2.8
+	 */
+	public int getSkippedEventCount() {
+		return fSkippedEventCount;
+	}
+
+	/**
+	 * Returns the number of events whose handling was canceled because a newer
+	 * event made them obsolete.
+	 *
+	 * @since 2.8
+	 */
+	public int getCanceledEventCount() {
+		return fCanceledEventCount;
+	}
+
+	/**
+	 * Returns the number of events that were replaced by a newer event while their
+	 * handling was delayed.
+	 *
+	 * @since 2.8
+	 * @see #setMaxEventDelay(int)
+	 */
+	public int getCoalescedEventCount() {
+		return fCoalescedEventCount;
 	}
 
 	/**
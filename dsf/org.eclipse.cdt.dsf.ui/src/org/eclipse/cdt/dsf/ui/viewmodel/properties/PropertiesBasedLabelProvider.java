@@ -19,11 +19,16 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
 import org.eclipse.cdt.dsf.concurrent.ImmediateExecutor;
 import org.eclipse.cdt.dsf.concurrent.ThreadSafe;
 import org.eclipse.cdt.dsf.internal.ui.DsfUIPlugin;
+import org.eclipse.cdt.dsf.service.DsfSession;
 import org.eclipse.cdt.dsf.ui.concurrent.ViewerDataRequestMonitor;
+import org.eclipse.cdt.dsf.ui.viewmodel.datamodel.IDMVMContext;
 import org.eclipse.core.runtime.IAdaptable;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
@@ -39,6 +44,10 @@ import org.eclipse.debug.internal.ui.viewers.model.provisional.ILabelUpdate;
  * element's property provider to retrieve those properties.  After the property
  * values are retrieved, they are processed in order to produce correct label text,
  * images, fonts, and colors, for the given element.
+ * <p>
+ * If the session of the element has an executor with worker threads (see
+ * {@link DefaultDsfExecutor#getWorkerExecutor()}), the labels are produced
+ * on the worker threads rather than on the session's dispatch thread.
  *
  * @since 2.0 - Renamed from PropertyBasedLabelProvider
  */
@@ -152,7 +161,8 @@ public class PropertiesBasedLabelProvider implements IElementLabelProvider {
 
 		// Call the properties provider.  Create a request monitor for each label update.
 		// We can use an immediate executor for the request monitor because the label provider
-		// is thread safe.
+		// is thread safe.  For the same reason the labels may be produced on worker threads.
+		final Executor labelExecutor = getLabelExecutor(labelUpdates[0].getElement());
 		final IPropertiesUpdate[] propertiesUpdates = new IPropertiesUpdate[labelUpdates.length];
 		for (int i = 0; i < labelUpdates.length; i++) {
 			final int idx = i;
@@ -162,7 +172,15 @@ public class PropertiesBasedLabelProvider implements IElementLabelProvider {
 						@Override
 						protected void handleCompleted() {
 							notifyPropertiesUpdateCompleted(propertiesUpdates[idx]);
-							updateLabel(labelUpdates[idx], getStatus(), getData());
+							final IStatus status = getStatus();
+							final Map<String, Object> properties = getData();
+							Runnable runnable = () -> updateLabel(labelUpdates[idx], status, properties);
+							try {
+								labelExecutor.execute(runnable);
+							} catch (RejectedExecutionException e) {
+								// Session is shutting down.
+								runnable.run();
+							}
 						}
 					});
 		}
@@ -221,6 +239,10 @@ public class PropertiesBasedLabelProvider implements IElementLabelProvider {
 
 	/**
 	 * Updates the label information based on given map of properties.
+	 * <p>
+	 * It may be called on a worker thread of the session's executor, see
+	 * {@link DefaultDsfExecutor#getWorkerExecutor()}, so it must not access
+	 * the state confined to the session's dispatch thread.
 	 *
 	 * @param update Label update to write to.
 	 * @param status Result of the properties update
@@ -248,6 +270,22 @@ public class PropertiesBasedLabelProvider implements IElementLabelProvider {
 		update.done();
 	}
 
+	/**
+	 * Returns the worker executor of the element's session, if it has one.
+	 */
+	private Executor getLabelExecutor(Object element) {
+		if (element instanceof IDMVMContext) {
+			DsfSession session = DsfSession.getSession(((IDMVMContext) element).getDMContext().getSessionId());
+			if (session != null && session.getExecutor() instanceof DefaultDsfExecutor) {
+				Executor workerExecutor = ((DefaultDsfExecutor) session.getExecutor()).getWorkerExecutor();
+				if (workerExecutor != null) {
+					return workerExecutor;
+				}
+			}
+		}
+		return ImmediateExecutor.getInstance();
+	}
+
 	private IElementPropertiesProvider getElementPropertiesProvider(Object element) {
 		if (element instanceof IAdaptable) {
 			return ((IAdaptable) element).getAdapter(IElementPropertiesProvider.class);
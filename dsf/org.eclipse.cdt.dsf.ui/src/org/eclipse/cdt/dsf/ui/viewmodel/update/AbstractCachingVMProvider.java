@@ -413,6 +413,26 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 	 */
 	private final Entry fCacheListHead;
 
+	/**
+	 * An update that missed the cache and is being processed by a node, with the
+	 * flush counter of its entry when it was issued.
+	 */
+	private static class PendingUpdate {
+		final IViewerUpdate fUpdate;
+		final ElementDataEntry fEntry;
+		final int fFlushCounter;
+
+		PendingUpdate(IViewerUpdate update, ElementDataEntry entry) {
+			fUpdate = update;
+			fEntry = entry;
+			fFlushCounter = entry.fFlushCounter;
+		}
+	}
+
+	private final Set<PendingUpdate> fPendingUpdates = new HashSet<>();
+
+	private int fCanceledUpdateCount;
+
 	public AbstractCachingVMProvider(AbstractVMAdapter adapter, IPresentationContext presentationContext) {
 		super(adapter, presentationContext);
 
@@ -598,8 +618,16 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 			// Need to retrieve all the children if there is no children information yet.
 			// Or if the client requested all children (offset = -1, length -1) and all
 			// the children are not yet known.
+			final PendingUpdate pendingUpdate = new PendingUpdate(update, entry);
+			fPendingUpdates.add(pendingUpdate);
 			IChildrenUpdate updateProxy = new VMChildrenUpdate(update, update.getOffset(), update.getLength(),
 					new ViewerDataRequestMonitor<List<Object>>(getExecutor(), update) {
+						@Override
+						protected void handleCompleted() {
+							fPendingUpdates.remove(pendingUpdate);
+							super.handleCompleted();
+						}
+
 						@Override
 						protected void handleSuccess() {
 							// Check if the update retrieved all children by specifying "offset = -1, length = -1"
@@ -917,6 +945,9 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 		IElementUpdateTester elementTester = getActiveUpdatePolicy().getElementUpdateTester(event);
 
 		flush(new FlushMarkerKey(proxyStrategy.getRootElement(), elementTester));
+		if (getMaxEventDelay() > 0) {
+			cancelFlushedUpdates();
+		}
 
 		if (!proxyStrategy.isDisposed()) {
 			if (DEBUG_DELTA && (DEBUG_PRESENTATION_ID == null
@@ -1272,10 +1303,13 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 				final Set<String> _missingProperties = missingProperties;
 				// Save the flush counter of the entry and create a proxy update.
 				final int flushCounter = entry.fFlushCounter;
+				final PendingUpdate pendingUpdate = new PendingUpdate(update, entry);
+				fPendingUpdates.add(pendingUpdate);
 				missUpdates.add(new VMPropertiesUpdate(missingProperties, update,
 						new ViewerDataRequestMonitor<Map<String, Object>>(getExecutor(), update) {
 							@Override
 							protected void handleCompleted() {
+								fPendingUpdates.remove(pendingUpdate);
 								PropertiesUpdateStatus missUpdateStatus = PropertiesUpdateStatus
 										.makePropertiesStatus(getStatus());
 								Map<String, Object> cachedProperties;
@@ -1383,6 +1417,32 @@ public class AbstractCachingVMProvider extends AbstractVMProvider implements ICa
 		}
 	}
 
+	/**
+	 * Cancels the updates of the elements that were flushed while the nodes were
+	 * processing them. Their result would not be cached, and the viewer asks for
+	 * the elements again when it receives the delta of the event that flushed them.
+	 */
+	private void cancelFlushedUpdates() {
+		for (Iterator<PendingUpdate> itr = fPendingUpdates.iterator(); itr.hasNext();) {
+			PendingUpdate pendingUpdate = itr.next();
+			if (pendingUpdate.fFlushCounter != pendingUpdate.fEntry.fFlushCounter) {
+				itr.remove();
+				pendingUpdate.fUpdate.cancel();
+				fCanceledUpdateCount++;
+			}
+		}
+	}
+
+	/**
+	 * Returns the number of viewer updates that were canceled because the elements
+	 * they were for were flushed by a newer event.
+	 *
+	 * @since 2.8
+	 */
+	public int getCanceledUpdateCount() {
+		return fCanceledUpdateCount;
+	}
+
 	@Override
 	public boolean shouldWaitHandleEventToComplete() {
 		return fDelayEventHandleForViewUpdate;
@@ -20,6 +20,9 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
@@ -36,6 +39,12 @@ import org.eclipse.core.runtime.Status;
 /**
  * Default implementation of a DSF executor interfaces, based on the
  * standard java.util.concurrent.ThreadPoolExecutor.
+ * <p>
+ * Optionally the executor has a pool of worker threads, see
+ * {@link #getWorkerExecutor()}.  All state of the DSF services is still confined
+ * to the single dispatch thread, the workers may only be used for work that
+ * does not access that state, such as formatting the data already retrieved
+ * from the services.
  *
  * @since 1.0
  */
@@ -69,6 +78,36 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 		}
 	}
 
+	/** Thread factory for the worker threads of an executor */
+	static class DsfWorkerThreadFactory implements ThreadFactory {
+		private final String fThreadName;
+		private final ThreadGroup fThreadGroup;
+		private int fCount;
+
+		DsfWorkerThreadFactory(String name) {
+			fThreadName = name;
+			fThreadGroup = new ThreadGroup(name);
+		}
+
+		@Override
+		public synchronized Thread newThread(Runnable r) {
+			Thread thread = new Thread(fThreadGroup, r, fThreadName + " - " + fCount++, 0); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		}
+	}
+
+	/**
+	 * Pool of worker threads, <code>null</code> if the executor has none.
+	 */
+	private final ExecutorService fWorkerExecutor;
+	private final ThreadGroup fWorkerThreadGroup;
+	/**
+	 * The worker executor given to clients, which checks the work submitted to
+	 * it when assertions are enabled.
+	 */
+	private final Executor fCheckedWorkerExecutor;
+
 	public DefaultDsfExecutor() {
 		this("DSF Executor"); //$NON-NLS-1$
 	}
@@ -78,8 +117,39 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 	 * @param name Name used to create executor's thread.
 	 */
 	public DefaultDsfExecutor(String name) {
-		super(1, new DsfThreadFactory(name + " - " + fgInstanceCounter++)); //$NON-NLS-1$
+		this(name, 0);
+	}
+
+	/**
+	 * Creates a new DSF Executor with the given name and number of worker threads.
+	 * @param name Name used to create executor's thread.
+	 * @param workerThreads Number of threads available through {@link #getWorkerExecutor()},
+	 * <code>0</code> to create the executor without worker threads.
+	 * @since 2.12
+	 */
+	public DefaultDsfExecutor(String name, int workerThreads) {
+		super(1, new DsfThreadFactory(name + " - " + fgInstanceCounter)); //$NON-NLS-1$
 		fName = name;
+		if (workerThreads > 0) {
+			DsfWorkerThreadFactory factory = new DsfWorkerThreadFactory(
+					name + " Worker - " + fgInstanceCounter); //$NON-NLS-1$
+			fWorkerThreadGroup = factory.fThreadGroup;
+			fWorkerExecutor = Executors.newFixedThreadPool(workerThreads, factory);
+			if (ASSERTIONS_ENABLED) {
+				fCheckedWorkerExecutor = command -> {
+					assert !isConfinedToDsfExecutor(command) : "Executable confined to the DSF executor submitted to a worker thread: " //$NON-NLS-1$
+							+ command;
+					fWorkerExecutor.execute(command);
+				};
+			} else {
+				fCheckedWorkerExecutor = fWorkerExecutor;
+			}
+		} else {
+			fWorkerThreadGroup = null;
+			fWorkerExecutor = null;
+			fCheckedWorkerExecutor = null;
+		}
+		fgInstanceCounter++;
 
 		if (DEBUG_EXECUTOR || ASSERTIONS_ENABLED) {
 			// If tracing, pre-start the dispatch thread, and add it to the map.
@@ -93,6 +163,43 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 		return Thread.currentThread().equals(((DsfThreadFactory) getThreadFactory()).fThread);
 	}
 
+	/**
+	 * Returns the executor for work that may run in parallel to the dispatch
+	 * thread, or <code>null</code> if this executor was created without worker
+	 * threads.  Work submitted to the worker executor must not access any state
+	 * confined to this executor.  Results are passed back using request monitors
+	 * that run on this executor.
+	 * <p>
+	 * When assertions are enabled, submitting work whose class is annotated with
+	 * {@link ConfinedToDsfExecutor}, such as a {@link DsfRunnable}, fails with an
+	 * {@link AssertionError}.  Code running on a worker thread also fails the
+	 * confinement checks of the caches, which require the dispatch thread.
+	 *
+	 * @since 2.12
+	 */
+	public Executor getWorkerExecutor() {
+		return fCheckedWorkerExecutor;
+	}
+
+	/**
+	 * Returns whether the given work may only run on the dispatch thread.
+	 */
+	private static boolean isConfinedToDsfExecutor(Runnable command) {
+		return command instanceof DsfRunnable || command.getClass().isAnnotationPresent(ConfinedToDsfExecutor.class);
+	}
+
+	/**
+	 * Returns whether the calling thread is one of the worker threads of this
+	 * executor. Code that may run either on the dispatch thread or on a worker
+	 * thread can check its confinement with
+	 * <code>isInExecutorThread() || isInWorkerThread()</code>.
+	 *
+	 * @since 2.12
+	 */
+	public boolean isInWorkerThread() {
+		return fWorkerThreadGroup != null && Thread.currentThread().getThreadGroup() == fWorkerThreadGroup;
+	}
+
 	/**
 	 * @since 2.1
 	 */
@@ -505,6 +612,9 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 					DsfPlugin.getDebugTime() + " Executor (" + ((DsfThreadFactory) getThreadFactory()).fThreadName //$NON-NLS-1$
 							+ ") is being shut down. Already submitted tasks will be executed, new ones will not."); //$NON-NLS-1$
 		}
+		if (fWorkerExecutor != null) {
+			fWorkerExecutor.shutdown();
+		}
 		super.shutdown();
 	}
 
@@ -515,6 +625,9 @@ public class DefaultDsfExecutor extends ScheduledThreadPoolExecutor implements D
 					+ ((DsfThreadFactory) getThreadFactory()).fThreadName
 					+ ") is being shut down. No queued or new tasks will be executed, and will attempt to cancel active ones."); //$NON-NLS-1$
 		}
+		if (fWorkerExecutor != null) {
+			fWorkerExecutor.shutdownNow();
+		}
 		return super.shutdownNow();
 	}
 
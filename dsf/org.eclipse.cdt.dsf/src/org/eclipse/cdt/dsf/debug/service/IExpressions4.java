@@ -0,0 +1,63 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.debug.service;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.core.runtime.IStatus;
+
+/**
+ * Extends the expressions service to evaluate many expressions at once, such
+ * as all the identifiers visible in an editor. The expressions are evaluated
+ * together rather than one after the other, and each value is given as soon as
+ * it is known.
+ *
+ * @since 2.12
+ */
+public interface IExpressions4 extends IExpressions3 {
+
+	/**
+	 * Receives the values of a batch of expressions as they are evaluated.
+	 */
+	public interface IFormattedValuesListener {
+
+		/**
+		 * Called on the session executor once an expression of the batch is
+		 * evaluated.
+		 *
+		 * @param index
+		 *            The index of the expression in the batch.
+		 * @param value
+		 *            The value of the expression, <code>null</code> if it could
+		 *            not be evaluated.
+		 * @param status
+		 *            The status of the evaluation.
+		 */
+		void formattedValueReceived(int index, FormattedValueDMData value, IStatus status);
+	}
+
+	/**
+	 * Retrieves the values of the given expressions in the given format. The
+	 * expressions are typically all created for the same stack frame.
+	 *
+	 * @param exprDmcs
+	 *            The expressions to evaluate.
+	 * @param formatId
+	 *            The format of the values.
+	 * @param listener
+	 *            Notified of each value as it is known, may be <code>null</code>.
+	 * @param rm
+	 *            The data request monitor that will contain the values, in the
+	 *            order of the expressions. An element is <code>null</code> if
+	 *            the corresponding expression could not be evaluated.
+	 */
+	void getFormattedExpressionValues(IExpressionDMContext[] exprDmcs, String formatId,
+			IFormattedValuesListener listener, DataRequestMonitor<FormattedValueDMData[]> rm);
+}
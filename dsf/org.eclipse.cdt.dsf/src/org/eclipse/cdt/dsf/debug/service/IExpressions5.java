@@ -0,0 +1,35 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.dsf.debug.service;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+
+/**
+ * Extends the expressions service to summarize the content of an array in one
+ * line, without retrieving its elements as sub-expressions.
+ *
+ * @since 2.12
+ */
+public interface IExpressions5 extends IExpressions4 {
+
+	/**
+	 * Retrieves a one line summary of the first elements of an array, such as
+	 * <code>{1, 2, 3, ...}</code>.
+	 *
+	 * @param dmc
+	 *            The array expression.
+	 * @param rm
+	 *            The data request monitor that will contain the summary. Fails
+	 *            with {@link org.eclipse.cdt.dsf.concurrent.IDsfStatusConstants#NOT_SUPPORTED}
+	 *            if the expression cannot be summarized, e.g. it is not an array.
+	 */
+	void getArrayValueSummary(IExpressionDMContext dmc, DataRequestMonitor<String> rm);
+}
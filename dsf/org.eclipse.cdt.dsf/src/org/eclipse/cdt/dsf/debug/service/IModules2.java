@@ -41,6 +41,18 @@ public interface IModules2 extends IModules {
 	public interface ISymbolsUnloadedDMEvent extends ISymbolsChangedDMEvent {
 	}
 
+	/**
+	 * Indicates modules were loaded and unloaded. A burst of changes, such as
+	 * when a program loading many shared libraries starts, is reported with a
+	 * single such event.
+	 * @since 2.12
+	 */
+	public interface IModuleListChangedDMEvent extends ModulesChangedDMEvent {
+		public IModuleDMContext[] getLoadedModules();
+
+		public IModuleDMContext[] getUnloadedModules();
+	}
+
 	/**
 	 * Load symbols for all modules of the specified symbol context
 	 */
@@ -71,8 +71,9 @@ public class DsfSourceLookupParticipant extends AbstractSourceLookupParticipant
 	/**
 	 * This method does the same thing (is almost copy-and-paste) as
 	 * {@link AbstractSourceLookupParticipant#findSourceElements(Object), but it
-	 * surrounds the lookup with a cache (#fLookupCache) that needs to be
-	 * cleared if the source containers change.
+	 * surrounds the lookup with a cache (#fLookupCache), which also holds the
+	 * names for which nothing was found, that needs to be cleared if the source
+	 * containers change.
 	 */
 	@Override
 	public Object[] findSourceElements(Object object) throws CoreException {
@@ -119,7 +120,9 @@ public class DsfSourceLookupParticipant extends AbstractSourceLookupParticipant
 				}
 			}
 
-			if (!results.isEmpty()) {
+			// Also remember the names for which no source exists, looking them
+			// up again on every stop probes all the containers for nothing.
+			if (!results.isEmpty() || (single == null && multiStatus == null)) {
 				synchronized (fLookupCache) {
 					if (!fLookupCache.containsKey(name)) {
 						fLookupCache.put(name, results);
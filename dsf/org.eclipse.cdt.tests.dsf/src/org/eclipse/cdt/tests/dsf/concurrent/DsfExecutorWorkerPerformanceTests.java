@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.concurrent;
+
+import java.text.MessageFormat;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
+import org.eclipse.test.performance.Performance;
+import org.eclipse.test.performance.PerformanceMeter;
+
+import junit.framework.TestCase;
+
+/**
+ * Measures how long the services wait for the dispatch thread of the DSF
+ * executor while the labels of a target with many threads and frames are
+ * formatted, with and without worker threads.
+ */
+public class DsfExecutorWorkerPerformanceTests extends TestCase {
+	private static final int THREADS = 2000;
+	private static final int FRAMES = 20;
+	private static final int WORKERS = 4;
+	/** The number of requests of the services measured during each formatting */
+	private static final int REQUESTS = 100;
+
+	private DefaultDsfExecutor fExecutor;
+
+	public DsfExecutorWorkerPerformanceTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fExecutor != null) {
+			fExecutor.shutdown();
+			fExecutor.awaitTermination(10, TimeUnit.SECONDS);
+			fExecutor = null;
+		}
+	}
+
+	public void testDispatchLatencyWithoutWorkers() throws Exception {
+		fExecutor = new DefaultDsfExecutor("Test"); //$NON-NLS-1$
+		measureDispatchLatency(fExecutor);
+	}
+
+	public void testDispatchLatencyWithWorkers() throws Exception {
+		fExecutor = new DefaultDsfExecutor("Test", WORKERS); //$NON-NLS-1$
+		measureDispatchLatency(fExecutor.getWorkerExecutor());
+	}
+
+	/**
+	 * Measures the time of requests going through the dispatch thread, while
+	 * the labels are formatted on the given executor.
+	 */
+	private void measureDispatchLatency(Executor labelExecutor) throws Exception {
+		Performance perf = Performance.getDefault();
+		PerformanceMeter meter = perf.createPerformanceMeter(perf.getDefaultScenarioId(this));
+		try {
+			for (int x = 0; x < 10; x++) {
+				CountDownLatch labelsDone = formatLabels(labelExecutor);
+				meter.start();
+				for (int i = 0; i < REQUESTS; i++) {
+					fExecutor.submit(() -> Boolean.TRUE).get(60, TimeUnit.SECONDS);
+				}
+				meter.stop();
+				assertTrue(labelsDone.await(60, TimeUnit.SECONDS));
+			}
+			meter.commit();
+			perf.assertPerformance(meter);
+		} finally {
+			meter.dispose();
+		}
+	}
+
+	/**
+	 * Starts formatting a label for every frame of every thread on the given
+	 * executor, the labels are collected on the dispatch thread.
+	 */
+	private CountDownLatch formatLabels(final Executor labelExecutor) {
+		final CountDownLatch labelsDone = new CountDownLatch(THREADS * FRAMES);
+		fExecutor.execute(new DsfRunnable() {
+			@Override
+			public void run() {
+				for (int thread = 0; thread < THREADS; thread++) {
+					for (int frame = 0; frame < FRAMES; frame++) {
+						final int threadId = thread;
+						final int level = frame;
+						labelExecutor.execute(() -> {
+							final String label = MessageFormat.format("Thread #{0} [{1}] {2} at {3}:{4}", //$NON-NLS-1$
+									threadId, level, "function" + level, "file.c", 100 + level); //$NON-NLS-1$ //$NON-NLS-2$
+							fExecutor.execute(new DsfRunnable() {
+								@Override
+								public void run() {
+									if (!label.isEmpty()) {
+										labelsDone.countDown();
+									}
+								}
+							});
+						});
+					}
+				}
+			}
+		});
+		return labelsDone;
+	}
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.concurrent;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.dsf.concurrent.ConfinedToDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.DsfRunnable;
+import org.eclipse.cdt.dsf.concurrent.Query;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests the worker threads of the DSF executor by formatting the labels of a target
+ * with many threads and frames, the way the debug view does.
+ */
+public class DsfExecutorWorkerTests {
+	private static final int THREADS = 2000;
+	private static final int FRAMES = 20;
+	private static final int WORKERS = 4;
+
+	private DefaultDsfExecutor fExecutor;
+	private final AtomicInteger fFormattedOnWorker = new AtomicInteger();
+	private final AtomicInteger fCompletedOnExecutor = new AtomicInteger();
+
+	@After
+	public void shutdownExecutor() throws Exception {
+		if (fExecutor != null) {
+			fExecutor.shutdown();
+			fExecutor.awaitTermination(10, TimeUnit.SECONDS);
+			fExecutor = null;
+		}
+	}
+
+	@Test
+	public void testNoWorkers() {
+		fExecutor = new DefaultDsfExecutor("Test"); //$NON-NLS-1$
+		assertNull(fExecutor.getWorkerExecutor());
+		assertFalse(fExecutor.isInWorkerThread());
+	}
+
+	@Test
+	public void testFormatLabelsOnWorkers() throws Exception {
+		fExecutor = new DefaultDsfExecutor("Test", WORKERS); //$NON-NLS-1$
+		assertEquals(THREADS * FRAMES, formatLabels(fExecutor.getWorkerExecutor()));
+		assertEquals(THREADS * FRAMES, fFormattedOnWorker.get());
+		assertEquals(THREADS * FRAMES, fCompletedOnExecutor.get());
+	}
+
+	@ConfinedToDsfExecutor("")
+	private static class ConfinedRunnable implements Runnable {
+		@Override
+		public void run() {
+		}
+	}
+
+	private static boolean areAssertionsEnabled() {
+		boolean enabled = false;
+		assert enabled = true;
+		return enabled;
+	}
+
+	/**
+	 * Work confined to the dispatch thread is refused by the workers, when
+	 * assertions are enabled.
+	 */
+	@Test
+	public void testConfinedWorkRejectedOnWorkers() throws Exception {
+		assumeTrue(areAssertionsEnabled());
+		fExecutor = new DefaultDsfExecutor("Test", WORKERS); //$NON-NLS-1$
+		Executor workerExecutor = fExecutor.getWorkerExecutor();
+		for (Runnable confined : new Runnable[] { new ConfinedRunnable(), new DsfRunnable() {
+			@Override
+			public void run() {
+			}
+		} }) {
+			try {
+				workerExecutor.execute(confined);
+				fail("Confined work accepted by the workers: " + confined); //$NON-NLS-1$
+			} catch (AssertionError e) {
+				// Expected
+			}
+		}
+
+		// Other work runs on the workers, off the dispatch thread
+		Query<Boolean> query = new Query<Boolean>() {
+			@Override
+			protected void execute(final DataRequestMonitor<Boolean> rm) {
+				workerExecutor.execute(() -> {
+					rm.setData(fExecutor.isInWorkerThread() && !fExecutor.isInExecutorThread());
+					rm.done();
+				});
+			}
+		};
+		fExecutor.execute(query);
+		assertTrue(query.get(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testFormatLabelsWithoutWorkers() throws Exception {
+		fExecutor = new DefaultDsfExecutor("Test"); //$NON-NLS-1$
+		assertEquals(THREADS * FRAMES, formatLabels(fExecutor));
+		assertEquals(0, fFormattedOnWorker.get());
+		assertEquals(THREADS * FRAMES, fCompletedOnExecutor.get());
+	}
+
+	/**
+	 * Formats a label for every frame of every thread on the given executor and
+	 * collects the labels on the dispatch thread. Returns the number of labels.
+	 */
+	private int formatLabels(final Executor labelExecutor) throws Exception {
+		Query<Integer> query = new Query<Integer>() {
+			@Override
+			protected void execute(final DataRequestMonitor<Integer> rm) {
+				// State owned by the session, only touched on the dispatch thread.
+				final List<String> labels = new ArrayList<>();
+				for (int thread = 0; thread < THREADS; thread++) {
+					for (int frame = 0; frame < FRAMES; frame++) {
+						final int threadId = thread;
+						final int level = frame;
+						labelExecutor.execute(() -> {
+							if (fExecutor.isInWorkerThread() && !fExecutor.isInExecutorThread()) {
+								fFormattedOnWorker.incrementAndGet();
+							}
+							final String label = MessageFormat.format("Thread #{0} [{1}] {2} at {3}:{4}", //$NON-NLS-1$
+									threadId, level, "function" + level, "file.c", 100 + level); //$NON-NLS-1$ //$NON-NLS-2$
+							fExecutor.execute(new DsfRunnable() {
+								@Override
+								public void run() {
+									if (fExecutor.isInExecutorThread()) {
+										fCompletedOnExecutor.incrementAndGet();
+									}
+									labels.add(label);
+									if (labels.size() == THREADS * FRAMES) {
+										rm.setData(labels.size());
+										rm.done();
+									}
+								}
+							});
+						});
+					}
+				}
+			}
+		};
+		fExecutor.execute(query);
+		return query.get(60, TimeUnit.SECONDS);
+	}
+}
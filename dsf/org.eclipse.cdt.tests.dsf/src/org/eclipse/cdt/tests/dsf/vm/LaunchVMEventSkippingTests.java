@@ -0,0 +1,190 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.vm;
+
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.DsfExecutor;
+import org.eclipse.cdt.dsf.datamodel.AbstractDMContext;
+import org.eclipse.cdt.dsf.datamodel.AbstractDMEvent;
+import org.eclipse.cdt.dsf.datamodel.IDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IContainerDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IExecutionDMContext;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IExitedDMEvent;
+import org.eclipse.cdt.dsf.debug.service.IRunControl.IStartedDMEvent;
+import org.eclipse.cdt.dsf.debug.ui.viewmodel.launch.AbstractLaunchVMProvider;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.cdt.dsf.ui.viewmodel.AbstractVMAdapter;
+import org.eclipse.cdt.dsf.ui.viewmodel.IVMProvider;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IPresentationContext;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.PresentationContext;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests which of the pending started and exited events the launch view model
+ * provider skips, so that a burst of started threads refreshes their container
+ * only once.
+ */
+public class LaunchVMEventSkippingTests extends TestCase {
+
+	private DsfExecutor fDsfExecutor;
+	private DsfSession fDsfSession;
+	private IPresentationContext fPresentationContext;
+	private AbstractVMAdapter fVMAdapter;
+	private TestLaunchVMProvider fVMProvider;
+
+	private IContainerDMContext fContainer1;
+	private IContainerDMContext fContainer2;
+
+	/**
+	 * A launch provider which gives the tests access to the skipping decision.
+	 */
+	private static class TestLaunchVMProvider extends AbstractLaunchVMProvider {
+		TestLaunchVMProvider(AbstractVMAdapter adapter, IPresentationContext context, DsfSession session) {
+			super(adapter, context, session);
+		}
+
+		@Override
+		public boolean canSkipHandlingEvent(Object newEvent, Object eventToSkip) {
+			return super.canSkipHandlingEvent(newEvent, eventToSkip);
+		}
+	}
+
+	private static class TestContainerDMContext extends AbstractDMContext implements IContainerDMContext {
+		private final String fId;
+
+		TestContainerDMContext(String sessionId, String id) {
+			super(sessionId, new IDMContext[0]);
+			fId = id;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return baseEquals(obj) && fId.equals(((TestContainerDMContext) obj).fId);
+		}
+
+		@Override
+		public int hashCode() {
+			return baseHashCode() ^ fId.hashCode();
+		}
+	}
+
+	private static class TestThreadDMContext extends AbstractDMContext implements IExecutionDMContext {
+		private final String fId;
+
+		TestThreadDMContext(IContainerDMContext container, String id) {
+			super(container.getSessionId(), new IDMContext[] { container });
+			fId = id;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return baseEquals(obj) && fId.equals(((TestThreadDMContext) obj).fId);
+		}
+
+		@Override
+		public int hashCode() {
+			return baseHashCode() ^ fId.hashCode();
+		}
+	}
+
+	private static class StartedEvent extends AbstractDMEvent<IExecutionDMContext> implements IStartedDMEvent {
+		StartedEvent(IExecutionDMContext context) {
+			super(context);
+		}
+	}
+
+	private static class ExitedEvent extends AbstractDMEvent<IExecutionDMContext> implements IExitedDMEvent {
+		ExitedEvent(IExecutionDMContext context) {
+			super(context);
+		}
+	}
+
+	public LaunchVMEventSkippingTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		fDsfExecutor = new DefaultDsfExecutor();
+		fDsfSession = DsfSession.startSession(fDsfExecutor, getClass().getName());
+		fPresentationContext = new PresentationContext("TestViewer");
+
+		fVMAdapter = new AbstractVMAdapter() {
+			@Override
+			protected IVMProvider createViewModelProvider(IPresentationContext context) {
+				return fVMProvider;
+			}
+		};
+		fVMProvider = new TestLaunchVMProvider(fVMAdapter, fPresentationContext, fDsfSession);
+
+		fContainer1 = new TestContainerDMContext(fDsfSession.getId(), "1");
+		fContainer2 = new TestContainerDMContext(fDsfSession.getId(), "2");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fVMProvider.dispose();
+		fVMAdapter.dispose();
+		fPresentationContext.dispose();
+		DsfSession.endSession(fDsfSession);
+		fDsfExecutor.shutdown();
+	}
+
+	private IExecutionDMContext thread(IContainerDMContext container, String id) {
+		return new TestThreadDMContext(container, id);
+	}
+
+	/**
+	 * A started thread is covered by the refresh of its container for a newer
+	 * thread started or exited in the same container.
+	 */
+	public void testStartedSkippedInSameContainer() {
+		StartedEvent started = new StartedEvent(thread(fContainer1, "1"));
+
+		assertTrue(fVMProvider.canSkipHandlingEvent(new StartedEvent(thread(fContainer1, "2")), started));
+		assertTrue(fVMProvider.canSkipHandlingEvent(new ExitedEvent(thread(fContainer1, "2")), started));
+	}
+
+	/**
+	 * The refresh of another container does not show a started thread.
+	 */
+	public void testStartedNotSkippedInOtherContainer() {
+		StartedEvent started = new StartedEvent(thread(fContainer1, "1"));
+
+		assertFalse(fVMProvider.canSkipHandlingEvent(new StartedEvent(thread(fContainer2, "1")), started));
+		assertFalse(fVMProvider.canSkipHandlingEvent(new ExitedEvent(thread(fContainer2, "1")), started));
+	}
+
+	/**
+	 * The nodes clean up after the exited threads, so their events are never
+	 * skipped.
+	 */
+	public void testExitedNotSkipped() {
+		ExitedEvent exited = new ExitedEvent(thread(fContainer1, "1"));
+
+		assertFalse(fVMProvider.canSkipHandlingEvent(new StartedEvent(thread(fContainer1, "2")), exited));
+		assertFalse(fVMProvider.canSkipHandlingEvent(new ExitedEvent(thread(fContainer1, "2")), exited));
+	}
+
+	/**
+	 * The events of the containers themselves are neither skipped nor skip the
+	 * events of their threads.
+	 */
+	public void testContainerEventsNotSkipped() {
+		StartedEvent containerStarted = new StartedEvent(fContainer1);
+		StartedEvent threadStarted = new StartedEvent(thread(fContainer1, "1"));
+
+		assertFalse(fVMProvider.canSkipHandlingEvent(threadStarted, containerStarted));
+		assertFalse(fVMProvider.canSkipHandlingEvent(containerStarted, threadStarted));
+		assertFalse(fVMProvider.canSkipHandlingEvent(new StartedEvent(fContainer1), containerStarted));
+	}
+}
@@ -0,0 +1,297 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.tests.dsf.vm;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.cdt.dsf.concurrent.DataRequestMonitor;
+import org.eclipse.cdt.dsf.concurrent.DefaultDsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.DsfExecutor;
+import org.eclipse.cdt.dsf.concurrent.Query;
+import org.eclipse.cdt.dsf.debug.service.IFormattedValues;
+import org.eclipse.cdt.dsf.debug.ui.viewmodel.IDebugVMConstants;
+import org.eclipse.cdt.dsf.service.DsfSession;
+import org.eclipse.cdt.dsf.service.IDsfService;
+import org.eclipse.cdt.dsf.ui.viewmodel.AbstractVMAdapter;
+import org.eclipse.cdt.dsf.ui.viewmodel.IVMProvider;
+import org.eclipse.cdt.tests.dsf.IViewerUpdatesListenerConstants;
+import org.eclipse.cdt.tests.dsf.vm.TestModel.TestElement;
+import org.eclipse.cdt.tests.dsf.vm.TestModel.TestEvent;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IModelDelta;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.IPresentationContext;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.ITreeModelViewer;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.PresentationContext;
+import org.eclipse.debug.internal.ui.viewers.model.provisional.TreeModelViewer;
+import org.eclipse.jface.viewers.TreePath;
+import org.eclipse.jface.viewers.ViewerLabel;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.layout.FillLayout;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.ui.PlatformUI;
+
+import junit.framework.AssertionFailedError;
+import junit.framework.TestCase;
+
+/**
+ * Tests the delayed handling of the events of a view model provider, which
+ * lets newer events replace the events that are not handled yet, and the
+ * cancellation of the updates of the elements flushed by a newer event.
+ */
+public class VMEventCoalescingTests extends TestCase
+		implements IViewerUpdatesListenerConstants, IDebugVMConstants {
+
+	/** The delay of the events, the view is never visible so it is always used */
+	private static final int MAX_EVENT_DELAY = 200;
+	private static final int EVENTS = 5;
+
+	private Display fDisplay;
+	private Shell fShell;
+	private DsfExecutor fDsfExecutor;
+	private DsfSession fDsfSession;
+	private ITreeModelViewer fViewer;
+	private TestModelUpdatesListener fViewerListener;
+	private TestModel fModel;
+	private DummyFormattedValueService fDummyValuesService;
+	private AbstractVMAdapter fVMAdapter;
+	private CoalescingVMProvider fVMProvider;
+
+	/**
+	 * A provider which handles the events of a view that is not visible, and of
+	 * which a newer test event makes the older ones obsolete.
+	 */
+	private static class CoalescingVMProvider extends TestModelCachingVMProvider {
+		CoalescingVMProvider(AbstractVMAdapter adapter, IPresentationContext context, DsfSession session) {
+			super(adapter, context, session);
+			setMaxEventDelay(MAX_EVENT_DELAY);
+		}
+
+		@Override
+		protected boolean isVisible() {
+			return false;
+		}
+
+		@Override
+		protected boolean canSkipHandlingEvent(Object newEvent, Object eventToSkip) {
+			return newEvent instanceof TestEvent && eventToSkip instanceof TestEvent;
+		}
+	}
+
+	public VMEventCoalescingTests(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		fDsfExecutor = new DefaultDsfExecutor();
+		fDsfSession = DsfSession.startSession(fDsfExecutor, getClass().getName());
+
+		fDisplay = PlatformUI.getWorkbench().getDisplay();
+		fShell = new Shell(fDisplay);
+		fShell.setMaximized(true);
+		fShell.setLayout(new FillLayout());
+
+		fViewer = new TreeModelViewer(fShell, SWT.VIRTUAL, new PresentationContext("TestViewer"));
+
+		fModel = new TestModel(fDsfSession);
+		initializeService(fModel);
+		fDummyValuesService = new DummyFormattedValueService(fDsfSession);
+		initializeService(fDummyValuesService);
+
+		// The updates canceled by a newer event are requested again by the viewer.
+		fViewerListener = new TestModelUpdatesListener(fViewer, false, false);
+
+		fModel.setRoot(new TestElement(fModel, "root", new TestElement[0]));
+		fModel.setElementChildren(TreePath.EMPTY, makeModelElements(fModel, 4, "model"));
+
+		fVMAdapter = new AbstractVMAdapter() {
+			@Override
+			protected IVMProvider createViewModelProvider(IPresentationContext context) {
+				return fVMProvider;
+			}
+		};
+		fVMProvider = new CoalescingVMProvider(fVMAdapter, fViewer.getPresentationContext(), fDsfSession);
+
+		fVMProvider.getNode().getLabelProvider().addPropertiesUpdateListener(fViewerListener);
+
+		fShell.open();
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fVMProvider.getNode().getLabelProvider().removePropertiesUpdateListener(fViewerListener);
+		fVMProvider.getNode().setVMUpdateListener(null);
+
+		fVMAdapter.dispose();
+
+		fViewerListener.dispose();
+
+		shutdownService(fDummyValuesService);
+		shutdownService(fModel);
+		fViewer.getPresentationContext().dispose();
+		// Close the shell and exit.
+		fShell.close();
+		while (!fShell.isDisposed())
+			if (!fDisplay.readAndDispatch())
+				fDisplay.sleep();
+		DsfSession.endSession(fDsfSession);
+		fDsfExecutor.shutdown();
+	}
+
+	private void initializeService(final IDsfService service) throws InterruptedException, ExecutionException {
+		Query<Object> initQuery = new Query<>() {
+			@Override
+			protected void execute(DataRequestMonitor<Object> rm) {
+				rm.setData(new Object());
+				service.initialize(rm);
+			}
+		};
+		fDsfExecutor.execute(initQuery);
+		initQuery.get();
+	}
+
+	private void shutdownService(final IDsfService service) throws InterruptedException, ExecutionException {
+		Query<Object> shutdownQuery = new Query<>() {
+			@Override
+			protected void execute(DataRequestMonitor<Object> rm) {
+				rm.setData(new Object());
+				service.shutdown(rm);
+			}
+		};
+		fDsfExecutor.execute(shutdownQuery);
+		shutdownQuery.get();
+	}
+
+	private TestElement[] makeModelElements(TestModel model, int depth, String prefix) {
+		TestElement[] elements = new TestElement[depth];
+		for (int i = 0; i < depth; i++) {
+			String name = prefix + "." + i;
+			elements[i] = new TestElement(model, name, makeModelElements(model, i, name));
+		}
+		return elements;
+	}
+
+	private void waitUntil(BooleanSupplier condition) {
+		while (!condition.getAsBoolean())
+			if (!fDisplay.readAndDispatch())
+				fDisplay.sleep();
+	}
+
+	private void setInput() {
+		fViewer.getPresentationContext().setProperty(PROP_FORMATTED_VALUE_FORMAT_PREFERENCE,
+				IFormattedValues.NATURAL_FORMAT);
+		fViewer.setAutoExpandLevel(-1);
+		TestElementVMContext rootVMC = fVMProvider.getElementVMContext(fViewer.getPresentationContext(),
+				fModel.getRootElement());
+
+		fViewerListener.reset();
+		fViewerListener.addUpdates(TreePath.EMPTY, rootVMC.getElement(), -1, ALL_UPDATES_COMPLETE | PROPERTY_UPDATES);
+		fViewer.setInput(rootVMC);
+		waitUntil(() -> fViewerListener.isFinished(ALL_UPDATES_COMPLETE | PROPERTY_UPDATES));
+	}
+
+	/**
+	 * Changes the labels of all the elements and posts the event of the change.
+	 */
+	private void postLabelsChanged(String appendix) {
+		fModel.setAllAppendix(appendix);
+		fVMProvider.postEvent(new TestEvent(fModel.getRootElement(), IModelDelta.CONTENT));
+	}
+
+	private void validateLabels(final String appendix) {
+		fModel.validateData(fViewer, TreePath.EMPTY, (modelElement, viewerElement, viewerPath) -> {
+			ViewerLabel label = fViewer.getElementLabel(viewerPath, TestModelCachingVMProvider.COLUMN_ID);
+			assertEquals(modelElement.getID() + appendix, label.getText());
+		});
+	}
+
+	private boolean isShowingLabels(String appendix) {
+		try {
+			validateLabels(appendix);
+			return true;
+		} catch (AssertionFailedError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * The events posted faster than the delay are replaced by the last one,
+	 * which is the only one handled.
+	 */
+	public void testEventsCoalesced() {
+		setInput();
+
+		final int handled = fVMProvider.getHandledEventCount();
+		int replaced = fVMProvider.getSkippedEventCount() + fVMProvider.getCoalescedEventCount();
+		int canceled = fVMProvider.getCanceledEventCount();
+
+		fViewerListener.reset();
+		fViewerListener.addUpdates(TreePath.EMPTY, fModel.getRootElement(), -1,
+				ALL_UPDATES_COMPLETE | PROPERTY_UPDATES);
+		for (int i = 1; i <= EVENTS; i++) {
+			postLabelsChanged("." + i);
+		}
+		waitUntil(() -> fVMProvider.getHandledEventCount() > handled
+				&& fViewerListener.isFinished(ALL_UPDATES_COMPLETE | PROPERTY_UPDATES));
+
+		assertEquals(handled + 1, fVMProvider.getHandledEventCount());
+		// The first event is replaced while delayed, the others are dropped from the queue.
+		assertEquals(replaced + EVENTS - 1,
+				fVMProvider.getSkippedEventCount() + fVMProvider.getCoalescedEventCount());
+		assertEquals(canceled, fVMProvider.getCanceledEventCount());
+		validateLabels("." + EVENTS);
+	}
+
+	/**
+	 * The updates of the elements flushed by a newer event are canceled, and
+	 * the viewer shows the latest data once the services answer again.
+	 */
+	public void testFlushedUpdatesCanceled() {
+		setInput();
+
+		// Block the services, so that the properties updates remain pending.
+		final CountDownLatch release = new CountDownLatch(1);
+		fDsfExecutor.execute(() -> {
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		try {
+			final TestModelUpdatesListener vmListener = new TestModelUpdatesListener();
+			vmListener.reset();
+			fVMProvider.getNode().setVMUpdateListener(vmListener);
+			final int handled = fVMProvider.getHandledEventCount();
+			postLabelsChanged(".1");
+			waitUntil(() -> fVMProvider.getHandledEventCount() > handled
+					&& vmListener.isFinished(PROPERTY_UPDATES_STARTED));
+
+			int canceledUpdates = fVMProvider.getCanceledUpdateCount();
+			fViewerListener.reset();
+			fViewerListener.addUpdates(TreePath.EMPTY, fModel.getRootElement(), -1,
+					ALL_UPDATES_COMPLETE | PROPERTY_UPDATES);
+			postLabelsChanged(".2");
+			waitUntil(() -> fVMProvider.getHandledEventCount() > handled + 1);
+
+			assertTrue(fVMProvider.getCanceledUpdateCount() > canceledUpdates);
+		} finally {
+			release.countDown();
+		}
+
+		// The viewer recovers from the canceled updates, the listener times out otherwise.
+		waitUntil(() -> fViewerListener.isFinished(ALL_UPDATES_COMPLETE | PROPERTY_UPDATES)
+				&& isShowingLabels(".2"));
+		validateLabels(".2");
+	}
+}
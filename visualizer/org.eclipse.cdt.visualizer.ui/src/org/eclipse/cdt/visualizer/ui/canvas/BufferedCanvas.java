@@ -31,7 +31,14 @@ import org.eclipse.swt.widgets.Display;
 // BufferedCanvas
 // ---------------------------------------------------------------------------
 
-/** Canvas control with double-buffering support. */
+/** Canvas control with double-buffering support.
+ *
+ *  Only the region that needs repainting is repainted: the GC passed to
+ *  paintCanvas() is clipped to it, and derived types can skip objects that
+ *  are outside of its clipping (see isVisible()). The rest of the buffer
+ *  keeps what was painted before. Use redraw(x,y,w,h,false) to repaint a
+ *  region, or update() to repaint everything.
+ */
 public class BufferedCanvas extends Canvas implements PaintListener, ControlListener {
 	// --- members ---
 
@@ -144,14 +151,25 @@ public class BufferedCanvas extends Canvas implements PaintListener, ControlList
 		Rectangle clientArea = getClientArea();
 		int width = clientArea.width;
 		int height = clientArea.height;
+		// region to repaint
+		Rectangle region = gc.getClipping().intersection(clientArea);
 		if (m_doubleBuffer == null || m_doubleBuffer.getBounds().width < width
 				|| m_doubleBuffer.getBounds().height < height) {
-			m_doubleBuffer = new Image(display, width, height);
 			disposeBufferedGC();
+			if (m_doubleBuffer != null) {
+				m_doubleBuffer.dispose();
+			}
+			m_doubleBuffer = new Image(display, width, height);
+			// a new buffer has nothing we can keep
+			region = clientArea;
+		}
+		if (region.isEmpty()) {
+			return;
 		}
 
 		// create graphics context for buffer
 		GC bgc = getBufferedGC();
+		bgc.setClipping(region);
 
 		// copy current GC properties into it as defaults
 		bgc.setBackground(gc.getBackground());
@@ -170,7 +188,8 @@ public class BufferedCanvas extends Canvas implements PaintListener, ControlList
 		}
 
 		// then copy image buffer to actual canvas (reduces repaint flickering)
-		gc.drawImage(m_doubleBuffer, 0, 0);
+		gc.drawImage(m_doubleBuffer, region.x, region.y, region.width, region.height, region.x, region.y, region.width,
+				region.height);
 	}
 
 	/** Invoked when canvas repaint event is raised.
@@ -180,6 +199,15 @@ public class BufferedCanvas extends Canvas implements PaintListener, ControlList
 		clearCanvas(gc);
 	}
 
+	/** Returns true if the specified area intersects the region being
+	 *  repainted on the specified GC, so that painting code can skip
+	 *  what would not show anyway.
+	 *  @since 1.6
+	 */
+	public static boolean isVisible(GC gc, Rectangle bounds) {
+		return bounds != null && gc.getClipping().intersects(bounds);
+	}
+
 	/** Clears canvas to background color. */
 	public void clearCanvas(GC gc) {
 		Rectangle bounds = getClientArea();
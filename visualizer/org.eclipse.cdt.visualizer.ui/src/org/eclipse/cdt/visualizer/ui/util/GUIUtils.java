@@ -91,7 +91,8 @@ public class GUIUtils {
 	 * @since 1.1*/
 	static public void drawText(GC gc, String text, Rectangle clip, int x, int y) {
 		Rectangle oldClip = gc.getClipping();
-		gc.setClipping(clip);
+		// stay within the region being painted
+		gc.setClipping(clip.intersection(oldClip));
 		drawText(gc, text, x, y);
 		gc.setClipping(oldClip);
 	}
@@ -112,7 +113,8 @@ public class GUIUtils {
 	 * @since 1.1*/
 	static public void drawTextAligned(GC gc, String text, Rectangle clip, int x, int y, boolean left, boolean top) {
 		Rectangle oldClip = gc.getClipping();
-		gc.setClipping(clip);
+		// stay within the region being painted
+		gc.setClipping(clip.intersection(oldClip));
 		drawTextAligned(gc, text, x, y, left, top);
 		gc.setClipping(oldClip);
 	}
@@ -128,7 +130,8 @@ public class GUIUtils {
 	 * @since 1.1*/
 	static public void drawTextCentered(GC gc, String text, Rectangle clip, int x, int y) {
 		Rectangle oldClip = gc.getClipping();
-		gc.setClipping(clip);
+		// stay within the region being painted
+		gc.setClipping(clip.intersection(oldClip));
 		drawTextCentered(gc, text, x, y);
 		gc.setClipping(oldClip);
 	}